@@ -1,8 +1,14 @@
 package dev.mkpwnz.api.arguments;
 
+import dev.mkpwnz.api.messages.MessageCatalog;
+import dev.mkpwnz.api.messages.MessageKey;
 import org.bukkit.command.CommandSender;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Abstract base class for validating command arguments of type {@code T}.
@@ -13,6 +19,9 @@ import java.util.List;
  *            upon successful validation of the input.
  */
 public abstract class ArgumentValidator<T> {
+    private static final ExecutorService RESOLVER = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("ServerUtils-ArgumentResolver-", 0).factory());
+
     private final String name;
     private final String description;
     private final boolean required;
@@ -44,6 +53,44 @@ public abstract class ArgumentValidator<T> {
      */
     public abstract ValidationResult<T> validate(String input, CommandSender sender);
 
+    /**
+     * Determines whether arguments of this validator are resolved with
+     * {@link #validateAsync(String, CommandSender)} when a command is executed. Validators
+     * that need I/O (e.g. a database or the file system) should return {@code true}.
+     * <p>
+     * {@link #validate(String, CommandSender)} is still used where a result is needed
+     * immediately and should answer from cached or cheaply available data in that case.
+     * Tab completions do not parse preceding arguments of asynchronous validators.
+     *
+     * @return {@code true} if the validator resolves arguments asynchronously; {@code false}
+     * by default.
+     */
+    public boolean isAsync() {
+        return false;
+    }
+
+    /**
+     * Resolves the provided input without blocking the main thread. Only called if
+     * {@link #isAsync()} returns {@code true}.
+     * <p>
+     * The method is invoked on a virtual thread of the {@link #resolver() resolver}, together
+     * with the other asynchronous arguments of the same command, so it may block on I/O or
+     * return a stage completed by another source. It must not access the Bukkit API unless that
+     * part is thread-safe; values that need it are built in a
+     * {@linkplain ValidationResult#deferred deferred} result instead.
+     * If the argument is not resolved within the
+     * {@link dev.mkpwnz.api.commands.Command#resolveTimeoutMillis() timeout} of the command,
+     * the virtual thread is interrupted, so blocking calls should respond to interrupts.
+     * The default implementation delegates to {@link #validate(String, CommandSender)}.
+     *
+     * @param input  The raw input string to be validated.
+     * @param sender The {@link CommandSender} that issued the command.
+     * @return A stage of the {@link ValidationResult}.
+     */
+    public CompletionStage<ValidationResult<T>> validateAsync(String input, CommandSender sender) {
+        return CompletableFuture.completedFuture(validate(input, sender));
+    }
+
     /**
      * Provides a list of possible tab completions for a command argument
      * based on the context of the invoking {@link CommandSender}.
@@ -59,6 +106,52 @@ public abstract class ArgumentValidator<T> {
      */
     public abstract List<String> getTabCompletions(CommandSender sender);
 
+    /**
+     * Provides tab completions for the partially typed token described by the context.
+     * <p>
+     * The default implementation filters {@link #getTabCompletions(CommandSender)} by the
+     * partial token and completes immediately. Validators backed by expensive sources (e.g. a
+     * database) should override this method, query the source with the partial token on
+     * the {@link #resolver() resolver} and honor {@link CompletionContext#getLimit()} and
+     * {@link CompletionContext#isCancelled()}. A future that is not complete when the request
+     * is answered does not block the main thread; its result is used for the next keystroke.
+     *
+     * @param context The completion request.
+     *
+     * @return A future of at most {@link CompletionContext#getLimit()} completions.
+     */
+    public CompletableFuture<List<String>> complete(CompletionContext context) {
+        return CompletableFuture.completedFuture(getTabCompletions(context.getSender()).stream()
+                .filter(context::matches)
+                .limit(context.getLimit())
+                .toList());
+    }
+
+    /**
+     * Retrieves the executor resolving {@linkplain #isAsync() asynchronous} arguments, which
+     * runs every task on its own virtual thread. Validators should also use it for lookups
+     * in {@link #complete(CompletionContext)}.
+     *
+     * @return The shared resolver executor.
+     */
+    public static ExecutorService resolver() {
+        return RESOLVER;
+    }
+
+    /**
+     * Renders a message from the {@link MessageCatalog} in the language of the given sender.
+     * Intended for building localized validation error messages.
+     *
+     * @param sender The sender receiving the message.
+     * @param key    The key of the message.
+     * @param args   The arguments referenced by the placeholders of the message.
+     *
+     * @return The rendered message.
+     */
+    protected String translate(CommandSender sender, MessageKey key, Object... args) {
+        return MessageCatalog.getInstance().format(sender, key, args);
+    }
+
     /**
      * Retrieves the name of the argument.
      *
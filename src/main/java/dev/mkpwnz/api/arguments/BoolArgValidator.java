@@ -1,9 +1,12 @@
 package dev.mkpwnz.api.arguments;
 
+import dev.mkpwnz.api.messages.ApiMessage;
+import dev.mkpwnz.api.text.BkTree;
 import org.bukkit.command.CommandSender;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A validator for boolean command arguments. This class checks whether
@@ -14,6 +17,7 @@ import java.util.List;
 public class BoolArgValidator extends ArgumentValidator<Boolean> {
     private final List<String> trueValues;
     private final List<String> falseValues;
+    private final BkTree suggestions;
 
     /**
      * Constructs a BoolArgValidator instance, which validates boolean arguments
@@ -30,6 +34,7 @@ public class BoolArgValidator extends ArgumentValidator<Boolean> {
         super(name, description, required);
         this.trueValues = Arrays.asList(trueValues);
         this.falseValues = Arrays.asList(falseValues);
+        this.suggestions = BkTree.of(Stream.concat(this.trueValues.stream(), this.falseValues.stream()).toList());
     }
 
     /**
@@ -48,7 +53,7 @@ public class BoolArgValidator extends ArgumentValidator<Boolean> {
     public ValidationResult<Boolean> validate(String input, CommandSender sender) {
         if (input == null || input.trim().isEmpty()) {
             return ValidationResult.error(
-                    this.getName() + " benötigt einen gültigen Wert!");
+                    translate(sender, ApiMessage.BOOL_REQUIRED, this.getName()));
         }
 
         String lowercaseInput = input.toLowerCase();
@@ -61,10 +66,16 @@ public class BoolArgValidator extends ArgumentValidator<Boolean> {
             return ValidationResult.success(false);
         }
 
+        String suggestion = suggestions.suggest(lowercaseInput);
+        if (suggestion != null) {
+            return ValidationResult.error(
+                    translate(sender, ApiMessage.BOOL_DID_YOU_MEAN, input, this.getName(), suggestion));
+        }
+
         return ValidationResult.error(
-                this.getName() + " muss einer der folgenden Werte sein: " +
-                        String.join(", ", trueValues) + " oder " +
-                        String.join(", ", falseValues));
+                translate(sender, ApiMessage.BOOL_INVALID, this.getName(),
+                        String.join(", ", trueValues),
+                        String.join(", ", falseValues)));
     }
 
     /**
@@ -0,0 +1,113 @@
+package dev.mkpwnz.api.arguments;
+
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+
+/**
+ * The input of a tab completion request passed to
+ * {@link ArgumentValidator#complete(CompletionContext)}.
+ * <p>
+ * A request is cancelled as soon as the same sender requests completions again, i.e. types
+ * the next keystroke. Long-running completion sources should check {@link #isCancelled()}
+ * periodically and stop early, since their result will not be used.
+ */
+public final class CompletionContext {
+    private final CommandSender sender;
+    private final String partial;
+    private final List<Object> previousArguments;
+    private final int argumentIndex;
+    private final int limit;
+    private volatile boolean cancelled;
+
+    /**
+     * Constructs a new CompletionContext.
+     *
+     * @param sender            The sender requesting completions.
+     * @param partial           The partially typed token that is being completed.
+     * @param previousArguments The values parsed from the arguments preceding the token. Arguments
+     *                          that failed validation are represented by {@code null}.
+     * @param argumentIndex     The position of the completed argument among the command's arguments.
+     * @param limit             The maximum number of completions to return.
+     */
+    public CompletionContext(CommandSender sender, String partial, List<Object> previousArguments,
+                             int argumentIndex, int limit) {
+        this.sender = sender;
+        this.partial = partial;
+        this.previousArguments = previousArguments;
+        this.argumentIndex = argumentIndex;
+        this.limit = limit;
+    }
+
+    /**
+     * Retrieves the sender requesting completions.
+     *
+     * @return The command sender.
+     */
+    public CommandSender getSender() {
+        return sender;
+    }
+
+    /**
+     * Retrieves the partially typed token that is being completed.
+     *
+     * @return The partial token, possibly empty.
+     */
+    public String getPartial() {
+        return partial;
+    }
+
+    /**
+     * Retrieves the values parsed from the arguments preceding the completed token.
+     *
+     * @return An unmodifiable list of parsed values; failed arguments are {@code null}.
+     */
+    public List<Object> getPreviousArguments() {
+        return previousArguments;
+    }
+
+    /**
+     * Retrieves the position of the completed argument among the command's arguments.
+     *
+     * @return The zero-based argument index.
+     */
+    public int getArgumentIndex() {
+        return argumentIndex;
+    }
+
+    /**
+     * Retrieves the maximum number of completions to return.
+     *
+     * @return The result limit.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Determines whether the request was superseded by a newer request of the same sender.
+     *
+     * @return {@code true} if the result of this request will not be used.
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Marks the request as cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Determines whether a candidate matches the partial token, ignoring case.
+     *
+     * @param candidate The candidate completion.
+     *
+     * @return {@code true} if the candidate starts with the partial token.
+     */
+    public boolean matches(String candidate) {
+        return candidate.regionMatches(true, 0, partial, 0, partial.length());
+    }
+}
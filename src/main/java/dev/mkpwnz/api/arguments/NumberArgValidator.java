@@ -1,5 +1,6 @@
 package dev.mkpwnz.api.arguments;
 
+import dev.mkpwnz.api.messages.ApiMessage;
 import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
@@ -46,14 +47,14 @@ public class NumberArgValidator extends ArgumentValidator<Number> {
         try {
             double value = Double.parseDouble(input);
             if (value < min) {
-                return ValidationResult.error(this.getName() + " muss mindestens " + min + " sein!");
+                return ValidationResult.error(translate(sender, ApiMessage.NUMBER_TOO_SMALL, this.getName(), min));
             }
             if (value > max) {
-                return ValidationResult.error(this.getName() + " darf maximal " + max + " sein!");
+                return ValidationResult.error(translate(sender, ApiMessage.NUMBER_TOO_LARGE, this.getName(), max));
             }
             return ValidationResult.success(value);
         } catch (NumberFormatException e) {
-            return ValidationResult.error(this.getName() + " muss eine gültige Zahl sein!");
+            return ValidationResult.error(translate(sender, ApiMessage.NUMBER_INVALID, this.getName()));
         }
     }
 
@@ -0,0 +1,22 @@
+package dev.mkpwnz.api.arguments;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Annotation to specify metadata for parameters of type {@link org.bukkit.OfflinePlayer}.
+ * Players are resolved through the {@link dev.mkpwnz.api.players.PlayerNameIndex}, so both
+ * online and offline players can be used without blocking profile lookups. The validator is
+ * available once the index has been started.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OfflinePlayerArg {
+    String name();
+
+    String description() default "";
+
+    boolean required() default true;
+}
@@ -0,0 +1,153 @@
+package dev.mkpwnz.api.arguments;
+
+import dev.mkpwnz.api.messages.ApiMessage;
+import dev.mkpwnz.api.players.PlayerNameIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.stream.Collectors;
+
+/**
+ * A validator for {@link OfflinePlayer} arguments. Online players are resolved directly,
+ * all other names are resolved through the {@link PlayerNameIndex}. Since
+ * {@link Bukkit#getOfflinePlayer(java.util.UUID)} does not perform a profile lookup, unknown
+ * names are rejected instead of being looked up.
+ * <p>
+ * The index is a memory-mapped file, so a lookup may have to read from disk. Commands
+ * therefore resolve the argument {@linkplain #isAsync() asynchronously}, looking up the index
+ * first and falling back to the online players for names that were not indexed yet.
+ */
+public class OfflinePlayerArgValidator extends ArgumentValidator<OfflinePlayer> {
+    private final PlayerNameIndex playerNameIndex;
+
+    /**
+     * Constructs an OfflinePlayerArgValidator.
+     *
+     * @param name            The name of the argument. This is used to identify the argument in commands.
+     * @param description     A brief description of the argument, providing details about its purpose or usage.
+     * @param required        Specifies whether the argument is mandatory. If true, the argument must be provided.
+     * @param playerNameIndex The index used to resolve the names of offline players.
+     */
+    public OfflinePlayerArgValidator(String name, String description, boolean required, PlayerNameIndex playerNameIndex) {
+        super(name, description, required);
+        this.playerNameIndex = playerNameIndex;
+    }
+
+    /**
+     * Resolves the input to an online or known offline player.
+     *
+     * @param input  The player name to resolve.
+     * @param sender The command sender, used to localize the error message.
+     *
+     * @return A {@link ValidationResult} containing the resolved player, or an error if the
+     * name is not known.
+     */
+    @Override
+    public ValidationResult<OfflinePlayer> validate(String input, CommandSender sender) {
+        Player online = Bukkit.getPlayerExact(input);
+        if (online != null) {
+            return ValidationResult.success(online);
+        }
+
+        PlayerNameIndex.Entry entry = playerNameIndex.get(input);
+        if (entry == null) {
+            return ValidationResult.error(translate(sender, ApiMessage.PLAYER_UNKNOWN, input));
+        }
+        return ValidationResult.success(Bukkit.getOfflinePlayer(entry.uniqueId()));
+    }
+
+    /**
+     * Resolves arguments asynchronously, since the lookup in the {@link PlayerNameIndex} may
+     * read from disk.
+     *
+     * @return {@code true}.
+     */
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    /**
+     * Resolves the input through the {@link PlayerNameIndex}, which also holds all online
+     * players. Only the index is read off-thread; the player is looked up on the thread the
+     * command runs on, falling back to the online players for names not indexed yet.
+     *
+     * @param input  The player name to resolve.
+     * @param sender The command sender, used to localize the error message.
+     *
+     * @return A completed stage of a {@linkplain ValidationResult#deferred deferred} result.
+     */
+    @Override
+    public CompletionStage<ValidationResult<OfflinePlayer>> validateAsync(String input, CommandSender sender) {
+        PlayerNameIndex.Entry entry = playerNameIndex.get(input);
+        return CompletableFuture.completedFuture(ValidationResult.deferred(() -> {
+            if (entry != null) {
+                return ValidationResult.success(Bukkit.getOfflinePlayer(entry.uniqueId()));
+            }
+
+            Player online = Bukkit.getPlayerExact(input);
+            if (online != null) {
+                return ValidationResult.success(online);
+            }
+            return ValidationResult.error(translate(sender, ApiMessage.PLAYER_UNKNOWN, input));
+        }));
+    }
+
+    /**
+     * Provides the names of all online players as tab completions.
+     *
+     * @param sender The command sender requesting tab completions.
+     *
+     * @return A list of the names of all online players.
+     */
+    @Override
+    public List<String> getTabCompletions(CommandSender sender) {
+        return Bukkit.getOnlinePlayers().stream()
+                .map(Player::getName)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Completes the partial token with the names of online players first and the most
+     * recently seen offline players second. The offline players are looked up in the
+     * {@link PlayerNameIndex} on the {@link #resolver() resolver}, since the index may hold
+     * hundreds of thousands of names.
+     *
+     * @param context The completion request.
+     *
+     * @return A future of at most {@link CompletionContext#getLimit()} player names.
+     */
+    @Override
+    public CompletableFuture<List<String>> complete(CompletionContext context) {
+        List<String> online = Bukkit.getOnlinePlayers().stream()
+                .map(Player::getName)
+                .filter(context::matches)
+                .limit(context.getLimit())
+                .collect(Collectors.toList());
+        if (online.size() >= context.getLimit() || context.getPartial().isEmpty()) {
+            return CompletableFuture.completedFuture(online);
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            List<String> names = new ArrayList<>(online);
+            if (context.isCancelled()) {
+                return names;
+            }
+            for (PlayerNameIndex.Entry entry : playerNameIndex.complete(context.getPartial(), context.getLimit())) {
+                if (names.size() >= context.getLimit()) {
+                    break;
+                }
+                if (!names.contains(entry.name())) {
+                    names.add(entry.name());
+                }
+            }
+            return names;
+        }, resolver());
+    }
+}
@@ -1,5 +1,6 @@
 package dev.mkpwnz.api.arguments;
 
+import dev.mkpwnz.api.messages.ApiMessage;
 import org.bukkit.Bukkit;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -11,6 +12,10 @@ import java.util.stream.Collectors;
  * A validator for player-related command arguments. This class extends {@code ArgumentValidator}
  * to provide validation and tab completion functionalities specifically for {@link Player} objects.
  * It can validate whether a player exists and optionally whether the player is currently online.
+ * <p>
+ * Since a {@link Player} is always online, a name that does not belong to an online player is
+ * rejected even when {@code onlineOnly} is {@code false}; offline players are supported through
+ * {@link OfflinePlayerArg} instead.
  */
 public class PlayerArgValidator extends ArgumentValidator<Player> {
     private final boolean onlineOnly;
@@ -23,8 +28,9 @@ public class PlayerArgValidator extends ArgumentValidator<Player> {
     @Override
     public ValidationResult<Player> validate(String input, CommandSender sender) {
         Player player = Bukkit.getPlayer(input);
-        if (player == null && onlineOnly) {
-            return ValidationResult.error("Spieler ist nicht online");
+        if (player == null) {
+            return ValidationResult.error(translate(sender,
+                    onlineOnly ? ApiMessage.PLAYER_NOT_ONLINE : ApiMessage.PLAYER_NOT_FOUND));
         }
         return ValidationResult.success(player);
     }
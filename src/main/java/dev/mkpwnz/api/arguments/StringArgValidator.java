@@ -1,5 +1,6 @@
 package dev.mkpwnz.api.arguments;
 
+import dev.mkpwnz.api.messages.ApiMessage;
 import org.bukkit.command.CommandSender;
 
 import java.util.ArrayList;
@@ -50,11 +51,11 @@ public class StringArgValidator extends ArgumentValidator<String> {
     public ValidationResult<String> validate(String input, CommandSender sender) {
         if (input.length() < minLength) {
             return ValidationResult.error(
-                    this.getName() + " muss mindestens " + minLength + " Zeichen lang sein!");
+                    translate(sender, ApiMessage.STRING_TOO_SHORT, this.getName(), minLength));
         }
         if (input.length() > maxLength) {
             return ValidationResult.error(
-                    this.getName() + " darf maximal " + maxLength + " Zeichen lang sein!");
+                    translate(sender, ApiMessage.STRING_TOO_LONG, this.getName(), maxLength));
         }
         return ValidationResult.success(input);
     }
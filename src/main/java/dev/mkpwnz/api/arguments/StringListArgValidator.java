@@ -1,5 +1,7 @@
 package dev.mkpwnz.api.arguments;
 
+import dev.mkpwnz.api.messages.ApiMessage;
+import dev.mkpwnz.api.text.BkTree;
 import org.bukkit.command.CommandSender;
 
 import java.util.Arrays;
@@ -14,6 +16,8 @@ import java.util.List;
 public class StringListArgValidator extends ArgumentValidator<String> {
     private final List<String> allowedValues;
     private final boolean caseSensitive;
+    private final String joinedValues;
+    private final BkTree suggestions;
 
     /**
      * Constructs a StringListArgValidator with the specified name, description, required status,
@@ -30,6 +34,10 @@ public class StringListArgValidator extends ArgumentValidator<String> {
         super(name, description, required);
         this.allowedValues = Arrays.asList(allowedValues);
         this.caseSensitive = caseSensitive;
+        this.joinedValues = String.join(", ", allowedValues);
+        this.suggestions = BkTree.of(this.allowedValues.stream()
+                .map(v -> caseSensitive ? v : v.toLowerCase())
+                .toList());
     }
 
     /**
@@ -49,7 +57,7 @@ public class StringListArgValidator extends ArgumentValidator<String> {
     public ValidationResult<String> validate(String input, CommandSender sender) {
         if (input == null || input.isEmpty()) {
             return ValidationResult.error(
-                    this.getName() + " ist erforderlich!");
+                    translate(sender, ApiMessage.VALUE_REQUIRED, this.getName()));
         }
 
         String compareValue = this.caseSensitive ? input : input.toLowerCase();
@@ -58,13 +66,13 @@ public class StringListArgValidator extends ArgumentValidator<String> {
                 .toList();
 
         if (!compareAllowed.contains(compareValue)) {
+            String suggestion = suggestions.suggest(compareValue);
+            if (suggestion != null) {
+                return ValidationResult.error(translate(sender, ApiMessage.VALUE_DID_YOU_MEAN,
+                        input, this.getName(), this.allowedValues.get(compareAllowed.indexOf(suggestion))));
+            }
             return ValidationResult.error(
-                    String.format("'%s' ist kein gültiger Wert für '%s'. Erlaubte Werte: %s",
-                            input,
-                            this.getName(),
-                            String.join(", ", this.allowedValues)
-                    )
-            );
+                    translate(sender, ApiMessage.VALUE_NOT_ALLOWED, input, this.getName(), joinedValues));
         }
 
         if (this.caseSensitive) {
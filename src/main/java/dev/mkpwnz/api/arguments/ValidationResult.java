@@ -1,8 +1,14 @@
 package dev.mkpwnz.api.arguments;
 
+import java.util.function.Supplier;
+
 /**
  * Represents the result of a validation, which includes information about
  * whether the validation was successful, the validated value or an error message.
+ * <p>
+ * Results of {@link ArgumentValidator#validateAsync asynchronous} validation may be
+ * {@linkplain #deferred(Supplier) deferred}: the validator then hands over what it looked up
+ * off-thread (e.g. a unique id) and builds the final value on the thread the command runs on.
  *
  * @param <T> The type of the value associated with a successful validation.
  */
@@ -10,6 +16,7 @@ public class ValidationResult<T> {
     private final boolean success;
     private final T value;
     private final String errorMessage;
+    private final Supplier<ValidationResult<T>> completion;
 
     /**
      * Constructs a ValidationResult with the given success state, value, and error message.
@@ -19,9 +26,14 @@ public class ValidationResult<T> {
      * @param errorMessage The error message, if the validation failed. Null otherwise.
      */
     private ValidationResult(boolean success, T value, String errorMessage) {
+        this(success, value, errorMessage, null);
+    }
+
+    private ValidationResult(boolean success, T value, String errorMessage, Supplier<ValidationResult<T>> completion) {
         this.success = success;
         this.value = value;
         this.errorMessage = errorMessage;
+        this.completion = completion;
     }
 
     /**
@@ -54,6 +66,40 @@ public class ValidationResult<T> {
         return new ValidationResult<>(false, null, message);
     }
 
+    /**
+     * Creates a result that is completed on the thread the command runs on, since building its
+     * value needs the Bukkit API (e.g. {@link org.bukkit.Bukkit#getOfflinePlayer(java.util.UUID)}).
+     * Only meaningful as the result of {@link ArgumentValidator#validateAsync}; the command
+     * framework calls {@link #complete()} before passing the value to the command method.
+     *
+     * @param <T>        The type of the value associated with a successful validation.
+     * @param completion Builds the final result from the data captured off-thread.
+     *
+     * @return A {@code ValidationResult} instance that is not complete yet.
+     */
+    public static <T> ValidationResult<T> deferred(Supplier<ValidationResult<T>> completion) {
+        return new ValidationResult<>(false, null, null, completion);
+    }
+
+    /**
+     * Determines whether the result still has to be {@linkplain #complete() completed}.
+     *
+     * @return {@code true} if the result was created by {@link #deferred(Supplier)}.
+     */
+    public boolean isDeferred() {
+        return completion != null;
+    }
+
+    /**
+     * Completes a {@linkplain #deferred(Supplier) deferred} result. Must be called on the
+     * thread the command runs on.
+     *
+     * @return The final result, or this result if it is not deferred.
+     */
+    public ValidationResult<T> complete() {
+        return completion != null ? completion.get() : this;
+    }
+
     /**
      * Determines whether the validation was successful.
      *
@@ -1,8 +1,8 @@
 package dev.mkpwnz.api.arguments;
 
 import java.lang.annotation.Annotation;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -15,7 +15,7 @@ public class ValidatorManager {
     private final Map<Class<? extends Annotation>, Function<Annotation, ArgumentValidator<?>>> validatorFactories;
 
     private ValidatorManager() {
-        this.validatorFactories = new HashMap<>();
+        this.validatorFactories = new ConcurrentHashMap<>();
         registerDefaultValidators();
     }
 
@@ -26,7 +26,7 @@ public class ValidatorManager {
      *
      * @return The singleton instance of ValidatorManager.
      */
-    public static ValidatorManager getInstance() {
+    public static synchronized ValidatorManager getInstance() {
         if (instance == null) {
             instance = new ValidatorManager();
         }
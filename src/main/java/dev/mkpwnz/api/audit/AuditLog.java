@@ -0,0 +1,256 @@
+package dev.mkpwnz.api.audit;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * An asynchronous, batched audit log for command dispatches.
+ * <p>
+ * Dispatching threads hand records to a bounded queue with a non-blocking {@link #offer(AuditRecord)};
+ * if the queue is full, the record is dropped and counted. A single writer thread drains the
+ * queue in batches, encodes each batch as tab-separated lines and appends it to the active
+ * segment through a {@link FileChannel}. The active segment is rotated when it exceeds the
+ * configured size or age, and rotated segments are compressed with gzip; segments rotated
+ * within the same second are told apart by a sequence number.
+ * <p>
+ * The writer thread is never interrupted, since an interrupt during a channel write closes
+ * the channel. {@link #stop()} only clears a flag; the writer notices it within one poll
+ * timeout, writes all remaining records and closes the channel normally.
+ */
+public class AuditLog {
+    private static final String ACTIVE_SEGMENT = "audit.log";
+    private static final int MAX_BATCH = 512;
+    private static final long POLL_MILLIS = 1000L;
+    private static final DateTimeFormatter SEGMENT_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JavaPlugin plugin;
+    private final Path folder;
+    private final BlockingQueue<AuditRecord> queue;
+    private final long maxSegmentBytes;
+    private final long maxSegmentAgeMillis;
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean running;
+    private Thread writer;
+    private FileChannel channel;
+    private long segmentCreated;
+
+    /**
+     * Constructs a new AuditLog writing to the {@code audit} folder of the plugin.
+     *
+     * @param plugin              The plugin owning the audit log.
+     * @param capacity            The maximum number of records waiting to be written.
+     * @param maxSegmentBytes     The size after which the active segment is rotated.
+     * @param maxSegmentAgeMillis The age after which the active segment is rotated.
+     */
+    public AuditLog(JavaPlugin plugin, int capacity, long maxSegmentBytes, long maxSegmentAgeMillis) {
+        this.plugin = plugin;
+        this.folder = plugin.getDataFolder().toPath().resolve("audit");
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.maxSegmentAgeMillis = maxSegmentAgeMillis;
+    }
+
+    /**
+     * Starts the writer thread.
+     */
+    public void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("ServerUtils-Audit")
+                .daemon(true)
+                .start(this::writeLoop);
+    }
+
+    /**
+     * Stops the writer thread after all queued records have been written. Waits at most five
+     * seconds for the writer to finish.
+     */
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+    }
+
+    /**
+     * Hands a record to the writer thread. This method never blocks; if the queue is full,
+     * the record is dropped and counted.
+     *
+     * @param record The record to write.
+     */
+    public void offer(AuditRecord record) {
+        if (!queue.offer(record)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Retrieves the number of records dropped because the queue was full.
+     *
+     * @return The number of dropped records since startup.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Scans all segments for matching records. This method performs blocking I/O and must
+     * not be called from the main thread.
+     *
+     * @param since  The earliest timestamp (epoch millis) to include.
+     * @param filter The condition a record must match.
+     * @param limit  The maximum number of records to return.
+     *
+     * @return The newest matching records, newest first.
+     *
+     * @throws IOException If the segments cannot be read.
+     */
+    public List<AuditRecord> query(long since, Predicate<AuditRecord> filter, int limit) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        if (Files.isDirectory(folder)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "audit*.log*")) {
+                for (Path segment : stream) {
+                    if (Files.getLastModifiedTime(segment).toMillis() >= since) {
+                        segments.add(segment);
+                    }
+                }
+            }
+        }
+
+        List<AuditRecord> matches = new ArrayList<>();
+        for (Path segment : segments) {
+            try (InputStream raw = Files.newInputStream(segment);
+                 InputStream in = segment.toString().endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+                 BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    AuditRecord record = AuditRecord.decode(line);
+                    if (record != null && record.timestamp() >= since && filter.test(record)) {
+                        matches.add(record);
+                    }
+                }
+            }
+        }
+
+        matches.sort((a, b) -> Long.compare(b.timestamp(), a.timestamp()));
+        return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+    }
+
+    private void writeLoop() {
+        List<AuditRecord> batch = new ArrayList<>(MAX_BATCH);
+        StringBuilder encoded = new StringBuilder(MAX_BATCH * 96);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditRecord first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    queue.drainTo(batch, MAX_BATCH - 1);
+                    write(batch, encoded);
+                    batch.clear();
+                }
+                rotateIfNeeded();
+            } catch (InterruptedException e) {
+                // stop() unterbricht nicht; die Schleife endet erst, wenn die Queue leer ist
+            } catch (IOException e) {
+                plugin.getLogger().warning("Audit-Log konnte nicht geschrieben werden: " + e.getMessage());
+                batch.clear();
+            }
+        }
+        closeChannel();
+    }
+
+    private void write(List<AuditRecord> batch, StringBuilder encoded) throws IOException {
+        encoded.setLength(0);
+        for (AuditRecord record : batch) {
+            record.encode(encoded);
+        }
+
+        FileChannel out = openChannel();
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(encoded.toString());
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            Files.createDirectories(folder);
+            Path active = folder.resolve(ACTIVE_SEGMENT);
+            segmentCreated = Files.exists(active) ?
+                    Files.readAttributes(active, BasicFileAttributes.class).creationTime().toMillis() :
+                    System.currentTimeMillis();
+            channel = FileChannel.open(active, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        }
+        return channel;
+    }
+
+    private void rotateIfNeeded() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        boolean tooLarge = channel.size() >= maxSegmentBytes;
+        boolean tooOld = System.currentTimeMillis() - segmentCreated >= maxSegmentAgeMillis;
+        if (!tooLarge && !tooOld) {
+            return;
+        }
+
+        closeChannel();
+        Path active = folder.resolve(ACTIVE_SEGMENT);
+        String prefix = "audit-" + LocalDateTime.now().format(SEGMENT_FORMAT) + "-";
+        Path rotated;
+        int sequence = 0;
+        do {
+            rotated = folder.resolve(prefix + sequence++ + ".log.gz");
+        } while (Files.exists(rotated));
+        try (InputStream in = Files.newInputStream(active);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(rotated, StandardOpenOption.CREATE_NEW))) {
+            in.transferTo(out);
+        }
+        Files.delete(active);
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            channel = null;
+        }
+    }
+}
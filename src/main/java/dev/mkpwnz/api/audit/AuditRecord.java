@@ -0,0 +1,88 @@
+package dev.mkpwnz.api.audit;
+
+import dev.mkpwnz.api.commands.CommandResult;
+
+/**
+ * A single audited command dispatch.
+ *
+ * @param timestamp     The time of the dispatch in epoch milliseconds.
+ * @param sender        The name of the command sender.
+ * @param command       The full command node, e.g. {@code serverinfo.player}.
+ * @param arguments     The arguments passed to the command node, separated by spaces.
+ * @param result        The outcome of the dispatch.
+ * @param durationNanos The time spent dispatching the command in nanoseconds.
+ */
+public record AuditRecord(long timestamp, String sender, String command, String arguments,
+                          CommandResult result, long durationNanos) {
+
+    /**
+     * Encodes the record as a single tab-separated line, escaping tabs, line breaks and
+     * backslashes in the text fields.
+     *
+     * @param out The builder receiving the encoded line, including the trailing line break.
+     */
+    void encode(StringBuilder out) {
+        out.append(timestamp).append('\t');
+        escape(out, sender);
+        out.append('\t');
+        escape(out, command);
+        out.append('\t');
+        escape(out, arguments);
+        out.append('\t').append(result.name()).append('\t').append(durationNanos).append('\n');
+    }
+
+    /**
+     * Decodes a line written by {@link #encode(StringBuilder)}.
+     *
+     * @param line The encoded line without the trailing line break.
+     *
+     * @return The decoded record, or {@code null} if the line is malformed.
+     */
+    static AuditRecord decode(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != 6) {
+            return null;
+        }
+        try {
+            return new AuditRecord(Long.parseLong(fields[0]), unescape(fields[1]), unescape(fields[2]),
+                    unescape(fields[3]), CommandResult.valueOf(fields[4]), Long.parseLong(fields[5]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void escape(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.append("\\\\");
+                case '\t' -> out.append("\\t");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                default -> out.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                out.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,32 @@
+package dev.mkpwnz.api.commands;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event covering the validation of a single command argument.
+ */
+@Name("dev.mkpwnz.ArgumentValidation")
+@Label("Argument Validation")
+@Category({"ServerUtils", "Commands"})
+@Description("Validation and conversion of a command argument")
+@StackTrace(false)
+@Threshold("0 ms")
+final class ArgumentValidationEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Argument")
+    String argument;
+
+    @Label("Index")
+    int index;
+
+    @Label("Valid")
+    boolean valid;
+}
@@ -0,0 +1,33 @@
+package dev.mkpwnz.api.commands;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * An unsized {@link PageSource} that pulls items from an iterator on demand and keeps the
+ * items pulled so far. Once the iterator is exhausted, the source reports its size.
+ *
+ * @param <T> The type of the items.
+ */
+final class BufferedPageSource<T> implements PageSource<T> {
+    private final Iterator<T> iterator;
+    private final List<T> buffer = new ArrayList<>();
+
+    BufferedPageSource(Iterator<T> iterator) {
+        this.iterator = iterator;
+    }
+
+    @Override
+    public synchronized int size() {
+        return iterator.hasNext() ? UNKNOWN_SIZE : buffer.size();
+    }
+
+    @Override
+    public synchronized List<T> fetch(int offset, int limit) {
+        while (buffer.size() < offset + limit && iterator.hasNext()) {
+            buffer.add(iterator.next());
+        }
+        return List.copyOf(buffer.subList(Math.min(offset, buffer.size()), Math.min(buffer.size(), offset + limit)));
+    }
+}
@@ -0,0 +1,21 @@
+package dev.mkpwnz.api.commands;
+
+/**
+ * A snapshot of the statistics of the cache used for commands with a {@link Command#cacheTtl()}.
+ *
+ * @param hits    The number of lookups answered from the cache.
+ * @param misses  The number of lookups that required invoking the command.
+ * @param entries The number of cached outputs.
+ */
+public record CacheStats(long hits, long misses, int entries) {
+
+    /**
+     * Computes the share of lookups answered from the cache.
+     *
+     * @return The hit ratio between {@code 0} and {@code 1}.
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+}
@@ -9,6 +9,33 @@ import java.lang.annotation.Target;
  * Annotation to define metadata for a command. This annotation can be
  * applied to methods to configure their command-related attributes such as name,
  * hierarchy, description, permission requirements, and usage information.
+ * <p>
+ * Commands marked as {@code async} are invoked on an asynchronous thread; their output
+ * written to an injected {@link CommandResponse} is flushed back on the thread owning the
+ * sender.
+ * <p>
+ * Idempotent, read-only commands can set {@code cacheTtl} to the number of seconds their
+ * output may be reused. The output written to the injected {@link CommandResponse} is then
+ * cached per command, arguments and the kind, language and permission profile of the sender,
+ * including clickable links, unless it contains an error line. The cache is looked up after
+ * the permission check and the {@code beforeValidation} phase of all registered
+ * {@link CommandInterceptor}s; a hit skips the validation of the arguments, the later phases
+ * and the invocation of the method. Asynchronous commands are never cached.
+ * <p>
+ * Arguments whose validator {@linkplain dev.mkpwnz.api.arguments.ArgumentValidator#isAsync()
+ * resolves asynchronously} are resolved concurrently on virtual threads before the method is
+ * invoked on its configured thread. If they do not resolve within {@code resolveTimeoutMillis},
+ * the command is aborted.
+ * <p>
+ * Commands listing many items can return a {@link Paginated} output instead of writing all
+ * of them; only the requested page is rendered and the {@link Pagination} keeps a cursor for
+ * the sender to show further pages.
+ * <p>
+ * On Folia, where regions are ticked in parallel, commands run on the thread of the region
+ * owning the sender: the region of a player or other entity, the region of a command block,
+ * or the global region for the console. Commands that access global state (e.g. worlds or
+ * the list of online players) instead of the sender set {@code globalRegion} to run on the
+ * global region thread. On servers with a single main thread, both run on the main thread.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -22,5 +49,13 @@ public @interface Command {
     String permission() default "";
 
     String usage() default "";
+
+    boolean async() default false;
+
+    int cacheTtl() default 0;
+
+    long resolveTimeoutMillis() default 5000;
+
+    boolean globalRegion() default false;
 }
 
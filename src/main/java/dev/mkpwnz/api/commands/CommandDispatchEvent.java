@@ -0,0 +1,34 @@
+package dev.mkpwnz.api.commands;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event covering the dispatch of a command line by the {@link CommandManager},
+ * from resolving the command node to the end of its handler (or the cache lookup).
+ */
+@Name("dev.mkpwnz.CommandDispatch")
+@Label("Command Dispatch")
+@Category({"ServerUtils", "Commands"})
+@Description("Resolution and execution of a command line")
+@StackTrace(false)
+@Threshold("0 ms")
+final class CommandDispatchEvent extends Event {
+    @Label("Command")
+    @Description("The full name of the resolved command node, or the root command if none matched")
+    String command;
+
+    @Label("Sender Type")
+    String senderType;
+
+    @Label("Arguments")
+    int argumentCount;
+
+    @Label("Result")
+    String result;
+}
@@ -0,0 +1,34 @@
+package dev.mkpwnz.api.commands;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event covering the invocation of a command method by its
+ * {@link CommandHandler}, including flushing the response. Asynchronous commands emit it on
+ * the thread they run on.
+ */
+@Name("dev.mkpwnz.CommandExecution")
+@Label("Command Execution")
+@Category({"ServerUtils", "Commands"})
+@Description("Invocation of a command method")
+@StackTrace(false)
+@Threshold("0 ms")
+final class CommandExecutionEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Sender Type")
+    String senderType;
+
+    @Label("Asynchronous")
+    boolean async;
+
+    @Label("Result")
+    String result;
+}
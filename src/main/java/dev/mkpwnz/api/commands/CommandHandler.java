@@ -1,15 +1,29 @@
 package dev.mkpwnz.api.commands;
 
 import dev.mkpwnz.api.arguments.ArgumentValidator;
+import dev.mkpwnz.api.arguments.CompletionContext;
 import dev.mkpwnz.api.arguments.ValidationResult;
 import dev.mkpwnz.api.arguments.ValidatorManager;
+import dev.mkpwnz.api.messages.ApiMessage;
+import dev.mkpwnz.api.messages.MessageCatalog;
+import dev.mkpwnz.api.recording.SenderKind;
+import dev.mkpwnz.api.scheduler.ServerThreads;
 import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The {@code CommandHandler} class is responsible for managing and executing commands
@@ -18,58 +32,170 @@ import java.util.List;
  * <p>
  * Each {@code CommandHandler} instance is associated with a specific command method
  * annotated with {@link Command}, and uses a combination of method reflection and
- * validators to process command inputs.
+ * validators to process command inputs. Parameters of type {@link CommandSender} and
+ * {@link CommandResponse} are injected and do not consume command arguments.
+ * <p>
+ * The permission and argument count checks as well as all registered
+ * {@link CommandInterceptor}s applying to the command are compiled into an
+ * {@link InterceptorChain} that is replaced whenever the registry changes.
+ * <p>
+ * On Folia, a dispatch arriving on a thread that does not own the sender (or, for
+ * {@link Command#globalRegion()} commands, is not the global region thread) is handed over to
+ * the owning thread via {@link ServerThreads} before any phase runs.
  */
 public class CommandHandler {
+    private final JavaPlugin plugin;
+    private final ServerThreads threads;
     private final Object commandClass;
     private final Method method;
     private final Command commandAnnotation;
     private final List<ArgumentValidator<?>> parameterValidators;
     private final ValidatorManager validatorManager;
+    private final MessageCatalog messages;
+    private final String commandName;
+    private boolean hasAsyncValidators;
+    private volatile InterceptorChain interceptors;
+
+    /**
+     * Placeholder for an argument whose validator resolves asynchronously, stored in the
+     * prepared parameters until the argument has been resolved.
+     */
+    private record PendingArgument(ArgumentValidator<?> validator, String input, int argIndex) {
+    }
 
     /**
      * Constructs a new CommandHandler instance, responsible for mapping a method marked with the
      * {@link Command} annotation to its associated logic for execution and validation.
      *
+     * @param plugin            The JavaPlugin instance used to schedule asynchronous invocations
+     *                          and to flush command responses on the thread owning the sender.
      * @param commandClass      The instance of the class containing the command method. This holds
      *                          the context in which the command method is executed.
      * @param method            The method annotated with {@link Command} to be executed when the command is invoked.
      * @param commandAnnotation The {@link Command} annotation that contains metadata
      *                          about the command, such as its name, description, and permissions.
      */
-    public CommandHandler(Object commandClass, Method method, Command commandAnnotation) {
+    public CommandHandler(JavaPlugin plugin, Object commandClass, Method method, Command commandAnnotation) {
+        this.plugin = plugin;
+        this.threads = ServerThreads.of(plugin);
         this.commandClass = commandClass;
         this.method = method;
         this.commandAnnotation = commandAnnotation;
         this.parameterValidators = new ArrayList<>();
         this.validatorManager = ValidatorManager.getInstance();
+        this.messages = MessageCatalog.getInstance();
+        this.commandName = buildCommandName(commandAnnotation);
 
         initializeParameterValidators();
+        compileInterceptors(List.of());
+    }
+
+    /**
+     * Builds the full name of the handled command (e.g. {@code serverinfo.player}), which
+     * identifies it in Flight Recorder events.
+     *
+     * @param annotation The {@link Command} annotation of the handled method.
+     *
+     * @return The lowercase parent names and the command name, separated by periods.
+     */
+    private static String buildCommandName(Command annotation) {
+        StringJoiner name = new StringJoiner(".");
+        for (String parent : annotation.parent()) {
+            name.add(parent.toLowerCase());
+        }
+        return name.add(annotation.name().toLowerCase()).toString();
+    }
+
+    /**
+     * Compiles the built-in checks and the given interceptors into the chain used by all
+     * further dispatches. Interceptors that do not apply to this command are left out.
+     *
+     * @param registered The interceptors registered with the {@link CommandManager}, in the
+     *                   order they run.
+     */
+    void compileInterceptors(List<CommandInterceptor> registered) {
+        List<CommandInterceptor> applying = new ArrayList<>();
+        int requiredArgs = getRequiredArgsCount();
+        if (requiredArgs > 0) {
+            applying.add(StandardInterceptors.argumentCount(requiredArgs));
+        }
+        for (CommandInterceptor interceptor : registered) {
+            if (interceptor.appliesTo(commandName, commandAnnotation)) {
+                applying.add(interceptor);
+            }
+        }
+        // Die Permission wird vor allen anderen Interceptoren geprüft
+        if (StandardInterceptors.PERMISSION.appliesTo(commandName, commandAnnotation)) {
+            applying.addFirst(StandardInterceptors.PERMISSION);
+        }
+        interceptors = InterceptorChain.compile(applying, this::invokeMethod);
+    }
+
+    /**
+     * Retrieves the compiled interceptor chain of this command.
+     *
+     * @return The chain used by dispatches starting now.
+     */
+    InterceptorChain getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Retrieves the number of arguments the command takes, required and optional ones.
+     *
+     * @return The number of arguments.
+     */
+    int getArgumentCount() {
+        return parameterValidators.size();
+    }
+
+    /**
+     * Retrieves the full name of the handled command, e.g. {@code serverinfo.player}.
+     *
+     * @return The full name of the command.
+     */
+    String getCommandName() {
+        return commandName;
+    }
+
+    /**
+     * Determines whether parameters of the given type are injected by the handler instead of
+     * being parsed from the command arguments.
+     *
+     * @param type The parameter type to check.
+     *
+     * @return {@code true} if the type is {@link CommandSender} or {@link CommandResponse}.
+     */
+    static boolean isInjected(Class<?> type) {
+        return type == CommandSender.class || type == CommandResponse.class;
     }
 
     /**
      * Initializes the parameter validators for the command method, ensuring that every parameter
-     * of the method (beyond the first, if it is of type {@code CommandSender}) has an associated
+     * of the method (except injected ones, see {@link #isInjected(Class)}) has an associated
      * validator. If a parameter does not have a valid validator, an exception is thrown.
      * <p>
      * The validators are determined based on the annotations present on each parameter.
      * The method uses the available {@link ValidatorManager} to check for and create the appropriate
      * validators.
      *
-     * @throws IllegalStateException If any parameter (beyond the first when of type {@code CommandSender})
-     *                               does not have a valid validator.
+     * @throws IllegalStateException If any non-injected parameter does not have a valid validator.
      */
     private void initializeParameterValidators() {
         Parameter[] parameters = method.getParameters();
         Annotation[][] parameterAnnotations = method.getParameterAnnotations();
 
-        int startIndex = parameters[0].getType() == CommandSender.class ? 1 : 0;
+        for (int i = 0; i < parameters.length; i++) {
+            if (isInjected(parameters[i].getType())) {
+                continue;
+            }
 
-        for (int i = startIndex; i < parameters.length; i++) {
             boolean validatorFound = false;
             for (Annotation annotation : parameterAnnotations[i]) {
                 if (validatorManager.hasValidatorFor(annotation.annotationType())) {
-                    parameterValidators.add(validatorManager.createValidator(annotation));
+                    ArgumentValidator<?> validator = validatorManager.createValidator(annotation);
+                    parameterValidators.add(validator);
+                    hasAsyncValidators |= validator.isAsync();
                     validatorFound = true;
                     break;
                 }
@@ -86,7 +212,8 @@ public class CommandHandler {
     /**
      * Executes a command based on the provided sender and arguments. The execution involves
      * validating permissions, checking required arguments, preparing parameters, and invoking
-     * the corresponding method annotated with {@code @Command}.
+     * the corresponding method annotated with {@code @Command}. Commands marked as
+     * {@code async} are invoked on an asynchronous thread.
      *
      * @param sender The entity initiating the command execution. It could be a player, console,
      *               or any other type extending {@code CommandSender}.
@@ -98,29 +225,161 @@ public class CommandHandler {
      * an exception was raised during execution.
      */
     public boolean execute(CommandSender sender, String[] args) {
-        if (!commandAnnotation.permission().isEmpty() &&
-                !sender.hasPermission(commandAnnotation.permission())) {
-            sender.sendMessage("§cDu hast keine Berechtigung für diesen Befehl!");
-            return true;
+        return dispatch(sender, args).toBukkitResult();
+    }
+
+    /**
+     * Executes a command like {@link #execute(CommandSender, String[])}, but reports the
+     * detailed outcome of the execution.
+     *
+     * @param sender The entity initiating the command execution.
+     * @param args   The arguments provided with the command.
+     *
+     * @return The {@link CommandResult} describing the outcome of the execution.
+     */
+    public CommandResult dispatch(CommandSender sender, String[] args) {
+        return dispatch(createInvocation(sender, args));
+    }
+
+    /**
+     * Creates the context for a dispatch of this command.
+     *
+     * @param sender The entity initiating the command execution.
+     * @param args   The arguments provided with the command.
+     *
+     * @return The invocation, with a new response for the sender.
+     */
+    Invocation createInvocation(CommandSender sender, String[] args) {
+        return new Invocation(sender, commandName, args, commandAnnotation, new CommandResponse(plugin, sender));
+    }
+
+    /**
+     * Dispatches an invocation through the compiled {@link InterceptorChain}: the
+     * {@code beforeValidation} phase, the validation of the arguments, the
+     * {@code afterValidation} phase and the invocation on the configured thread. On Folia,
+     * invocations dispatched from a thread that does not own the sender are scheduled on the
+     * owning thread first and reported as {@link CommandResult#SCHEDULED}.
+     *
+     * @param invocation The invocation to dispatch.
+     *
+     * @return The {@link CommandResult} describing the outcome of the execution.
+     */
+    CommandResult dispatch(Invocation invocation) {
+        if (ServerThreads.isRegionized() && !isOnOwningThread(invocation.getSender())) {
+            // Auf Folia läuft der Befehl auf dem Thread der Region, der der Sender gehört
+            runOnOwningThread(invocation.getSender(), () -> completeDeferred(invocation, dispatch(invocation)));
+            return CommandResult.SCHEDULED;
         }
 
-        int requiredArgs = getRequiredArgsCount();
-        if (args.length < requiredArgs) {
-            sender.sendMessage("§cZu wenige Argumente! Benötigt: " + requiredArgs);
-            return false;
+        InterceptorChain chain = interceptors;
+        if (chain.beforeValidation() != null) {
+            CommandResult rejected = chain.beforeValidation().check(invocation);
+            if (rejected != null) {
+                invocation.getResponse().flush();
+                return rejected;
+            }
+        }
+
+        Object[] parameters = prepareParameters(invocation.getSender(), invocation.getResponse(), invocation.arguments());
+        if (parameters == null) {
+            return CommandResult.INVALID_ARGUMENTS;
         }
 
-        Object[] parameters = prepareParameters(sender, args);
+        if (hasAsyncValidators && resolveAsync(invocation, chain, parameters)) {
+            return CommandResult.SCHEDULED;
+        }
+        return proceed(invocation, chain, parameters);
+    }
 
+    /**
+     * Runs the {@code afterValidation} phase and invokes the command method on its configured
+     * thread.
+     *
+     * @param invocation The invocation being dispatched.
+     * @param chain      The chain the dispatch started with.
+     * @param parameters The prepared method parameters, all arguments resolved.
+     *
+     * @return The {@link CommandResult} of the invocation, or {@link CommandResult#SCHEDULED}.
+     */
+    private CommandResult proceed(Invocation invocation, InterceptorChain chain, Object[] parameters) {
+        invocation.setParameters(parameters);
+        if (chain.afterValidation() != null) {
+            CommandResult rejected = chain.afterValidation().check(invocation);
+            if (rejected != null) {
+                invocation.getResponse().flush();
+                return rejected;
+            }
+        }
+
+        if (commandAnnotation.async()) {
+            threads.runAsync(() -> invocation.complete(invoke(invocation, chain)));
+            return CommandResult.SCHEDULED;
+        }
+        return invoke(invocation, chain);
+    }
+
+    /**
+     * Invokes the {@code aroundInvoke} chain ending with the command method and flushes the
+     * buffered response afterwards.
+     *
+     * @param invocation The invocation being dispatched.
+     * @param chain      The chain the dispatch started with.
+     *
+     * @return {@link CommandResult#SUCCESS} if the chain completed normally;
+     * {@link CommandResult#FAILED} if it threw an exception.
+     */
+    private CommandResult invoke(Invocation invocation, InterceptorChain chain) {
+        CommandSender sender = invocation.getSender();
+        CommandResponse response = invocation.getResponse();
+        CommandExecutionEvent event = new CommandExecutionEvent();
+        event.begin();
+        CommandResult result;
         try {
-            method.invoke(commandClass, parameters);
-            return true;
+            chain.invoke().proceed(invocation);
+            response.flush();
+            result = CommandResult.SUCCESS;
         } catch (Exception e) {
-            sender.sendMessage("§cEs ist ein Fehler aufgetreten: " + e.getMessage());
-            sender.getServer().getLogger().throwing(CommandHandler.class.getName(), "execute", e);
-            return false;
+            Throwable cause = e instanceof InvocationTargetException && e.getCause() != null ? e.getCause() : e;
+            response.line(messages.format(sender, ApiMessage.EXECUTION_ERROR, cause.getMessage())).flush();
+            sender.getServer().getLogger().throwing(CommandHandler.class.getName(), "execute", cause);
+            result = CommandResult.FAILED;
         }
 
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = commandName;
+            event.senderType = SenderKind.of(sender).name();
+            event.async = commandAnnotation.async();
+            event.result = result.name();
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Invokes the command method, ending the {@code aroundInvoke} chain. If the method returns
+     * a {@link Paginated} output, its first requested page is rendered into the response; such
+     * outputs are never cached.
+     *
+     * @param invocation The invocation being dispatched.
+     *
+     * @throws Exception If the method or the rendering of the page fails.
+     */
+    private void invokeMethod(Invocation invocation) throws Exception {
+        Object returned = method.invoke(commandClass, invocation.getParameters());
+        if (returned instanceof Paginated<?> paginated) {
+            invocation.setPaginated();
+            Pagination.getInstance().open(invocation.getSender(), invocation.getResponse(), paginated);
+        }
+    }
+
+    /**
+     * Retrieves the {@link Command} annotation of the handled method.
+     *
+     * @return The command annotation containing the command's metadata.
+     */
+    public Command getCommandAnnotation() {
+        return commandAnnotation;
     }
 
     /**
@@ -148,40 +407,63 @@ public class CommandHandler {
      * required arguments are missing, the preparation is terminated, and an appropriate error message
      * is sent to the sender.
      *
-     * @param sender The entity initiating the command. Represents the source of the command execution,
-     *               such as a player, console, or other entities extending {@code CommandSender}.
-     * @param args   An array of strings representing the arguments provided with the command. These
-     *               will be validated and matched to the parameters of the method.
+     * @param sender   The entity initiating the command. Represents the source of the command execution,
+     *                 such as a player, console, or other entities extending {@code CommandSender}.
+     * @param response The response buffer injected into parameters of type {@link CommandResponse}.
+     * @param args     An array of strings representing the arguments provided with the command. These
+     *                 will be validated and matched to the parameters of the method.
      *
-     * @return An array of {@code Object} containing the prepared parameters for the method invocation.
+     * @return An array of {@code Object} containing the prepared parameters for the method invocation,
+     * with a {@link PendingArgument} in place of every asynchronously resolved argument.
      * Returns {@code null} if validation fails or if required arguments are missing.
      */
-    private Object[] prepareParameters(CommandSender sender, String[] args) {
+    private Object[] prepareParameters(CommandSender sender, CommandResponse response, String[] args) {
         Parameter[] methodParams = method.getParameters();
         Object[] parameters = new Object[methodParams.length];
         int argIndex = 0;
+        int validatorIndex = 0;
 
         for (int i = 0; i < methodParams.length; i++) {
-            if (methodParams[i].getType() == CommandSender.class) {
+            Class<?> type = methodParams[i].getType();
+            if (type == CommandSender.class) {
                 parameters[i] = sender;
                 continue;
             }
+            if (type == CommandResponse.class) {
+                parameters[i] = response;
+                continue;
+            }
 
+            ArgumentValidator<?> validator = parameterValidators.get(validatorIndex++);
             if (argIndex >= args.length) {
-                if (parameterValidators.get(i - 1).isRequired()) {
-                    sender.sendMessage("§cFehlendes erforderliches Argument: " +
-                            parameterValidators.get(i - 1).getName());
+                if (validator.isRequired()) {
+                    sender.sendMessage(messages.format(sender, ApiMessage.MISSING_ARGUMENT, validator.getName()));
                     return null;
                 }
                 continue;
             }
 
-            ArgumentValidator<?> validator = parameterValidators.get(i - 1);
+            if (validator.isAsync()) {
+                parameters[i] = new PendingArgument(validator, args[argIndex], argIndex);
+                argIndex++;
+                continue;
+            }
+
+            ArgumentValidationEvent event = new ArgumentValidationEvent();
+            event.begin();
             ValidationResult<?> result = validator.validate(args[argIndex], sender);
+            event.end();
+            if (event.shouldCommit()) {
+                event.command = commandName;
+                event.argument = validator.getName();
+                event.index = argIndex;
+                event.valid = result.isSuccess();
+                event.commit();
+            }
 
             if (!result.isSuccess()) {
-                sender.sendMessage("§cUngültiges Argument '" + validator.getName() +
-                        "': " + result.getErrorMessage());
+                sender.sendMessage(messages.format(sender, ApiMessage.INVALID_ARGUMENT,
+                        validator.getName(), result.getErrorMessage()));
                 return null;
             }
             parameters[i] = result.getValue();
@@ -192,36 +474,229 @@ public class CommandHandler {
     }
 
     /**
-     * Provides a list of tab-completion suggestions for the command arguments.
-     * This method uses the {@link ArgumentValidator}s associated with the command
-     * parameters to generate possible completions for the current argument based on the input.
+     * Resolves the asynchronous arguments among the prepared parameters concurrently on
+     * virtual threads. Once all of them have resolved, or the
+     * {@link Command#resolveTimeoutMillis()} has passed, the outcome is handled on the thread
+     * owning the sender and the command method is invoked on its configured thread.
      *
-     * @param sender The entity initiating the tab-completion request. It could be a player, console,
-     *               or any other type extending {@code CommandSender}.
-     * @param args   The list of arguments provided with the command so far. The method uses
-     *               these to determine which parameter is currently being completed.
-     *               The last element of the array represents the partially-typed input
-     *               being completed.
+     * @param invocation The invocation being dispatched.
+     * @param chain      The chain the dispatch started with.
+     * @param parameters The prepared parameters, possibly containing {@link PendingArgument}s.
+     *
+     * @return {@code true} if arguments are being resolved and the invocation was deferred;
+     * {@code false} if there were no pending arguments (e.g. an omitted optional argument).
+     */
+    private boolean resolveAsync(Invocation invocation, InterceptorChain chain, Object[] parameters) {
+        CommandSender sender = invocation.getSender();
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[parameters.length];
+        List<CompletableFuture<?>> pending = new ArrayList<>();
+        for (int i = 0; i < parameters.length; i++) {
+            if (parameters[i] instanceof PendingArgument argument) {
+                futures[i] = resolve(argument, sender);
+                pending.add(futures[i]);
+            }
+        }
+        if (pending.isEmpty()) {
+            return false;
+        }
+
+        CompletableFuture.allOf(pending.toArray(CompletableFuture<?>[]::new))
+                .orTimeout(commandAnnotation.resolveTimeoutMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, error) -> {
+                    if (error instanceof TimeoutException) {
+                        pending.forEach(future -> future.cancel(true));
+                    }
+                    if (plugin.isEnabled()) {
+                        runOnOwningThread(sender,
+                                () -> completeDeferred(invocation, onResolved(invocation, chain, parameters, futures)));
+                    } else {
+                        // Der Scheduler nimmt keine Tasks mehr an, der Aufruf wird trotzdem abgeschlossen
+                        invocation.complete(CommandResult.FAILED);
+                    }
+                });
+        return true;
+    }
+
+    /**
+     * Determines whether the current thread may run this command for the sender: the global
+     * region thread for {@link Command#globalRegion()} commands, the thread owning the sender
+     * otherwise.
+     *
+     * @param sender The entity initiating the command execution.
+     *
+     * @return {@code true} if the command may run on the current thread.
+     */
+    private boolean isOnOwningThread(CommandSender sender) {
+        return commandAnnotation.globalRegion() ? threads.isGlobalThread() : threads.isOwnedByCurrentThread(sender);
+    }
+
+    /**
+     * Runs a task on the thread this command runs on for the sender, see
+     * {@link #isOnOwningThread(CommandSender)}.
+     *
+     * @param sender The entity initiating the command execution.
+     * @param task   The task to run.
+     */
+    private void runOnOwningThread(CommandSender sender, Runnable task) {
+        if (commandAnnotation.globalRegion()) {
+            threads.runGlobal(task);
+        } else {
+            threads.runFor(sender, task);
+        }
+    }
+
+    /**
+     * Resolves a single asynchronous argument on a virtual thread. Cancelling the returned
+     * future interrupts the thread if the validator is still running.
+     *
+     * @param argument The pending argument.
+     * @param sender   The entity initiating the command execution.
      *
-     * @return A list of potential tab-completion suggestions for the current argument.
-     * The list may be empty if no suggestions are available or if the input does not match
-     * any valid suggestions.
+     * @return A future of the validation result.
      */
-    public List<String> tabComplete(CommandSender sender, String[] args) {
-        if (args.length == 0) return new ArrayList<>();
+    private CompletableFuture<ValidationResult<?>> resolve(PendingArgument argument, CommandSender sender) {
+        ArgumentValidationEvent event = new ArgumentValidationEvent();
+        event.begin();
+        CompletableFuture<ValidationResult<?>> resolved = new CompletableFuture<>();
+        Future<?> task = ArgumentValidator.resolver().submit(() -> {
+            try {
+                argument.validator().validateAsync(argument.input(), sender).whenComplete((result, error) -> {
+                    if (error != null) {
+                        resolved.completeExceptionally(error);
+                        return;
+                    }
+                    event.end();
+                    if (event.shouldCommit()) {
+                        event.command = commandName;
+                        event.argument = argument.validator().getName();
+                        event.index = argument.argIndex();
+                        event.valid = result.isSuccess() || result.isDeferred();
+                        event.commit();
+                    }
+                    resolved.complete(result);
+                });
+            } catch (RuntimeException e) {
+                resolved.completeExceptionally(e);
+            }
+        });
+        resolved.whenComplete((result, error) -> {
+            if (resolved.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return resolved;
+    }
+
+    /**
+     * Handles the outcome of {@link #resolveAsync} on the thread owning the sender: reports the first
+     * argument that failed, timed out or threw, in the order of the parameters, or proceeds
+     * with the resolved values.
+     *
+     * @param invocation The invocation being dispatched.
+     * @param chain      The chain the dispatch started with.
+     * @param parameters The prepared parameters containing {@link PendingArgument}s.
+     * @param futures    The futures of the pending arguments, at the same indices.
+     *
+     * @return {@link CommandResult#INVALID_ARGUMENTS} if an argument could not be resolved;
+     * otherwise the result of proceeding with the invocation.
+     */
+    private CommandResult onResolved(Invocation invocation, InterceptorChain chain, Object[] parameters,
+                                     CompletableFuture<?>[] futures) {
+        CommandSender sender = invocation.getSender();
+        for (int i = 0; i < parameters.length; i++) {
+            if (!(parameters[i] instanceof PendingArgument argument)) {
+                continue;
+            }
+
+            String name = argument.validator().getName();
+            if (!futures[i].isDone() || futures[i].isCancelled()) {
+                sender.sendMessage(messages.format(sender, ApiMessage.ARGUMENT_TIMEOUT, name));
+                return CommandResult.INVALID_ARGUMENTS;
+            }
+            if (futures[i].isCompletedExceptionally()) {
+                Throwable cause = futures[i].exceptionNow();
+                if (cause instanceof CompletionException && cause.getCause() != null) {
+                    cause = cause.getCause();
+                }
+                sender.sendMessage(messages.format(sender, ApiMessage.INVALID_ARGUMENT, name, cause.getMessage()));
+                sender.getServer().getLogger().throwing(CommandHandler.class.getName(), "resolve", cause);
+                return CommandResult.INVALID_ARGUMENTS;
+            }
+
+            ValidationResult<?> result = ((ValidationResult<?>) futures[i].resultNow()).complete();
+            if (!result.isSuccess()) {
+                sender.sendMessage(messages.format(sender, ApiMessage.INVALID_ARGUMENT, name, result.getErrorMessage()));
+                return CommandResult.INVALID_ARGUMENTS;
+            }
+            parameters[i] = result.getValue();
+        }
+
+        return proceed(invocation, chain, parameters);
+    }
+
+    /**
+     * Completes an invocation with the result of a deferred part of its dispatch, unless that
+     * part deferred the dispatch once more.
+     *
+     * @param invocation The invocation being dispatched.
+     * @param result     The result of the deferred part.
+     */
+    private static void completeDeferred(Invocation invocation, CommandResult result) {
+        if (result != CommandResult.SCHEDULED) {
+            invocation.complete(result);
+        }
+    }
+
+    /**
+     * Creates the context of a tab completion request for the argument that is currently being
+     * typed. The arguments preceding it are parsed with their validators, so completion sources
+     * can depend on them (e.g. regions of a previously entered world). Arguments of
+     * {@linkplain ArgumentValidator#isAsync() asynchronous} validators are not resolved and
+     * passed as {@code null}, since resolving them could block the calling thread.
+     *
+     * @param sender The entity initiating the tab-completion request.
+     * @param args   The arguments provided with the command so far, including the names of the
+     *               parent commands. The last element is the partially-typed token.
+     * @param limit  The maximum number of completions to return.
+     *
+     * @return The completion context, or {@code null} if the command has no argument at the
+     * position of the last token.
+     */
+    public CompletionContext createCompletionContext(CommandSender sender, String[] args, int limit) {
+        if (args.length == 0) return null;
 
         int parentCommandCount = commandAnnotation.parent().length;
         int actualParamIndex = args.length - parentCommandCount - 1;
+        if (actualParamIndex < 0 || actualParamIndex >= parameterValidators.size()) {
+            return null;
+        }
 
-        if (actualParamIndex >= 0 && actualParamIndex < parameterValidators.size()) {
-            ArgumentValidator<?> validator = parameterValidators.get(actualParamIndex);
-            List<String> completions = validator.getTabCompletions(sender);
-            String current = args[args.length - 1].toLowerCase();
-
-            return completions.stream()
-                    .filter(s -> s.toLowerCase().startsWith(current))
-                    .collect(java.util.stream.Collectors.toList());
+        List<Object> previousArguments = new ArrayList<>(actualParamIndex);
+        for (int i = 0; i < actualParamIndex; i++) {
+            ArgumentValidator<?> validator = parameterValidators.get(i);
+            // Asynchrone Validatoren könnten blockieren, ihre Werte fehlen im Kontext
+            if (validator.isAsync()) {
+                previousArguments.add(null);
+                continue;
+            }
+            ValidationResult<?> result = validator.validate(args[parentCommandCount + i], sender);
+            previousArguments.add(result.isSuccess() ? result.getValue() : null);
         }
-        return new ArrayList<>();
+
+        return new CompletionContext(sender, args[args.length - 1], Collections.unmodifiableList(previousArguments),
+                actualParamIndex, limit);
+    }
+
+    /**
+     * Requests tab completions from the {@link ArgumentValidator} of the argument described by
+     * the context.
+     *
+     * @param context The completion context created by
+     *                {@link #createCompletionContext(CommandSender, String[], int)}.
+     *
+     * @return A future of the completions, which may complete on another thread.
+     */
+    public CompletableFuture<List<String>> complete(CompletionContext context) {
+        return parameterValidators.get(context.getArgumentIndex()).complete(context);
     }
-}
\ No newline at end of file
+}
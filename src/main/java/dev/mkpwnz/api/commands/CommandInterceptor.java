@@ -0,0 +1,99 @@
+package dev.mkpwnz.api.commands;
+
+/**
+ * A hook into the dispatch of commands, e.g. for cooldowns, auditing, metrics or caching.
+ * Interceptors are registered with {@link CommandManager#addInterceptor(CommandInterceptor)}.
+ * <p>
+ * When the registry changes, the interceptors are compiled per command into a fixed chain
+ * for each phase. An interceptor only becomes part of the chain of a phase for commands it
+ * {@linkplain #appliesTo(String, Command) applies to} and if it overrides the method of that
+ * phase, so commands without interceptors are dispatched without any overhead. Within a
+ * phase, interceptors run in the order they were added, after the built-in permission and
+ * argument count checks and before the response cache of commands with a
+ * {@link Command#cacheTtl()}, which answers cache hits at the end of the
+ * {@code beforeValidation} phase.
+ * <p>
+ * The phases of a dispatch are, in this order:
+ * <ol>
+ *     <li>{@link #beforeValidation(Invocation)} - before the arguments are parsed, e.g. to
+ *     reject the command early. Runs on the thread the command was dispatched on.</li>
+ *     <li>{@link #afterValidation(Invocation)} - once all arguments were parsed, including
+ *     asynchronously resolved ones. Runs on the main thread, or on Folia on the thread
+ *     owning the sender.</li>
+ *     <li>{@link #aroundInvoke(Invocation, InvocationChain)} - wraps the invocation of the
+ *     command method. Runs on the thread the method is invoked on, which is an asynchronous
+ *     one for {@link Command#async()} commands.</li>
+ *     <li>{@link #afterCompletion(Invocation, CommandResult, long)} - after the dispatch
+ *     completed, also if it was rejected or answered from the cache. Only dispatches through the
+ *     {@link CommandManager} complete this phase.</li>
+ * </ol>
+ */
+public interface CommandInterceptor {
+    /**
+     * Determines whether the interceptor takes part in the dispatch of a command. Called once
+     * per command whenever the chains are compiled, never during a dispatch.
+     *
+     * @param command    The full name of the command, e.g. {@code serverinfo.player}.
+     * @param annotation The annotation of the command method.
+     *
+     * @return {@code true} if the interceptor applies to the command.
+     */
+    default boolean appliesTo(String command, Command annotation) {
+        return true;
+    }
+
+    /**
+     * Called before the arguments of the command are parsed.
+     *
+     * @param invocation The invocation being dispatched.
+     *
+     * @return {@code null} to continue, or the result to abort the dispatch with. The
+     * interceptor is responsible for telling the sender why the command was rejected.
+     */
+    default CommandResult beforeValidation(Invocation invocation) {
+        return null;
+    }
+
+    /**
+     * Called once the arguments of the command were parsed successfully, before the command
+     * method is invoked. The parsed values are available from {@link Invocation#getParameters()}.
+     *
+     * @param invocation The invocation being dispatched.
+     *
+     * @return {@code null} to continue, or the result to abort the dispatch with. The
+     * interceptor is responsible for telling the sender why the command was rejected.
+     */
+    default CommandResult afterValidation(Invocation invocation) {
+        return null;
+    }
+
+    /**
+     * Wraps the invocation of the command method. Implementations call
+     * {@link InvocationChain#proceed(Invocation)} to invoke the next interceptor or finally the
+     * method, or skip it and write to the {@link Invocation#getResponse() response} instead,
+     * e.g. to answer from a cache. Exceptions are reported to the sender like exceptions thrown
+     * by the command method.
+     *
+     * @param invocation The invocation being dispatched.
+     * @param next       The rest of the chain.
+     *
+     * @throws Exception If the interceptor or the rest of the chain fails.
+     */
+    default void aroundInvoke(Invocation invocation, InvocationChain next) throws Exception {
+        next.proceed(invocation);
+    }
+
+    /**
+     * Called once the dispatch has completed. For commands that are invoked asynchronously,
+     * resolve arguments asynchronously or are handed over to another thread, this happens when
+     * the deferred part has finished, on the thread it ran on; the result is the real outcome
+     * and the duration covers the whole dispatch. Deferred parts that never run (e.g. because
+     * the player left) do not complete.
+     *
+     * @param invocation    The invocation that was dispatched.
+     * @param result        The result of the dispatch.
+     * @param durationNanos The duration of the dispatch in nanoseconds.
+     */
+    default void afterCompletion(Invocation invocation, CommandResult result, long durationNanos) {
+    }
+}
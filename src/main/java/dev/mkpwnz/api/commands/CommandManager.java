@@ -3,8 +3,14 @@ package dev.mkpwnz.api.commands;
 import dev.mkpwnz.api.arguments.ArgumentInfo;
 import dev.mkpwnz.api.arguments.ArgumentValidator;
 import dev.mkpwnz.api.arguments.ValidatorManager;
+import dev.mkpwnz.api.audit.AuditLog;
+import dev.mkpwnz.api.messages.ApiMessage;
+import dev.mkpwnz.api.messages.MessageCatalog;
+import dev.mkpwnz.api.recording.CommandRecorder;
+import dev.mkpwnz.api.recording.SenderKind;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.command.PluginCommand;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
@@ -13,19 +19,35 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.lang.reflect.Parameter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Implements the functionality for managing and executing commands within the Bukkit/Spigot framework.
  * This class is responsible for registering, validating, and delegating execution of commands.
  * It acts as the bridge between the plugin's custom commands and the Bukkit/Spigot command system.
+ * <p>
+ * Dispatches and tab completions may run on several threads at once, e.g. the region threads
+ * of Folia, so the registry is kept in concurrent maps and changes to it are serialized.
  */
 public class CommandManager implements CommandExecutor, TabCompleter {
+    private static final int MAX_CACHED_RESPONSES = 1024;
+
     private final JavaPlugin plugin;
     private final ValidatorManager validatorManager;
 
 
-    private final Map<String, CommandHandler> commands = new HashMap<>();
-    private final Map<String, CommandData> commandData = new HashMap<>();
+    private final Map<String, CommandHandler> commands = new ConcurrentHashMap<>();
+    private final Map<String, CommandData> commandData = new ConcurrentHashMap<>();
+    private final CompletionTracker completionTracker = new CompletionTracker();
+    private final ResponseCache responseCache = new ResponseCache(MAX_CACHED_RESPONSES);
+    private final List<CommandInterceptor> interceptors = new ArrayList<>();
+
+    private volatile long registryVersion;
+    private volatile PermissionIndex permissionIndex;
+    private volatile SubcommandIndex subcommandIndex;
+    private volatile AuditLog auditLog;
+    private volatile CommandRecorder recorder;
+    private volatile CommandMetrics metrics;
 
     /**
      * Constructs a new instance of the CommandManager, responsible for
@@ -72,17 +94,17 @@ public class CommandManager implements CommandExecutor, TabCompleter {
      *                     commands within the command system. The class must include one
      *                     or more methods with the {@link Command} annotation.
      */
-    public void registerCommand(Object commandClass) {
+    public synchronized void registerCommand(Object commandClass) {
         for (Method method : commandClass.getClass().getDeclaredMethods()) {
             Command commandAnnotation = method.getAnnotation(Command.class);
             if (commandAnnotation != null) {
                 String fullCommandName = buildCommandName(commandAnnotation);
-                CommandHandler handler = new CommandHandler(commandClass, method, commandAnnotation);
+                CommandHandler handler = new CommandHandler(plugin, commandClass, method, commandAnnotation);
                 commands.put(fullCommandName, handler);
 
                 List<ArgumentInfo> parameters = new ArrayList<>();
                 for (Parameter param : method.getParameters()) {
-                    if (param.getType() == CommandSender.class) {
+                    if (CommandHandler.isInjected(param.getType())) {
                         continue;
                     }
 
@@ -129,8 +151,7 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 }
 
                 if (commandAnnotation.parent().length == 0) {
-                    Objects.requireNonNull(plugin.getCommand(commandAnnotation.name())).setExecutor(this);
-                    Objects.requireNonNull(plugin.getCommand(commandAnnotation.name())).setTabCompleter(this);
+                    bindRootCommand(commandAnnotation.name());
                 }
 
                 plugin.getLogger().info(String.format(
@@ -141,6 +162,164 @@ public class CommandManager implements CommandExecutor, TabCompleter {
                 ));
             }
         }
+
+        permissionIndex = null;
+        subcommandIndex = null;
+        responseCache.clear();
+        registryVersion++;
+        compileInterceptors();
+    }
+
+    /**
+     * Registers a {@link CommandInterceptor} hooking into the dispatch of all commands it
+     * applies to. The interceptor chains of all commands are compiled again, so this should be
+     * done while setting up, not during a dispatch.
+     *
+     * @param interceptor The interceptor to add. It runs after all interceptors added before.
+     */
+    public synchronized void addInterceptor(CommandInterceptor interceptor) {
+        interceptors.add(interceptor);
+        compileInterceptors();
+    }
+
+    /**
+     * Removes a previously registered {@link CommandInterceptor} and compiles the interceptor
+     * chains of all commands again.
+     *
+     * @param interceptor The interceptor to remove.
+     */
+    public synchronized void removeInterceptor(CommandInterceptor interceptor) {
+        if (interceptors.remove(interceptor)) {
+            compileInterceptors();
+        }
+    }
+
+    /**
+     * Compiles the registered interceptors, followed by the response cache and by auditing and
+     * metrics if they are enabled, into the chains of all registered commands.
+     */
+    private synchronized void compileInterceptors() {
+        List<CommandInterceptor> active = new ArrayList<>(interceptors);
+        active.add(StandardInterceptors.cache(responseCache, this::getPermissionIndex));
+        if (auditLog != null) {
+            active.add(StandardInterceptors.audit(auditLog));
+        }
+        if (metrics != null) {
+            active.add(StandardInterceptors.metrics(metrics));
+        }
+        for (CommandHandler handler : commands.values()) {
+            handler.compileInterceptors(active);
+        }
+    }
+
+    /**
+     * Binds a root command declared in the plugin.yml to this manager, so Bukkit delegates
+     * execution and tab completion to it. Subclasses running outside a server (e.g. the replay
+     * harness) may override this method to skip the binding.
+     *
+     * @param name The name of the root command.
+     *
+     * @throws NullPointerException If the command is not declared in the plugin.yml.
+     */
+    protected void bindRootCommand(String name) {
+        PluginCommand pluginCommand = Objects.requireNonNull(plugin.getCommand(name));
+        pluginCommand.setExecutor(this);
+        pluginCommand.setTabCompleter(this);
+    }
+
+    /**
+     * Retrieves the current version of the command registry. The version changes every time
+     * commands are registered, so it can be used to invalidate data derived from the registry.
+     *
+     * @return The current registry version.
+     */
+    public long getRegistryVersion() {
+        return registryVersion;
+    }
+
+    /**
+     * Retrieves the {@link PermissionIndex} of all permissions used by the registered commands.
+     * The index is built lazily and reused until the registry changes.
+     *
+     * @return The permission index for the current registry version.
+     */
+    public PermissionIndex getPermissionIndex() {
+        PermissionIndex index = permissionIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = permissionIndex;
+                if (index == null) {
+                    index = new PermissionIndex(commandData.values());
+                    permissionIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Retrieves the {@link SubcommandIndex} used to suggest subcommands for typos.
+     * The index is built lazily and reused until the registry changes.
+     *
+     * @return The subcommand index for the current registry version.
+     */
+    private SubcommandIndex getSubcommandIndex() {
+        SubcommandIndex index = subcommandIndex;
+        if (index == null) {
+            // Unter dem Monitor der Registrierung, damit kein veralteter Index gespeichert wird
+            synchronized (this) {
+                index = subcommandIndex;
+                if (index == null) {
+                    Map<String, Integer> argumentCounts = new HashMap<>();
+                    commands.forEach((name, handler) -> argumentCounts.put(name, handler.getArgumentCount()));
+                    index = new SubcommandIndex(argumentCounts);
+                    subcommandIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Retrieves the statistics of the cache used for commands with a {@link Command#cacheTtl()},
+     * e.g. to tune their TTLs.
+     *
+     * @return A snapshot of the hit and miss counts and the number of cached outputs.
+     */
+    public CacheStats getResponseCacheStats() {
+        return responseCache.stats();
+    }
+
+    /**
+     * Sets the {@link AuditLog} receiving a record for every dispatch of a command that requires
+     * a permission. Passing {@code null} disables auditing.
+     *
+     * @param auditLog The audit log to use, or {@code null}.
+     */
+    public void setAuditLog(AuditLog auditLog) {
+        this.auditLog = auditLog;
+        compileInterceptors();
+    }
+
+    /**
+     * Sets the {@link CommandRecorder} receiving every dispatched command line. Passing
+     * {@code null} stops recording dispatches.
+     *
+     * @param recorder The recorder to use, or {@code null}.
+     */
+    public void setRecorder(CommandRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * Sets the {@link CommandMetrics} receiving the result and latency of every dispatch.
+     * Passing {@code null} stops collecting metrics.
+     *
+     * @param metrics The metrics to record into, or {@code null}.
+     */
+    public void setMetrics(CommandMetrics metrics) {
+        this.metrics = metrics;
+        compileInterceptors();
     }
 
     /**
@@ -206,9 +385,67 @@ public class CommandManager implements CommandExecutor, TabCompleter {
      */
     @Override
     public boolean onCommand(@NotNull CommandSender sender, org.bukkit.command.Command command, @NotNull String label, String[] args) {
-        String baseCommand = command.getName().toLowerCase();
+        return dispatch(sender, command.getName(), args).toBukkitResult();
+    }
+
+    /**
+     * Dispatches a complete command line as if the sender had typed it, without going through
+     * Bukkit's command map. This is used to replay recorded traffic.
+     *
+     * @param sender      The {@link CommandSender} executing the command.
+     * @param commandLine The command line, with or without a leading slash,
+     *                    e.g. {@code serverinfo player Steve}.
+     *
+     * @return The {@link CommandResult} of the dispatch, or {@link CommandResult#UNKNOWN_COMMAND}
+     * if no registered command matches the line.
+     */
+    public CommandResult dispatch(CommandSender sender, String commandLine) {
+        String line = commandLine.startsWith("/") ? commandLine.substring(1) : commandLine;
+        String[] tokens = line.trim().split("\\s+");
+        if (tokens[0].isEmpty()) {
+            return CommandResult.UNKNOWN_COMMAND;
+        }
+        return dispatch(sender, tokens[0], Arrays.copyOfRange(tokens, 1, tokens.length));
+    }
+
+    /**
+     * Resolves the full command name (including subcommands) and delegates to the matching
+     * {@link CommandHandler}. Dispatches are recorded if a {@link CommandRecorder} is set. They
+     * are only timed if an interceptor of the command, e.g. for {@link CommandMetrics} or the
+     * {@link AuditLog}, takes part in the {@code afterCompletion} phase. Dispatches that are
+     * deferred to another thread complete that phase once their real outcome is known.
+     * <p>
+     * If a token looks like a typo of a subcommand (e.g. {@code /serverinfo perfromance}) and
+     * cannot be an argument of the parent command, the sender is told which subcommand they
+     * probably meant instead of dispatching the parent command. If it can be an argument, the
+     * parent command is dispatched and the hint is only shown if its arguments are invalid.
+     *
+     * @param sender      The {@link CommandSender} executing the command.
+     * @param baseCommand The name of the root command.
+     * @param args        The arguments following the root command.
+     *
+     * @return The {@link CommandResult} of the dispatch.
+     */
+    private CommandResult dispatch(CommandSender sender, String baseCommand, String[] args) {
+        CommandDispatchEvent event = new CommandDispatchEvent();
+        event.begin();
+
+        baseCommand = baseCommand.toLowerCase();
         String fullCommand = baseCommand;
 
+        CommandRecorder activeRecorder = recorder;
+        if (activeRecorder != null) {
+            activeRecorder.record(sender, args.length > 0 ? baseCommand + " " + String.join(" ", args) : baseCommand,
+                    getPermissionIndex());
+        }
+
+        SubcommandIndex.Suggestion suggestion = getSubcommandIndex().suggest(baseCommand, args);
+        if (suggestion != null) {
+            sender.sendMessage(MessageCatalog.getInstance().format(sender, ApiMessage.UNKNOWN_SUBCOMMAND,
+                    suggestion.input(), "/" + suggestion.suggestion().replace('.', ' ')));
+            return commitDispatchEvent(event, sender, baseCommand, args.length, CommandResult.UNKNOWN_SUBCOMMAND);
+        }
+
         if (args.length > 0) {
             fullCommand = baseCommand + "." + String.join(".", args);
         }
@@ -224,15 +461,59 @@ public class CommandManager implements CommandExecutor, TabCompleter {
             }
         }
 
-        if (matchingCommand != null) {
-            CommandHandler handler = commands.get(matchingCommand);
-            String[] remainingArgs = Arrays.copyOfRange(args,
-                    matchingCommand.split("\\.").length - 1,
-                    args.length);
-            return handler.execute(sender, remainingArgs);
+        if (matchingCommand == null) {
+            return commitDispatchEvent(event, sender, baseCommand, args.length, CommandResult.UNKNOWN_COMMAND);
         }
 
-        return false;
+        CommandHandler handler = commands.get(matchingCommand);
+        String[] remainingArgs = Arrays.copyOfRange(args,
+                matchingCommand.split("\\.").length - 1,
+                args.length);
+
+        Invocation invocation = handler.createInvocation(sender, remainingArgs);
+        InterceptorChain.Completion completion = handler.getInterceptors().afterCompletion();
+        if (completion != null) {
+            // Verzögerte Dispatches melden ihr Ergebnis selbst, sobald es feststeht
+            invocation.setCompletion(completion, System.nanoTime());
+        }
+        CommandResult result = handler.dispatch(invocation);
+        if (result != CommandResult.SCHEDULED) {
+            invocation.complete(result);
+        }
+        if (result == CommandResult.INVALID_ARGUMENTS) {
+            // Das ungültige Argument war womöglich ein vertippter Subcommand
+            suggestion = getSubcommandIndex().suggestForInvalidArguments(baseCommand, args);
+            if (suggestion != null) {
+                sender.sendMessage(MessageCatalog.getInstance().format(sender, ApiMessage.SUBCOMMAND_HINT,
+                        "/" + suggestion.suggestion().replace('.', ' ')));
+            }
+        }
+        return commitDispatchEvent(event, sender, matchingCommand, remainingArgs.length, result);
+    }
+
+    /**
+     * Completes a {@link CommandDispatchEvent} and commits it if Flight Recorder is recording
+     * it. The fields are only filled in that case, so a disabled event costs next to nothing.
+     *
+     * @param event         The event started at the beginning of the dispatch.
+     * @param sender        The {@link CommandSender} executing the command.
+     * @param command       The full name of the resolved command.
+     * @param argumentCount The number of arguments passed to the command.
+     * @param result        The result of the dispatch.
+     *
+     * @return The given result.
+     */
+    private static CommandResult commitDispatchEvent(CommandDispatchEvent event, CommandSender sender, String command,
+                                                     int argumentCount, CommandResult result) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = command;
+            event.senderType = SenderKind.of(sender).name();
+            event.argumentCount = argumentCount;
+            event.result = result.name();
+            event.commit();
+        }
+        return result;
     }
 
     /**
@@ -253,7 +534,31 @@ public class CommandManager implements CommandExecutor, TabCompleter {
      */
     @Override
     public List<String> onTabComplete(@NotNull CommandSender sender, org.bukkit.command.Command command, @NotNull String alias, String[] args) {
-        String baseCommand = command.getName().toLowerCase();
+        TabCompletionEvent event = new TabCompletionEvent();
+        event.begin();
+        List<String> suggestions = tabComplete(sender, command.getName().toLowerCase(), args);
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = command.getName().toLowerCase();
+            event.senderType = SenderKind.of(sender).name();
+            event.candidates = suggestions.size();
+            event.commit();
+        }
+        return suggestions;
+    }
+
+    /**
+     * Computes the tab completions for {@link #onTabComplete}: the matching subcommands of
+     * the current path or, if there are none, the completions of the longest registered
+     * command preceding the token that is being typed.
+     *
+     * @param sender      The {@link CommandSender} who initiated the tab completion.
+     * @param baseCommand The lowercase name of the root command.
+     * @param args        The arguments typed so far; the last one is being completed.
+     *
+     * @return The completions.
+     */
+    private List<String> tabComplete(CommandSender sender, String baseCommand, String[] args) {
         List<String> suggestions = new ArrayList<>();
 
         String currentPath = baseCommand;
@@ -274,20 +579,14 @@ public class CommandManager implements CommandExecutor, TabCompleter {
         }
 
         if (suggestions.isEmpty()) {
-            String fullCommand;
-            if (args.length > 0) {
-                String argPath = String.join(".", Arrays.stream(args)
-                        .filter(arg -> !arg.isEmpty())
-                        .toArray(String[]::new));
-                fullCommand = argPath.isEmpty() ? baseCommand : baseCommand + "." + argPath;
-            } else {
-                fullCommand = baseCommand;
-            }
-
-            CommandHandler handler = commands.get(fullCommand);
-
-            if (handler != null) {
-                return handler.tabComplete(sender, args);
+            // Längster registrierter Command vor dem Token, das gerade getippt wird
+            String[] parts = currentPath.toLowerCase().split("\\.");
+            for (int i = parts.length; i > 0; i--) {
+                String testCommand = String.join(".", Arrays.copyOfRange(parts, 0, i));
+                CommandHandler handler = commands.get(testCommand);
+                if (handler != null) {
+                    return completionTracker.complete(sender, handler, testCommand, args);
+                }
             }
         }
 
@@ -0,0 +1,104 @@
+package dev.mkpwnz.api.commands;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts command dispatches per command and result and records their latencies in a
+ * fixed-bucket histogram, for export to monitoring systems.
+ * <p>
+ * Recording only increments {@link LongAdder}s, so it is cheap on the main thread and
+ * snapshots can be taken from any thread without locking.
+ */
+public class CommandMetrics {
+    /**
+     * The upper bounds of the latency buckets in seconds. An implicit last bucket counts
+     * all dispatches.
+     */
+    public static final double[] BUCKET_BOUNDS_SECONDS = {
+            0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 1.0
+    };
+
+    private static final long[] BUCKET_BOUNDS_NANOS = new long[BUCKET_BOUNDS_SECONDS.length];
+
+    static {
+        for (int i = 0; i < BUCKET_BOUNDS_SECONDS.length; i++) {
+            BUCKET_BOUNDS_NANOS[i] = (long) (BUCKET_BOUNDS_SECONDS[i] * 1_000_000_000L);
+        }
+    }
+
+    private final Map<String, Stats> commands = new ConcurrentHashMap<>();
+
+    private static final class Stats {
+        private final LongAdder[] results = adders(CommandResult.values().length);
+        private final LongAdder[] buckets = adders(BUCKET_BOUNDS_NANOS.length);
+        private final LongAdder sumNanos = new LongAdder();
+
+        private static LongAdder[] adders(int count) {
+            LongAdder[] adders = new LongAdder[count];
+            for (int i = 0; i < count; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    /**
+     * A snapshot of the metrics of one command.
+     *
+     * @param results    The number of dispatches per {@link CommandResult}, indexed by ordinal.
+     * @param buckets    The cumulative number of dispatches per latency bucket, i.e. the number of
+     *                   dispatches that took at most {@link #BUCKET_BOUNDS_SECONDS}{@code [i]}.
+     * @param count      The total number of dispatches.
+     * @param sumSeconds The total time spent dispatching the command.
+     */
+    public record Snapshot(long[] results, long[] buckets, long count, double sumSeconds) {
+    }
+
+    /**
+     * Records a dispatch.
+     *
+     * @param command       The full name of the command.
+     * @param result        The result of the dispatch.
+     * @param durationNanos The time spent dispatching the command.
+     */
+    public void record(String command, CommandResult result, long durationNanos) {
+        Stats stats = commands.computeIfAbsent(command, key -> new Stats());
+        stats.results[result.ordinal()].increment();
+        stats.sumNanos.add(durationNanos);
+        for (int i = 0; i < BUCKET_BOUNDS_NANOS.length; i++) {
+            if (durationNanos <= BUCKET_BOUNDS_NANOS[i]) {
+                stats.buckets[i].increment();
+                break;
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the metrics of all commands dispatched so far.
+     *
+     * @return The snapshots, sorted by command name.
+     */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> snapshot = new TreeMap<>();
+        commands.forEach((command, stats) -> {
+            long[] results = new long[stats.results.length];
+            long count = 0;
+            for (int i = 0; i < results.length; i++) {
+                results[i] = stats.results[i].sum();
+                count += results[i];
+            }
+
+            long[] buckets = new long[stats.buckets.length];
+            long cumulative = 0;
+            for (int i = 0; i < buckets.length; i++) {
+                cumulative += stats.buckets[i].sum();
+                buckets[i] = cumulative;
+            }
+            snapshot.put(command, new Snapshot(results, buckets, count, stats.sumNanos.sum() / 1_000_000_000.0));
+        });
+        return snapshot;
+    }
+}
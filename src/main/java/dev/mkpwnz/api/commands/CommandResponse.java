@@ -0,0 +1,412 @@
+package dev.mkpwnz.api.commands;
+
+import dev.mkpwnz.api.messages.MessageCatalog;
+import dev.mkpwnz.api.messages.MessageKey;
+import dev.mkpwnz.api.scheduler.ServerThreads;
+import net.md_5.bungee.api.chat.BaseComponent;
+import net.md_5.bungee.api.chat.ClickEvent;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects the output of a command and sends it to the {@link CommandSender} as a single
+ * multi-line message.
+ * <p>
+ * A {@code CommandResponse} is injected into every command method that declares a parameter
+ * of this type. All lines written during the invocation are buffered and flushed once the
+ * method returns, which results in one chat packet and one legacy color parse per command
+ * instead of one per line. Lines written later (e.g. from a callback on another thread) are
+ * sent with an explicit call to {@link #flush()}, which hops to the thread owning the sender
+ * (the main thread, or its region thread on Folia) once for the whole buffer when necessary.
+ * <p>
+ * Every text method has an overload taking a {@link MessageKey}, which renders the message
+ * from the {@link MessageCatalog} in the language of the sender.
+ * <p>
+ * Players can click on text appended with {@link #link(String, String)} to run a command;
+ * other senders see the command next to the text instead.
+ */
+public class CommandResponse {
+    private static final String HEADER_PREFIX = "§6=== ";
+    private static final String HEADER_SUFFIX = " ===";
+    private static final String FIELD_PREFIX = "§7";
+    private static final String FIELD_SEPARATOR = ": §f";
+    private static final String DETAIL_PREFIX = "    §8➜ §7";
+    private static final String ERROR_PREFIX = "§c";
+
+    private final Plugin plugin;
+    private final ServerThreads threads;
+    private final CommandSender sender;
+    private final StringBuilder buffer = new StringBuilder(256);
+    private final List<Link> links = new ArrayList<>(0);
+    private int lineCount;
+    private int errorCount;
+    private int flushCount;
+
+    /**
+     * A clickable range of the buffer.
+     *
+     * @param start   The index of the first character of the link text.
+     * @param end     The index after the last character of the link text.
+     * @param command The command run on click, without leading slash.
+     */
+    record Link(int start, int end, String command) {
+    }
+
+    /**
+     * A position in the buffer, taken with {@link #mark()}.
+     */
+    record Mark(int length, int lines, int errors, int flushes) {
+    }
+
+    /**
+     * Output rendered for one sender, including its clickable links, that can be written into
+     * another response with {@link #replay(Rendered)}.
+     *
+     * @param text  The buffered lines, separated by line breaks.
+     * @param lines The number of lines.
+     * @param links The clickable ranges of the text.
+     * @param error Whether an {@linkplain #error(String) error line} was written.
+     */
+    record Rendered(String text, int lines, List<Link> links, boolean error) {
+    }
+
+    /**
+     * Constructs a new CommandResponse for the given sender.
+     *
+     * @param plugin The plugin used to schedule flushes from asynchronous threads.
+     * @param sender The sender receiving the buffered output.
+     */
+    public CommandResponse(Plugin plugin, CommandSender sender) {
+        this.plugin = plugin;
+        this.threads = ServerThreads.of(plugin);
+        this.sender = sender;
+    }
+
+    /**
+     * Appends a line of text. Legacy color codes ({@code §}) are supported.
+     *
+     * @param text The line to append.
+     *
+     * @return This response, for chaining.
+     */
+    public synchronized CommandResponse line(String text) {
+        if (lineCount++ > 0) {
+            buffer.append('\n');
+        }
+        buffer.append(text);
+        return this;
+    }
+
+    /**
+     * Appends multiple lines of text.
+     *
+     * @param lines The lines to append.
+     *
+     * @return This response, for chaining.
+     */
+    public synchronized CommandResponse lines(String... lines) {
+        for (String text : lines) {
+            line(text);
+        }
+        return this;
+    }
+
+    /**
+     * Appends an empty line.
+     *
+     * @return This response, for chaining.
+     */
+    public CommandResponse blank() {
+        return line("");
+    }
+
+    /**
+     * Appends a header line in the form {@code === title ===}.
+     *
+     * @param title The title of the header.
+     *
+     * @return This response, for chaining.
+     */
+    public synchronized CommandResponse header(String title) {
+        return line(HEADER_PREFIX).append(title).append(HEADER_SUFFIX);
+    }
+
+    /**
+     * Appends a labeled value in the form {@code label: value}.
+     *
+     * @param label The label of the value.
+     * @param value The value to display.
+     *
+     * @return This response, for chaining.
+     */
+    public synchronized CommandResponse field(String label, Object value) {
+        return line(FIELD_PREFIX).append(label).append(FIELD_SEPARATOR).append(String.valueOf(value));
+    }
+
+    /**
+     * Appends an indented detail line belonging to the previous line.
+     *
+     * @param text The detail to append.
+     *
+     * @return This response, for chaining.
+     */
+    public synchronized CommandResponse detail(String text) {
+        return line(DETAIL_PREFIX).append(text);
+    }
+
+    /**
+     * Appends an error line.
+     *
+     * @param text The error message to append.
+     *
+     * @return This response, for chaining.
+     */
+    public synchronized CommandResponse error(String text) {
+        errorCount++;
+        return line(ERROR_PREFIX).append(text);
+    }
+
+    /**
+     * Appends a clickable text to the current line, separated by a space. Clicking it makes
+     * a player run the given command; other senders see the command after the text.
+     *
+     * @param text    The text of the link. Legacy color codes ({@code §}) are supported.
+     * @param command The command to run, without leading slash.
+     *
+     * @return This response, for chaining.
+     */
+    public synchronized CommandResponse link(String text, String command) {
+        if (lineCount == 0) {
+            lineCount++;
+        } else {
+            buffer.append(' ');
+        }
+        if (sender instanceof Player) {
+            int start = buffer.length();
+            buffer.append(text);
+            links.add(new Link(start, buffer.length(), "/" + command));
+        } else {
+            buffer.append(text).append(" §8(/").append(command).append(')');
+        }
+        return this;
+    }
+
+    /**
+     * Appends a localized line of text.
+     *
+     * @param key  The key of the message.
+     * @param args The arguments referenced by the placeholders of the message.
+     *
+     * @return This response, for chaining.
+     */
+    public CommandResponse line(MessageKey key, Object... args) {
+        return line(translate(key, args));
+    }
+
+    /**
+     * Appends a localized header line.
+     *
+     * @param key  The key of the header title.
+     * @param args The arguments referenced by the placeholders of the title.
+     *
+     * @return This response, for chaining.
+     */
+    public CommandResponse header(MessageKey key, Object... args) {
+        return header(translate(key, args));
+    }
+
+    /**
+     * Appends a labeled value with a localized label.
+     *
+     * @param label The key of the label.
+     * @param value The value to display.
+     *
+     * @return This response, for chaining.
+     */
+    public CommandResponse field(MessageKey label, Object value) {
+        return field(translate(label), value);
+    }
+
+    /**
+     * Appends a localized detail line.
+     *
+     * @param key  The key of the message.
+     * @param args The arguments referenced by the placeholders of the message.
+     *
+     * @return This response, for chaining.
+     */
+    public CommandResponse detail(MessageKey key, Object... args) {
+        return detail(translate(key, args));
+    }
+
+    /**
+     * Appends a localized error line.
+     *
+     * @param key  The key of the error message.
+     * @param args The arguments referenced by the placeholders of the message.
+     *
+     * @return This response, for chaining.
+     */
+    public CommandResponse error(MessageKey key, Object... args) {
+        return error(translate(key, args));
+    }
+
+    /**
+     * Renders a message from the {@link MessageCatalog} in the language of the sender
+     * without appending it.
+     *
+     * @param key  The key of the message.
+     * @param args The arguments referenced by the placeholders of the message.
+     *
+     * @return The rendered message.
+     */
+    public String translate(MessageKey key, Object... args) {
+        return MessageCatalog.getInstance().format(sender, key, args);
+    }
+
+    private CommandResponse append(String text) {
+        buffer.append(text);
+        return this;
+    }
+
+    /**
+     * Retrieves the buffered lines as they would be sent by {@link #flush()}, e.g. to inspect
+     * the output of a command in a {@link CommandInterceptor}.
+     *
+     * @return The buffered lines, separated by line breaks.
+     */
+    public synchronized String contents() {
+        return buffer.toString();
+    }
+
+    /**
+     * Marks the current end of the buffer, so the output written afterwards can be retrieved
+     * with {@link #renderedSince(Mark)}.
+     *
+     * @return The mark.
+     */
+    synchronized Mark mark() {
+        return new Mark(buffer.length(), lineCount, errorCount, flushCount);
+    }
+
+    /**
+     * Retrieves the output written since the given mark, e.g. to cache the output of the
+     * command method without the lines interceptors wrote before.
+     *
+     * @param mark The mark taken with {@link #mark()}.
+     *
+     * @return The rendered output, or {@code null} if the response was flushed in the meantime.
+     */
+    synchronized Rendered renderedSince(Mark mark) {
+        if (flushCount != mark.flushes()) {
+            return null;
+        }
+        int start = mark.length();
+        // Der Zeilenumbruch zu den Zeilen vor der Markierung gehört nicht zur Ausgabe
+        if (mark.lines() > 0 && start < buffer.length() && buffer.charAt(start) == '\n') {
+            start++;
+        }
+        List<Link> rendered = new ArrayList<>(0);
+        for (Link link : links) {
+            if (link.start() >= start) {
+                rendered.add(new Link(link.start() - start, link.end() - start, link.command()));
+            }
+        }
+        return new Rendered(buffer.substring(start), lineCount - mark.lines(), List.copyOf(rendered),
+                errorCount != mark.errors());
+    }
+
+    /**
+     * Appends output rendered by {@link #renderedSince(Mark)} for a sender of the same kind,
+     * keeping its clickable links.
+     *
+     * @param rendered The output to append.
+     *
+     * @return This response, for chaining.
+     */
+    synchronized CommandResponse replay(Rendered rendered) {
+        if (rendered.lines() == 0) {
+            return this;
+        }
+        line(rendered.text());
+        int offset = buffer.length() - rendered.text().length();
+        for (Link link : rendered.links()) {
+            links.add(new Link(link.start() + offset, link.end() + offset, link.command()));
+        }
+        lineCount += rendered.lines() - 1;
+        return this;
+    }
+
+    /**
+     * Determines whether the response currently holds unsent lines.
+     *
+     * @return {@code true} if no lines are buffered.
+     */
+    public synchronized boolean isEmpty() {
+        return lineCount == 0;
+    }
+
+    /**
+     * Sends all buffered lines as one message and clears the buffer. When called from a thread
+     * that does not own the sender, the message is sent in a single task on the owning thread.
+     */
+    public void flush() {
+        String message;
+        List<Link> messageLinks;
+        synchronized (this) {
+            if (lineCount == 0) {
+                return;
+            }
+            message = buffer.toString();
+            messageLinks = links.isEmpty() ? Collections.emptyList() : List.copyOf(links);
+            buffer.setLength(0);
+            links.clear();
+            lineCount = 0;
+            flushCount++;
+        }
+
+        if (threads.isOwnedByCurrentThread(sender)) {
+            send(message, messageLinks);
+        } else if (plugin.isEnabled()) {
+            threads.runFor(sender, () -> send(message, messageLinks));
+        }
+    }
+
+    private void send(String message, List<Link> messageLinks) {
+        if (!(sender instanceof Player player)) {
+            sender.sendMessage(message);
+        } else if (messageLinks.isEmpty()) {
+            player.spigot().sendMessage(TextComponent.fromLegacyText(message));
+        } else {
+            player.spigot().sendMessage(toComponents(message, messageLinks));
+        }
+    }
+
+    private static BaseComponent[] toComponents(String message, List<Link> messageLinks) {
+        List<BaseComponent> components = new ArrayList<>();
+        int position = 0;
+        for (Link link : messageLinks) {
+            Collections.addAll(components, chunk(message, position, link.start()));
+            for (BaseComponent component : chunk(message, link.start(), link.end())) {
+                component.setClickEvent(new ClickEvent(ClickEvent.Action.RUN_COMMAND, link.command()));
+                components.add(component);
+            }
+            position = link.end();
+        }
+        Collections.addAll(components, chunk(message, position, message.length()));
+        return components.toArray(new BaseComponent[0]);
+    }
+
+    private static BaseComponent[] chunk(String message, int start, int end) {
+        // Jeder Abschnitt wird einzeln geparst und übernimmt die Farbe, die davor zuletzt gesetzt wurde
+        return TextComponent.fromLegacyText(ChatColor.getLastColors(message.substring(0, start))
+                + message.substring(start, end));
+    }
+}
@@ -0,0 +1,49 @@
+package dev.mkpwnz.api.commands;
+
+/**
+ * The outcome of dispatching a command to its {@link CommandHandler}.
+ */
+public enum CommandResult {
+    /**
+     * The command method completed normally.
+     */
+    SUCCESS,
+    /**
+     * The command was handed to another thread; its outcome is not known yet. Dispatches
+     * through the {@link CommandManager} report the outcome to the
+     * {@link CommandInterceptor#afterCompletion afterCompletion} phase once it is known.
+     */
+    SCHEDULED,
+    /**
+     * The sender lacked the permission of the command.
+     */
+    NO_PERMISSION,
+    /**
+     * The arguments were missing or failed validation.
+     */
+    INVALID_ARGUMENTS,
+    /**
+     * The command method threw an exception.
+     */
+    FAILED,
+    /**
+     * No registered command matched the command line.
+     */
+    UNKNOWN_COMMAND,
+    /**
+     * The command line contained a mistyped subcommand. The sender was already told which
+     * subcommand they probably meant, so Bukkit's usage message is not shown.
+     */
+    UNKNOWN_SUBCOMMAND;
+
+    /**
+     * Converts the result to the return value expected by Bukkit's command executor,
+     * where {@code false} causes the usage message to be shown.
+     *
+     * @return {@code false} for invalid arguments, failures and unknown commands; {@code true} otherwise,
+     * including {@link #UNKNOWN_SUBCOMMAND}.
+     */
+    public boolean toBukkitResult() {
+        return this != INVALID_ARGUMENTS && this != FAILED && this != UNKNOWN_COMMAND;
+    }
+}
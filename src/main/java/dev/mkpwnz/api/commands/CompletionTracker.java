@@ -0,0 +1,104 @@
+package dev.mkpwnz.api.commands;
+
+import dev.mkpwnz.api.arguments.CompletionContext;
+import org.bukkit.command.CommandSender;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Answers tab completion requests without blocking the main thread, even if a validator
+ * completes asynchronously.
+ * <p>
+ * Bukkit expects the completions to be returned synchronously. If the validator's future is
+ * already complete, its result is returned directly. Otherwise, the last completions of the
+ * same sender for the same argument are returned (narrowed to the current partial token), and
+ * the pending future updates them for the next keystroke. Every new request cancels the
+ * pending request of the same sender, since its result would be outdated anyway.
+ */
+final class CompletionTracker {
+    static final int MAX_COMPLETIONS = 100;
+    private static final int MAX_SENDERS = 256;
+
+    private final Map<String, State> states = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, State> eldest) {
+            return size() > MAX_SENDERS;
+        }
+    };
+
+    /**
+     * The completion state of one sender.
+     */
+    private static final class State {
+        private CompletionContext pendingContext;
+        private CompletableFuture<List<String>> pending;
+        private String argumentKey;
+        private List<String> lastCompletions = List.of();
+    }
+
+    /**
+     * Requests completions for the argument that is currently being typed.
+     *
+     * @param sender      The sender requesting completions.
+     * @param handler     The handler of the command being completed.
+     * @param commandName The full name of the command being completed.
+     * @param args        The arguments provided with the command so far.
+     *
+     * @return The completions available without waiting.
+     */
+    List<String> complete(CommandSender sender, CommandHandler handler, String commandName, String[] args) {
+        CompletionContext context = handler.createCompletionContext(sender, args, MAX_COMPLETIONS);
+        if (context == null) {
+            return List.of();
+        }
+        String argumentKey = commandName + "#" + context.getArgumentIndex();
+
+        State state;
+        synchronized (states) {
+            state = states.computeIfAbsent(sender.getName(), key -> new State());
+        }
+
+        CompletableFuture<List<String>> future;
+        synchronized (state) {
+            if (state.pending != null && !state.pending.isDone()) {
+                state.pendingContext.cancel();
+                state.pending.cancel(true);
+            }
+            if (!argumentKey.equals(state.argumentKey)) {
+                state.argumentKey = argumentKey;
+                state.lastCompletions = List.of();
+            }
+
+            future = handler.complete(context);
+            List<String> completions = future.getNow(null);
+            if (completions != null) {
+                state.pending = null;
+                state.pendingContext = null;
+                state.lastCompletions = completions;
+                return completions;
+            }
+
+            state.pending = future;
+            state.pendingContext = context;
+        }
+
+        future.thenAccept(completions -> {
+            synchronized (state) {
+                if (state.pending == future) {
+                    state.pending = null;
+                    state.pendingContext = null;
+                    state.lastCompletions = completions;
+                }
+            }
+        });
+
+        synchronized (state) {
+            return state.lastCompletions.stream()
+                    .filter(context::matches)
+                    .toList();
+        }
+    }
+}
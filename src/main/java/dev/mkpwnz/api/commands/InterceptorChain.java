@@ -0,0 +1,135 @@
+package dev.mkpwnz.api.commands;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+/**
+ * The {@link CommandInterceptor}s of one command, compiled into a fixed chain of closures per
+ * phase. Phases no interceptor takes part in are {@code null}, so the handler skips them with a
+ * single check; a dispatch never iterates over interceptors or uses reflection.
+ */
+final class InterceptorChain {
+    /**
+     * A compiled {@code beforeValidation} or {@code afterValidation} chain.
+     */
+    @FunctionalInterface
+    interface Gate {
+        CommandResult check(Invocation invocation);
+    }
+
+    /**
+     * A compiled {@code afterCompletion} chain.
+     */
+    @FunctionalInterface
+    interface Completion {
+        void complete(Invocation invocation, CommandResult result, long durationNanos);
+    }
+
+    private final Gate beforeValidation;
+    private final Gate afterValidation;
+    private final InvocationChain invoke;
+    private final Completion afterCompletion;
+
+    private InterceptorChain(Gate beforeValidation, Gate afterValidation, InvocationChain invoke,
+                             Completion afterCompletion) {
+        this.beforeValidation = beforeValidation;
+        this.afterValidation = afterValidation;
+        this.invoke = invoke;
+        this.afterCompletion = afterCompletion;
+    }
+
+    /**
+     * Compiles the interceptors applying to a command.
+     *
+     * @param interceptors The interceptors applying to the command, in the order they run.
+     * @param terminal     The invocation of the command method, ending the
+     *                     {@code aroundInvoke} chain.
+     *
+     * @return The compiled chain.
+     */
+    static InterceptorChain compile(List<CommandInterceptor> interceptors, InvocationChain terminal) {
+        Gate beforeValidation = null;
+        Gate afterValidation = null;
+        InvocationChain invoke = terminal;
+        Completion afterCompletion = null;
+
+        // Von hinten nach vorne, damit jede Stufe die bereits gebaute Folgestufe kennt
+        for (int i = interceptors.size() - 1; i >= 0; i--) {
+            CommandInterceptor interceptor = interceptors.get(i);
+            if (overrides(interceptor, "beforeValidation", Invocation.class)) {
+                beforeValidation = gate(interceptor, CommandInterceptor::beforeValidation, beforeValidation);
+            }
+            if (overrides(interceptor, "afterValidation", Invocation.class)) {
+                afterValidation = gate(interceptor, CommandInterceptor::afterValidation, afterValidation);
+            }
+            if (overrides(interceptor, "aroundInvoke", Invocation.class, InvocationChain.class)) {
+                InvocationChain next = invoke;
+                invoke = invocation -> interceptor.aroundInvoke(invocation, next);
+            }
+            if (overrides(interceptor, "afterCompletion", Invocation.class, CommandResult.class, long.class)) {
+                Completion next = afterCompletion;
+                afterCompletion = next == null ? interceptor::afterCompletion : (invocation, result, duration) -> {
+                    interceptor.afterCompletion(invocation, result, duration);
+                    next.complete(invocation, result, duration);
+                };
+            }
+        }
+        return new InterceptorChain(beforeValidation, afterValidation, invoke, afterCompletion);
+    }
+
+    private static Gate gate(CommandInterceptor interceptor,
+                             BiFunction<CommandInterceptor, Invocation, CommandResult> phase, Gate next) {
+        if (next == null) {
+            return invocation -> phase.apply(interceptor, invocation);
+        }
+        return invocation -> {
+            CommandResult result = phase.apply(interceptor, invocation);
+            return result != null ? result : next.check(invocation);
+        };
+    }
+
+    private static boolean overrides(CommandInterceptor interceptor, String name, Class<?>... parameterTypes) {
+        try {
+            return interceptor.getClass().getMethod(name, parameterTypes).getDeclaringClass() != CommandInterceptor.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Retrieves the compiled {@code beforeValidation} chain.
+     *
+     * @return The chain, or {@code null} if no interceptor takes part in this phase.
+     */
+    Gate beforeValidation() {
+        return beforeValidation;
+    }
+
+    /**
+     * Retrieves the compiled {@code afterValidation} chain.
+     *
+     * @return The chain, or {@code null} if no interceptor takes part in this phase.
+     */
+    Gate afterValidation() {
+        return afterValidation;
+    }
+
+    /**
+     * Retrieves the compiled {@code aroundInvoke} chain, ending with the command method.
+     *
+     * @return The chain; the invocation of the command method itself if no interceptor takes
+     * part in this phase.
+     */
+    InvocationChain invoke() {
+        return invoke;
+    }
+
+    /**
+     * Retrieves the compiled {@code afterCompletion} chain.
+     *
+     * @return The chain, or {@code null} if no interceptor takes part in this phase.
+     */
+    Completion afterCompletion() {
+        return afterCompletion;
+    }
+}
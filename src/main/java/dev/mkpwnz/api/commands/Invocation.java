@@ -0,0 +1,139 @@
+package dev.mkpwnz.api.commands;
+
+import org.bukkit.command.CommandSender;
+
+/**
+ * The context of a single dispatch of a command, handed to every {@link CommandInterceptor}
+ * taking part in it.
+ */
+public final class Invocation {
+    private final CommandSender sender;
+    private final String command;
+    private final String[] arguments;
+    private final Command annotation;
+    private final CommandResponse response;
+    private volatile Object[] parameters;
+    private volatile boolean paginated;
+    private InterceptorChain.Completion completion;
+    private long startNanos;
+
+    Invocation(CommandSender sender, String command, String[] arguments, Command annotation,
+               CommandResponse response) {
+        this.sender = sender;
+        this.command = command;
+        this.arguments = arguments;
+        this.annotation = annotation;
+        this.response = response;
+    }
+
+    /**
+     * Retrieves the sender executing the command.
+     *
+     * @return The sender.
+     */
+    public CommandSender getSender() {
+        return sender;
+    }
+
+    /**
+     * Retrieves the full name of the command, e.g. {@code serverinfo.player}.
+     *
+     * @return The full name of the command.
+     */
+    public String getCommand() {
+        return command;
+    }
+
+    /**
+     * Retrieves the arguments passed to the command, without the names of the parent commands.
+     *
+     * @return A copy of the raw arguments.
+     */
+    public String[] getArguments() {
+        return arguments.clone();
+    }
+
+    /**
+     * Retrieves the number of arguments passed to the command.
+     *
+     * @return The number of arguments.
+     */
+    public int getArgumentCount() {
+        return arguments.length;
+    }
+
+    /**
+     * Retrieves the annotation of the command method.
+     *
+     * @return The command annotation.
+     */
+    public Command getAnnotation() {
+        return annotation;
+    }
+
+    /**
+     * Retrieves the response injected into the command method. Lines written to it before the
+     * command method is invoked appear above the output of the command.
+     *
+     * @return The response of the invocation.
+     */
+    public CommandResponse getResponse() {
+        return response;
+    }
+
+    /**
+     * Retrieves the parameters the command method is invoked with, including the injected
+     * {@link CommandSender} and {@link CommandResponse}. Omitted optional arguments are
+     * {@code null}.
+     *
+     * @return The parameters, or {@code null} before the arguments were validated.
+     */
+    public Object[] getParameters() {
+        return parameters;
+    }
+
+    String[] arguments() {
+        return arguments;
+    }
+
+    void setParameters(Object[] parameters) {
+        this.parameters = parameters;
+    }
+
+    boolean isPaginated() {
+        return paginated;
+    }
+
+    void setPaginated() {
+        this.paginated = true;
+    }
+
+    /**
+     * Sets the {@code afterCompletion} chain to run once the dispatch has completed. Must be
+     * called before the invocation is dispatched.
+     *
+     * @param completion The compiled chain.
+     * @param startNanos The {@link System#nanoTime()} the dispatch started at.
+     */
+    void setCompletion(InterceptorChain.Completion completion, long startNanos) {
+        this.completion = completion;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Runs the {@code afterCompletion} chain with the final result of the dispatch. Only the
+     * first call has an effect, so deferred parts of a dispatch can complete it from any thread.
+     *
+     * @param result The final result of the dispatch; never {@link CommandResult#SCHEDULED}.
+     */
+    void complete(CommandResult result) {
+        InterceptorChain.Completion current;
+        synchronized (this) {
+            current = completion;
+            completion = null;
+        }
+        if (current != null) {
+            current.complete(this, result, System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package dev.mkpwnz.api.commands;
+
+/**
+ * The remainder of a compiled {@link CommandInterceptor#aroundInvoke(Invocation, InvocationChain)}
+ * chain, ending with the invocation of the command method.
+ */
+@FunctionalInterface
+public interface InvocationChain {
+    /**
+     * Invokes the next interceptor of the chain, or the command method if there is none.
+     *
+     * @param invocation The invocation being dispatched.
+     *
+     * @throws Exception If an interceptor or the command method fails.
+     */
+    void proceed(Invocation invocation) throws Exception;
+}
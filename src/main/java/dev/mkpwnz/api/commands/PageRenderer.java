@@ -0,0 +1,20 @@
+package dev.mkpwnz.api.commands;
+
+import java.util.List;
+
+/**
+ * Renders the items of one page of a {@link Paginated} command output.
+ *
+ * @param <T> The type of the items.
+ */
+@FunctionalInterface
+public interface PageRenderer<T> {
+    /**
+     * Appends the lines for the items of a page to the response.
+     *
+     * @param response The response of the sender viewing the page.
+     * @param items    The items of the page, never empty.
+     * @param offset   The index of the first item of the page within the whole source.
+     */
+    void render(CommandResponse response, List<T> items, int offset);
+}
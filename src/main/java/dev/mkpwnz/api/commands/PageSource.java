@@ -0,0 +1,77 @@
+package dev.mkpwnz.api.commands;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A lazy source of the items listed by a {@link Paginated} command output. Only the items of
+ * the requested page are fetched, so a source may be backed by a large list, a query or a
+ * stream that is only consumed as far as the sender pages through it.
+ * <p>
+ * A source is either sized, if the number of items is known upfront, or unsized, in which
+ * case the number of pages is only known once the last item has been fetched.
+ *
+ * @param <T> The type of the items.
+ */
+public interface PageSource<T> {
+    /**
+     * Returned by {@link #size()} if the number of items is not known.
+     */
+    int UNKNOWN_SIZE = -1;
+
+    /**
+     * Retrieves the number of items of the source.
+     *
+     * @return The number of items, or {@link #UNKNOWN_SIZE} if it is not known.
+     */
+    int size();
+
+    /**
+     * Fetches a range of items. Called on the thread the command or the page navigation runs
+     * on, so implementations may block if the command is {@link Command#async() async}.
+     *
+     * @param offset The index of the first item.
+     * @param limit  The maximum number of items to fetch.
+     *
+     * @return The items, fewer than {@code limit} only if the end of the source was reached.
+     *
+     * @throws Exception If the items cannot be fetched.
+     */
+    List<T> fetch(int offset, int limit) throws Exception;
+
+    /**
+     * Creates a sized source backed by a list. The list must not be modified afterwards.
+     *
+     * @param items The items.
+     * @param <T>   The type of the items.
+     *
+     * @return A source listing the items of the list.
+     */
+    static <T> PageSource<T> of(List<T> items) {
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return items.size();
+            }
+
+            @Override
+            public List<T> fetch(int offset, int limit) {
+                return items.subList(Math.min(offset, items.size()), Math.min(items.size(), offset + limit));
+            }
+        };
+    }
+
+    /**
+     * Creates an unsized source consuming an iterator only as far as pages are requested.
+     * Consumed items are kept, so earlier pages can be shown again without restarting the
+     * iteration.
+     *
+     * @param items The iterator providing the items.
+     * @param <T>   The type of the items.
+     *
+     * @return A source listing the items of the iterator.
+     */
+    static <T> PageSource<T> of(Iterator<T> items) {
+        return new BufferedPageSource<>(items);
+    }
+}
@@ -0,0 +1,172 @@
+package dev.mkpwnz.api.commands;
+
+import dev.mkpwnz.api.messages.MessageKey;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A paginated command output. A command method returns an instance of this class instead of
+ * writing a long list to its {@link CommandResponse}; the framework then fetches and renders
+ * only the requested page and keeps a {@link Pagination} cursor for the sender, so further
+ * pages are shown without running the command again.
+ * <p>
+ * The header, the lines before and after the items and the message for an empty source are
+ * rendered on every page.
+ *
+ * @param <T> The type of the items.
+ */
+public final class Paginated<T> {
+    /**
+     * The number of items per page unless set with {@link #pageSize(int)}.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 8;
+
+    private final PageSource<T> source;
+    private final PageRenderer<T> renderer;
+    private Consumer<CommandResponse> header = response -> {
+    };
+    private Consumer<CommandResponse> prologue = response -> {
+    };
+    private Consumer<CommandResponse> epilogue = response -> {
+    };
+    private Consumer<CommandResponse> empty = response -> {
+    };
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private int page = 1;
+
+    private Paginated(PageSource<T> source, PageRenderer<T> renderer) {
+        this.source = source;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Creates a paginated output listing the items of a source.
+     *
+     * @param source   The source of the items.
+     * @param renderer The renderer for the items of a page.
+     * @param <T>      The type of the items.
+     *
+     * @return The paginated output.
+     */
+    public static <T> Paginated<T> of(PageSource<T> source, PageRenderer<T> renderer) {
+        return new Paginated<>(source, renderer);
+    }
+
+    /**
+     * Creates a paginated output listing the items of a list.
+     *
+     * @param items    The items. The list must not be modified afterwards.
+     * @param renderer The renderer for the items of a page.
+     * @param <T>      The type of the items.
+     *
+     * @return The paginated output.
+     */
+    public static <T> Paginated<T> of(List<T> items, PageRenderer<T> renderer) {
+        return new Paginated<>(PageSource.of(items), renderer);
+    }
+
+    /**
+     * Sets the header shown above every page.
+     *
+     * @param key  The key of the header title.
+     * @param args The arguments referenced by the placeholders of the title.
+     *
+     * @return This output, for chaining.
+     */
+    public Paginated<T> header(MessageKey key, Object... args) {
+        this.header = response -> response.header(key, args);
+        return this;
+    }
+
+    /**
+     * Sets the lines shown between the header and the items of every page.
+     *
+     * @param prologue The callback appending the lines.
+     *
+     * @return This output, for chaining.
+     */
+    public Paginated<T> prologue(Consumer<CommandResponse> prologue) {
+        this.prologue = prologue;
+        return this;
+    }
+
+    /**
+     * Sets the lines shown between the items of every page and the page navigation.
+     *
+     * @param epilogue The callback appending the lines.
+     *
+     * @return This output, for chaining.
+     */
+    public Paginated<T> epilogue(Consumer<CommandResponse> epilogue) {
+        this.epilogue = epilogue;
+        return this;
+    }
+
+    /**
+     * Sets the line shown instead of the items if the source is empty.
+     *
+     * @param key  The key of the message.
+     * @param args The arguments referenced by the placeholders of the message.
+     *
+     * @return This output, for chaining.
+     */
+    public Paginated<T> empty(MessageKey key, Object... args) {
+        this.empty = response -> response.line(key, args);
+        return this;
+    }
+
+    /**
+     * Sets the number of items per page.
+     *
+     * @param pageSize The number of items per page, at least 1.
+     *
+     * @return This output, for chaining.
+     */
+    public Paginated<T> pageSize(int pageSize) {
+        this.pageSize = Math.max(1, pageSize);
+        return this;
+    }
+
+    /**
+     * Sets the page shown first, e.g. from a page argument of the command.
+     *
+     * @param page The page, starting at 1.
+     *
+     * @return This output, for chaining.
+     */
+    public Paginated<T> page(int page) {
+        this.page = Math.max(1, page);
+        return this;
+    }
+
+    PageSource<T> source() {
+        return source;
+    }
+
+    int pageSize() {
+        return pageSize;
+    }
+
+    int page() {
+        return page;
+    }
+
+    /**
+     * Renders one page of the output.
+     *
+     * @param response The response to append the page to.
+     * @param items    The items of the page, possibly empty.
+     * @param offset   The index of the first item of the page.
+     */
+    void render(CommandResponse response, List<T> items, int offset) {
+        header.accept(response);
+        prologue.accept(response);
+        if (items.isEmpty()) {
+            empty.accept(response);
+        } else {
+            renderer.render(response, items, offset);
+        }
+        epilogue.accept(response);
+    }
+}
@@ -0,0 +1,251 @@
+package dev.mkpwnz.api.commands;
+
+import dev.mkpwnz.api.messages.ApiMessage;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Renders {@link Paginated} command outputs page by page and remembers the output last shown
+ * to every sender as a cursor, so further pages are fetched from the same source instead of
+ * running the command again.
+ * <p>
+ * Cursors expire a few minutes after they were last used, and only a limited number of them
+ * is kept, evicting the least recently used one first. Outputs of expired cursors are released
+ * together with everything their sources hold.
+ * <p>
+ * If a navigation command is set, the page footer contains clickable links running it with
+ * {@code prev} or {@code next} as argument. This class follows a singleton design pattern and
+ * is thread-safe.
+ */
+public final class Pagination {
+    private static final long CURSOR_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_CURSORS = 256;
+
+    private static final Pagination INSTANCE = new Pagination();
+
+    private final Map<String, Cursor> cursors = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Cursor> eldest) {
+            return size() > MAX_CURSORS;
+        }
+    };
+    private volatile String navigationCommand;
+
+    private static final class Cursor {
+        private final Paginated<?> output;
+        private int page;
+        private long lastUsed;
+
+        private Cursor(Paginated<?> output) {
+            this.output = output;
+        }
+    }
+
+    private Pagination() {
+    }
+
+    /**
+     * Retrieves the singleton instance of the Pagination.
+     *
+     * @return The singleton instance of Pagination.
+     */
+    public static Pagination getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Sets the command used by the clickable links in the page footer, e.g.
+     * {@code "serverutils page"}. The command must accept {@code prev} and {@code next} as its
+     * last argument and call {@link #previous(CommandSender, CommandResponse)} or
+     * {@link #next(CommandSender, CommandResponse)}.
+     *
+     * @param navigationCommand The command without leading slash, or {@code null} to render
+     *                          the footer without links.
+     */
+    public void setNavigationCommand(String navigationCommand) {
+        this.navigationCommand = navigationCommand;
+    }
+
+    /**
+     * Renders the first requested page of an output and makes it the sender's cursor,
+     * replacing the previous one.
+     *
+     * @param sender   The sender the output is shown to.
+     * @param response The response to append the page to.
+     * @param output   The paginated output returned by the command.
+     *
+     * @throws Exception If the source of the output fails to fetch the items.
+     */
+    public void open(CommandSender sender, CommandResponse response, Paginated<?> output) throws Exception {
+        Cursor cursor = new Cursor(output);
+        boolean paged;
+        synchronized (cursor) {
+            paged = render(response, cursor, output.page());
+        }
+
+        // Bei nur einer Seite gibt es nichts zu blättern, der Cursor würde nur Speicher belegen
+        if (paged) {
+            put(keyOf(sender), cursor);
+        } else {
+            remove(keyOf(sender));
+        }
+    }
+
+    /**
+     * Shows the page after the current page of the sender's cursor.
+     *
+     * @param sender   The sender to show the page to.
+     * @param response The response to append the page to.
+     *
+     * @return {@code false} if the sender has no cursor or it expired.
+     *
+     * @throws Exception If the source of the output fails to fetch the items.
+     */
+    public boolean next(CommandSender sender, CommandResponse response) throws Exception {
+        return turn(sender, response, page -> page + 1);
+    }
+
+    /**
+     * Shows the page before the current page of the sender's cursor.
+     *
+     * @param sender   The sender to show the page to.
+     * @param response The response to append the page to.
+     *
+     * @return {@code false} if the sender has no cursor or it expired.
+     *
+     * @throws Exception If the source of the output fails to fetch the items.
+     */
+    public boolean previous(CommandSender sender, CommandResponse response) throws Exception {
+        return turn(sender, response, page -> Math.max(1, page - 1));
+    }
+
+    /**
+     * Shows a specific page of the sender's cursor.
+     *
+     * @param sender   The sender to show the page to.
+     * @param response The response to append the page to.
+     * @param page     The page, starting at 1.
+     *
+     * @return {@code false} if the sender has no cursor or it expired.
+     *
+     * @throws Exception If the source of the output fails to fetch the items.
+     */
+    public boolean show(CommandSender sender, CommandResponse response, int page) throws Exception {
+        return turn(sender, response, current -> Math.max(1, page));
+    }
+
+    /**
+     * Retrieves the number of cursors currently kept, including expired ones that were not
+     * released yet.
+     *
+     * @return The number of cursors.
+     */
+    public synchronized int getCursorCount() {
+        return cursors.size();
+    }
+
+    private boolean turn(CommandSender sender, CommandResponse response, IntUnaryOperator target) throws Exception {
+        Cursor cursor = get(keyOf(sender));
+        if (cursor == null) {
+            return false;
+        }
+        synchronized (cursor) {
+            render(response, cursor, target.applyAsInt(cursor.page));
+        }
+        return true;
+    }
+
+    private synchronized void put(String key, Cursor cursor) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        cursor.lastUsed = now;
+        cursors.put(key, cursor);
+    }
+
+    private synchronized Cursor get(String key) {
+        long now = System.currentTimeMillis();
+        expire(now);
+        Cursor cursor = cursors.get(key);
+        if (cursor != null) {
+            cursor.lastUsed = now;
+        }
+        return cursor;
+    }
+
+    private synchronized void remove(String key) {
+        cursors.remove(key);
+    }
+
+    private void expire(long now) {
+        // In Zugriffsreihenfolge stehen die am längsten unbenutzten Cursor vorne
+        Iterator<Cursor> iterator = cursors.values().iterator();
+        while (iterator.hasNext() && now - iterator.next().lastUsed > CURSOR_TTL_MILLIS) {
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Renders a page of the cursor's output followed by the page footer and moves the cursor
+     * to it.
+     *
+     * @return Whether the output has more than one page.
+     */
+    private <T> boolean render(CommandResponse response, Cursor cursor, int requested) throws Exception {
+        @SuppressWarnings("unchecked")
+        Paginated<T> output = (Paginated<T>) cursor.output;
+        PageSource<T> source = output.source();
+        int pageSize = output.pageSize();
+
+        int page = requested;
+        int size = source.size();
+        if (size != PageSource.UNKNOWN_SIZE) {
+            page = Math.min(page, pageCount(size, pageSize));
+        }
+
+        // Ein Element mehr laden, um ohne bekannte Größe zu erkennen, ob es eine weitere Seite gibt
+        int offset = (page - 1) * pageSize;
+        List<T> fetched = source.fetch(offset, pageSize + 1);
+        if (fetched.isEmpty() && page > 1) {
+            response.error(ApiMessage.PAGE_NOT_FOUND, page);
+            return false;
+        }
+        boolean hasNext = fetched.size() > pageSize;
+        output.render(response, hasNext ? fetched.subList(0, pageSize) : fetched, offset);
+        cursor.page = page;
+
+        if (page == 1 && !hasNext) {
+            return false;
+        }
+
+        size = source.size();
+        response.blank().line(size != PageSource.UNKNOWN_SIZE
+                ? response.translate(ApiMessage.PAGE_FOOTER, page, pageCount(size, pageSize))
+                : response.translate(ApiMessage.PAGE_FOOTER_OPEN, page));
+
+        String command = navigationCommand;
+        if (command != null) {
+            if (page > 1) {
+                response.link(response.translate(ApiMessage.PAGE_PREVIOUS), command + " prev");
+            }
+            if (hasNext) {
+                response.link(response.translate(ApiMessage.PAGE_NEXT), command + " next");
+            }
+        }
+        return true;
+    }
+
+    private static int pageCount(int size, int pageSize) {
+        return Math.max(1, (size + pageSize - 1) / pageSize);
+    }
+
+    private static String keyOf(CommandSender sender) {
+        return sender instanceof Player player ? player.getUniqueId().toString() : sender.getName();
+    }
+}
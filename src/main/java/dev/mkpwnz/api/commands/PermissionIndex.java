@@ -0,0 +1,94 @@
+package dev.mkpwnz.api.commands;
+
+import org.bukkit.permissions.Permissible;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable index of all distinct permissions used by the registered commands.
+ * <p>
+ * Every permission is assigned a stable position, so the set of permissions a sender holds
+ * can be expressed as a {@link BitSet} (the sender's permission profile). Senders with the
+ * same profile see exactly the same commands, which allows caching per profile instead of
+ * per sender.
+ */
+public final class PermissionIndex {
+    private final String[] permissions;
+    private final Map<String, Integer> positions;
+
+    /**
+     * Constructs a PermissionIndex from the given commands. Commands without a permission
+     * are ignored, since they are visible to every sender.
+     *
+     * @param commands The registered commands whose permissions should be indexed.
+     */
+    public PermissionIndex(Collection<CommandData> commands) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (CommandData command : commands) {
+            if (!command.permission().isEmpty()) {
+                distinct.add(command.permission());
+            }
+        }
+
+        this.permissions = distinct.toArray(new String[0]);
+        this.positions = new HashMap<>();
+        for (int i = 0; i < permissions.length; i++) {
+            positions.put(permissions[i], i);
+        }
+    }
+
+    /**
+     * Retrieves the position of the given permission within this index.
+     *
+     * @param permission The permission to look up.
+     *
+     * @return The position of the permission, or {@code -1} if the permission is empty or unknown.
+     */
+    public int indexOf(String permission) {
+        Integer position = positions.get(permission);
+        return position != null ? position : -1;
+    }
+
+    /**
+     * Retrieves the permission stored at the given position.
+     *
+     * @param index The position of the permission, as returned by {@link #indexOf(String)}.
+     *
+     * @return The permission at the given position.
+     */
+    public String permissionAt(int index) {
+        return permissions[index];
+    }
+
+    /**
+     * Computes the permission profile of the given sender, i.e. the set of indexed
+     * permissions the sender holds.
+     *
+     * @param permissible The sender whose permissions should be checked.
+     *
+     * @return A {@link BitSet} with one bit set for every held permission.
+     */
+    public BitSet profileOf(Permissible permissible) {
+        BitSet profile = new BitSet(permissions.length);
+        for (int i = 0; i < permissions.length; i++) {
+            if (permissible.hasPermission(permissions[i])) {
+                profile.set(i);
+            }
+        }
+        return profile;
+    }
+
+    /**
+     * Retrieves the number of distinct permissions in this index.
+     *
+     * @return The number of indexed permissions.
+     */
+    public int size() {
+        return permissions.length;
+    }
+}
@@ -0,0 +1,92 @@
+package dev.mkpwnz.api.commands;
+
+import dev.mkpwnz.api.recording.SenderKind;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A size-bounded cache of rendered command output with per-entry expiry, used for commands
+ * with a {@link Command#cacheTtl()}.
+ * <p>
+ * Entries are keyed by command, arguments, kind, language and permission profile of the
+ * sender, so two senders only share output if they would see exactly the same lines; links
+ * are clickable for players but written out for other senders. The output is stored with its
+ * links, so players still get clickable links from a cache hit. When the cache is full, the
+ * least recently used entry is evicted.
+ */
+final class ResponseCache {
+    private final int maxEntries;
+    private final Map<Key, Entry> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * The cache key of a command invocation.
+     */
+    record Key(String command, List<String> arguments, SenderKind senderKind, String language, BitSet profile) {
+    }
+
+    private record Entry(CommandResponse.Rendered output, long expiresAt) {
+    }
+
+    ResponseCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ResponseCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Looks up cached output.
+     *
+     * @param key The cache key.
+     *
+     * @return The cached output, or {@code null} if there is none or it expired.
+     */
+    synchronized CommandResponse.Rendered get(Key key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() > System.currentTimeMillis()) {
+            hits.increment();
+            return entry.output();
+        }
+        if (entry != null) {
+            entries.remove(key);
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Stores output for the given number of seconds.
+     *
+     * @param key        The cache key.
+     * @param output     The rendered output.
+     * @param ttlSeconds The time the output may be reused.
+     */
+    synchronized void put(Key key, CommandResponse.Rendered output, int ttlSeconds) {
+        entries.put(key, new Entry(output, System.currentTimeMillis() + ttlSeconds * 1000L));
+    }
+
+    /**
+     * Removes all cached output.
+     */
+    synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Creates a snapshot of the cache statistics.
+     *
+     * @return The current statistics.
+     */
+    synchronized CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), entries.size());
+    }
+}
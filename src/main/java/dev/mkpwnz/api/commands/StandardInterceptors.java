@@ -0,0 +1,154 @@
+package dev.mkpwnz.api.commands;
+
+import dev.mkpwnz.api.audit.AuditLog;
+import dev.mkpwnz.api.audit.AuditRecord;
+import dev.mkpwnz.api.messages.ApiMessage;
+import dev.mkpwnz.api.messages.MessageCatalog;
+import dev.mkpwnz.api.recording.SenderKind;
+import org.bukkit.command.CommandSender;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * The {@link CommandInterceptor}s built into the {@link CommandManager}. The checks run before
+ * all other interceptors and the response cache after them; auditing and metrics are only
+ * compiled into the chains while they are enabled.
+ */
+final class StandardInterceptors {
+    private StandardInterceptors() {
+    }
+
+    /**
+     * Rejects senders lacking the permission of the command. Applies to commands that require
+     * a permission.
+     */
+    static final CommandInterceptor PERMISSION = new CommandInterceptor() {
+        @Override
+        public boolean appliesTo(String command, Command annotation) {
+            return !annotation.permission().isEmpty();
+        }
+
+        @Override
+        public CommandResult beforeValidation(Invocation invocation) {
+            if (invocation.getSender().hasPermission(invocation.getAnnotation().permission())) {
+                return null;
+            }
+            invocation.getSender().sendMessage(MessageCatalog.getInstance().format(invocation.getSender(),
+                    ApiMessage.NO_PERMISSION));
+            return CommandResult.NO_PERMISSION;
+        }
+    };
+
+    /**
+     * Creates the check rejecting invocations with fewer arguments than the command requires.
+     * Only added for commands with required arguments.
+     *
+     * @param requiredArgs The number of required arguments of the command.
+     *
+     * @return The interceptor.
+     */
+    static CommandInterceptor argumentCount(int requiredArgs) {
+        return new CommandInterceptor() {
+            @Override
+            public CommandResult beforeValidation(Invocation invocation) {
+                if (invocation.getArgumentCount() >= requiredArgs) {
+                    return null;
+                }
+                invocation.getSender().sendMessage(MessageCatalog.getInstance().format(invocation.getSender(),
+                        ApiMessage.TOO_FEW_ARGUMENTS, requiredArgs));
+                return CommandResult.INVALID_ARGUMENTS;
+            }
+        };
+    }
+
+    /**
+     * Creates the interceptor answering commands with a {@link Command#cacheTtl()} from the
+     * {@link ResponseCache}. The lookup runs at the end of the {@code beforeValidation} phase,
+     * keyed on the raw arguments, so the permission check and the {@code beforeValidation}
+     * phase of interceptors added before still run, while a hit skips the validation of the
+     * arguments, the later phases and the invocation. The output is stored from the
+     * {@code aroundInvoke} phase; output of paginated commands, of failed invocations and
+     * output containing an {@linkplain CommandResponse#error(String) error line} is not cached.
+     *
+     * @param cache       The cache to answer from.
+     * @param permissions Supplies the current permission index, used for the cache key.
+     *
+     * @return The interceptor.
+     */
+    static CommandInterceptor cache(ResponseCache cache, Supplier<PermissionIndex> permissions) {
+        return new CommandInterceptor() {
+            @Override
+            public boolean appliesTo(String command, Command annotation) {
+                return annotation.cacheTtl() > 0 && !annotation.async();
+            }
+
+            @Override
+            public CommandResult beforeValidation(Invocation invocation) {
+                CommandResponse.Rendered cached = cache.get(keyOf(invocation));
+                if (cached == null) {
+                    return null;
+                }
+                invocation.getResponse().replay(cached);
+                return CommandResult.SUCCESS;
+            }
+
+            @Override
+            public void aroundInvoke(Invocation invocation, InvocationChain next) throws Exception {
+                ResponseCache.Key key = keyOf(invocation);
+                CommandResponse.Mark mark = invocation.getResponse().mark();
+                next.proceed(invocation);
+                CommandResponse.Rendered output = invocation.getResponse().renderedSince(mark);
+                if (output != null && !output.error() && !invocation.isPaginated()) {
+                    cache.put(key, output, invocation.getAnnotation().cacheTtl());
+                }
+            }
+
+            private ResponseCache.Key keyOf(Invocation invocation) {
+                CommandSender sender = invocation.getSender();
+                return new ResponseCache.Key(invocation.getCommand(), List.of(invocation.arguments()),
+                        SenderKind.of(sender), MessageCatalog.getInstance().languageOf(sender),
+                        permissions.get().profileOf(sender));
+            }
+        };
+    }
+
+    /**
+     * Creates the interceptor writing an {@link AuditRecord} for every dispatch of a command that
+     * requires a permission.
+     *
+     * @param auditLog The audit log to write to.
+     *
+     * @return The interceptor.
+     */
+    static CommandInterceptor audit(AuditLog auditLog) {
+        return new CommandInterceptor() {
+            @Override
+            public boolean appliesTo(String command, Command annotation) {
+                return !annotation.permission().isEmpty();
+            }
+
+            @Override
+            public void afterCompletion(Invocation invocation, CommandResult result, long durationNanos) {
+                auditLog.offer(new AuditRecord(System.currentTimeMillis(), invocation.getSender().getName(),
+                        invocation.getCommand(), String.join(" ", invocation.arguments()), result, durationNanos));
+            }
+        };
+    }
+
+    /**
+     * Creates the interceptor recording the result and latency of every dispatch.
+     *
+     * @param metrics The metrics to record into.
+     *
+     * @return The interceptor.
+     */
+    static CommandInterceptor metrics(CommandMetrics metrics) {
+        return new CommandInterceptor() {
+            @Override
+            public void afterCompletion(Invocation invocation, CommandResult result, long durationNanos) {
+                metrics.record(invocation.getCommand(), result, durationNanos);
+            }
+        };
+    }
+}
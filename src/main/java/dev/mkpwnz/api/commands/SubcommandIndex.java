@@ -0,0 +1,104 @@
+package dev.mkpwnz.api.commands;
+
+import dev.mkpwnz.api.text.BkTree;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable index of the command tree, answering which subcommand the sender probably
+ * meant when a token does not match any child of a command node.
+ * <p>
+ * The tree contains every registered command and every intermediate node (e.g.
+ * {@code serverutils.profile} for {@code serverutils.profile.start}). The children of each
+ * node are indexed in a {@link BkTree}, so the lookup stays sub-linear in the number of
+ * siblings. The index is built once per registry version.
+ * <p>
+ * A token following an executable command that takes arguments may be a valid argument that
+ * merely resembles a subcommand (e.g. {@code /serverinfo player Inventor}), so it is only
+ * checked once the arguments of that command failed validation.
+ */
+final class SubcommandIndex {
+    private final Map<String, Set<String>> children = new HashMap<>();
+    private final Map<String, BkTree> trees = new HashMap<>();
+    private final Map<String, Integer> argumentCounts;
+
+    /**
+     * A probable typo of a subcommand.
+     *
+     * @param input      The token that did not match any subcommand.
+     * @param suggestion The full name of the suggested command node.
+     */
+    record Suggestion(String input, String suggestion) {
+    }
+
+    /**
+     * Builds the index of the registered commands.
+     *
+     * @param argumentCounts The number of arguments of every registered command, by full name.
+     */
+    SubcommandIndex(Map<String, Integer> argumentCounts) {
+        this.argumentCounts = Map.copyOf(argumentCounts);
+        for (String name : argumentCounts.keySet()) {
+            String[] parts = name.split("\\.");
+            String node = parts[0];
+            for (int i = 1; i < parts.length; i++) {
+                children.computeIfAbsent(node, key -> new HashSet<>()).add(parts[i]);
+                node = node + "." + parts[i];
+            }
+        }
+        children.forEach((node, names) -> trees.put(node, BkTree.of(names)));
+    }
+
+    /**
+     * Walks the command tree along the given arguments and checks the first token that does
+     * not match a child of the current node for a probable typo. Tokens that may be an
+     * argument of an executable command are not checked, so the command can be dispatched.
+     *
+     * @param baseCommand The lowercase name of the root command.
+     * @param args        The arguments following the root command.
+     *
+     * @return The suggestion, or {@code null} if every token matches, the token may be an
+     * argument or no subcommand is close enough.
+     */
+    Suggestion suggest(String baseCommand, String[] args) {
+        return suggest(baseCommand, args, false);
+    }
+
+    /**
+     * Checks the first token that does not match a child of the current node for a probable
+     * typo like {@link #suggest(String, String[])}, but also if it may be an argument. Used
+     * after the arguments of the dispatched command failed validation.
+     *
+     * @param baseCommand The lowercase name of the root command.
+     * @param args        The arguments following the root command.
+     *
+     * @return The suggestion, or {@code null} if every token matches or no subcommand is close enough.
+     */
+    Suggestion suggestForInvalidArguments(String baseCommand, String[] args) {
+        return suggest(baseCommand, args, true);
+    }
+
+    private Suggestion suggest(String baseCommand, String[] args, boolean includeArguments) {
+        String node = baseCommand;
+        for (String arg : args) {
+            Set<String> names = children.get(node);
+            if (names == null) {
+                return null;
+            }
+
+            String token = arg.toLowerCase();
+            if (!names.contains(token)) {
+                if (!includeArguments && argumentCounts.getOrDefault(node, 0) > 0) {
+                    return null;
+                }
+                String suggestion = trees.get(node).suggest(token);
+                return suggestion != null ? new Suggestion(arg, node + "." + suggestion) : null;
+            }
+            node = node + "." + token;
+        }
+        return null;
+    }
+}
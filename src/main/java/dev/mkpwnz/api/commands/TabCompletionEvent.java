@@ -0,0 +1,31 @@
+package dev.mkpwnz.api.commands;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Flight Recorder event covering a tab completion request handled by the
+ * {@link CommandManager}. Completions computed asynchronously are counted once they are
+ * returned to the client.
+ */
+@Name("dev.mkpwnz.TabCompletion")
+@Label("Tab Completion")
+@Category({"ServerUtils", "Commands"})
+@Description("Tab completion of a command line")
+@StackTrace(false)
+@Threshold("0 ms")
+final class TabCompletionEvent extends Event {
+    @Label("Command")
+    String command;
+
+    @Label("Sender Type")
+    String senderType;
+
+    @Label("Candidates")
+    int candidates;
+}
@@ -0,0 +1,54 @@
+package dev.mkpwnz.api.messages;
+
+/**
+ * The messages used by the command API itself, such as permission and validation errors.
+ * The translations are bundled in {@code lang/api_<language>.properties}.
+ */
+public enum ApiMessage implements MessageKey {
+    NO_PERMISSION("command.no-permission"),
+    TOO_FEW_ARGUMENTS("command.too-few-arguments"),
+    MISSING_ARGUMENT("command.missing-argument"),
+    INVALID_ARGUMENT("command.invalid-argument"),
+    EXECUTION_ERROR("command.execution-error"),
+    UNKNOWN_SUBCOMMAND("command.unknown-subcommand"),
+    SUBCOMMAND_HINT("command.subcommand-hint"),
+    ARGUMENT_TIMEOUT("command.argument-timeout"),
+
+    PAGE_FOOTER("page.footer"),
+    PAGE_FOOTER_OPEN("page.footer-open"),
+    PAGE_PREVIOUS("page.previous"),
+    PAGE_NEXT("page.next"),
+    PAGE_NOT_FOUND("page.not-found"),
+
+    NUMBER_INVALID("argument.number.invalid"),
+    NUMBER_TOO_SMALL("argument.number.too-small"),
+    NUMBER_TOO_LARGE("argument.number.too-large"),
+    STRING_TOO_SHORT("argument.string.too-short"),
+    STRING_TOO_LONG("argument.string.too-long"),
+    VALUE_REQUIRED("argument.value.required"),
+    VALUE_NOT_ALLOWED("argument.value.not-allowed"),
+    VALUE_DID_YOU_MEAN("argument.value.did-you-mean"),
+    BOOL_REQUIRED("argument.bool.required"),
+    BOOL_INVALID("argument.bool.invalid"),
+    BOOL_DID_YOU_MEAN("argument.bool.did-you-mean"),
+    PLAYER_NOT_ONLINE("argument.player.not-online"),
+    PLAYER_NOT_FOUND("argument.player.not-found"),
+    PLAYER_UNKNOWN("argument.player.unknown"),
+
+    JOB_PROGRESS("job.progress"),
+    JOB_PROGRESS_TOTAL("job.progress-total"),
+    JOB_COMPLETED("job.completed"),
+    JOB_CANCELLED("job.cancelled"),
+    JOB_FAILED("job.failed");
+
+    private final String key;
+
+    ApiMessage(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+}
@@ -0,0 +1,200 @@
+package dev.mkpwnz.api.messages;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides localized, precompiled messages for commands and argument validation.
+ * <p>
+ * Messages are loaded from bundled {@code .properties} resources (one file per language,
+ * e.g. {@code lang/api_de.properties}) and parsed once into {@link MessageTemplate}s. The
+ * language is chosen from the player's client locale and falls back to the default language.
+ * Every registered {@link MessageKey} is checked against every loaded language when it is
+ * registered, so missing translations fail at startup instead of at send time.
+ * <p>
+ * This class follows a singleton design pattern; the API messages ({@link ApiMessage}) are
+ * loaded and verified when the instance is created.
+ */
+public class MessageCatalog {
+    private static final String DEFAULT_LANGUAGE = "de";
+
+    private static MessageCatalog instance;
+
+    private final Map<String, Map<String, MessageTemplate>> languages = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, MessageTemplate>> localeCache = new ConcurrentHashMap<>();
+    private volatile String defaultLanguage = DEFAULT_LANGUAGE;
+
+    private MessageCatalog() {
+        loadBundle(MessageCatalog.class.getClassLoader(), "lang/api", "de", "en");
+        requireKeys(ApiMessage.values());
+    }
+
+    /**
+     * Retrieves the singleton instance of the MessageCatalog.
+     *
+     * @return The singleton instance of MessageCatalog.
+     */
+    public static synchronized MessageCatalog getInstance() {
+        if (instance == null) {
+            instance = new MessageCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Loads a bundle of message files and parses all contained templates. Messages of a
+     * bundle are merged into the messages already loaded for the same language.
+     *
+     * @param classLoader The class loader providing the resources.
+     * @param baseName    The resource base name, e.g. {@code lang/messages}. The file for a language
+     *                    is resolved as {@code <baseName>_<language>.properties}.
+     * @param languages   The languages the bundle provides, e.g. {@code de} and {@code en}.
+     *
+     * @throws IllegalStateException If a file is missing, cannot be read or contains a malformed template.
+     */
+    public synchronized void loadBundle(ClassLoader classLoader, String baseName, String... languages) {
+        for (String language : languages) {
+            String resource = baseName + "_" + language + ".properties";
+            Properties properties = new Properties();
+            try (InputStream in = classLoader.getResourceAsStream(resource)) {
+                if (in == null) {
+                    throw new IllegalStateException("Sprachdatei nicht gefunden: " + resource);
+                }
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Sprachdatei konnte nicht gelesen werden: " + resource, e);
+            }
+
+            Map<String, MessageTemplate> templates = this.languages.computeIfAbsent(language, k -> new HashMap<>());
+            for (String key : properties.stringPropertyNames()) {
+                try {
+                    templates.put(key, MessageTemplate.parse(properties.getProperty(key)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalStateException(resource + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        localeCache.clear();
+    }
+
+    /**
+     * Verifies that every given key is present in every loaded language.
+     *
+     * @param keys The keys that must be available.
+     *
+     * @throws IllegalStateException If at least one key is missing in at least one language.
+     */
+    public synchronized void requireKeys(MessageKey... keys) {
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<String, Map<String, MessageTemplate>> language : languages.entrySet()) {
+            for (MessageKey key : keys) {
+                if (!language.getValue().containsKey(key.key())) {
+                    missing.add(language.getKey() + ":" + key.key());
+                }
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Fehlende Übersetzungen: " + String.join(", ", missing));
+        }
+    }
+
+    /**
+     * Sets the language used for non-player senders and for clients whose locale is not supported.
+     *
+     * @param language The default language, e.g. {@code de}.
+     *
+     * @throws IllegalArgumentException If no messages have been loaded for the language.
+     */
+    public synchronized void setDefaultLanguage(String language) {
+        if (!languages.containsKey(language)) {
+            throw new IllegalArgumentException("Keine Sprachdatei geladen für: " + language);
+        }
+        this.defaultLanguage = language;
+        localeCache.clear();
+    }
+
+    /**
+     * Renders a message in the language of the given sender.
+     *
+     * @param sender The sender receiving the message. Players use their client locale,
+     *               all other senders use the default language.
+     * @param key    The key of the message.
+     * @param args   The arguments referenced by the placeholders of the message.
+     *
+     * @return The rendered message.
+     */
+    public String format(CommandSender sender, MessageKey key, Object... args) {
+        String locale = sender instanceof Player player ? player.getLocale() : defaultLanguage;
+        return format(locale, key, args);
+    }
+
+    /**
+     * Determines the language messages for the given sender are rendered in.
+     *
+     * @param sender The sender receiving messages.
+     *
+     * @return The language code of a loaded bundle, e.g. {@code de}.
+     */
+    public String languageOf(CommandSender sender) {
+        String locale = sender instanceof Player player ? player.getLocale() : null;
+        if (locale == null) {
+            return defaultLanguage;
+        }
+        String normalized = locale.toLowerCase(Locale.ROOT);
+        int separator = normalized.indexOf('_');
+        String language = separator < 0 ? normalized : normalized.substring(0, separator);
+        return languages.containsKey(language) ? language : defaultLanguage;
+    }
+
+    /**
+     * Renders a message in the language matching the given client locale.
+     *
+     * @param locale The client locale, e.g. {@code en_us}, or a plain language code.
+     * @param key    The key of the message.
+     * @param args   The arguments referenced by the placeholders of the message.
+     *
+     * @return The rendered message, or the key itself if the message is unknown.
+     */
+    public String format(String locale, MessageKey key, Object... args) {
+        MessageTemplate template = templatesFor(locale != null ? locale : defaultLanguage).get(key.key());
+        if (template == null) {
+            template = languages.get(defaultLanguage).get(key.key());
+            if (template == null) {
+                return key.key();
+            }
+        }
+        return template.render(args);
+    }
+
+    /**
+     * Resolves the templates for a client locale. The result is cached per distinct locale
+     * string, so the language lookup only happens once per locale.
+     */
+    private Map<String, MessageTemplate> templatesFor(String locale) {
+        Map<String, MessageTemplate> templates = localeCache.get(locale);
+        if (templates == null) {
+            String normalized = locale.toLowerCase(Locale.ROOT);
+            int separator = normalized.indexOf('_');
+            String language = separator < 0 ? normalized : normalized.substring(0, separator);
+
+            templates = languages.getOrDefault(language, languages.get(defaultLanguage));
+            localeCache.put(locale, templates);
+        }
+        return templates;
+    }
+}
@@ -0,0 +1,15 @@
+package dev.mkpwnz.api.messages;
+
+/**
+ * Identifies a message in the {@link MessageCatalog}. Implementations are typically enums,
+ * so the complete set of keys is known up front and can be verified when the catalog is loaded.
+ */
+public interface MessageKey {
+
+    /**
+     * Retrieves the key under which the message is stored in the resource bundles.
+     *
+     * @return The message key, e.g. {@code command.no-permission}.
+     */
+    String key();
+}
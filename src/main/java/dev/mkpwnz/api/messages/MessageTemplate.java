@@ -0,0 +1,186 @@
+package dev.mkpwnz.api.messages;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message template that has been parsed once into literal runs and typed placeholders.
+ * <p>
+ * Placeholders use the form {@code {index}} or {@code {index,type}}, where {@code index}
+ * refers to the render arguments (starting at 0) and {@code type} is one of:
+ * <ul>
+ *     <li>{@code number} - an integral number without decimals</li>
+ *     <li>{@code decimal} - a number with two decimals, or {@code decimal,N} for N decimals</li>
+ * </ul>
+ * Without a type the argument is rendered with {@link String#valueOf(Object)}. A literal
+ * opening brace is written as two opening braces.
+ */
+public final class MessageTemplate {
+    private static final byte TEXT = 0;
+    private static final byte NUMBER = 1;
+    private static final byte DECIMAL = 2;
+
+    private final String[] literals;
+    private final int[] argIndexes;
+    private final byte[] types;
+    private final int[] precisions;
+    private final int estimatedLength;
+
+    private MessageTemplate(String[] literals, int[] argIndexes, byte[] types, int[] precisions, int estimatedLength) {
+        this.literals = literals;
+        this.argIndexes = argIndexes;
+        this.types = types;
+        this.precisions = precisions;
+        this.estimatedLength = estimatedLength;
+    }
+
+    /**
+     * Parses the given pattern into a template.
+     *
+     * @param pattern The raw message pattern.
+     *
+     * @return The parsed template.
+     *
+     * @throws IllegalArgumentException If the pattern contains a malformed placeholder.
+     */
+    public static MessageTemplate parse(String pattern) {
+        List<String> literals = new ArrayList<>();
+        List<int[]> placeholders = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+
+        int i = 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c != '{') {
+                literal.append(c);
+                i++;
+                continue;
+            }
+            if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '{') {
+                literal.append('{');
+                i += 2;
+                continue;
+            }
+
+            int end = pattern.indexOf('}', i);
+            if (end < 0) {
+                throw new IllegalArgumentException("Nicht geschlossener Platzhalter in: " + pattern);
+            }
+            placeholders.add(parsePlaceholder(pattern.substring(i + 1, end), pattern));
+            literals.add(literal.toString());
+            literal.setLength(0);
+            i = end + 1;
+        }
+        literals.add(literal.toString());
+
+        int count = placeholders.size();
+        int[] argIndexes = new int[count];
+        byte[] types = new byte[count];
+        int[] precisions = new int[count];
+        for (int p = 0; p < count; p++) {
+            int[] placeholder = placeholders.get(p);
+            argIndexes[p] = placeholder[0];
+            types[p] = (byte) placeholder[1];
+            precisions[p] = placeholder[2];
+        }
+        return new MessageTemplate(literals.toArray(new String[0]), argIndexes, types, precisions,
+                pattern.length() + count * 8);
+    }
+
+    private static int[] parsePlaceholder(String body, String pattern) {
+        String[] parts = body.split(",", -1);
+        try {
+            int index = Integer.parseInt(parts[0].trim());
+            if (index < 0) {
+                throw new IllegalArgumentException("Negativer Platzhalter-Index '{" + body + "}' in: " + pattern);
+            }
+            if (parts.length == 1) {
+                return new int[]{index, TEXT, 0};
+            }
+            return switch (parts[1].trim()) {
+                case "number" -> new int[]{index, NUMBER, 0};
+                case "decimal" -> new int[]{index, DECIMAL, precision(parts, body, pattern)};
+                default -> throw new IllegalArgumentException("Unbekannter Platzhalter-Typ '" + parts[1] + "' in: " + pattern);
+            };
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültiger Platzhalter '{" + body + "}' in: " + pattern);
+        }
+    }
+
+    private static int precision(String[] parts, String body, String pattern) {
+        int precision = parts.length > 2 ? Integer.parseInt(parts[2].trim()) : 2;
+        if (precision < 0) {
+            throw new IllegalArgumentException("Negative Nachkommastellen '{" + body + "}' in: " + pattern);
+        }
+        return precision;
+    }
+
+    /**
+     * Renders the template with the given arguments.
+     *
+     * @param args The arguments referenced by the placeholders. Missing arguments are rendered as empty text.
+     *
+     * @return The rendered message.
+     */
+    public String render(Object... args) {
+        if (argIndexes.length == 0) {
+            return literals[0];
+        }
+        StringBuilder out = new StringBuilder(estimatedLength);
+        renderTo(out, args);
+        return out.toString();
+    }
+
+    /**
+     * Renders the template with the given arguments into an existing builder.
+     *
+     * @param out  The builder receiving the rendered message.
+     * @param args The arguments referenced by the placeholders.
+     */
+    public void renderTo(StringBuilder out, Object... args) {
+        for (int p = 0; p < argIndexes.length; p++) {
+            out.append(literals[p]);
+            int index = argIndexes[p];
+            Object arg = index < args.length ? args[index] : null;
+            if (arg == null) {
+                continue;
+            }
+            switch (types[p]) {
+                case NUMBER -> out.append(arg instanceof Number number ? number.longValue() : arg);
+                case DECIMAL -> appendDecimal(out, arg, precisions[p]);
+                default -> out.append(arg);
+            }
+        }
+        out.append(literals[argIndexes.length]);
+    }
+
+    private static void appendDecimal(StringBuilder out, Object arg, int precision) {
+        if (!(arg instanceof Number number)) {
+            out.append(arg);
+            return;
+        }
+        double value = number.doubleValue();
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.append(value);
+            return;
+        }
+
+        long factor = 1;
+        for (int i = 0; i < precision; i++) {
+            factor *= 10;
+        }
+        long scaled = Math.round(Math.abs(value) * factor);
+        if (value < 0 && scaled != 0) {
+            out.append('-');
+        }
+        out.append(scaled / factor);
+        if (precision > 0) {
+            out.append('.');
+            String fraction = Long.toString(scaled % factor);
+            for (int i = fraction.length(); i < precision; i++) {
+                out.append('0');
+            }
+            out.append(fraction);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package dev.mkpwnz.api.monitoring;
+
+import dev.mkpwnz.api.scheduler.ServerThreads;
+import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Tracks the progress of the server's main thread by recording a heartbeat once per tick.
+ * <p>
+ * The heartbeat is a single volatile write on the main thread, which makes it cheap enough
+ * to run permanently. Other threads (e.g. a watchdog) can compare the time of the last
+ * heartbeat against {@link System#nanoTime()} to detect ticks that take too long without
+ * ever touching the Bukkit API themselves.
+ * <p>
+ * The interval between two heartbeats is the length of a tick including the time the server
+ * sleeps until the next tick. It stays at 50 ms while the server keeps up, so it only shows
+ * ticks that already overran. The monitor therefore also tracks the busy time of every tick
+ * (MSPT), which shows how much of the 50 ms is used long before the server falls behind:
+ * <ul>
+ *     <li>On Paper, the duration reported by the {@code ServerTickEndEvent}, which is
+ *     measured by the server around the whole tick.</li>
+ *     <li>Otherwise, the CPU time the main thread used between two heartbeats. Time the main
+ *     thread spends blocked (e.g. waiting for chunk I/O) is not included, so this is a lower
+ *     bound of the busy time.</li>
+ * </ul>
+ * On Folia, the heartbeat runs on the global region thread, so the monitor observes the tick
+ * of the global region. It is not ticked by a fixed thread; {@link #getMainThread()} follows
+ * the thread of the latest heartbeat.
+ */
+public class TickMonitor {
+    private static final double TICK_MILLIS = 50.0;
+    private static final double AVERAGE_WEIGHT = 0.1;
+    private static final String TICK_END_EVENT = "com.destroystokyo.paper.event.server.ServerTickEndEvent";
+
+    /**
+     * The source of the busy time of a tick.
+     */
+    public enum BusySource {
+        /**
+         * The tick duration measured by the server (Paper).
+         */
+        SERVER,
+        /**
+         * The CPU time of the main thread.
+         */
+        CPU_TIME,
+        /**
+         * Neither is available; the interval between two heartbeats is used.
+         */
+        INTERVAL
+    }
+
+    private final JavaPlugin plugin;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private volatile Thread mainThread;
+    private volatile long lastTickNanos;
+    private volatile long tickCount;
+    private volatile double averageTickMillis = TICK_MILLIS;
+    private volatile double averageBusyMillis;
+    private volatile long totalBusyNanos;
+    private volatile BusySource busySource = BusySource.INTERVAL;
+    private long lastCpuNanos;
+    private Listener tickEndListener;
+    private ServerThreads.Task task;
+
+    /**
+     * Constructs a new TickMonitor for the given plugin. The monitor does not record anything
+     * until {@link #start()} is called.
+     *
+     * @param plugin The JavaPlugin instance used to schedule the heartbeat task.
+     */
+    public TickMonitor(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Starts recording heartbeats. Must be called from the main thread, which is captured
+     * as the thread observed by {@link #getMainThread()}.
+     */
+    public void start() {
+        if (task != null) {
+            return;
+        }
+        mainThread = Thread.currentThread();
+        lastTickNanos = System.nanoTime();
+        averageTickMillis = TICK_MILLIS;
+        averageBusyMillis = 0.0;
+
+        // Folia feuert das ServerTickEndEvent nicht
+        if (!ServerThreads.isRegionized() && registerTickEndListener()) {
+            busySource = BusySource.SERVER;
+        } else if (threadMXBean.isCurrentThreadCpuTimeSupported() && threadMXBean.isThreadCpuTimeEnabled()) {
+            busySource = BusySource.CPU_TIME;
+            lastCpuNanos = threadMXBean.getCurrentThreadCpuTime();
+        } else {
+            busySource = BusySource.INTERVAL;
+        }
+        task = ServerThreads.of(plugin).runGlobalTimer(this::heartbeat, 0L, 1L);
+    }
+
+    /**
+     * Stops recording heartbeats.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (tickEndListener != null) {
+            HandlerList.unregisterAll(tickEndListener);
+            tickEndListener = null;
+        }
+    }
+
+    /**
+     * Registers a listener for Paper's {@code ServerTickEndEvent}, which is looked up by name
+     * because the plugin is compiled against the Bukkit API.
+     *
+     * @return {@code true} if the event exists and the listener was registered.
+     */
+    private boolean registerTickEndListener() {
+        Class<? extends Event> eventClass;
+        MethodHandle tickDuration;
+        try {
+            eventClass = Class.forName(TICK_END_EVENT).asSubclass(Event.class);
+            tickDuration = MethodHandles.publicLookup().findVirtual(eventClass, "getTickDuration",
+                    MethodType.methodType(double.class));
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            return false;
+        }
+
+        tickEndListener = new Listener() {
+        };
+        plugin.getServer().getPluginManager().registerEvent(eventClass, tickEndListener, EventPriority.MONITOR,
+                (listener, event) -> {
+                    if (!eventClass.isInstance(event)) {
+                        return;
+                    }
+                    try {
+                        recordBusy((double) tickDuration.invoke(event));
+                    } catch (Throwable t) {
+                        throw new IllegalStateException("Tick-Dauer konnte nicht gelesen werden", t);
+                    }
+                }, plugin);
+        return true;
+    }
+
+    private void heartbeat() {
+        long now = System.nanoTime();
+        Thread current = Thread.currentThread();
+        boolean threadChanged = current != mainThread;
+        if (threadChanged) {
+            mainThread = current;
+        }
+        double intervalMillis = (now - lastTickNanos) / 1_000_000.0;
+        averageTickMillis += (intervalMillis - averageTickMillis) * AVERAGE_WEIGHT;
+        lastTickNanos = now;
+        tickCount++;
+
+        switch (busySource) {
+            case CPU_TIME -> {
+                long cpuNanos = threadMXBean.getCurrentThreadCpuTime();
+                // Die CPU-Zeit eines anderen Threads ist nicht vergleichbar
+                if (!threadChanged) {
+                    recordBusy((cpuNanos - lastCpuNanos) / 1_000_000.0);
+                }
+                lastCpuNanos = cpuNanos;
+            }
+            case INTERVAL -> recordBusy(intervalMillis);
+            case SERVER -> {
+                // Wird vom ServerTickEndEvent erfasst
+            }
+        }
+    }
+
+    private void recordBusy(double busyMillis) {
+        averageBusyMillis += (busyMillis - averageBusyMillis) * AVERAGE_WEIGHT;
+        totalBusyNanos += (long) (busyMillis * 1_000_000.0);
+    }
+
+    /**
+     * Retrieves the server's main thread as captured by {@link #start()} and updated by every
+     * heartbeat. On Folia, this is the thread that ticked the global region last.
+     *
+     * @return The main thread, or {@code null} if the monitor was never started.
+     */
+    public Thread getMainThread() {
+        return mainThread;
+    }
+
+    /**
+     * Retrieves the {@link System#nanoTime()} timestamp of the most recent heartbeat.
+     *
+     * @return The time of the last heartbeat in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    /**
+     * Retrieves the number of heartbeats recorded since the monitor was started. The value
+     * only changes when a tick completes, so it can be used to detect whether the main thread
+     * is still stuck in the same tick.
+     *
+     * @return The number of recorded ticks.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Retrieves the exponentially weighted moving average of the tick length, i.e. the time
+     * between two heartbeats. A healthy server stays at about 50 ms; higher values mean that
+     * ticks overrun and the server falls behind.
+     *
+     * @return The average tick length in milliseconds.
+     */
+    public double getAverageTickMillis() {
+        return averageTickMillis;
+    }
+
+    /**
+     * Retrieves the exponentially weighted moving average of the busy time of a tick (MSPT),
+     * excluding the time the server sleeps until the next tick. An idle server is close to
+     * 0 ms; at 50 ms there is no headroom left.
+     *
+     * @return The average busy time of a tick in milliseconds.
+     */
+    public double getAverageBusyMillis() {
+        return averageBusyMillis;
+    }
+
+    /**
+     * Retrieves the sum of the busy time of all ticks since the monitor was started. Together
+     * with {@link #getTickCount()}, it yields the exact average busy time of any time range.
+     *
+     * @return The total busy time in nanoseconds.
+     */
+    public long getTotalBusyNanos() {
+        return totalBusyNanos;
+    }
+
+    /**
+     * Retrieves how the busy time returned by {@link #getAverageBusyMillis()} is measured.
+     *
+     * @return The source of the busy time.
+     */
+    public BusySource getBusySource() {
+        return busySource;
+    }
+}
@@ -0,0 +1,411 @@
+package dev.mkpwnz.api.players;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * An immutable, sorted dictionary of player names stored in a memory-mapped file.
+ * <p>
+ * The names are sorted case-insensitively and front-coded in blocks of {@value #BLOCK_SIZE}:
+ * the first name of a block is stored in full, every following name only as the number of
+ * bytes it shares with its predecessor and the remaining suffix. Each entry also carries the
+ * UUID and the time the player was last seen. A table at the end of the file holds the offset
+ * and the most recent activity of every block, so lookups binary-search the first names of the
+ * blocks and prefix queries for the most recently active players can skip whole blocks.
+ * <p>
+ * All reads use absolute positions on the shared buffer, so a dictionary can be queried from
+ * any number of threads at once. Apart from the buffer itself it holds no per-name state on
+ * the heap.
+ * <p>
+ * File layout:
+ * <pre>
+ * [magic int][version int][count int][block count int][table offset long]
+ * blocks:  ([varint shared][varint suffix length][suffix][uuid msb long][uuid lsb long][varint last seen minutes])*
+ * table:   ([block offset long][max last seen minutes int])*
+ * </pre>
+ */
+final class NameDictionary {
+    static final int BLOCK_SIZE = 16;
+    private static final int MAGIC = 0x53555044;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 * Integer.BYTES + Long.BYTES;
+    private static final int TABLE_ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+    private static final long MILLIS_PER_MINUTE = 60_000L;
+
+    static final NameDictionary EMPTY = new NameDictionary(null, 0, 0, 0);
+
+    private final ByteBuffer buffer;
+    private final int count;
+    private final int blockCount;
+    private final int tableOffset;
+
+    private NameDictionary(ByteBuffer buffer, int count, int blockCount, int tableOffset) {
+        this.buffer = buffer;
+        this.count = count;
+        this.blockCount = blockCount;
+        this.tableOffset = tableOffset;
+    }
+
+    /**
+     * Maps a dictionary file into memory.
+     *
+     * @param file The dictionary file.
+     *
+     * @return The mapped dictionary.
+     *
+     * @throws IOException If the file cannot be read or is not a valid dictionary.
+     */
+    static NameDictionary map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Ungültiges Namensverzeichnis: " + file);
+            }
+            int count = buffer.getInt(8);
+            int blockCount = buffer.getInt(12);
+            long tableOffset = buffer.getLong(16);
+            if (tableOffset + (long) blockCount * TABLE_ENTRY_BYTES != buffer.capacity()) {
+                throw new IOException("Beschädigtes Namensverzeichnis: " + file);
+            }
+            return new NameDictionary(buffer, count, blockCount, (int) tableOffset);
+        }
+    }
+
+    /**
+     * Writes a dictionary file from entries sorted by {@link #key(String)}.
+     *
+     * @param file    The file to write.
+     * @param entries The entries in ascending key order, without duplicate keys.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    static void write(Path file, Iterator<PlayerNameIndex.Entry> entries) throws IOException {
+        long[] blockOffsets = new long[64];
+        int[] blockMax = new int[64];
+        int count = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer out = ByteBuffer.allocate(64 * 1024);
+            long position = HEADER_BYTES;
+            channel.position(position);
+            byte[] previous = new byte[0];
+
+            while (entries.hasNext()) {
+                PlayerNameIndex.Entry entry = entries.next();
+                byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+                int block = count / BLOCK_SIZE;
+                int shared = 0;
+                if (count % BLOCK_SIZE == 0) {
+                    if (block == blockOffsets.length) {
+                        blockOffsets = Arrays.copyOf(blockOffsets, block * 2);
+                        blockMax = Arrays.copyOf(blockMax, block * 2);
+                    }
+                    blockOffsets[block] = position + out.position();
+                    blockMax[block] = Integer.MIN_VALUE;
+                } else {
+                    int limit = Math.min(previous.length, name.length);
+                    while (shared < limit && previous[shared] == name[shared]) {
+                        shared++;
+                    }
+                }
+
+                if (out.remaining() < 2 * 5 + name.length + 2 * Long.BYTES + 5) {
+                    out.flip();
+                    position += channel.write(out);
+                    out.clear();
+                }
+                putVarInt(out, shared);
+                putVarInt(out, name.length - shared);
+                out.put(name, shared, name.length - shared);
+                out.putLong(entry.uniqueId().getMostSignificantBits());
+                out.putLong(entry.uniqueId().getLeastSignificantBits());
+                int lastSeen = toMinutes(entry.lastSeen());
+                putVarInt(out, lastSeen);
+                blockMax[block] = Math.max(blockMax[block], lastSeen);
+
+                previous = name;
+                count++;
+            }
+
+            int blockCount = (count + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            long tableOffset = position + out.position();
+            for (int block = 0; block < blockCount; block++) {
+                if (out.remaining() < TABLE_ENTRY_BYTES) {
+                    out.flip();
+                    channel.write(out);
+                    out.clear();
+                }
+                out.putLong(blockOffsets[block]).putInt(blockMax[block]);
+            }
+            out.flip();
+            channel.write(out);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putInt(count).putInt(blockCount).putLong(tableOffset)
+                    .flip();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Converts a player name to the key the dictionary is sorted by.
+     *
+     * @param name The player name.
+     *
+     * @return The lower-case name.
+     */
+    static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Retrieves the number of names in the dictionary.
+     *
+     * @return The number of entries.
+     */
+    int size() {
+        return count;
+    }
+
+    /**
+     * Looks up a player by name.
+     *
+     * @param key The lower-case name.
+     *
+     * @return The entry, or {@code null} if the name is not in the dictionary.
+     */
+    PlayerNameIndex.Entry get(String key) {
+        int block = lastBlockNotAfter(key);
+        if (block < 0) {
+            return null;
+        }
+        Cursor cursor = new Cursor(block);
+        while (cursor.next()) {
+            int comparison = key(cursor.name()).compareTo(key);
+            if (comparison == 0) {
+                return cursor.entry();
+            }
+            if (comparison > 0) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Finds the most recently active players whose names start with the given prefix.
+     *
+     * @param prefix The lower-case prefix.
+     * @param limit  The maximum number of entries to return.
+     *
+     * @return At most {@code limit} entries, most recently active first.
+     */
+    List<PlayerNameIndex.Entry> mostRecent(String prefix, int limit) {
+        if (count == 0 || limit <= 0) {
+            return List.of();
+        }
+        int from = Math.max(0, lastBlockNotAfter(prefix));
+        int to = firstBlockAfterPrefix(prefix, from);
+
+        // Blöcke mit der jüngsten Aktivität zuerst, damit der Rest früh übersprungen werden kann
+        Integer[] blocks = new Integer[to - from];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = from + i;
+        }
+        Arrays.sort(blocks, Comparator.comparingInt(this::blockMax).reversed());
+
+        PriorityQueue<PlayerNameIndex.Entry> top = new PriorityQueue<>(limit + 1,
+                Comparator.comparingLong(PlayerNameIndex.Entry::lastSeen));
+        for (int block : blocks) {
+            if (top.size() == limit && (long) blockMax(block) * MILLIS_PER_MINUTE <= top.peek().lastSeen()) {
+                break;
+            }
+            Cursor cursor = new Cursor(block);
+            while (cursor.next()) {
+                if (!key(cursor.name()).startsWith(prefix)) {
+                    continue;
+                }
+                if (top.size() < limit || cursor.lastSeen() > top.peek().lastSeen()) {
+                    top.add(cursor.entry());
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+        }
+
+        List<PlayerNameIndex.Entry> result = new ArrayList<>(top);
+        result.sort(Comparator.comparingLong(PlayerNameIndex.Entry::lastSeen).reversed());
+        return result;
+    }
+
+    /**
+     * Iterates over all entries in key order.
+     *
+     * @return An iterator decoding the entries on demand.
+     */
+    Iterator<PlayerNameIndex.Entry> iterator() {
+        return new Iterator<>() {
+            private int block;
+            private Cursor cursor = count > 0 ? new Cursor(0) : null;
+            private boolean ready;
+
+            @Override
+            public boolean hasNext() {
+                while (!ready && cursor != null) {
+                    if (cursor.next()) {
+                        ready = true;
+                    } else {
+                        cursor = ++block < blockCount ? new Cursor(block) : null;
+                    }
+                }
+                return ready;
+            }
+
+            @Override
+            public PlayerNameIndex.Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ready = false;
+                return cursor.entry();
+            }
+        };
+    }
+
+    private int lastBlockNotAfter(String key) {
+        int low = 0;
+        int high = blockCount - 1;
+        int result = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (firstKey(mid).compareTo(key) <= 0) {
+                result = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return result;
+    }
+
+    private int firstBlockAfterPrefix(String prefix, int from) {
+        int low = from;
+        int high = blockCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            String first = firstKey(mid);
+            if (first.compareTo(prefix) < 0 || first.startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private String firstKey(int block) {
+        Cursor cursor = new Cursor(block);
+        cursor.next();
+        return key(cursor.name());
+    }
+
+    private long blockOffset(int block) {
+        return buffer.getLong(tableOffset + block * TABLE_ENTRY_BYTES);
+    }
+
+    private int blockMax(int block) {
+        return buffer.getInt(tableOffset + block * TABLE_ENTRY_BYTES + Long.BYTES);
+    }
+
+    private static int toMinutes(long millis) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, millis / MILLIS_PER_MINUTE));
+    }
+
+    private static void putVarInt(ByteBuffer out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Decodes the entries of one block sequentially.
+     */
+    private final class Cursor {
+        private final int end;
+        private int position;
+        private int remaining;
+        private byte[] name = new byte[32];
+        private int nameLength;
+        private long mostSignificant;
+        private long leastSignificant;
+        private int lastSeenMinutes;
+
+        private Cursor(int block) {
+            this.position = (int) blockOffset(block);
+            this.remaining = Math.min(BLOCK_SIZE, count - block * BLOCK_SIZE);
+            this.end = block + 1 < blockCount ? (int) blockOffset(block + 1) : tableOffset;
+        }
+
+        private boolean next() {
+            if (remaining == 0 || position >= end) {
+                return false;
+            }
+            remaining--;
+            int shared = readVarInt();
+            int suffix = readVarInt();
+            nameLength = shared + suffix;
+            if (nameLength > name.length) {
+                name = Arrays.copyOf(name, Math.max(nameLength, name.length * 2));
+            }
+            buffer.get(position, name, shared, suffix);
+            position += suffix;
+            mostSignificant = buffer.getLong(position);
+            leastSignificant = buffer.getLong(position + Long.BYTES);
+            position += 2 * Long.BYTES;
+            lastSeenMinutes = readVarInt();
+            return true;
+        }
+
+        private String name() {
+            return new String(name, 0, nameLength, StandardCharsets.UTF_8);
+        }
+
+        private long lastSeen() {
+            return lastSeenMinutes * MILLIS_PER_MINUTE;
+        }
+
+        private PlayerNameIndex.Entry entry() {
+            return new PlayerNameIndex.Entry(name(), new UUID(mostSignificant, leastSignificant), lastSeen());
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
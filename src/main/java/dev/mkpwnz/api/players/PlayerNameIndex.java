@@ -0,0 +1,511 @@
+package dev.mkpwnz.api.players;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import dev.mkpwnz.api.arguments.OfflinePlayerArg;
+import dev.mkpwnz.api.arguments.OfflinePlayerArgValidator;
+import dev.mkpwnz.api.arguments.ValidatorManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A persistent index mapping player names to UUIDs, so offline players can be resolved and
+ * completed without blocking profile lookups, even on networks with hundreds of thousands of
+ * known players.
+ * <p>
+ * The bulk of the index is a {@link NameDictionary}: a sorted, front-coded file that is
+ * memory-mapped instead of being loaded onto the heap. Names seen since the dictionary was
+ * written (joins, the server's {@code usercache.json}) are kept in a small in-memory delta
+ * and appended to a journal of records
+ * ({@code [name length][UTF-8 name][UUID msb][UUID lsb][last seen]}), so they survive a
+ * restart. The delta is merged into a new dictionary periodically and whenever it grows
+ * beyond a threshold; the journal is truncated afterwards.
+ * <p>
+ * A file cannot be replaced or deleted while it is mapped on Windows, so every merge writes a
+ * new generation ({@code players.<generation>.dict}) and maps it instead of replacing the
+ * current file. Files of older generations are deleted as soon as the file system allows it,
+ * at the latest on the next start.
+ * <p>
+ * All file I/O happens on a single background thread. Lookups read the delta and the mapped
+ * dictionary and never block.
+ */
+public class PlayerNameIndex implements Listener {
+    private static final String DICTIONARY_PREFIX = "players.";
+    private static final String DICTIONARY_SUFFIX = ".dict";
+    private static final String JOURNAL_FILE = "players.log";
+    private static final int MERGE_THRESHOLD = 4096;
+    private static final long MERGE_INTERVAL_MINUTES = 15;
+    private static final long STOP_TIMEOUT_SECONDS = 10;
+    private static final DateTimeFormatter USER_CACHE_DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss Z");
+
+    private final JavaPlugin plugin;
+    private final Path dataFolder;
+    private final Path journalFile;
+    private final Map<String, Entry> delta = new ConcurrentHashMap<>();
+    private final List<Path> retiredFiles = new ArrayList<>();
+    private final ScheduledExecutorService io = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("ServerUtils-PlayerIndex").daemon(true).factory());
+
+    private volatile NameDictionary dictionary = NameDictionary.EMPTY;
+    private FileChannel journalChannel;
+    private boolean mergeQueued;
+    private long generation;
+    private Path dictionaryFile;
+
+    /**
+     * A known player name together with its UUID.
+     *
+     * @param name     The player name with its original capitalization.
+     * @param uniqueId The UUID of the player.
+     * @param lastSeen The time the player was last seen in epoch milliseconds, used to rank
+     *                 completions; {@code 0} if unknown.
+     */
+    public record Entry(String name, UUID uniqueId, long lastSeen) {
+    }
+
+    /**
+     * Constructs a new PlayerNameIndex stored in the data folder of the given plugin.
+     *
+     * @param plugin The plugin owning the index.
+     */
+    public PlayerNameIndex(JavaPlugin plugin) {
+        this.plugin = plugin;
+        this.dataFolder = plugin.getDataFolder().toPath();
+        this.journalFile = dataFolder.resolve(JOURNAL_FILE);
+    }
+
+    /**
+     * Registers the validator for {@link OfflinePlayerArg} arguments, which resolves names
+     * through this index. Called by {@link #start()}; an index that is never started answers
+     * with the online players only.
+     */
+    public void registerValidator() {
+        ValidatorManager.getInstance().registerValidator(OfflinePlayerArg.class, annotation -> {
+            OfflinePlayerArg arg = (OfflinePlayerArg) annotation;
+            return new OfflinePlayerArgValidator(arg.name(), arg.description(), arg.required(), this);
+        });
+    }
+
+    /**
+     * Loads the index in the background, registers the join listener and registers the
+     * validator for {@link OfflinePlayerArg} arguments. Must be called before commands using
+     * {@link OfflinePlayerArg} are registered.
+     */
+    public void start() {
+        registerValidator();
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+
+        for (Player player : plugin.getServer().getOnlinePlayers()) {
+            put(player.getName(), player.getUniqueId());
+        }
+        io.execute(this::load);
+        io.scheduleWithFixedDelay(this::merge, MERGE_INTERVAL_MINUTES, MERGE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Merges the delta, then flushes and closes the journal. Pending writes are completed first;
+     * the method waits until the I/O thread has finished.
+     */
+    public void stop() {
+        try {
+            io.execute(() -> {
+                merge();
+                closeJournal();
+            });
+        } catch (RejectedExecutionException ignored) {
+            // Bereits beendet
+        }
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Spieler-Index wurde nicht rechtzeitig gespeichert");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Looks up a player by name. This method never blocks.
+     *
+     * @param name The player name, case-insensitive.
+     *
+     * @return The entry of the player, or {@code null} if the name is not known.
+     */
+    public Entry get(String name) {
+        String key = NameDictionary.key(name);
+        Entry entry = delta.get(key);
+        return entry != null ? entry : dictionary.get(key);
+    }
+
+    /**
+     * Finds the most recently seen players whose names start with the given prefix. The delta
+     * is scanned in full, the dictionary only in the blocks that can still contribute.
+     *
+     * @param prefix The prefix, case-insensitive.
+     * @param limit  The maximum number of names to return.
+     *
+     * @return At most {@code limit} entries, most recently seen first.
+     */
+    public List<Entry> complete(String prefix, int limit) {
+        String key = NameDictionary.key(prefix);
+        Map<String, Entry> matches = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : delta.entrySet()) {
+            if (entry.getKey().startsWith(key)) {
+                matches.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (Entry entry : dictionary.mostRecent(key, limit)) {
+            matches.merge(NameDictionary.key(entry.name()), entry,
+                    (current, persisted) -> current.lastSeen() >= persisted.lastSeen() ? current : persisted);
+        }
+
+        List<Entry> result = new ArrayList<>(matches.values());
+        result.sort(Comparator.comparingLong(Entry::lastSeen).reversed());
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * Retrieves the approximate number of known players.
+     *
+     * @return The number of names in the dictionary plus the number of names in the delta.
+     */
+    public int size() {
+        return dictionary.size() + delta.size();
+    }
+
+    /**
+     * Adds or updates a player in the index, marks them as seen now and persists the change in
+     * the background.
+     *
+     * @param name     The player name.
+     * @param uniqueId The UUID of the player.
+     */
+    public void put(String name, UUID uniqueId) {
+        put(new Entry(name, uniqueId, System.currentTimeMillis()));
+    }
+
+    private void put(Entry entry) {
+        delta.put(NameDictionary.key(entry.name()), entry);
+        try {
+            io.execute(() -> append(entry));
+            if (delta.size() >= MERGE_THRESHOLD) {
+                requestMerge();
+            }
+        } catch (RejectedExecutionException ignored) {
+            // Der Index wird gerade beendet
+        }
+    }
+
+    private synchronized void requestMerge() {
+        if (!mergeQueued) {
+            mergeQueued = true;
+            io.execute(this::merge);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        put(event.getPlayer().getName(), event.getPlayer().getUniqueId());
+    }
+
+    private void load() {
+        try {
+            findDictionary();
+            if (dictionaryFile != null) {
+                dictionary = NameDictionary.map(dictionaryFile);
+            }
+            deleteRetiredFiles();
+            if (Files.exists(journalFile)) {
+                readJournal();
+            }
+            readUserCache();
+            merge();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Spieler-Index konnte nicht geladen werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the dictionary of the latest generation in the data folder. All other dictionaries,
+     * including unfinished ones of an interrupted merge, are marked for deletion.
+     */
+    private void findDictionary() throws IOException {
+        if (!Files.isDirectory(dataFolder)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dataFolder, DICTIONARY_PREFIX + "*")) {
+            for (Path file : files) {
+                long fileGeneration = generationOf(file.getFileName().toString());
+                if (fileGeneration < 0) {
+                    if (file.getFileName().toString().endsWith(DICTIONARY_SUFFIX + ".tmp")) {
+                        retiredFiles.add(file);
+                    }
+                    continue;
+                }
+                if (dictionaryFile == null || fileGeneration > generation) {
+                    if (dictionaryFile != null) {
+                        retiredFiles.add(dictionaryFile);
+                    }
+                    dictionaryFile = file;
+                    generation = fileGeneration;
+                } else {
+                    retiredFiles.add(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parses the generation from the name of a dictionary file.
+     *
+     * @return The generation, or {@code -1} if the name is not the one of a dictionary.
+     */
+    private static long generationOf(String fileName) {
+        if (!fileName.startsWith(DICTIONARY_PREFIX) || !fileName.endsWith(DICTIONARY_SUFFIX)
+                || fileName.length() <= DICTIONARY_PREFIX.length() + DICTIONARY_SUFFIX.length()) {
+            return -1;
+        }
+        String generation = fileName.substring(DICTIONARY_PREFIX.length(), fileName.length() - DICTIONARY_SUFFIX.length());
+        try {
+            return Long.parseLong(generation);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Deletes the files of older generations. Files that are still mapped cannot be deleted on
+     * Windows; they are retried after the next merge and on the next start.
+     */
+    private void deleteRetiredFiles() {
+        retiredFiles.removeIf(file -> {
+            try {
+                Files.deleteIfExists(file);
+                return true;
+            } catch (IOException e) {
+                return false;
+            }
+        });
+    }
+
+    private void readJournal() throws IOException {
+        // Nicht gemappt, damit das Journal danach ersetzt werden kann
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(journalFile));
+        byte[] nameBytes = new byte[64];
+
+        while (buffer.remaining() >= Short.BYTES) {
+            int length = buffer.getShort() & 0xFFFF;
+            if (buffer.remaining() < length + 3 * Long.BYTES) {
+                break;
+            }
+            if (length > nameBytes.length) {
+                nameBytes = new byte[length];
+            }
+            buffer.get(nameBytes, 0, length);
+            String name = new String(nameBytes, 0, length, StandardCharsets.UTF_8);
+            Entry entry = new Entry(name, new UUID(buffer.getLong(), buffer.getLong()), buffer.getLong());
+
+            // Spieler, die seit dem Start bereits gejoint sind, haben die aktuellere Information
+            delta.merge(NameDictionary.key(name), entry,
+                    (current, persisted) -> current.lastSeen() >= persisted.lastSeen() ? current : persisted);
+        }
+    }
+
+    private void readUserCache() {
+        Path userCache = plugin.getServer().getWorldContainer().toPath().resolve("usercache.json");
+        if (!Files.exists(userCache)) {
+            return;
+        }
+
+        try (Reader reader = Files.newBufferedReader(userCache, StandardCharsets.UTF_8)) {
+            for (JsonElement element : JsonParser.parseReader(reader).getAsJsonArray()) {
+                JsonObject object = element.getAsJsonObject();
+                String name = object.get("name").getAsString();
+                if (get(name) == null) {
+                    put(new Entry(name, UUID.fromString(object.get("uuid").getAsString()), lastSeen(object)));
+                }
+            }
+        } catch (Exception e) {
+            plugin.getLogger().warning("usercache.json konnte nicht gelesen werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Estimates when a player of the user cache was last seen: entries expire one month after
+     * the player's last login.
+     */
+    private static long lastSeen(JsonObject userCacheEntry) {
+        JsonElement expiresOn = userCacheEntry.get("expiresOn");
+        if (expiresOn == null) {
+            return 0L;
+        }
+        try {
+            return ZonedDateTime.parse(expiresOn.getAsString(), USER_CACHE_DATE).minus(1, ChronoUnit.MONTHS)
+                    .toInstant().toEpochMilli();
+        } catch (RuntimeException e) {
+            return 0L;
+        }
+    }
+
+    private void append(Entry entry) {
+        try {
+            if (journalChannel == null) {
+                Files.createDirectories(journalFile.getParent());
+                journalChannel = FileChannel.open(journalFile, StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            journalChannel.write(encode(entry));
+        } catch (IOException e) {
+            plugin.getLogger().warning("Spieler-Index konnte nicht gespeichert werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the next generation of the dictionary containing the current dictionary and the
+     * delta, maps it and removes the merged names from the delta and the journal. The file of
+     * the previous generation is deleted once it can be. Runs on the I/O thread.
+     */
+    private void merge() {
+        synchronized (this) {
+            mergeQueued = false;
+        }
+        if (delta.isEmpty()) {
+            return;
+        }
+
+        List<Entry> merged = new ArrayList<>(delta.values());
+        merged.sort(Comparator.comparing(entry -> NameDictionary.key(entry.name())));
+        Path file = dataFolder.resolve(DICTIONARY_PREFIX + (generation + 1) + DICTIONARY_SUFFIX);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(dataFolder);
+            NameDictionary.write(temp, mergeSorted(dictionary.iterator(), merged.iterator()));
+            Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE);
+            dictionary = NameDictionary.map(file);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Spieler-Index konnte nicht zusammengeführt werden: " + e.getMessage());
+            return;
+        }
+        if (dictionaryFile != null) {
+            retiredFiles.add(dictionaryFile);
+        }
+        dictionaryFile = file;
+        generation++;
+        deleteRetiredFiles();
+
+        // Nur Einträge entfernen, die sich während des Schreibens nicht geändert haben
+        for (Entry entry : merged) {
+            delta.remove(NameDictionary.key(entry.name()), entry);
+        }
+        rewriteJournal();
+    }
+
+    private void rewriteJournal() {
+        closeJournal();
+        Path temp = journalFile.resolveSibling(JOURNAL_FILE + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (Entry entry : delta.values()) {
+                    channel.write(encode(entry));
+                }
+            }
+            Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Spieler-Journal konnte nicht neu geschrieben werden: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Merges two iterators sorted by key. For names contained in both, the entry seen more
+     * recently wins.
+     */
+    private static Iterator<Entry> mergeSorted(Iterator<Entry> persisted, Iterator<Entry> added) {
+        return new Iterator<>() {
+            private Entry left = persisted.hasNext() ? persisted.next() : null;
+            private Entry right = added.hasNext() ? added.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return left != null || right != null;
+            }
+
+            @Override
+            public Entry next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int comparison = left == null ? 1 : right == null ? -1 :
+                        NameDictionary.key(left.name()).compareTo(NameDictionary.key(right.name()));
+                Entry result;
+                if (comparison < 0) {
+                    result = left;
+                    left = persisted.hasNext() ? persisted.next() : null;
+                } else if (comparison > 0) {
+                    result = right;
+                    right = added.hasNext() ? added.next() : null;
+                } else {
+                    result = left.lastSeen() > right.lastSeen() ? left : right;
+                    left = persisted.hasNext() ? persisted.next() : null;
+                    right = added.hasNext() ? added.next() : null;
+                }
+                return result;
+            }
+        };
+    }
+
+    private static ByteBuffer encode(Entry entry) {
+        byte[] name = entry.name().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(Short.BYTES + name.length + 3 * Long.BYTES);
+        buffer.putShort((short) name.length)
+                .put(name)
+                .putLong(entry.uniqueId().getMostSignificantBits())
+                .putLong(entry.uniqueId().getLeastSignificantBits())
+                .putLong(entry.lastSeen())
+                .flip();
+        return buffer;
+    }
+
+    private void closeJournal() {
+        if (journalChannel != null) {
+            try {
+                journalChannel.close();
+            } catch (IOException ignored) {
+            }
+            journalChannel = null;
+        }
+    }
+}
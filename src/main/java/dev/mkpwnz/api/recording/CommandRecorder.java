@@ -0,0 +1,230 @@
+package dev.mkpwnz.api.recording;
+
+import dev.mkpwnz.api.commands.PermissionIndex;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records command dispatches into a compact binary trace (see {@link CommandTrace}), which can
+ * be replayed by the headless replay harness to load-test the command framework with real
+ * traffic.
+ * <p>
+ * The dispatching thread only classifies the sender, computes its permission profile and
+ * offers the dispatch to a bounded queue; encoding and file I/O happen on a dedicated writer
+ * thread. Dispatches that do not fit into the queue are dropped and counted.
+ * <p>
+ * The writer thread is never interrupted, since an interrupt during a write closes the
+ * underlying channel and truncates the trace. {@link #stop()} clears a flag and wakes the writer
+ * with a marker in the queue; the writer then writes the remaining dispatches, closes the
+ * trace and completes the future returned by {@code stop()}.
+ */
+public class CommandRecorder {
+    private static final int MAX_BATCH = 512;
+    private static final Dispatch STOP = new Dispatch(0L, null, null, null, null);
+
+    private final JavaPlugin plugin;
+    private final Path file;
+    private final BlockingQueue<Dispatch> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+
+    private final CompletableFuture<Void> finished = new CompletableFuture<>();
+
+    private volatile boolean running;
+    private boolean started;
+
+    private record Dispatch(long nanoTime, SenderKind kind, BitSet profile, PermissionIndex index, String commandLine) {
+    }
+
+    /**
+     * Constructs a new CommandRecorder writing to the given file.
+     *
+     * @param plugin   The plugin owning the recorder, used for logging.
+     * @param file     The trace file to create. An existing file is overwritten.
+     * @param capacity The maximum number of dispatches waiting to be written.
+     */
+    public CommandRecorder(JavaPlugin plugin, Path file, int capacity) {
+        this.plugin = plugin;
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Starts the writer thread. The trace header is written immediately.
+     *
+     * @throws IOException If the trace file cannot be created.
+     */
+    public void start() throws IOException {
+        if (running) {
+            return;
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16));
+        out.writeInt(CommandTrace.MAGIC);
+        out.writeShort(CommandTrace.VERSION);
+        out.writeLong(System.currentTimeMillis());
+
+        running = true;
+        started = true;
+        long startNanos = System.nanoTime();
+        Thread.ofPlatform()
+                .name("ServerUtils-Recorder")
+                .daemon(true)
+                .start(() -> writeLoop(out, startNanos));
+    }
+
+    /**
+     * Stops the writer thread. The call does not block; the writer writes all queued dispatches
+     * and closes the trace afterwards.
+     *
+     * @return A future completed on the writer thread once the trace is closed, also if writing
+     * it failed. Completed immediately if the recorder was never started.
+     */
+    public CompletableFuture<Void> stop() {
+        if (running) {
+            running = false;
+            // Weckt den Writer aus poll(); ist die Queue voll, wartet er ohnehin nicht
+            queue.offer(STOP);
+        } else if (!started) {
+            finished.complete(null);
+        }
+        return finished;
+    }
+
+    /**
+     * Determines whether the recorder is currently recording.
+     *
+     * @return {@code true} if the writer thread is running.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Records a dispatch. This method never blocks; if the queue is full, the dispatch is
+     * dropped and counted.
+     *
+     * @param sender      The sender that dispatched the command.
+     * @param commandLine The command line without the leading slash.
+     * @param index       The permission index used to compute the sender's permission profile.
+     */
+    public void record(CommandSender sender, String commandLine, PermissionIndex index) {
+        if (!running) {
+            return;
+        }
+        Dispatch dispatch = new Dispatch(System.nanoTime(), SenderKind.of(sender),
+                index.profileOf(sender), index, commandLine);
+        if (!queue.offer(dispatch)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Retrieves the number of dispatches written to the trace.
+     *
+     * @return The number of recorded dispatches.
+     */
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * Retrieves the number of dispatches dropped because the queue was full.
+     *
+     * @return The number of dropped dispatches.
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Retrieves the trace file.
+     *
+     * @return The path of the trace file.
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    private void writeLoop(DataOutputStream out, long startNanos) {
+        Map<List<String>, Integer> profileIds = new HashMap<>();
+        List<Dispatch> batch = new ArrayList<>(MAX_BATCH);
+        long lastMicros = 0;
+
+        try (out) {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Dispatch first = queue.poll(1, TimeUnit.SECONDS);
+                    if (first == null || first == STOP) {
+                        continue;
+                    }
+                    batch.add(first);
+                } catch (InterruptedException e) {
+                    // stop() unterbricht nicht; die Schleife endet erst, wenn die Queue leer ist
+                    continue;
+                }
+                queue.drainTo(batch, MAX_BATCH - 1);
+
+                batch.remove(STOP);
+                for (Dispatch dispatch : batch) {
+                    int profileId = profileId(out, profileIds, dispatch);
+                    long micros = Math.max(lastMicros, (dispatch.nanoTime() - startNanos) / 1000L);
+
+                    out.writeByte(CommandTrace.DISPATCH);
+                    CommandTrace.writeVarLong(out, micros - lastMicros);
+                    out.writeByte(dispatch.kind().ordinal());
+                    CommandTrace.writeVarLong(out, profileId);
+                    out.writeUTF(dispatch.commandLine());
+                    lastMicros = micros;
+                }
+                out.flush();
+                recorded.add(batch.size());
+                batch.clear();
+            }
+        } catch (IOException e) {
+            running = false;
+            plugin.getLogger().warning("Command-Trace konnte nicht geschrieben werden: " + e.getMessage());
+        } finally {
+            finished.complete(null);
+        }
+    }
+
+    private static int profileId(DataOutputStream out, Map<List<String>, Integer> profileIds, Dispatch dispatch)
+            throws IOException {
+        List<String> permissions = new ArrayList<>(dispatch.profile().cardinality());
+        for (int i = dispatch.profile().nextSetBit(0); i >= 0; i = dispatch.profile().nextSetBit(i + 1)) {
+            permissions.add(dispatch.index().permissionAt(i));
+        }
+
+        Integer id = profileIds.get(permissions);
+        if (id != null) {
+            return id;
+        }
+
+        id = profileIds.size();
+        profileIds.put(permissions, id);
+        out.writeByte(CommandTrace.PROFILE);
+        CommandTrace.writeVarLong(out, id);
+        CommandTrace.writeVarLong(out, permissions.size());
+        for (String permission : permissions) {
+            out.writeUTF(permission);
+        }
+        return id;
+    }
+}
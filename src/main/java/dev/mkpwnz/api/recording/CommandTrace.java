@@ -0,0 +1,137 @@
+package dev.mkpwnz.api.recording;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Describes and reads the binary trace format written by {@link CommandRecorder}.
+ * <p>
+ * A trace starts with a header (magic, version, start time in epoch millis) followed by
+ * records. Each record starts with a type byte:
+ * <ul>
+ *     <li>{@link #PROFILE}: defines a permission profile (varint id, varint count, permissions as UTF).
+ *     Every distinct profile is written once, before the first dispatch referencing it.</li>
+ *     <li>{@link #DISPATCH}: a dispatch (varlong microseconds since the previous dispatch,
+ *     sender kind ordinal, varint profile id, command line as UTF).</li>
+ * </ul>
+ */
+public final class CommandTrace {
+    static final int MAGIC = 0x53555452;
+    static final int VERSION = 1;
+    static final byte PROFILE = 1;
+    static final byte DISPATCH = 2;
+
+    private final long startedAt;
+    private final List<TraceEntry> entries;
+
+    private CommandTrace(long startedAt, List<TraceEntry> entries) {
+        this.startedAt = startedAt;
+        this.entries = entries;
+    }
+
+    /**
+     * Reads a complete trace. A trace that ends within a record (e.g. because the server
+     * crashed while recording) is read up to the last complete record.
+     *
+     * @param file The trace file.
+     *
+     * @return The trace.
+     *
+     * @throws IOException If the file cannot be read or is not a trace.
+     */
+    public static CommandTrace read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Keine Command-Trace-Datei: " + file);
+            }
+            int version = in.readUnsignedShort();
+            if (version != VERSION) {
+                throw new IOException("Nicht unterstützte Trace-Version: " + version);
+            }
+            long startedAt = in.readLong();
+
+            List<Set<String>> profiles = new ArrayList<>();
+            List<TraceEntry> entries = new ArrayList<>();
+            SenderKind[] kinds = SenderKind.values();
+            long offset = 0;
+            try {
+                int type;
+                while ((type = in.read()) != -1) {
+                    if (type == PROFILE) {
+                        int id = readVarInt(in);
+                        int count = readVarInt(in);
+                        Set<String> permissions = new LinkedHashSet<>();
+                        for (int i = 0; i < count; i++) {
+                            permissions.add(in.readUTF());
+                        }
+                        while (profiles.size() <= id) {
+                            profiles.add(Set.of());
+                        }
+                        profiles.set(id, Set.copyOf(permissions));
+                    } else if (type == DISPATCH) {
+                        offset += readVarLong(in);
+                        SenderKind kind = kinds[in.readUnsignedByte()];
+                        Set<String> permissions = profiles.get(readVarInt(in));
+                        entries.add(new TraceEntry(offset, kind, permissions, in.readUTF()));
+                    } else {
+                        throw new IOException("Unbekannter Record-Typ: " + type);
+                    }
+                }
+            } catch (EOFException e) {
+                // Unvollständiger letzter Record, z.B. nach einem Absturz während der Aufnahme
+            }
+            return new CommandTrace(startedAt, entries);
+        }
+    }
+
+    /**
+     * Retrieves the start time of the recording.
+     *
+     * @return The start time in epoch milliseconds.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Retrieves all dispatches of the trace in recording order.
+     *
+     * @return An unmodifiable list of trace entries.
+     */
+    public List<TraceEntry> getEntries() {
+        return List.copyOf(entries);
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Ungültige Varint-Kodierung");
+    }
+}
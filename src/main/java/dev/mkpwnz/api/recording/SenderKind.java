@@ -0,0 +1,36 @@
+package dev.mkpwnz.api.recording;
+
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+
+/**
+ * The kind of {@link CommandSender} that dispatched a recorded command.
+ */
+public enum SenderKind {
+    PLAYER,
+    CONSOLE,
+    BLOCK,
+    OTHER;
+
+    /**
+     * Determines the kind of the given sender.
+     *
+     * @param sender The sender to classify.
+     *
+     * @return The kind of the sender.
+     */
+    public static SenderKind of(CommandSender sender) {
+        if (sender instanceof Player) {
+            return PLAYER;
+        }
+        if (sender instanceof ConsoleCommandSender) {
+            return CONSOLE;
+        }
+        if (sender instanceof BlockCommandSender) {
+            return BLOCK;
+        }
+        return OTHER;
+    }
+}
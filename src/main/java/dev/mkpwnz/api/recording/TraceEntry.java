@@ -0,0 +1,15 @@
+package dev.mkpwnz.api.recording;
+
+import java.util.Set;
+
+/**
+ * A single command dispatch read from a trace.
+ *
+ * @param offsetMicros The time of the dispatch in microseconds since the start of the recording.
+ * @param kind         The kind of sender that dispatched the command.
+ * @param permissions  The permissions the sender held at the time of the dispatch. Entries
+ *                     with the same permission profile share the same set instance.
+ * @param commandLine  The command line without the leading slash, e.g. {@code serverinfo player Steve}.
+ */
+public record TraceEntry(long offsetMicros, SenderKind kind, Set<String> permissions, String commandLine) {
+}
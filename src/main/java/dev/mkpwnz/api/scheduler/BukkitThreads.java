@@ -0,0 +1,50 @@
+package dev.mkpwnz.api.scheduler;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * The {@link ServerThreads} of a server with a single main thread owning every sender.
+ */
+final class BukkitThreads implements ServerThreads {
+    private final Plugin plugin;
+
+    BukkitThreads(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(CommandSender sender) {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        return plugin.getServer().isPrimaryThread();
+    }
+
+    @Override
+    public void runFor(CommandSender sender, Runnable task) {
+        plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        plugin.getServer().getScheduler().runTask(plugin, task);
+    }
+
+    @Override
+    public Task runGlobalLater(Runnable task, long delayTicks) {
+        return plugin.getServer().getScheduler().runTaskLater(plugin, task, delayTicks)::cancel;
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        return plugin.getServer().getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks)::cancel;
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, task);
+    }
+}
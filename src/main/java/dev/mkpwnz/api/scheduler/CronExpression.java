@@ -0,0 +1,222 @@
+package dev.mkpwnz.api.scheduler;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A cron expression with the five standard fields {@code minute hour day-of-month month
+ * day-of-week}, e.g. {@code "*&#47;15 8-22 * * MON-FRI"}.
+ * <p>
+ * Each field supports {@code *}, single values, ranges ({@code 1-5}), steps
+ * ({@code *&#47;10}, {@code 0-30/5}) and comma-separated lists. Months and weekdays may be
+ * given by their three-letter English names; Sunday is {@code 0} or {@code 7}. The macros
+ * {@code @hourly}, {@code @daily}, {@code @weekly}, {@code @monthly} and {@code @yearly} are
+ * accepted as well. As in Vixie cron, a day matches if either the day of month or the day of
+ * week matches when both fields are restricted.
+ * <p>
+ * The fields are stored as bit masks, so {@link #next(ZonedDateTime)} jumps directly to the
+ * next matching minute, hour, day and month instead of probing minute by minute.
+ */
+public final class CronExpression {
+    private static final int MAX_YEARS_AHEAD = 5;
+    private static final Map<String, String> MACROS = Map.of(
+            "@hourly", "0 * * * *",
+            "@daily", "0 0 * * *",
+            "@midnight", "0 0 * * *",
+            "@weekly", "0 0 * * 0",
+            "@monthly", "0 0 1 * *",
+            "@yearly", "0 0 1 1 *",
+            "@annually", "0 0 1 1 *");
+    private static final String[] MONTH_NAMES = {"JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC"};
+    private static final String[] DAY_NAMES = {"SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT"};
+
+    private final String expression;
+    private final long minutes;
+    private final long hours;
+    private final long daysOfMonth;
+    private final long months;
+    private final long daysOfWeek;
+    private final boolean dayOfMonthRestricted;
+    private final boolean dayOfWeekRestricted;
+
+    private CronExpression(String expression, long minutes, long hours, long daysOfMonth, long months,
+                           long daysOfWeek, boolean dayOfMonthRestricted, boolean dayOfWeekRestricted) {
+        this.expression = expression;
+        this.minutes = minutes;
+        this.hours = hours;
+        this.daysOfMonth = daysOfMonth;
+        this.months = months;
+        this.daysOfWeek = daysOfWeek;
+        this.dayOfMonthRestricted = dayOfMonthRestricted;
+        this.dayOfWeekRestricted = dayOfWeekRestricted;
+    }
+
+    /**
+     * Parses a cron expression.
+     *
+     * @param expression The expression, e.g. {@code "0 4 * * *"} or {@code "@hourly"}.
+     *
+     * @return The parsed expression.
+     *
+     * @throws IllegalArgumentException If the expression is malformed.
+     */
+    public static CronExpression parse(String expression) {
+        String trimmed = expression.trim();
+        String[] fields = MACROS.getOrDefault(trimmed.toLowerCase(Locale.ROOT), trimmed).split("\\s+");
+        if (fields.length != 5) {
+            throw new IllegalArgumentException("Cron-Ausdruck muss 5 Felder haben: " + expression);
+        }
+
+        long daysOfWeek = parseField(fields[4], 0, 7, DAY_NAMES, expression);
+        if ((daysOfWeek & (1L << 7)) != 0) {
+            // 7 ist wie 0 Sonntag
+            daysOfWeek = (daysOfWeek | 1L) & ~(1L << 7);
+        }
+        return new CronExpression(trimmed,
+                parseField(fields[0], 0, 59, null, expression),
+                parseField(fields[1], 0, 23, null, expression),
+                parseField(fields[2], 1, 31, null, expression),
+                parseField(fields[3], 1, 12, MONTH_NAMES, expression),
+                daysOfWeek,
+                !fields[2].equals("*"),
+                !fields[4].equals("*"));
+    }
+
+    private static long parseField(String field, int min, int max, String[] names, String expression) {
+        long mask = 0;
+        for (String part : field.split(",")) {
+            int step = 1;
+            int slash = part.indexOf('/');
+            if (slash >= 0) {
+                step = parseValue(part.substring(slash + 1), 0, Integer.MAX_VALUE, null, expression);
+                if (step <= 0) {
+                    throw new IllegalArgumentException("Ungültige Schrittweite in Cron-Ausdruck: " + expression);
+                }
+                part = part.substring(0, slash);
+            }
+
+            int from;
+            int to;
+            if (part.equals("*")) {
+                from = min;
+                to = max;
+            } else {
+                int dash = part.indexOf('-');
+                from = parseValue(dash >= 0 ? part.substring(0, dash) : part, min, max, names, expression);
+                to = dash >= 0 ? parseValue(part.substring(dash + 1), min, max, names, expression) :
+                        slash >= 0 ? max : from;
+                if (to < from) {
+                    throw new IllegalArgumentException("Ungültiger Bereich in Cron-Ausdruck: " + expression);
+                }
+            }
+            for (int value = from; value <= to; value += step) {
+                mask |= 1L << value;
+            }
+        }
+        return mask;
+    }
+
+    private static int parseValue(String value, int min, int max, String[] names, String expression) {
+        if (names != null) {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equalsIgnoreCase(value)) {
+                    return i + (names == MONTH_NAMES ? 1 : 0);
+                }
+            }
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException("Wert " + value + " außerhalb von " + min + "-" + max
+                        + " in Cron-Ausdruck: " + expression);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültiger Wert '" + value + "' in Cron-Ausdruck: " + expression);
+        }
+    }
+
+    /**
+     * Computes the first time after the given time that matches the expression.
+     *
+     * @param after The time to start from (exclusive).
+     *
+     * @return The next matching time, truncated to the minute, or {@code null} if the
+     * expression does not match within the next years (e.g. {@code 0 0 30 2 *}).
+     */
+    public ZonedDateTime next(ZonedDateTime after) {
+        ZonedDateTime time = after.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+        ZonedDateTime limit = time.plusYears(MAX_YEARS_AHEAD);
+
+        while (time.isBefore(limit)) {
+            if (!matches(months, time.getMonthValue())) {
+                int month = nextSetBit(months, time.getMonthValue() + 1);
+                ZonedDateTime start = time.withDayOfMonth(1).truncatedTo(ChronoUnit.DAYS);
+                time = month >= 0 ? start.withMonth(month) : start.plusYears(1).withMonth(nextSetBit(months, 1));
+                continue;
+            }
+            if (!matchesDay(time)) {
+                time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+                continue;
+            }
+            if (!matches(hours, time.getHour())) {
+                int hour = nextSetBit(hours, time.getHour() + 1);
+                ZonedDateTime start = time.truncatedTo(ChronoUnit.DAYS);
+                time = hour >= 0 ? start.withHour(hour) : start.plusDays(1);
+                continue;
+            }
+            if (!matches(minutes, time.getMinute())) {
+                int minute = nextSetBit(minutes, time.getMinute() + 1);
+                ZonedDateTime start = time.truncatedTo(ChronoUnit.HOURS);
+                time = minute >= 0 ? start.withMinute(minute) : start.plusHours(1);
+                continue;
+            }
+            return time;
+        }
+        return null;
+    }
+
+    /**
+     * Computes the first time after the given instant that matches the expression.
+     *
+     * @param afterMillis The instant to start from (exclusive) in epoch milliseconds.
+     * @param zone        The time zone the expression is evaluated in.
+     *
+     * @return The next matching time in epoch milliseconds, or {@code -1} if there is none.
+     */
+    public long nextMillis(long afterMillis, ZoneId zone) {
+        ZonedDateTime next = next(ZonedDateTime.ofInstant(Instant.ofEpochMilli(afterMillis), zone));
+        return next != null ? next.toInstant().toEpochMilli() : -1;
+    }
+
+    private boolean matchesDay(ZonedDateTime time) {
+        boolean dayOfMonth = matches(daysOfMonth, time.getDayOfMonth());
+        boolean dayOfWeek = matches(daysOfWeek, time.getDayOfWeek() == DayOfWeek.SUNDAY ? 0 : time.getDayOfWeek().getValue());
+        if (dayOfMonthRestricted && dayOfWeekRestricted) {
+            return dayOfMonth || dayOfWeek;
+        }
+        return dayOfMonth && dayOfWeek;
+    }
+
+    private static boolean matches(long mask, int value) {
+        return (mask & (1L << value)) != 0;
+    }
+
+    private static int nextSetBit(long mask, int from) {
+        if (from >= 64) {
+            return -1;
+        }
+        long remaining = mask & (-1L << from);
+        return remaining != 0 ? Long.numberOfTrailingZeros(remaining) : -1;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,220 @@
+package dev.mkpwnz.api.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.Server;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.function.Consumer;
+
+/**
+ * The {@link ServerThreads} of a Folia server. Entities run on the scheduler of the entity,
+ * command blocks on the region scheduler at their location and all other senders on the global
+ * region scheduler.
+ * <p>
+ * The plugin is compiled against the Bukkit API, so the Folia schedulers are accessed through
+ * method handles that are looked up once when this class is initialized.
+ */
+final class FoliaThreads implements ServerThreads {
+    private static final String PACKAGE = "io.papermc.paper.threadedregions.";
+
+    static final boolean AVAILABLE = isPresent(PACKAGE + "RegionizedServer");
+
+    private static final MethodHandle GET_GLOBAL_SCHEDULER;
+    private static final MethodHandle GET_REGION_SCHEDULER;
+    private static final MethodHandle GET_ASYNC_SCHEDULER;
+    private static final MethodHandle GET_ENTITY_SCHEDULER;
+    private static final MethodHandle GLOBAL_EXECUTE;
+    private static final MethodHandle GLOBAL_RUN_DELAYED;
+    private static final MethodHandle GLOBAL_RUN_AT_FIXED_RATE;
+    private static final MethodHandle TASK_CANCEL;
+    private static final MethodHandle REGION_EXECUTE;
+    private static final MethodHandle ASYNC_RUN_NOW;
+    private static final MethodHandle ENTITY_EXECUTE;
+    private static final MethodHandle OWNS_ENTITY;
+    private static final MethodHandle OWNS_LOCATION;
+    private static final MethodHandle IS_GLOBAL_TICK_THREAD;
+
+    static {
+        if (AVAILABLE) {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                Class<?> global = Class.forName(PACKAGE + "scheduler.GlobalRegionScheduler");
+                Class<?> region = Class.forName(PACKAGE + "scheduler.RegionScheduler");
+                Class<?> async = Class.forName(PACKAGE + "scheduler.AsyncScheduler");
+                Class<?> entity = Class.forName(PACKAGE + "scheduler.EntityScheduler");
+                Class<?> task = Class.forName(PACKAGE + "scheduler.ScheduledTask");
+                Class<?> cancelledState = Class.forName(PACKAGE + "scheduler.ScheduledTask$CancelledState");
+
+                GET_GLOBAL_SCHEDULER = lookup.findVirtual(Server.class, "getGlobalRegionScheduler",
+                        MethodType.methodType(global));
+                GET_REGION_SCHEDULER = lookup.findVirtual(Server.class, "getRegionScheduler",
+                        MethodType.methodType(region));
+                GET_ASYNC_SCHEDULER = lookup.findVirtual(Server.class, "getAsyncScheduler",
+                        MethodType.methodType(async));
+                GET_ENTITY_SCHEDULER = lookup.findVirtual(Entity.class, "getScheduler",
+                        MethodType.methodType(entity));
+                GLOBAL_EXECUTE = lookup.findVirtual(global, "execute",
+                        MethodType.methodType(void.class, Plugin.class, Runnable.class));
+                GLOBAL_RUN_DELAYED = lookup.findVirtual(global, "runDelayed",
+                        MethodType.methodType(task, Plugin.class, Consumer.class, long.class));
+                GLOBAL_RUN_AT_FIXED_RATE = lookup.findVirtual(global, "runAtFixedRate",
+                        MethodType.methodType(task, Plugin.class, Consumer.class, long.class, long.class));
+                TASK_CANCEL = lookup.findVirtual(task, "cancel", MethodType.methodType(cancelledState));
+                REGION_EXECUTE = lookup.findVirtual(region, "execute",
+                        MethodType.methodType(void.class, Plugin.class, Location.class, Runnable.class));
+                ASYNC_RUN_NOW = lookup.findVirtual(async, "runNow",
+                        MethodType.methodType(task, Plugin.class, Consumer.class));
+                ENTITY_EXECUTE = lookup.findVirtual(entity, "execute",
+                        MethodType.methodType(boolean.class, Plugin.class, Runnable.class, Runnable.class, long.class));
+                OWNS_ENTITY = lookup.findVirtual(Server.class, "isOwnedByCurrentRegion",
+                        MethodType.methodType(boolean.class, Entity.class));
+                OWNS_LOCATION = lookup.findVirtual(Server.class, "isOwnedByCurrentRegion",
+                        MethodType.methodType(boolean.class, Location.class));
+                IS_GLOBAL_TICK_THREAD = lookup.findVirtual(Server.class, "isGlobalTickThread",
+                        MethodType.methodType(boolean.class));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Folia-Scheduler-API konnte nicht gefunden werden", e);
+            }
+        } else {
+            GET_GLOBAL_SCHEDULER = null;
+            GET_REGION_SCHEDULER = null;
+            GET_ASYNC_SCHEDULER = null;
+            GET_ENTITY_SCHEDULER = null;
+            GLOBAL_EXECUTE = null;
+            GLOBAL_RUN_DELAYED = null;
+            GLOBAL_RUN_AT_FIXED_RATE = null;
+            TASK_CANCEL = null;
+            REGION_EXECUTE = null;
+            ASYNC_RUN_NOW = null;
+            ENTITY_EXECUTE = null;
+            OWNS_ENTITY = null;
+            OWNS_LOCATION = null;
+            IS_GLOBAL_TICK_THREAD = null;
+        }
+    }
+
+    private final Plugin plugin;
+
+    FoliaThreads(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    private static boolean isPresent(String className) {
+        try {
+            Class.forName(className);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isOwnedByCurrentThread(CommandSender sender) {
+        Server server = plugin.getServer();
+        try {
+            if (sender instanceof Entity entity) {
+                return (boolean) OWNS_ENTITY.invoke(server, entity);
+            }
+            if (sender instanceof BlockCommandSender block) {
+                return (boolean) OWNS_LOCATION.invoke(server, block.getBlock().getLocation());
+            }
+            return (boolean) IS_GLOBAL_TICK_THREAD.invoke(server);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public boolean isGlobalThread() {
+        try {
+            return (boolean) IS_GLOBAL_TICK_THREAD.invoke(plugin.getServer());
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public void runFor(CommandSender sender, Runnable task) {
+        Server server = plugin.getServer();
+        try {
+            if (sender instanceof Entity entity) {
+                // Ist die Entity bereits entfernt, verfällt die Aufgabe
+                ENTITY_EXECUTE.invoke(GET_ENTITY_SCHEDULER.invoke(entity), plugin, task, (Runnable) null, 1L);
+            } else if (sender instanceof BlockCommandSender block) {
+                REGION_EXECUTE.invoke(GET_REGION_SCHEDULER.invoke(server), plugin, block.getBlock().getLocation(), task);
+            } else {
+                GLOBAL_EXECUTE.invoke(GET_GLOBAL_SCHEDULER.invoke(server), plugin, task);
+            }
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public void runGlobal(Runnable task) {
+        try {
+            GLOBAL_EXECUTE.invoke(GET_GLOBAL_SCHEDULER.invoke(plugin.getServer()), plugin, task);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public Task runGlobalLater(Runnable task, long delayTicks) {
+        Consumer<Object> consumer = scheduled -> task.run();
+        try {
+            // Folia erlaubt keine Verzögerung unter einem Tick
+            return cancellable(GLOBAL_RUN_DELAYED.invoke(GET_GLOBAL_SCHEDULER.invoke(plugin.getServer()), plugin,
+                    consumer, Math.max(1L, delayTicks)));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    @Override
+    public Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        Consumer<Object> consumer = scheduled -> task.run();
+        try {
+            return cancellable(GLOBAL_RUN_AT_FIXED_RATE.invoke(GET_GLOBAL_SCHEDULER.invoke(plugin.getServer()), plugin,
+                    consumer, Math.max(1L, delayTicks), Math.max(1L, periodTicks)));
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static Task cancellable(Object scheduledTask) {
+        return () -> {
+            try {
+                TASK_CANCEL.invoke(scheduledTask);
+            } catch (Throwable t) {
+                throw rethrow(t);
+            }
+        };
+    }
+
+    @Override
+    public void runAsync(Runnable task) {
+        Consumer<Object> consumer = scheduled -> task.run();
+        try {
+            ASYNC_RUN_NOW.invoke(GET_ASYNC_SCHEDULER.invoke(plugin.getServer()), plugin, consumer);
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable t) {
+        if (t instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (t instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Folia-Scheduler konnte nicht aufgerufen werden", t);
+    }
+}
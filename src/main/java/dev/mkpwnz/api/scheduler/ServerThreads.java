@@ -0,0 +1,112 @@
+package dev.mkpwnz.api.scheduler;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Runs tasks on the thread that owns a {@link CommandSender}, independent of the threading
+ * model of the server.
+ * <p>
+ * On Bukkit, Spigot and Paper there is a single main thread that owns every sender and the
+ * global state. On Folia, the world is split into regions ticked in parallel: entities and
+ * command blocks may only be accessed from the thread of the region they are in, global state
+ * from the global region thread. {@link #of(Plugin)} detects the server at runtime and returns
+ * the matching implementation, so callers never reference the Folia API directly.
+ */
+public interface ServerThreads {
+    /**
+     * A task scheduled through {@link ServerThreads} that can be cancelled.
+     */
+    interface Task {
+        /**
+         * Cancels the task. A run that already started is completed.
+         */
+        void cancel();
+    }
+
+    /**
+     * Creates the thread routing for the given plugin. The implementation is cheap to create;
+     * the Folia API is only looked up once per server.
+     *
+     * @param plugin The plugin the tasks are scheduled for.
+     *
+     * @return The routing matching the server the plugin runs on.
+     */
+    static ServerThreads of(Plugin plugin) {
+        return isRegionized() ? new FoliaThreads(plugin) : new BukkitThreads(plugin);
+    }
+
+    /**
+     * Determines whether the server ticks its regions in parallel, i.e. runs on Folia.
+     *
+     * @return {@code true} on Folia; {@code false} if there is a single main thread.
+     */
+    static boolean isRegionized() {
+        return FoliaThreads.AVAILABLE;
+    }
+
+    /**
+     * Determines whether the current thread may access the given sender, i.e. it is the main
+     * thread or the thread of the region owning the sender. Senders that are neither entities
+     * nor command blocks, such as the console, are owned by the global region.
+     *
+     * @param sender The sender to check.
+     *
+     * @return {@code true} if the sender may be accessed from the current thread.
+     */
+    boolean isOwnedByCurrentThread(CommandSender sender);
+
+    /**
+     * Determines whether the current thread may access global state, i.e. it is the main
+     * thread or the global region thread.
+     *
+     * @return {@code true} if the current thread is the main or global region thread.
+     */
+    boolean isGlobalThread();
+
+    /**
+     * Runs a task on the thread owning the given sender with the next tick. The task is dropped
+     * if the sender is an entity that was removed in the meantime, e.g. a player who left.
+     *
+     * @param sender The sender the task accesses.
+     * @param task   The task to run.
+     */
+    void runFor(CommandSender sender, Runnable task);
+
+    /**
+     * Runs a task on the main thread or the global region thread with the next tick.
+     *
+     * @param task The task to run.
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * Runs a task on the main thread or the global region thread after the given number of
+     * ticks. On Folia, the task runs with the next tick at the earliest.
+     *
+     * @param task       The task to run.
+     * @param delayTicks The number of ticks to wait.
+     *
+     * @return The scheduled task.
+     */
+    Task runGlobalLater(Runnable task, long delayTicks);
+
+    /**
+     * Runs a task repeatedly on the main thread or the global region thread until it is
+     * cancelled. On Folia, the first run happens with the next tick at the earliest.
+     *
+     * @param task        The task to run.
+     * @param delayTicks  The number of ticks before the first run.
+     * @param periodTicks The number of ticks between two runs.
+     *
+     * @return The scheduled task.
+     */
+    Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task on an asynchronous thread.
+     *
+     * @param task The task to run.
+     */
+    void runAsync(Runnable task);
+}
@@ -0,0 +1,231 @@
+package dev.mkpwnz.api.scheduler;
+
+import dev.mkpwnz.api.messages.ApiMessage;
+import dev.mkpwnz.api.messages.MessageCatalog;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A job submitted to the {@link TickScheduler}. The job processes its work units on the main
+ * thread, a few at a time, until all units are processed or the job is cancelled.
+ * <p>
+ * All callbacks run on the main thread. Callbacks registered after the job finished are not
+ * invoked; use {@link #getCompletion()} to react to the outcome in that case.
+ *
+ * @param <T> The type of the work units.
+ */
+public final class TickJob<T> {
+    /**
+     * The lifecycle state of a job.
+     */
+    public enum State {
+        RUNNING,
+        COMPLETED,
+        CANCELLED,
+        FAILED
+    }
+
+    private final int id;
+    private final String name;
+    private final Spliterator<T> units;
+    private final Consumer<? super T> action;
+    private final long total;
+    private final long startedAt = System.nanoTime();
+    private final CompletableFuture<TickJob<T>> completion = new CompletableFuture<>();
+
+    private final List<Consumer<TickJob<T>>> progressListeners = new ArrayList<>();
+    private final List<Consumer<TickJob<T>>> finishListeners = new ArrayList<>();
+    private long progressIntervalTicks = 100;
+    private long ticksSinceProgress;
+
+    private volatile State state = State.RUNNING;
+    private volatile long processed;
+    private Throwable failure;
+
+    TickJob(int id, String name, Spliterator<T> units, Consumer<? super T> action) {
+        this.id = id;
+        this.name = name;
+        this.units = units;
+        this.action = action;
+        this.total = units.hasCharacteristics(Spliterator.SIZED) ? units.estimateSize() : -1;
+    }
+
+    /**
+     * Processes work units until the deadline passes or no units are left. At least one unit
+     * is processed per call, so every job makes progress even if the budget is exhausted.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} at which processing must stop.
+     *
+     * @return {@code true} if the job is still running afterwards.
+     */
+    boolean runUntil(long deadlineNanos) {
+        if (state != State.RUNNING) {
+            return false;
+        }
+
+        try {
+            long count = 0;
+            boolean more;
+            do {
+                more = units.tryAdvance(action);
+                if (more) {
+                    count++;
+                }
+            } while (more && System.nanoTime() < deadlineNanos);
+            processed += count;
+
+            if (!more) {
+                finish(State.COMPLETED);
+                return false;
+            }
+        } catch (RuntimeException e) {
+            failure = e;
+            finish(State.FAILED);
+            return false;
+        }
+
+        if (++ticksSinceProgress >= progressIntervalTicks) {
+            ticksSinceProgress = 0;
+            progressListeners.forEach(listener -> listener.accept(this));
+        }
+        return true;
+    }
+
+    /**
+     * Cancels the job. Units that were already processed are not rolled back.
+     *
+     * @return {@code true} if the job was running and is now cancelled.
+     */
+    public boolean cancel() {
+        if (state != State.RUNNING) {
+            return false;
+        }
+        finish(State.CANCELLED);
+        return true;
+    }
+
+    private void finish(State finalState) {
+        state = finalState;
+        finishListeners.forEach(listener -> listener.accept(this));
+        completion.complete(this);
+    }
+
+    /**
+     * Registers a callback invoked periodically while the job is running.
+     *
+     * @param intervalTicks The number of ticks between two invocations.
+     * @param listener      The callback receiving the job.
+     *
+     * @return This job, for chaining.
+     */
+    public TickJob<T> onProgress(long intervalTicks, Consumer<TickJob<T>> listener) {
+        progressIntervalTicks = Math.max(1, intervalTicks);
+        progressListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Registers a callback invoked once the job completed, failed or was cancelled.
+     *
+     * @param listener The callback receiving the job; use {@link #getState()} to tell the outcomes apart.
+     *
+     * @return This job, for chaining.
+     */
+    public TickJob<T> onFinish(Consumer<TickJob<T>> listener) {
+        finishListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Reports the progress (every five seconds) and the outcome of the job to the sender,
+     * in the sender's language.
+     *
+     * @param sender The sender to report to, usually the sender of the command that submitted the job.
+     *
+     * @return This job, for chaining.
+     */
+    public TickJob<T> reportTo(CommandSender sender) {
+        MessageCatalog messages = MessageCatalog.getInstance();
+        onProgress(100, job -> sender.sendMessage(total >= 0 ?
+                messages.format(sender, ApiMessage.JOB_PROGRESS_TOTAL, id, name, processed, total,
+                        total == 0 ? 100.0 : processed * 100.0 / total) :
+                messages.format(sender, ApiMessage.JOB_PROGRESS, id, name, processed)));
+        onFinish(job -> sender.sendMessage(switch (state) {
+            case COMPLETED -> messages.format(sender, ApiMessage.JOB_COMPLETED, id, name, processed,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt) / 1000.0);
+            case CANCELLED -> messages.format(sender, ApiMessage.JOB_CANCELLED, id, name, processed);
+            default -> messages.format(sender, ApiMessage.JOB_FAILED, id, name,
+                    failure != null ? failure.getMessage() : "");
+        }));
+        return this;
+    }
+
+    /**
+     * Retrieves the future completed when the job finished, regardless of its outcome.
+     *
+     * @return The completion future of the job.
+     */
+    public CompletableFuture<TickJob<T>> getCompletion() {
+        return completion;
+    }
+
+    /**
+     * Retrieves the ID of the job, unique within the scheduler.
+     *
+     * @return The job ID.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Retrieves the display name of the job.
+     *
+     * @return The job name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Retrieves the current state of the job.
+     *
+     * @return The job state.
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the number of work units processed so far.
+     *
+     * @return The number of processed units.
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * Retrieves the total number of work units, if the source knows it in advance.
+     *
+     * @return The number of units, or {@code -1} if unknown.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Retrieves the exception that made the job fail.
+     *
+     * @return The failure, or {@code null} if the job did not fail.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,190 @@
+package dev.mkpwnz.api.scheduler;
+
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Spreads long-running work across ticks, so commands that touch many entities, players or
+ * blocks neither freeze the server nor have to chain {@code BukkitRunnable}s by hand.
+ * <p>
+ * A command submits its work as an {@link Iterator} or {@link Spliterator} of work units
+ * together with the action to apply to each unit. Once per tick, the scheduler processes units
+ * of all running jobs until one global time budget is spent; the budget is shared evenly
+ * between the jobs, starting with a different job each tick. The budget adapts to the server
+ * load before the server falls behind: the jobs only use the headroom left by the rest of the
+ * tick, i.e. 50 ms minus a reserve of 5 ms minus the average busy time reported by the
+ * {@link TickMonitor} without the time of the jobs themselves. The budget never exceeds the
+ * configured one and never drops below a tenth of it, so jobs always make progress.
+ * <p>
+ * On Folia, the jobs run on the global region thread, and "main thread" below means that
+ * thread. Jobs touching entities or blocks there must hop to the owning region themselves.
+ * <p>
+ * Jobs may be submitted and queried from any thread, e.g. from commands running on a region
+ * thread. The list of jobs is guarded by its own monitor, which is never held while units are
+ * processed.
+ */
+public class TickScheduler {
+    private static final double TICK_MILLIS = 50.0;
+    private static final double RESERVE_MILLIS = 5.0;
+    private static final double MIN_BUDGET_FACTOR = 0.1;
+    private static final double AVERAGE_WEIGHT = 0.1;
+
+    private final JavaPlugin plugin;
+    private final TickMonitor tickMonitor;
+    private final long budgetNanos;
+    private final List<TickJob<?>> jobs = new ArrayList<>();
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    private ServerThreads.Task task;
+    private int rotation;
+    private volatile double averageSpentMillis;
+
+    /**
+     * Constructs a new TickScheduler.
+     *
+     * @param plugin       The JavaPlugin instance used to schedule the per-tick task.
+     * @param tickMonitor  The monitor providing the average tick length.
+     * @param budgetMillis The time per tick all jobs may use together while the server keeps up.
+     */
+    public TickScheduler(JavaPlugin plugin, TickMonitor tickMonitor, double budgetMillis) {
+        this.plugin = plugin;
+        this.tickMonitor = tickMonitor;
+        this.budgetNanos = (long) (budgetMillis * 1_000_000L);
+    }
+
+    /**
+     * Submits a job processing the units of an iterator. May be called from any thread.
+     *
+     * @param name   The display name of the job, used in progress reports.
+     * @param units  The work units.
+     * @param action The action applied to each unit on the main thread.
+     * @param <T>    The type of the work units.
+     *
+     * @return The submitted job.
+     */
+    public <T> TickJob<T> submit(String name, Iterator<T> units, Consumer<? super T> action) {
+        return submit(name, Spliterators.spliteratorUnknownSize(units, Spliterator.ORDERED), action);
+    }
+
+    /**
+     * Submits a job processing the units of a spliterator. If the spliterator is
+     * {@link Spliterator#SIZED}, progress reports include the total. May be called from any
+     * thread.
+     *
+     * @param name   The display name of the job, used in progress reports.
+     * @param units  The work units.
+     * @param action The action applied to each unit on the main thread.
+     * @param <T>    The type of the work units.
+     *
+     * @return The submitted job.
+     */
+    public <T> TickJob<T> submit(String name, Spliterator<T> units, Consumer<? super T> action) {
+        TickJob<T> job = new TickJob<>(nextId.getAndIncrement(), name, units, action);
+        synchronized (jobs) {
+            jobs.add(job);
+            if (task == null) {
+                task = ServerThreads.of(plugin).runGlobalTimer(this::tick, 1L, 1L);
+            }
+        }
+        return job;
+    }
+
+    /**
+     * Retrieves the jobs that are currently running.
+     *
+     * @return A snapshot of the running jobs.
+     */
+    public List<TickJob<?>> getJobs() {
+        synchronized (jobs) {
+            return List.copyOf(jobs);
+        }
+    }
+
+    /**
+     * Retrieves a running job by its ID.
+     *
+     * @param id The ID of the job.
+     *
+     * @return The job, or {@code null} if no running job has this ID.
+     */
+    public TickJob<?> getJob(int id) {
+        synchronized (jobs) {
+            for (TickJob<?> job : jobs) {
+                if (job.getId() == id) {
+                    return job;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Computes the time all jobs may use in the current tick, based on the configured budget
+     * and the headroom the rest of the tick leaves.
+     *
+     * @return The effective budget in nanoseconds.
+     */
+    public long getEffectiveBudgetNanos() {
+        // Die eigene Laufzeit der Jobs ist in der Tick-Dauer enthalten und zählt nicht als Last
+        double otherMillis = Math.max(0.0, tickMonitor.getAverageBusyMillis() - averageSpentMillis);
+        double headroomNanos = (TICK_MILLIS - RESERVE_MILLIS - otherMillis) * 1_000_000.0;
+        double minimumNanos = budgetNanos * MIN_BUDGET_FACTOR;
+        return (long) Math.max(minimumNanos, Math.min(budgetNanos, headroomNanos));
+    }
+
+    /**
+     * Cancels all running jobs and stops the per-tick task.
+     */
+    public void stop() {
+        List<TickJob<?>> cancelled;
+        synchronized (jobs) {
+            cancelled = List.copyOf(jobs);
+            jobs.clear();
+            if (task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+        // Außerhalb des Monitors, da die Listener der Jobs beliebigen Code ausführen
+        cancelled.forEach(TickJob::cancel);
+    }
+
+    private void tick() {
+        List<TickJob<?>> snapshot;
+        synchronized (jobs) {
+            jobs.removeIf(job -> job.getState() != TickJob.State.RUNNING);
+            if (jobs.isEmpty()) {
+                if (task != null) {
+                    task.cancel();
+                    task = null;
+                }
+                averageSpentMillis = 0.0;
+                return;
+            }
+            snapshot = List.copyOf(jobs);
+        }
+
+        long now = System.nanoTime();
+        long deadline = now + getEffectiveBudgetNanos();
+        int count = snapshot.size();
+        rotation = (rotation + 1) % count;
+
+        // Jeder Job erhält einen gleichen Anteil der verbleibenden Zeit; was ein Job nicht
+        // verbraucht, steht den folgenden Jobs zur Verfügung
+        for (int i = 0; i < count; i++) {
+            TickJob<?> job = snapshot.get((rotation + i) % count);
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            job.runUntil(System.nanoTime() + remaining / (count - i));
+        }
+        double spentMillis = (System.nanoTime() - now) / 1_000_000.0;
+        averageSpentMillis += (spentMillis - averageSpentMillis) * AVERAGE_WEIGHT;
+    }
+}
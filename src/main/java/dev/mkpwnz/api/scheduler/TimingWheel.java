@@ -0,0 +1,182 @@
+package dev.mkpwnz.api.scheduler;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel holding timeouts of any number of entries, advanced by a single
+ * periodic task.
+ * <p>
+ * The wheel has four levels of 64 slots. A slot of level {@code n}
+ * spans {@code 64^n} ticks; a timeout is stored in the lowest level whose range covers its
+ * deadline and moved down a level whenever the wheel reaches the start of its slot, until it
+ * expires from level 0. Scheduling and expiring are therefore constant-time, and advancing
+ * costs one step per elapsed tick regardless of the number of timeouts. Timeouts beyond the
+ * range of the top level wait in an overflow list that is re-examined once per top-level slot.
+ * <p>
+ * The wheel is not thread-safe and is meant to be used from the main thread only.
+ *
+ * @param <T> The type of the values attached to the timeouts.
+ */
+public class TimingWheel<T> {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<ArrayDeque<Timeout<T>>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final List<Timeout<T>> overflow = new ArrayList<>();
+    private final ArrayDeque<Timeout<T>> due = new ArrayDeque<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * A scheduled timeout.
+     *
+     * @param <T> The type of the attached value.
+     */
+    public static final class Timeout<T> {
+        private final long deadlineTick;
+        private final T value;
+        private boolean cancelled;
+
+        private Timeout(long deadlineTick, T value) {
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+
+        /**
+         * Retrieves the value attached to the timeout.
+         *
+         * @return The value.
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * Cancels the timeout. It is dropped from the wheel lazily when its slot is reached.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Determines whether the timeout was cancelled.
+         *
+         * @return {@code true} if {@link #cancel()} was called.
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * Creates a new wheel.
+     *
+     * @param tickMillis The length of one tick in milliseconds, i.e. the resolution of the wheel.
+     * @param nowMillis  The current time in epoch milliseconds.
+     */
+    public TimingWheel(long tickMillis, long nowMillis) {
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * Schedules a timeout. Deadlines that have already passed expire on the next
+     * {@link #advance(long, Consumer)}.
+     *
+     * @param deadlineMillis The deadline in epoch milliseconds.
+     * @param value          The value to hand to the consumer once the deadline has passed.
+     *
+     * @return The timeout, which can be cancelled.
+     */
+    public Timeout<T> schedule(long deadlineMillis, T value) {
+        // Aufrunden, damit ein Timeout nie vor seiner Deadline abläuft
+        Timeout<T> timeout = new Timeout<>(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), value);
+        insert(timeout);
+        size++;
+        return timeout;
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        if (delta <= 0) {
+            due.add(timeout);
+            return;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < 1L << (SLOT_BITS * (level + 1))) {
+                int slot = (int) (timeout.deadlineTick >>> (SLOT_BITS * level)) & SLOT_MASK;
+                slots.get(level * SLOTS + slot).add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    /**
+     * Advances the wheel to the given time and hands the values of all expired, non-cancelled
+     * timeouts to the consumer, tick by tick. The consumer may schedule new timeouts; those
+     * whose deadline has already passed expire within the same call.
+     *
+     * @param nowMillis The current time in epoch milliseconds.
+     * @param expired   The consumer receiving the expired values.
+     */
+    public void advance(long nowMillis, Consumer<? super T> expired) {
+        long targetTick = nowMillis / tickMillis;
+        drain(expired);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(1);
+            ArrayDeque<Timeout<T>> slot = slots.get((int) (currentTick & SLOT_MASK));
+            due.addAll(slot);
+            slot.clear();
+            drain(expired);
+        }
+    }
+
+    private void cascade(int level) {
+        if (level > LEVELS || (currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+            return;
+        }
+        // Zuerst die höheren Ebenen, damit ihre Timeouts in diesem Schritt noch einsortiert werden
+        cascade(level + 1);
+        if (level == LEVELS) {
+            List<Timeout<T>> waiting = new ArrayList<>(overflow);
+            overflow.clear();
+            waiting.forEach(this::insert);
+            return;
+        }
+        ArrayDeque<Timeout<T>> slot = slots.get(level * SLOTS + ((int) (currentTick >>> (SLOT_BITS * level)) & SLOT_MASK));
+        List<Timeout<T>> moving = new ArrayList<>(slot);
+        slot.clear();
+        moving.forEach(this::insert);
+    }
+
+    private void drain(Consumer<? super T> expired) {
+        Timeout<T> timeout;
+        while ((timeout = due.poll()) != null) {
+            size--;
+            if (!timeout.cancelled) {
+                expired.accept(timeout.value);
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of scheduled timeouts, including cancelled ones that have not been
+     * dropped yet.
+     *
+     * @return The number of timeouts in the wheel.
+     */
+    public int size() {
+        return size;
+    }
+}
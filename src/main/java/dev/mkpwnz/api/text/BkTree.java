@@ -0,0 +1,209 @@
+package dev.mkpwnz.api.text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * An immutable BK-tree over a set of terms, answering "which terms are within edit distance
+ * {@code k} of this input?" without comparing the input against every term.
+ * <p>
+ * Every child edge is labeled with the Levenshtein distance between parent and child. Since
+ * the distance is a metric, a search only needs to descend into children whose edge label
+ * lies within {@code [d - k, d + k]}, where {@code d} is the distance between the input and
+ * the current node. Terms are compared as given; callers that want case-insensitive
+ * matching must normalize the terms and the input themselves.
+ */
+public final class BkTree {
+    private static final BkTree EMPTY = new BkTree(null, 0);
+
+    private final Node root;
+    private final int size;
+
+    private static final class Node {
+        private final String term;
+        private int[] distances = new int[0];
+        private Node[] children = new Node[0];
+
+        private Node(String term) {
+            this.term = term;
+        }
+
+        private Node child(int distance) {
+            for (int i = 0; i < distances.length; i++) {
+                if (distances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private void addChild(int distance, Node child) {
+            distances = Arrays.copyOf(distances, distances.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            distances[distances.length - 1] = distance;
+            children[children.length - 1] = child;
+        }
+    }
+
+    /**
+     * A term found by {@link #search(String, int)}.
+     *
+     * @param term     The matching term.
+     * @param distance The edit distance between the input and the term.
+     */
+    public record Match(String term, int distance) {
+    }
+
+    private BkTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Builds a BK-tree over the given terms. Duplicates are ignored.
+     *
+     * @param terms The terms to index.
+     *
+     * @return The BK-tree.
+     */
+    public static BkTree of(Collection<String> terms) {
+        Node root = null;
+        int size = 0;
+        for (String term : terms) {
+            if (root == null) {
+                root = new Node(term);
+                size++;
+                continue;
+            }
+
+            Node node = root;
+            while (true) {
+                int distance = distance(term, node.term);
+                if (distance == 0) {
+                    break;
+                }
+                Node child = node.child(distance);
+                if (child == null) {
+                    node.addChild(distance, new Node(term));
+                    size++;
+                    break;
+                }
+                node = child;
+            }
+        }
+        return root == null ? EMPTY : new BkTree(root, size);
+    }
+
+    /**
+     * Finds all terms within the given edit distance of the input.
+     *
+     * @param input       The input to look up.
+     * @param maxDistance The maximum edit distance of a match.
+     *
+     * @return The matches, ordered by distance and then alphabetically.
+     */
+    public List<Match> search(String input, int maxDistance) {
+        List<Match> matches = new ArrayList<>();
+        if (root == null) {
+            return matches;
+        }
+
+        List<Node> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.removeLast();
+            int distance = distance(input, node.term);
+            if (distance <= maxDistance) {
+                matches.add(new Match(node.term, distance));
+            }
+            for (int i = 0; i < node.distances.length; i++) {
+                if (Math.abs(node.distances[i] - distance) <= maxDistance) {
+                    pending.add(node.children[i]);
+                }
+            }
+        }
+
+        matches.sort(Comparator.comparingInt(Match::distance).thenComparing(Match::term));
+        return matches;
+    }
+
+    /**
+     * Finds the term closest to the input, using {@link #typoDistance(String)} as the
+     * maximum edit distance.
+     *
+     * @param input The input to look up.
+     *
+     * @return The closest term, or {@code null} if no term is close enough or the input
+     * is one of the terms.
+     */
+    public String suggest(String input) {
+        List<Match> matches = search(input, typoDistance(input));
+        if (matches.isEmpty() || matches.getFirst().distance() == 0) {
+            return null;
+        }
+        return matches.getFirst().term();
+    }
+
+    /**
+     * Retrieves the number of distinct terms in the tree.
+     *
+     * @return The number of terms.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Determines how many edits an input may be away from a term to still be considered a typo
+     * of it: none for inputs shorter than three characters (almost every short term would be a
+     * match), one edit for inputs of up to four characters and two edits for longer inputs.
+     *
+     * @param input The input that may contain a typo.
+     *
+     * @return The maximum edit distance for suggestions.
+     */
+    public static int typoDistance(String input) {
+        if (input.length() < 3) {
+            return 0;
+        }
+        return input.length() <= 4 ? 1 : 2;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings.
+     *
+     * @param a The first string.
+     * @param b The second string.
+     *
+     * @return The minimum number of insertions, deletions and substitutions turning {@code a} into {@code b}.
+     */
+    public static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            String swap = a;
+            a = b;
+            b = swap;
+        }
+
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = ca == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
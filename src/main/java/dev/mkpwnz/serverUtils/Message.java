@@ -0,0 +1,143 @@
+package dev.mkpwnz.serverUtils;
+
+import dev.mkpwnz.api.messages.MessageKey;
+
+/**
+ * The messages used by the ServerUtils commands. The translations are bundled in
+ * {@code lang/messages_<language>.properties}.
+ */
+public enum Message implements MessageKey {
+    UNIT_SECONDS("unit.seconds"),
+    UNIT_MILLIS("unit.millis"),
+
+    HELP_HEADER("help.header"),
+    PAGE_INVALID("page.invalid"),
+    PAGE_EXPIRED("page.expired"),
+
+    SERVERINFO_HEADER("serverinfo.header"),
+    SERVERINFO_VERSION("serverinfo.version"),
+    SERVERINFO_BUKKIT_VERSION("serverinfo.bukkit-version"),
+    SERVERINFO_ONLINE_PLAYERS("serverinfo.online-players"),
+    SERVERINFO_PORT("serverinfo.port"),
+    SERVERINFO_GAME_MODE("serverinfo.game-mode"),
+    SERVERINFO_DIFFICULTY("serverinfo.difficulty"),
+    SERVERINFO_TPS("serverinfo.tps"),
+    PERFORMANCE_HEADER("serverinfo.performance.header"),
+    PERFORMANCE_DETAIL("serverinfo.performance.detail"),
+    PERFORMANCE_PARAMETER("serverinfo.performance.parameter"),
+    PLAYER_HEADER("serverinfo.player.header"),
+    PLAYER_NAME("serverinfo.player.name"),
+    PLAYER_INFO_TYPE("serverinfo.player.info-type"),
+    PLAYER_PARAMETERS("serverinfo.player.parameters"),
+    INVENTORY_HEADER("serverinfo.inventory.header"),
+    HISTORY_HEADER("serverinfo.history.header"),
+    HISTORY_INVALID_RANGE("serverinfo.history.invalid-range"),
+    HISTORY_NONE("serverinfo.history.none"),
+    HISTORY_TPS("serverinfo.history.tps"),
+    HISTORY_MSPT("serverinfo.history.mspt"),
+    SEEN_HEADER("serverinfo.seen.header"),
+    SEEN_UUID("serverinfo.seen.uuid"),
+    SEEN_LAST_PLAYED("serverinfo.seen.last-played"),
+    SEEN_ONLINE("serverinfo.seen.online"),
+    SEEN_NEVER("serverinfo.seen.never"),
+    PING_PLAYER_HEADER("serverinfo.ping.player-header"),
+    PING_GLOBAL_HEADER("serverinfo.ping.global-header"),
+    PING_CURRENT("serverinfo.ping.current"),
+    PING_SAMPLES("serverinfo.ping.samples"),
+    PING_PERCENTILES("serverinfo.ping.percentiles"),
+    PING_GROUP("serverinfo.ping.group"),
+    PING_NONE("serverinfo.ping.none"),
+
+    SPIKES_HEADER("spikes.header"),
+    SPIKES_NONE("spikes.none"),
+    SPIKES_ENTRY("spikes.entry"),
+
+    PROFILE_ALREADY_RUNNING("profile.already-running"),
+    PROFILE_NOT_RUNNING("profile.not-running"),
+    PROFILE_STARTED("profile.started"),
+    PROFILE_INTERVAL("profile.interval"),
+    PROFILE_THREADS("profile.threads"),
+    PROFILE_MAIN_THREAD("profile.main-thread"),
+    PROFILE_STOPPING("profile.stopping"),
+    PROFILE_SAVE_FAILED("profile.save-failed"),
+    PROFILE_STOPPED("profile.stopped"),
+    PROFILE_DURATION("profile.duration"),
+    PROFILE_SAMPLES("profile.samples"),
+    PROFILE_SAMPLES_VALUE("profile.samples-value"),
+    PROFILE_OVERHEAD("profile.overhead"),
+    PROFILE_OVERHEAD_VALUE("profile.overhead-value"),
+    PROFILE_TICK_IMPACT("profile.tick-impact"),
+    PROFILE_TICK_IMPACT_VALUE("profile.tick-impact-value"),
+    PROFILE_FILE("profile.file"),
+
+    TIMINGS_ALREADY_RUNNING("timings.already-running"),
+    TIMINGS_STARTED("timings.started"),
+    TIMINGS_HEADER("timings.header"),
+    TIMINGS_NO_EVENTS("timings.no-events"),
+    TIMINGS_ENTRY("timings.entry"),
+    TIMINGS_ENTRY_DETAIL("timings.entry-detail"),
+    TIMINGS_SAVE_FAILED("timings.save-failed"),
+    TIMINGS_SAVED("timings.saved"),
+
+    AUDIT_INVALID_SINCE("audit.invalid-since"),
+    AUDIT_HEADER("audit.header"),
+    AUDIT_NONE("audit.none"),
+    AUDIT_ENTRY("audit.entry"),
+    AUDIT_ENTRY_DETAIL("audit.entry-detail"),
+    AUDIT_DROPPED("audit.dropped"),
+
+    RECORD_ALREADY_RUNNING("record.already-running"),
+    RECORD_NOT_RUNNING("record.not-running"),
+    RECORD_START_FAILED("record.start-failed"),
+    RECORD_STARTED("record.started"),
+    RECORD_STOPPING("record.stopping"),
+    RECORD_STOPPED("record.stopped"),
+    RECORD_COMMANDS("record.commands"),
+    RECORD_DROPPED("record.dropped"),
+    RECORD_FILE("record.file"),
+
+    JOBS_HEADER("jobs.header"),
+    JOBS_NONE("jobs.none"),
+    JOBS_ENTRY("jobs.entry"),
+    JOBS_ENTRY_TOTAL("jobs.entry-total"),
+    JOBS_NOT_FOUND("jobs.not-found"),
+
+    CACHE_HEADER("cache.header"),
+    CACHE_HITS("cache.hits"),
+    CACHE_MISSES("cache.misses"),
+    CACHE_HIT_RATIO("cache.hit-ratio"),
+    CACHE_HIT_RATIO_VALUE("cache.hit-ratio-value"),
+    CACHE_ENTRIES("cache.entries"),
+
+    MEMORY_RUNNING("memory.running"),
+    MEMORY_FAILED("memory.failed"),
+    MEMORY_HEADER("memory.header"),
+    MEMORY_TOTAL("memory.total"),
+    MEMORY_ENTRY("memory.entry"),
+    MEMORY_OWNER_SERVER("memory.owner-server"),
+    MEMORY_NO_PREVIOUS("memory.no-previous"),
+    MEMORY_DIFF_HEADER("memory.diff-header"),
+    MEMORY_DIFF_TOTAL("memory.diff-total"),
+    MEMORY_DIFF_ENTRY("memory.diff-entry"),
+    MEMORY_DIFF_OWNERS("memory.diff-owners"),
+    MEMORY_DIFF_OWNER("memory.diff-owner"),
+
+    SCHEDULE_HEADER("schedule.header"),
+    SCHEDULE_NONE("schedule.none"),
+    SCHEDULE_ENTRY("schedule.entry"),
+    SCHEDULE_ENTRY_DETAIL("schedule.entry-detail"),
+    SCHEDULE_NOT_FOUND("schedule.not-found"),
+    SCHEDULE_RAN("schedule.ran"),
+    SCHEDULE_RELOADED("schedule.reloaded");
+
+    private final String key;
+
+    Message(String key) {
+        this.key = key;
+    }
+
+    @Override
+    public String key() {
+        return key;
+    }
+}
@@ -1,25 +1,224 @@
 package dev.mkpwnz.serverUtils;
 
+import dev.mkpwnz.api.audit.AuditLog;
 import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.commands.CommandMetrics;
+import dev.mkpwnz.api.commands.Pagination;
+import dev.mkpwnz.api.messages.MessageCatalog;
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import dev.mkpwnz.api.players.PlayerNameIndex;
+import dev.mkpwnz.api.scheduler.TickScheduler;
+import dev.mkpwnz.serverUtils.admin.AdminSocket;
+import dev.mkpwnz.serverUtils.commands.AuditCommand;
+import dev.mkpwnz.serverUtils.commands.CacheCommand;
+import dev.mkpwnz.serverUtils.commands.JobsCommand;
+import dev.mkpwnz.serverUtils.commands.MemoryCommand;
+import dev.mkpwnz.serverUtils.commands.PageCommand;
+import dev.mkpwnz.serverUtils.commands.ProfileCommand;
+import dev.mkpwnz.serverUtils.commands.RecordCommand;
+import dev.mkpwnz.serverUtils.commands.ScheduleCommand;
 import dev.mkpwnz.serverUtils.commands.ServerInfoCommand;
 import dev.mkpwnz.serverUtils.commands.ServerUtilsCommand;
+import dev.mkpwnz.serverUtils.commands.SpikesCommand;
+import dev.mkpwnz.serverUtils.commands.TimingsCommand;
+import dev.mkpwnz.serverUtils.history.PerformanceHistory;
+import dev.mkpwnz.serverUtils.latency.LatencyTracker;
+import dev.mkpwnz.serverUtils.memory.HeapInspector;
+import dev.mkpwnz.serverUtils.metrics.MetricsExporter;
+import dev.mkpwnz.serverUtils.metrics.MetricsSampler;
+import dev.mkpwnz.serverUtils.profiler.SamplingProfiler;
+import dev.mkpwnz.serverUtils.schedule.CommandSchedule;
+import dev.mkpwnz.serverUtils.timings.EventTimings;
+import dev.mkpwnz.serverUtils.watchdog.TickWatchdog;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
 public final class ServerUtils extends JavaPlugin {
+    private TickMonitor tickMonitor;
+    private TickScheduler tickScheduler;
+    private PerformanceHistory performanceHistory;
+    private LatencyTracker latencyTracker;
+    private PlayerNameIndex playerNameIndex;
+    private TickWatchdog tickWatchdog;
+    private SamplingProfiler profiler;
+    private EventTimings eventTimings;
+    private AuditLog auditLog;
+    private RecordCommand recordCommand;
+    private AdminSocket adminSocket;
+    private CommandSchedule commandSchedule;
+    private MetricsSampler metricsSampler;
+    private MetricsExporter metricsExporter;
 
     @Override
     public void onEnable() {
+        saveDefaultConfig();
+        FileConfiguration config = getConfig();
+
+        MessageCatalog messages = MessageCatalog.getInstance();
+        messages.loadBundle(getClassLoader(), "lang/messages", "de", "en");
+        messages.requireKeys(Message.values());
+        setDefaultLanguage(messages, config.getString("language", "de"));
+
+        playerNameIndex = new PlayerNameIndex(this);
+        playerNameIndex.start();
+
+        tickMonitor = new TickMonitor(this);
+        tickMonitor.start();
+
+        performanceHistory = new PerformanceHistory(this, tickMonitor);
+        performanceHistory.start();
+
+        latencyTracker = new LatencyTracker(this,
+                config.getInt("latency.sample-interval-seconds", 5),
+                config.getInt("latency.window-minutes", 10),
+                latencyGroupBy(config.getString("latency.group-by", "none")));
+        latencyTracker.start();
+
+        tickScheduler = new TickScheduler(this, tickMonitor, config.getDouble("scheduler.budget-ms", 5.0));
+
+        tickWatchdog = new TickWatchdog(this, tickMonitor,
+                config.getLong("watchdog.threshold-ms", 500L),
+                config.getLong("watchdog.sample-interval-ms", 10L),
+                config.getInt("watchdog.max-samples", 1000),
+                config.getInt("watchdog.history-size", 10));
+        if (config.getBoolean("watchdog.enabled", true)) {
+            tickWatchdog.start();
+        }
+
+        profiler = new SamplingProfiler(this, tickMonitor);
+        eventTimings = new EventTimings();
+
+        auditLog = new AuditLog(this,
+                config.getInt("audit.queue-size", 4096),
+                config.getLong("audit.max-segment-mb", 16L) * 1024L * 1024L,
+                TimeUnit.HOURS.toMillis(config.getLong("audit.max-segment-hours", 24L)));
+
         CommandManager commandManager = new CommandManager(this);
+        if (config.getBoolean("audit.enabled", true)) {
+            auditLog.start();
+            commandManager.setAuditLog(auditLog);
+        }
         ServerUtilsCommand serverUtilsCommand = new ServerUtilsCommand(commandManager);
         
         commandManager.registerCommand(serverUtilsCommand);
-        commandManager.registerCommand(new ServerInfoCommand(this));
+        commandManager.registerCommand(new ServerInfoCommand(this, performanceHistory, latencyTracker));
+        commandManager.registerCommand(new SpikesCommand(tickWatchdog));
+        commandManager.registerCommand(new ProfileCommand(this, profiler));
+        commandManager.registerCommand(new TimingsCommand(this, eventTimings));
+        commandManager.registerCommand(new AuditCommand(auditLog));
+        commandManager.registerCommand(new JobsCommand(tickScheduler));
+        commandManager.registerCommand(new CacheCommand(commandManager));
+        commandManager.registerCommand(new MemoryCommand(new HeapInspector(this)));
+        commandManager.registerCommand(new PageCommand());
+        Pagination.getInstance().setNavigationCommand(PageCommand.NAVIGATION_COMMAND);
+
+        recordCommand = new RecordCommand(this, commandManager);
+        commandManager.registerCommand(recordCommand);
+
+        commandSchedule = new CommandSchedule(this, commandManager);
+        commandSchedule.load(config.getConfigurationSection("schedule"));
+        commandSchedule.start();
+        commandManager.registerCommand(new ScheduleCommand(this, commandSchedule));
+
+        String adminToken = config.getString("admin-socket.token", "");
+        if (config.getBoolean("admin-socket.enabled", false) && adminToken.isBlank()) {
+            getLogger().warning("Admin-Socket wird nicht gestartet: admin-socket.token ist nicht gesetzt");
+        } else if (config.getBoolean("admin-socket.enabled", false)) {
+            adminSocket = new AdminSocket(this, commandManager, AdminSocket.address(getDataFolder().toPath(),
+                    config.getString("admin-socket.unix-socket", "admin.sock"),
+                    config.getInt("admin-socket.port", 25580)), adminToken);
+            try {
+                adminSocket.start();
+            } catch (IOException e) {
+                getLogger().warning("Admin-Socket konnte nicht gestartet werden: " + e.getMessage());
+                adminSocket = null;
+            }
+        }
+
+        if (config.getBoolean("metrics.enabled", false)) {
+            CommandMetrics commandMetrics = new CommandMetrics();
+            commandManager.setMetrics(commandMetrics);
+            metricsSampler = new MetricsSampler(this, tickMonitor, config.getInt("metrics.sample-interval-seconds", 5));
+            metricsSampler.start();
+            metricsExporter = new MetricsExporter(metricsSampler, commandMetrics, config.getInt("metrics.port", 9225));
+            try {
+                metricsExporter.start();
+            } catch (IOException e) {
+                getLogger().warning("Metrics-Endpunkt konnte nicht gestartet werden: " + e.getMessage());
+                metricsExporter = null;
+            }
+        }
 
         getLogger().info("ServerUtils wurde aktiviert!");
     }
 
     @Override
     public void onDisable() {
+        if (metricsExporter != null) {
+            metricsExporter.stop();
+        }
+        if (metricsSampler != null) {
+            metricsSampler.stop();
+        }
+        if (adminSocket != null) {
+            adminSocket.stop();
+        }
+        if (commandSchedule != null) {
+            commandSchedule.stop();
+        }
+        if (recordCommand != null) {
+            recordCommand.stop();
+        }
+        if (auditLog != null) {
+            auditLog.stop();
+        }
+        if (eventTimings != null) {
+            eventTimings.stop();
+        }
+        if (profiler != null) {
+            profiler.stop();
+        }
+        if (tickWatchdog != null) {
+            tickWatchdog.stop();
+        }
+        if (tickScheduler != null) {
+            tickScheduler.stop();
+        }
+        if (performanceHistory != null) {
+            performanceHistory.stop();
+        }
+        if (latencyTracker != null) {
+            latencyTracker.stop();
+        }
+        if (tickMonitor != null) {
+            tickMonitor.stop();
+        }
+        if (playerNameIndex != null) {
+            playerNameIndex.stop();
+        }
+
         getLogger().info("ServerUtils wurde deaktiviert!");
     }
-}
\ No newline at end of file
+
+    private void setDefaultLanguage(MessageCatalog messages, String language) {
+        try {
+            messages.setDefaultLanguage(language);
+        } catch (IllegalArgumentException e) {
+            getLogger().warning("Ungültige Sprache '" + language + "' für language, verwende de");
+            messages.setDefaultLanguage("de");
+        }
+    }
+
+    private LatencyTracker.GroupBy latencyGroupBy(String value) {
+        try {
+            return LatencyTracker.GroupBy.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            getLogger().warning("Ungültige Gruppierung '" + value + "' für latency.group-by, verwende none");
+            return LatencyTracker.GroupBy.NONE;
+        }
+    }
+}
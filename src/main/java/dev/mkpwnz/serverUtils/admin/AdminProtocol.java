@@ -0,0 +1,55 @@
+package dev.mkpwnz.serverUtils.admin;
+
+/**
+ * Constants of the length-prefixed protocol spoken by the {@link AdminSocket}.
+ * <p>
+ * Every frame starts with its payload length as a big-endian {@code int}, followed by the
+ * payload. Clients may pipeline any number of request frames without waiting for responses;
+ * responses are sent in the order the commands were executed and carry the request ID.
+ * <p>
+ * The first frame of a connection authenticates it with the token configured as
+ * {@code admin-socket.token}. The server answers it with a response with ID
+ * {@value #AUTHENTICATION_ID} and status {@code SUCCESS}; if the token does not match, the
+ * connection is closed. Request frames may be sent right after the authentication frame.
+ * <p>
+ * Request IDs are chosen by the client and must not be negative; negative IDs are reserved for
+ * responses of the protocol itself, and a request with a negative ID closes the connection.
+ * A client may shut down its output after the last request; the server still executes all
+ * requests received and sends their responses before it closes the connection.
+ * <ul>
+ *     <li>Authentication payload: the token as UTF-8.</li>
+ *     <li>Request payload: {@code int id} (non-negative), command line as UTF-8 (without
+ *     leading slash).</li>
+ *     <li>Response payload: {@code int id}, {@code byte status} (ordinal of
+ *     {@link dev.mkpwnz.api.commands.CommandResult}), {@code long durationNanos}, captured
+ *     output as UTF-8 (lines separated by {@code \n}).</li>
+ * </ul>
+ * Commands marked as {@code async} are answered with status {@code SCHEDULED} as soon as they
+ * are handed to their thread; their later output is not captured.
+ */
+public final class AdminProtocol {
+    /**
+     * The maximum payload size of a request frame. Larger frames close the connection.
+     */
+    public static final int MAX_REQUEST_BYTES = 16 * 1024;
+    /**
+     * The maximum payload size of the authentication frame. Larger frames close the connection.
+     */
+    public static final int MAX_TOKEN_BYTES = 256;
+    /**
+     * The ID of the response to the authentication frame. Lies in the reserved negative range,
+     * so it never collides with a request ID.
+     */
+    public static final int AUTHENTICATION_ID = -1;
+    /**
+     * The size of the length prefix of every frame.
+     */
+    public static final int LENGTH_BYTES = 4;
+    /**
+     * The size of the fixed part of a response payload (id, status, duration).
+     */
+    public static final int RESPONSE_HEADER_BYTES = 4 + 1 + 8;
+
+    private AdminProtocol() {
+    }
+}
@@ -0,0 +1,462 @@
+package dev.mkpwnz.serverUtils.admin;
+
+import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.commands.CommandResult;
+import dev.mkpwnz.api.scheduler.ServerThreads;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local endpoint for automated command execution, as a faster alternative to RCON.
+ * <p>
+ * The socket listens on a Unix domain socket or on a localhost TCP port and speaks the
+ * {@link AdminProtocol}. A single I/O thread multiplexes all connections with a
+ * {@link Selector}; complete request frames are queued for the main thread (the global region
+ * thread on Folia), which dispatches them through the {@link CommandManager} once per tick
+ * (bounded by a time budget) with a virtual sender that captures the output. The responses are queued per connection and
+ * written back by the I/O thread.
+ * <p>
+ * Every buffer is bounded. A connection stops being read while it has too many commands in
+ * flight or too many unsent response bytes, which pushes back on the client through TCP flow
+ * control instead of buffering without limit.
+ * <p>
+ * Since commands run with the permissions of the console, every connection has to
+ * authenticate with the shared token first (see {@link AdminProtocol}); the token is compared
+ * in constant time. A Unix domain socket file is additionally restricted to its owner.
+ */
+public class AdminSocket {
+    private static final int MAX_IN_FLIGHT = 256;
+    private static final long MAX_PENDING_OUTPUT_BYTES = 1024 * 1024;
+    private static final long DISPATCH_BUDGET_NANOS = 5_000_000L;
+
+    private final JavaPlugin plugin;
+    private final CommandManager commandManager;
+    private final SocketAddress address;
+    private final byte[] tokenDigest;
+    private final Queue<Request> requests = new ConcurrentLinkedQueue<>();
+    private final Queue<Connection> dirty = new ConcurrentLinkedQueue<>();
+
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread ioThread;
+    private ServerThreads.Task dispatchTask;
+
+    private record Request(Connection connection, int id, String commandLine) {
+    }
+
+    /**
+     * The state of one client connection. Reading happens on the I/O thread only; responses
+     * are added by the main thread.
+     */
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer in = ByteBuffer.allocate(AdminProtocol.LENGTH_BYTES + AdminProtocol.MAX_REQUEST_BYTES);
+        private final Queue<ByteBuffer> out = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong pendingBytes = new AtomicLong();
+        private SelectionKey key;
+        private boolean authenticated;
+        private boolean inputClosed;
+        private volatile boolean closed;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Constructs a new AdminSocket. Nothing is bound until {@link #start()} is called.
+     *
+     * @param plugin         The JavaPlugin instance used to schedule the dispatch task.
+     * @param commandManager The command manager dispatching the received command lines.
+     * @param address        A {@link UnixDomainSocketAddress} or a loopback {@link InetSocketAddress}.
+     * @param token          The shared token clients authenticate with. Must not be blank.
+     */
+    public AdminSocket(JavaPlugin plugin, CommandManager commandManager, SocketAddress address, String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("Admin-Socket benötigt ein Token");
+        }
+        this.plugin = plugin;
+        this.commandManager = commandManager;
+        this.address = address;
+        this.tokenDigest = digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Binds the socket and starts the I/O thread and the dispatch task. Must be called from
+     * the main thread.
+     *
+     * @throws IOException If the socket cannot be bound.
+     */
+    public void start() throws IOException {
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            // Eine verwaiste Socket-Datei eines vorherigen Laufs verhindert sonst das Binden
+            Files.deleteIfExists(unixAddress.getPath());
+            serverChannel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        } else {
+            serverChannel = ServerSocketChannel.open();
+        }
+        serverChannel.bind(address);
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            restrictToOwner(unixAddress.getPath());
+        }
+        serverChannel.configureBlocking(false);
+
+        selector = Selector.open();
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        ConsoleCommandSender console = plugin.getServer().getConsoleSender();
+        dispatchTask = ServerThreads.of(plugin).runGlobalTimer(() -> dispatch(console), 1L, 1L);
+        ioThread = Thread.ofPlatform()
+                .name("ServerUtils-AdminSocket")
+                .daemon(true)
+                .start(this::ioLoop);
+
+        plugin.getLogger().info("Admin-Socket lauscht auf " + address);
+    }
+
+    /**
+     * Closes all connections and the socket and stops the dispatch task.
+     */
+    public void stop() {
+        if (dispatchTask != null) {
+            dispatchTask.cancel();
+            dispatchTask = null;
+        }
+        if (selector != null) {
+            try {
+                for (SelectionKey key : selector.keys()) {
+                    key.channel().close();
+                }
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (ioThread != null) {
+            try {
+                ioThread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            ioThread = null;
+        }
+        if (address instanceof UnixDomainSocketAddress unixAddress) {
+            try {
+                Files.deleteIfExists(unixAddress.getPath());
+            } catch (IOException ignored) {
+            }
+        }
+        requests.clear();
+    }
+
+    /**
+     * Dispatches queued command lines on the main thread until the queue is empty or the
+     * per-tick budget is spent.
+     */
+    private void dispatch(ConsoleCommandSender console) {
+        long deadline = System.nanoTime() + DISPATCH_BUDGET_NANOS;
+        Request request;
+        while (System.nanoTime() < deadline && (request = requests.poll()) != null) {
+            Connection connection = request.connection();
+            if (connection.closed) {
+                continue;
+            }
+
+            StringBuilder output = new StringBuilder();
+            long start = System.nanoTime();
+            CommandResult result;
+            try {
+                result = commandManager.dispatch(CapturingSender.create(console, output), request.commandLine());
+            } catch (RuntimeException e) {
+                result = CommandResult.FAILED;
+                output.append(e);
+            }
+            long duration = System.nanoTime() - start;
+
+            byte[] text = output.toString().getBytes(StandardCharsets.UTF_8);
+            ByteBuffer response = ByteBuffer.allocate(AdminProtocol.LENGTH_BYTES + AdminProtocol.RESPONSE_HEADER_BYTES + text.length);
+            response.putInt(AdminProtocol.RESPONSE_HEADER_BYTES + text.length)
+                    .putInt(request.id())
+                    .put((byte) result.ordinal())
+                    .putLong(duration)
+                    .put(text)
+                    .flip();
+
+            connection.pendingBytes.addAndGet(response.remaining());
+            connection.out.add(response);
+            connection.inFlight.decrementAndGet();
+            dirty.add(connection);
+        }
+
+        if (!dirty.isEmpty()) {
+            selector.wakeup();
+        }
+    }
+
+    private void ioLoop() {
+        try {
+            while (selector.isOpen()) {
+                selector.select();
+
+                Connection changed;
+                while ((changed = dirty.poll()) != null) {
+                    updateInterest(changed);
+                }
+
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+
+                    try {
+                        if (key.isAcceptable()) {
+                            accept();
+                        } else {
+                            Connection connection = (Connection) key.attachment();
+                            if (key.isReadable()) {
+                                read(connection);
+                            }
+                            if (key.isValid() && key.isWritable()) {
+                                write(connection);
+                            }
+                        }
+                    } catch (IOException e) {
+                        if (key.attachment() instanceof Connection connection) {
+                            close(connection);
+                        }
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException e) {
+            // Selector wurde von stop() geschlossen
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+    }
+
+    private void read(Connection connection) throws IOException {
+        if (connection.channel.read(connection.in) < 0) {
+            // Halb geschlossen: ausstehende Antworten werden noch gesendet, siehe updateInterest
+            connection.inputClosed = true;
+        } else {
+            drainFrames(connection);
+        }
+        updateInterest(connection);
+    }
+
+    /**
+     * Extracts complete request frames from the read buffer until it is empty or the
+     * connection reached its in-flight limit. The first frame of a connection must be the
+     * authentication frame.
+     */
+    private void drainFrames(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        in.flip();
+        try {
+            if (!connection.authenticated && !authenticate(connection)) {
+                return;
+            }
+            drainRequests(connection);
+        } finally {
+            in.compact();
+        }
+    }
+
+    /**
+     * Reads the authentication frame and answers it if the token matches.
+     *
+     * @return {@code true} if the connection is authenticated; {@code false} if the frame is
+     * not complete yet.
+     *
+     * @throws IOException If the frame is invalid or the token does not match.
+     */
+    private boolean authenticate(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        if (in.remaining() < AdminProtocol.LENGTH_BYTES) {
+            return false;
+        }
+        int length = in.getInt(in.position());
+        if (length < 1 || length > AdminProtocol.MAX_TOKEN_BYTES) {
+            throw new IOException("Ungültige Länge des Tokens: " + length);
+        }
+        if (in.remaining() < AdminProtocol.LENGTH_BYTES + length) {
+            return false;
+        }
+
+        in.getInt();
+        byte[] token = new byte[length];
+        in.get(token);
+        if (!MessageDigest.isEqual(tokenDigest, digest(token))) {
+            plugin.getLogger().warning("Admin-Socket: Verbindung mit ungültigem Token abgelehnt");
+            throw new IOException("Ungültiges Token");
+        }
+
+        connection.authenticated = true;
+        ByteBuffer response = ByteBuffer.allocate(AdminProtocol.LENGTH_BYTES + AdminProtocol.RESPONSE_HEADER_BYTES);
+        response.putInt(AdminProtocol.RESPONSE_HEADER_BYTES)
+                .putInt(AdminProtocol.AUTHENTICATION_ID)
+                .put((byte) CommandResult.SUCCESS.ordinal())
+                .putLong(0L)
+                .flip();
+        connection.pendingBytes.addAndGet(response.remaining());
+        connection.out.add(response);
+        return true;
+    }
+
+    private void drainRequests(Connection connection) throws IOException {
+        ByteBuffer in = connection.in;
+        while (in.remaining() >= AdminProtocol.LENGTH_BYTES && connection.inFlight.get() < MAX_IN_FLIGHT) {
+            int length = in.getInt(in.position());
+            if (length < 4 || length > AdminProtocol.MAX_REQUEST_BYTES) {
+                throw new IOException("Ungültige Frame-Länge: " + length);
+            }
+            if (in.remaining() < AdminProtocol.LENGTH_BYTES + length) {
+                break;
+            }
+
+            in.getInt();
+            int id = in.getInt();
+            if (id < 0) {
+                throw new IOException("Reservierte Request-ID: " + id);
+            }
+            byte[] line = new byte[length - 4];
+            in.get(line);
+
+            connection.inFlight.incrementAndGet();
+            requests.add(new Request(connection, id, new String(line, StandardCharsets.UTF_8)));
+        }
+    }
+
+    private void write(Connection connection) throws IOException {
+        ByteBuffer buffer;
+        while ((buffer = connection.out.peek()) != null) {
+            int written = connection.channel.write(buffer);
+            connection.pendingBytes.addAndGet(-written);
+            if (buffer.hasRemaining()) {
+                break;
+            }
+            connection.out.poll();
+        }
+        updateInterest(connection);
+    }
+
+    /**
+     * Updates the operations the selector waits for: writing while responses are pending,
+     * reading only while the connection is below its in-flight and output limits. A connection
+     * whose client shut down its output is closed once all its responses are written.
+     */
+    private void updateInterest(Connection connection) {
+        if (connection.closed || !connection.key.isValid()) {
+            return;
+        }
+
+        boolean belowLimits = connection.inFlight.get() < MAX_IN_FLIGHT
+                && connection.pendingBytes.get() < MAX_PENDING_OUTPUT_BYTES;
+        try {
+            if (belowLimits && connection.in.position() > 0) {
+                // Frames, die während des Gegendrucks im Puffer geblieben sind
+                drainFrames(connection);
+            }
+        } catch (IOException e) {
+            close(connection);
+            return;
+        }
+        if (connection.inputClosed && connection.inFlight.get() == 0 && connection.out.isEmpty()) {
+            close(connection);
+            return;
+        }
+
+        int ops = 0;
+        if (!connection.inputClosed && belowLimits && connection.inFlight.get() < MAX_IN_FLIGHT) {
+            ops |= SelectionKey.OP_READ;
+        }
+        if (!connection.out.isEmpty()) {
+            ops |= SelectionKey.OP_WRITE;
+        }
+        connection.key.interestOps(ops);
+    }
+
+    private void close(Connection connection) {
+        connection.closed = true;
+        if (connection.key != null) {
+            connection.key.cancel();
+        }
+        try {
+            connection.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Hashes a token, so tokens of any length are compared in constant time.
+     */
+    private static byte[] digest(byte[] token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 ist nicht verfügbar", e);
+        }
+    }
+
+    /**
+     * Restricts the socket file to its owner ({@code rw-------}), so other local users cannot
+     * connect. File systems without POSIX permissions are left unchanged.
+     */
+    private static void restrictToOwner(Path socketFile) throws IOException {
+        if (Files.getFileStore(socketFile.toAbsolutePath().getParent()).supportsFileAttributeView(PosixFileAttributeView.class)) {
+            Files.setPosixFilePermissions(socketFile, PosixFilePermissions.fromString("rw-------"));
+        }
+    }
+
+    /**
+     * Resolves the address of the socket from the configuration.
+     *
+     * @param dataFolder The data folder of the plugin, against which relative socket paths are resolved.
+     * @param unixSocket The path of the Unix domain socket, or an empty string to use TCP.
+     * @param port       The localhost TCP port used if no Unix domain socket is configured.
+     *
+     * @return The socket address.
+     */
+    public static SocketAddress address(Path dataFolder, String unixSocket, int port) {
+        if (unixSocket != null && !unixSocket.isBlank()) {
+            return UnixDomainSocketAddress.of(dataFolder.resolve(unixSocket));
+        }
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.mkpwnz.serverUtils.admin;
+
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+
+/**
+ * Creates virtual {@link CommandSender}s that act with the permissions of the console, but
+ * capture every message sent to them instead of printing it.
+ * <p>
+ * The sender is a dynamic proxy delegating to the console sender, so it stays compatible
+ * with every server implementation of the (large and evolving) {@code CommandSender}
+ * interface without implementing it by hand.
+ */
+final class CapturingSender {
+    static final String NAME = "AdminSocket";
+
+    private CapturingSender() {
+    }
+
+    /**
+     * Creates a sender appending all received messages to the given builder.
+     *
+     * @param console The console sender providing permissions and all other behavior.
+     * @param output  The builder receiving the messages, one per line.
+     *
+     * @return The capturing sender.
+     */
+    static CommandSender create(ConsoleCommandSender console, StringBuilder output) {
+        return (CommandSender) Proxy.newProxyInstance(CapturingSender.class.getClassLoader(),
+                new Class<?>[]{CommandSender.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "sendMessage", "sendRawMessage" -> {
+                            // Überladungen: (String), (String...), (UUID, String), (UUID, String...)
+                            Object message = args[args.length - 1];
+                            if (message instanceof String[] messages) {
+                                for (String line : messages) {
+                                    append(output, line);
+                                }
+                            } else {
+                                append(output, (String) message);
+                            }
+                            return null;
+                        }
+                        case "getName" -> {
+                            return NAME;
+                        }
+                        case "equals" -> {
+                            return proxy == args[0];
+                        }
+                        case "hashCode" -> {
+                            return System.identityHashCode(proxy);
+                        }
+                        case "toString" -> {
+                            return NAME;
+                        }
+                        default -> {
+                            try {
+                                return method.invoke(console, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        }
+                    }
+                });
+    }
+
+    private static void append(StringBuilder output, String message) {
+        if (message == null) {
+            return;
+        }
+        if (!output.isEmpty()) {
+            output.append('\n');
+        }
+        output.append(message);
+    }
+}
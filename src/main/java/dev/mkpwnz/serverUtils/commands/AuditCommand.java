@@ -0,0 +1,74 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.arguments.StringArg;
+import dev.mkpwnz.api.audit.AuditLog;
+import dev.mkpwnz.api.audit.AuditRecord;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.api.commands.Paginated;
+import dev.mkpwnz.serverUtils.Message;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class AuditCommand {
+    private static final int RESULT_LIMIT = 1000;
+    private static final int RECORDS_PER_PAGE = 10;
+    private static final long DEFAULT_SINCE_MILLIS = TimeUnit.DAYS.toMillis(1);
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("dd.MM. HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final AuditLog auditLog;
+
+    public AuditCommand(AuditLog auditLog) {
+        this.auditLog = auditLog;
+    }
+
+    @Command(
+            name = "audit",
+            parent = {"serverutils"},
+            description = "Durchsucht das Audit-Log nach Spieler oder Command",
+            permission = "serverutils.audit",
+            async = true
+    )
+    public Paginated<AuditRecord> onAudit(
+            CommandResponse response,
+            @StringArg(name = "player|command", description = "Spielername oder Command, z.B. serverinfo.player") String term,
+            @StringArg(name = "since", description = "Zeitraum, z.B. 30m, 12h oder 7d", required = false) String since
+    ) throws IOException {
+        long window = since != null ? Durations.parseMillis(since) : DEFAULT_SINCE_MILLIS;
+        if (window <= 0) {
+            response.error(Message.AUDIT_INVALID_SINCE, since);
+            return null;
+        }
+
+        // Die Segmente werden nur einmal gelesen, weitere Seiten kommen aus dem Cursor
+        String needle = term.toLowerCase().replace(' ', '.');
+        List<AuditRecord> records = auditLog.query(System.currentTimeMillis() - window,
+                record -> record.sender().equalsIgnoreCase(term) || record.command().startsWith(needle),
+                RESULT_LIMIT);
+        long dropped = auditLog.getDroppedCount();
+
+        return Paginated.of(records, this::renderRecords)
+                .header(Message.AUDIT_HEADER, term)
+                .empty(Message.AUDIT_NONE)
+                .epilogue(page -> {
+                    if (dropped > 0) {
+                        page.line(Message.AUDIT_DROPPED, dropped);
+                    }
+                })
+                .pageSize(RECORDS_PER_PAGE);
+    }
+
+    private void renderRecords(CommandResponse response, List<AuditRecord> records, int offset) {
+        for (AuditRecord record : records) {
+            response.line(Message.AUDIT_ENTRY, TIME_FORMAT.format(Instant.ofEpochMilli(record.timestamp())),
+                    record.sender(), record.command().replace('.', ' '), record.arguments());
+            response.detail(Message.AUDIT_ENTRY_DETAIL, record.result().name(), record.durationNanos() / 1_000_000.0);
+        }
+    }
+}
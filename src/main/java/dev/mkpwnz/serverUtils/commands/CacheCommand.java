@@ -0,0 +1,31 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.commands.CacheStats;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.serverUtils.Message;
+
+public class CacheCommand {
+    private final CommandManager commandManager;
+
+    public CacheCommand(CommandManager commandManager) {
+        this.commandManager = commandManager;
+    }
+
+    @Command(
+            name = "cache",
+            parent = {"serverutils"},
+            description = "Zeigt die Trefferquote des Command-Caches an",
+            permission = "serverutils.cache"
+    )
+    public void onCache(CommandResponse response) {
+        CacheStats stats = commandManager.getResponseCacheStats();
+
+        response.header(Message.CACHE_HEADER)
+                .field(Message.CACHE_HITS, stats.hits())
+                .field(Message.CACHE_MISSES, stats.misses())
+                .field(Message.CACHE_HIT_RATIO, response.translate(Message.CACHE_HIT_RATIO_VALUE, stats.hitRatio() * 100.0))
+                .field(Message.CACHE_ENTRIES, stats.entries());
+    }
+}
@@ -0,0 +1,40 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses the short durations accepted by command arguments, e.g. {@code 30m}, {@code 12h}
+ * or {@code 7d}.
+ */
+final class Durations {
+    private Durations() {
+    }
+
+    /**
+     * Parses a duration such as {@code 30m}, {@code 12h} or {@code 7d}.
+     *
+     * @param value The duration to parse.
+     *
+     * @return The duration in milliseconds, or {@code -1} if the value is invalid.
+     */
+    static long parseMillis(String value) {
+        if (value.length() < 2) {
+            return -1;
+        }
+        TimeUnit unit = switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+            case 's' -> TimeUnit.SECONDS;
+            case 'm' -> TimeUnit.MINUTES;
+            case 'h' -> TimeUnit.HOURS;
+            case 'd' -> TimeUnit.DAYS;
+            default -> null;
+        };
+        if (unit == null) {
+            return -1;
+        }
+        try {
+            return unit.toMillis(Long.parseLong(value.substring(0, value.length() - 1)));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
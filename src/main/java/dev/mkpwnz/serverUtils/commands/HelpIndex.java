@@ -0,0 +1,136 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.commands.CommandData;
+import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.commands.PermissionIndex;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-rendered help output for {@code /serverutils}.
+ * <p>
+ * The lines of every command are rendered once per registry version. A sender's view only
+ * contains the commands the sender may use and is cached per permission profile, so senders
+ * with the same permissions share one view. Everything is rebuilt only when the registry
+ * version of the {@link CommandManager} changes.
+ */
+class HelpIndex {
+    private static final int MAX_CACHED_VIEWS = 64;
+
+    private final CommandManager commandManager;
+
+    private volatile Snapshot snapshot;
+
+    HelpIndex(CommandManager commandManager) {
+        this.commandManager = commandManager;
+    }
+
+    /**
+     * Retrieves the help entries visible to the given sender.
+     *
+     * @param sender The sender requesting the help output.
+     *
+     * @return An immutable list of entries in display order.
+     */
+    List<Entry> viewFor(CommandSender sender) {
+        Snapshot current = snapshot;
+        long version = commandManager.getRegistryVersion();
+        if (current == null || current.version != version) {
+            current = new Snapshot(version, commandManager.getPermissionIndex(), commandManager.getRegisteredCommands());
+            snapshot = current;
+        }
+        return current.viewFor(sender);
+    }
+
+    /**
+     * The pre-rendered lines of a single command.
+     *
+     * @param group The base command the entry belongs to, e.g. {@code serverinfo}.
+     * @param lines The rendered lines of the command, unmodifiable.
+     */
+    record Entry(String group, List<String> lines) {
+        Entry {
+            lines = List.copyOf(lines);
+        }
+    }
+
+    /**
+     * The rendered help output of one registry version together with its cached views.
+     */
+    private static final class Snapshot {
+        private final long version;
+        private final PermissionIndex permissionIndex;
+        private final Entry[] entries;
+        private final int[] permissionBits;
+        private final Map<BitSet, List<Entry>> views = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, PermissionIndex permissionIndex, Map<String, CommandData> commands) {
+            this.version = version;
+            this.permissionIndex = permissionIndex;
+
+            List<CommandData> sorted = new ArrayList<>(commands.values());
+            sorted.sort(Comparator.comparing(CommandData::fullName));
+
+            this.entries = new Entry[sorted.size()];
+            this.permissionBits = new int[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                CommandData cmd = sorted.get(i);
+                entries[i] = render(cmd);
+                permissionBits[i] = permissionIndex.indexOf(cmd.permission());
+            }
+        }
+
+        private static Entry render(CommandData cmd) {
+            String fullName = cmd.fullName();
+            int separator = fullName.indexOf('.');
+            String group = separator < 0 ? fullName : fullName.substring(0, separator);
+
+            // Erstelle den vollen Command-Pfad mit Parametern
+            StringBuilder usage = new StringBuilder(64).append("  §7/").append(fullName.replace('.', ' '));
+            String parameters = cmd.getParametersAsString();
+            if (!parameters.isEmpty()) {
+                usage.append(' ').append(parameters);
+            }
+
+            List<String> lines = new ArrayList<>(3);
+            lines.add(usage.toString());
+            if (!cmd.description().isEmpty()) {
+                lines.add("    §8➜ " + cmd.description());
+            }
+            if (!cmd.permission().isEmpty()) {
+                lines.add("    §8⚡ " + cmd.permission());
+            }
+            return new Entry(group, lines);
+        }
+
+        private List<Entry> viewFor(CommandSender sender) {
+            BitSet profile = permissionIndex.profileOf(sender);
+            List<Entry> view = views.get(profile);
+            if (view == null) {
+                if (views.size() >= MAX_CACHED_VIEWS) {
+                    views.clear();
+                }
+                view = buildView(profile);
+                views.put(profile, view);
+            }
+            return view;
+        }
+
+        private List<Entry> buildView(BitSet profile) {
+            List<Entry> view = new ArrayList<>();
+            for (int i = 0; i < entries.length; i++) {
+                int bit = permissionBits[i];
+                if (bit < 0 || profile.get(bit)) {
+                    view.add(entries[i]);
+                }
+            }
+            return List.copyOf(view);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.arguments.NumberArg;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.api.scheduler.TickJob;
+import dev.mkpwnz.api.scheduler.TickScheduler;
+import dev.mkpwnz.serverUtils.Message;
+
+import java.util.List;
+
+public class JobsCommand {
+    private final TickScheduler scheduler;
+
+    public JobsCommand(TickScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @Command(
+            name = "jobs",
+            parent = {"serverutils"},
+            description = "Zeigt die laufenden Hintergrund-Jobs an",
+            permission = "serverutils.jobs",
+            globalRegion = true
+    )
+    public void onJobs(CommandResponse response) {
+        List<TickJob<?>> jobs = scheduler.getJobs();
+
+        response.header(Message.JOBS_HEADER, scheduler.getEffectiveBudgetNanos() / 1_000_000.0);
+        if (jobs.isEmpty()) {
+            response.line(Message.JOBS_NONE);
+            return;
+        }
+
+        for (TickJob<?> job : jobs) {
+            response.line(job.getTotal() >= 0 ?
+                    response.translate(Message.JOBS_ENTRY_TOTAL, job.getId(), job.getName(), job.getProcessed(), job.getTotal()) :
+                    response.translate(Message.JOBS_ENTRY, job.getId(), job.getName(), job.getProcessed()));
+        }
+    }
+
+    @Command(
+            name = "cancel",
+            parent = {"serverutils", "jobs"},
+            description = "Bricht einen laufenden Hintergrund-Job ab",
+            permission = "serverutils.jobs",
+            globalRegion = true
+    )
+    public void onJobsCancel(
+            CommandResponse response,
+            @NumberArg(name = "id", description = "ID des Jobs", min = 1) Number id
+    ) {
+        TickJob<?> job = scheduler.getJob(id.intValue());
+        if (job == null || !job.cancel()) {
+            response.error(Message.JOBS_NOT_FOUND, id.intValue());
+        }
+    }
+}
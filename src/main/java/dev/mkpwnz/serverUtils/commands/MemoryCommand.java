@@ -0,0 +1,160 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.arguments.NumberArg;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.api.commands.PageSource;
+import dev.mkpwnz.api.commands.Paginated;
+import dev.mkpwnz.serverUtils.Message;
+import dev.mkpwnz.serverUtils.memory.ClassHistogram;
+import dev.mkpwnz.serverUtils.memory.HeapInspector;
+
+import javax.management.JMException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+public class MemoryCommand {
+    private static final int DEFAULT_TOP = 10;
+    private static final int OWNER_LIMIT = 5;
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    private final HeapInspector inspector;
+
+    public MemoryCommand(HeapInspector inspector) {
+        this.inspector = inspector;
+    }
+
+    @Command(
+            name = "memory",
+            parent = {"serverutils"},
+            description = "Zeigt die Klassen mit dem größten Speicherverbrauch (Seite 1 erstellt ein neues Histogramm)",
+            permission = "serverutils.memory",
+            async = true
+    )
+    public Paginated<Integer> onMemory(
+            CommandResponse response,
+            @NumberArg(name = "top", description = "Klassen pro Seite", required = false, min = 1, max = 50) Number top,
+            @NumberArg(name = "page", description = "Seite", required = false, min = 1) Number page
+    ) {
+        int requested = page != null ? page.intValue() : 1;
+
+        ClassHistogram histogram = requested > 1 ? inspector.getLatest() : null;
+        if (histogram == null && (histogram = takeHistogram(response)) == null) {
+            return null;
+        }
+
+        ClassHistogram shown = histogram;
+        Map<ClassLoader, String> loaders = inspector.pluginLoaders();
+        return Paginated.of(rowsOf(histogram.size()), (out, items, offset) -> {
+                    for (int row : items) {
+                        out.line(Message.MEMORY_ENTRY, row + 1, shown.getClassName(row), shown.getBytes(row) / MEGABYTE,
+                                shown.getInstances(row), ownerName(out, shown.getClassName(row), loaders));
+                    }
+                })
+                .header(Message.MEMORY_HEADER)
+                .prologue(out -> out.line(Message.MEMORY_TOTAL, shown.getTotalBytes() / MEGABYTE,
+                        shown.getTotalInstances(), shown.size()))
+                .pageSize(top != null ? top.intValue() : DEFAULT_TOP)
+                .page(requested);
+    }
+
+    @Command(
+            name = "diff",
+            parent = {"serverutils", "memory"},
+            description = "Zeigt das Speicherwachstum seit dem letzten Histogramm (Seite 1 erstellt ein neues Histogramm)",
+            permission = "serverutils.memory",
+            async = true
+    )
+    public Paginated<Integer> onMemoryDiff(
+            CommandResponse response,
+            @NumberArg(name = "top", description = "Klassen pro Seite", required = false, min = 1, max = 50) Number top,
+            @NumberArg(name = "page", description = "Seite", required = false, min = 1) Number page
+    ) {
+        int requested = page != null ? page.intValue() : 1;
+
+        if (requested <= 1 || inspector.getDelta() == null) {
+            if (takeHistogram(response) == null) {
+                return null;
+            }
+        }
+        ClassHistogram.Delta delta = inspector.getDelta();
+        if (delta == null) {
+            response.line(Message.MEMORY_NO_PREVIOUS);
+            return null;
+        }
+
+        // Wachstum pro Plugin über alle Klassen, die gewachsen sind
+        Map<ClassLoader, String> loaders = inspector.pluginLoaders();
+        Map<String, Long> growth = new HashMap<>();
+        for (int row = 0; row < delta.size() && delta.byteDelta()[row] > 0; row++) {
+            growth.merge(ownerName(response, delta.classNames()[row], loaders), delta.byteDelta()[row], Long::sum);
+        }
+        List<Map.Entry<String, Long>> owners = growth.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(OWNER_LIMIT)
+                .toList();
+
+        return Paginated.of(rowsOf(delta.size()), (out, items, offset) -> {
+                    for (int row : items) {
+                        out.line(Message.MEMORY_DIFF_ENTRY, row + 1, delta.classNames()[row],
+                                sign(delta.byteDelta()[row]), delta.byteDelta()[row] / MEGABYTE,
+                                sign(delta.instanceDelta()[row]), delta.instanceDelta()[row],
+                                ownerName(out, delta.classNames()[row], loaders));
+                    }
+                })
+                .header(Message.MEMORY_DIFF_HEADER, delta.elapsedMillis() / 60_000.0)
+                .prologue(out -> out.line(Message.MEMORY_DIFF_TOTAL, sign(delta.totalBytes()), delta.totalBytes() / MEGABYTE))
+                .epilogue(out -> {
+                    if (!owners.isEmpty()) {
+                        out.blank().line(Message.MEMORY_DIFF_OWNERS);
+                        for (Map.Entry<String, Long> owner : owners) {
+                            out.detail(Message.MEMORY_DIFF_OWNER, owner.getKey(), owner.getValue() / MEGABYTE);
+                        }
+                    }
+                })
+                .pageSize(top != null ? top.intValue() : DEFAULT_TOP)
+                .page(requested);
+    }
+
+    /**
+     * Creates a source listing the row indices of a histogram or delta, so pages only render
+     * the rows they show.
+     */
+    private static PageSource<Integer> rowsOf(int size) {
+        return new PageSource<>() {
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public List<Integer> fetch(int offset, int limit) {
+                return IntStream.range(Math.min(offset, size), Math.min(size, offset + limit)).boxed().toList();
+            }
+        };
+    }
+
+    private ClassHistogram takeHistogram(CommandResponse response) {
+        try {
+            ClassHistogram histogram = inspector.takeHistogram();
+            if (histogram == null) {
+                response.error(Message.MEMORY_RUNNING);
+            }
+            return histogram;
+        } catch (JMException e) {
+            response.error(Message.MEMORY_FAILED, e.getMessage());
+            return null;
+        }
+    }
+
+    private String ownerName(CommandResponse response, String className, Map<ClassLoader, String> loaders) {
+        String owner = inspector.ownerOf(className, loaders);
+        return owner != null ? owner : response.translate(Message.MEMORY_OWNER_SERVER);
+    }
+
+    private static String sign(long value) {
+        return value > 0 ? "+" : "";
+    }
+}
@@ -0,0 +1,45 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.arguments.StringArg;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.api.commands.Pagination;
+import dev.mkpwnz.serverUtils.Message;
+import org.bukkit.command.CommandSender;
+
+public class PageCommand {
+    public static final String NAVIGATION_COMMAND = "serverutils page";
+
+    @Command(
+            name = "page",
+            parent = {"serverutils"},
+            description = "Blättert in der zuletzt angezeigten Liste",
+            async = true
+    )
+    public void onPage(
+            CommandSender sender,
+            CommandResponse response,
+            @StringArg(name = "next|prev|Seite", description = "Nächste, vorherige oder eine bestimmte Seite", required = false) String target
+    ) throws Exception {
+        Pagination pagination = Pagination.getInstance();
+        boolean shown;
+        if (target == null || target.equalsIgnoreCase("next")) {
+            shown = pagination.next(sender, response);
+        } else if (target.equalsIgnoreCase("prev")) {
+            shown = pagination.previous(sender, response);
+        } else {
+            int page;
+            try {
+                page = Integer.parseInt(target);
+            } catch (NumberFormatException e) {
+                response.error(Message.PAGE_INVALID, target);
+                return;
+            }
+            shown = pagination.show(sender, response, page);
+        }
+
+        if (!shown) {
+            response.error(Message.PAGE_EXPIRED);
+        }
+    }
+}
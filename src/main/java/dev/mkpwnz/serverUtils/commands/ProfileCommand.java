@@ -0,0 +1,82 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.arguments.NumberArg;
+import dev.mkpwnz.api.arguments.StringArg;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.serverUtils.Message;
+import dev.mkpwnz.serverUtils.profiler.ProfileResult;
+import dev.mkpwnz.serverUtils.profiler.SamplingProfiler;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+public class ProfileCommand {
+    private final JavaPlugin plugin;
+    private final SamplingProfiler profiler;
+
+    public ProfileCommand(JavaPlugin plugin, SamplingProfiler profiler) {
+        this.plugin = plugin;
+        this.profiler = profiler;
+    }
+
+    @Command(
+            name = "start",
+            parent = {"serverutils", "profile"},
+            description = "Startet den Sampling-Profiler",
+            permission = "serverutils.profile"
+    )
+    public void onProfileStart(
+            CommandResponse response,
+            @NumberArg(name = "interval", description = "Sample-Intervall in ms", required = false, min = 1, max = 1000) Number interval,
+            @StringArg(name = "thread", description = "Filter für Thread-Namen", required = false, minLength = 1, maxLength = 64) String threadFilter
+    ) {
+        long intervalMillis = interval != null ? interval.longValue() : SamplingProfiler.DEFAULT_INTERVAL_MILLIS;
+
+        if (!profiler.start(intervalMillis, threadFilter)) {
+            response.error(Message.PROFILE_ALREADY_RUNNING);
+            return;
+        }
+
+        response.header(Message.PROFILE_STARTED)
+                .field(Message.PROFILE_INTERVAL, response.translate(Message.UNIT_MILLIS, intervalMillis))
+                .field(Message.PROFILE_THREADS, threadFilter != null ?
+                        "*" + threadFilter + "*" : response.translate(Message.PROFILE_MAIN_THREAD));
+    }
+
+    @Command(
+            name = "stop",
+            parent = {"serverutils", "profile"},
+            description = "Stoppt den Sampling-Profiler und speichert das Ergebnis",
+            permission = "serverutils.profile"
+    )
+    public void onProfileStop(CommandResponse response) {
+        CompletableFuture<ProfileResult> result = profiler.stop();
+        if (result == null) {
+            response.error(Message.PROFILE_NOT_RUNNING);
+            return;
+        }
+
+        response.line(Message.PROFILE_STOPPING);
+        result.whenComplete((profile, error) -> {
+            if (error != null) {
+                response.error(Message.PROFILE_SAVE_FAILED, error.getMessage()).flush();
+                return;
+            }
+
+            response.header(Message.PROFILE_STOPPED)
+                    .field(Message.PROFILE_DURATION, response.translate(Message.UNIT_SECONDS,
+                            TimeUnit.NANOSECONDS.toSeconds(profile.durationNanos())))
+                    .field(Message.PROFILE_SAMPLES, response.translate(Message.PROFILE_SAMPLES_VALUE,
+                            profile.samples(), profile.nodes()))
+                    .field(Message.PROFILE_OVERHEAD, response.translate(Message.PROFILE_OVERHEAD_VALUE,
+                            profile.overheadPerSampleMicros(), profile.overheadPercent()))
+                    .field(Message.PROFILE_TICK_IMPACT, response.translate(Message.PROFILE_TICK_IMPACT_VALUE,
+                            profile.baselineTickMillis(), profile.sessionTickMillis(),
+                            profile.maxPausePerTickMillis()))
+                    .field(Message.PROFILE_FILE, plugin.getDataFolder().toPath().relativize(profile.file()))
+                    .flush();
+        });
+    }
+}
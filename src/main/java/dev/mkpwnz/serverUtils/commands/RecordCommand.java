@@ -0,0 +1,89 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.api.recording.CommandRecorder;
+import dev.mkpwnz.serverUtils.Message;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+public class RecordCommand {
+    private static final int QUEUE_CAPACITY = 8192;
+    private static final long STOP_TIMEOUT_SECONDS = 5;
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JavaPlugin plugin;
+    private final CommandManager commandManager;
+    private CommandRecorder recorder;
+
+    public RecordCommand(JavaPlugin plugin, CommandManager commandManager) {
+        this.plugin = plugin;
+        this.commandManager = commandManager;
+    }
+
+    @Command(
+            name = "start",
+            parent = {"serverutils", "record"},
+            description = "Zeichnet alle Commands für den Replay-Lasttest auf",
+            permission = "serverutils.record"
+    )
+    public void onRecordStart(CommandResponse response) {
+        if (recorder != null) {
+            response.error(Message.RECORD_ALREADY_RUNNING);
+            return;
+        }
+
+        Path file = plugin.getDataFolder().toPath().resolve("traces")
+                .resolve(LocalDateTime.now().format(FILE_FORMAT) + ".trace");
+        CommandRecorder newRecorder = new CommandRecorder(plugin, file, QUEUE_CAPACITY);
+        try {
+            newRecorder.start();
+        } catch (IOException e) {
+            response.error(Message.RECORD_START_FAILED, e.getMessage());
+            return;
+        }
+
+        recorder = newRecorder;
+        commandManager.setRecorder(recorder);
+        response.header(Message.RECORD_STARTED)
+                .field(Message.RECORD_FILE, plugin.getDataFolder().toPath().relativize(file));
+    }
+
+    @Command(
+            name = "stop",
+            parent = {"serverutils", "record"},
+            description = "Beendet die Aufzeichnung der Commands",
+            permission = "serverutils.record"
+    )
+    public void onRecordStop(CommandResponse response) {
+        if (recorder == null) {
+            response.error(Message.RECORD_NOT_RUNNING);
+            return;
+        }
+
+        CommandRecorder stopped = recorder;
+        recorder = null;
+        commandManager.setRecorder(null);
+        response.line(Message.RECORD_STOPPING);
+        // Der Writer schreibt den Rest der Queue, flush() meldet das Ergebnis auf dem Thread des Senders
+        stopped.stop().whenComplete((ignored, error) -> response.header(Message.RECORD_STOPPED)
+                .field(Message.RECORD_COMMANDS, stopped.getRecordedCount())
+                .field(Message.RECORD_DROPPED, stopped.getDroppedCount())
+                .field(Message.RECORD_FILE, plugin.getDataFolder().toPath().relativize(stopped.getFile()))
+                .flush());
+    }
+
+    public void stop() {
+        if (recorder != null) {
+            commandManager.setRecorder(null);
+            recorder.stop().completeOnTimeout(null, STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS).join();
+            recorder = null;
+        }
+    }
+}
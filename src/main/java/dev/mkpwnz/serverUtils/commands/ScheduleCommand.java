@@ -0,0 +1,82 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.arguments.StringArg;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.serverUtils.Message;
+import dev.mkpwnz.serverUtils.schedule.CommandSchedule;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class ScheduleCommand {
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("dd.MM. HH:mm");
+
+    private final JavaPlugin plugin;
+    private final CommandSchedule schedule;
+
+    public ScheduleCommand(JavaPlugin plugin, CommandSchedule schedule) {
+        this.plugin = plugin;
+        this.schedule = schedule;
+    }
+
+    @Command(
+            name = "schedule",
+            parent = {"serverutils"},
+            description = "Zeigt die geplanten Commands und ihre nächste Ausführung",
+            permission = "serverutils.schedule",
+            globalRegion = true
+    )
+    public void onSchedule(CommandResponse response) {
+        List<CommandSchedule.Status> entries = schedule.getEntries();
+
+        response.header(Message.SCHEDULE_HEADER, schedule.getZone().getId());
+        if (entries.isEmpty()) {
+            response.line(Message.SCHEDULE_NONE);
+            return;
+        }
+
+        for (CommandSchedule.Status entry : entries) {
+            response.line(Message.SCHEDULE_ENTRY, entry.name(), entry.cron(), entry.command());
+            response.detail(Message.SCHEDULE_ENTRY_DETAIL, format(entry.nextRun()), format(entry.lastRun()),
+                    entry.runs(), entry.missedRuns(), entry.catchUp().name().toLowerCase());
+        }
+    }
+
+    @Command(
+            name = "run",
+            parent = {"serverutils", "schedule"},
+            description = "Führt einen geplanten Command sofort aus",
+            permission = "serverutils.schedule",
+            globalRegion = true
+    )
+    public void onScheduleRun(
+            CommandResponse response,
+            @StringArg(name = "name", description = "Name des Eintrags") String name
+    ) {
+        if (!schedule.runNow(name)) {
+            response.error(Message.SCHEDULE_NOT_FOUND, name);
+            return;
+        }
+        response.line(Message.SCHEDULE_RAN, name);
+    }
+
+    @Command(
+            name = "reload",
+            parent = {"serverutils", "schedule"},
+            description = "Lädt die geplanten Commands aus der Konfiguration neu",
+            permission = "serverutils.schedule",
+            globalRegion = true
+    )
+    public void onScheduleReload(CommandResponse response) {
+        plugin.reloadConfig();
+        int loaded = schedule.load(plugin.getConfig().getConfigurationSection("schedule"));
+        response.line(Message.SCHEDULE_RELOADED, loaded);
+    }
+
+    private String format(long millis) {
+        return millis >= 0 ? TIME_FORMAT.format(Instant.ofEpochMilli(millis).atZone(schedule.getZone())) : "-";
+    }
+}
@@ -1,42 +1,67 @@
 package dev.mkpwnz.serverUtils.commands;
 
+import dev.mkpwnz.api.arguments.OfflinePlayerArg;
 import dev.mkpwnz.api.arguments.PlayerArg;
 import dev.mkpwnz.api.arguments.StringArg;
 import dev.mkpwnz.api.arguments.StringListArg;
 import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.serverUtils.Message;
+import dev.mkpwnz.serverUtils.history.PerformanceHistory;
+import dev.mkpwnz.serverUtils.latency.LatencyTracker;
+import org.bukkit.OfflinePlayer;
 import org.bukkit.Server;
-import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
 // This class is just to test the CommandAPI
 
 
 public class ServerInfoCommand {
+    private static final long DEFAULT_HISTORY_SECONDS = 3600;
+    private static final long MAX_HISTORY_SECONDS = 30L * 24 * 3600;
+    private static final int SPARKLINE_WIDTH = 40;
+    private static final char[] SPARKS = {'▁', '▂', '▃', '▄', '▅', '▆', '▇', '█'};
+    private static final double SPARKLINE_MAX_TPS = 20.0;
+    private static final double SPARKLINE_MAX_MSPT = 100.0;
+    private static final DateTimeFormatter SEEN_FORMAT =
+            DateTimeFormatter.ofPattern("dd.MM.yyyy HH:mm").withZone(ZoneId.systemDefault());
+
     private final JavaPlugin plugin;
+    private final PerformanceHistory history;
+    private final LatencyTracker latency;
 
-    public ServerInfoCommand(JavaPlugin plugin) {
+    public ServerInfoCommand(JavaPlugin plugin, PerformanceHistory history, LatencyTracker latency) {
         this.plugin = plugin;
+        this.history = history;
+        this.latency = latency;
     }
 
     @Command(
             name = "serverinfo",
             description = "Zeigt Serverinformationen an",
-            permission = "serverutils.serverinfo"
+            permission = "serverutils.serverinfo",
+            cacheTtl = 5,
+            globalRegion = true
     )
-    public void onServerInfo(CommandSender sender) {
+    public void onServerInfo(CommandResponse response) {
         Server server = plugin.getServer();
 
-        sender.sendMessage("§6=== Server Informationen ===");
-        sender.sendMessage("§7Server Version: §f" + server.getVersion());
-        sender.sendMessage("§7Bukkit Version: §f" + server.getBukkitVersion());
-        sender.sendMessage("§7Online Spieler: §f" + server.getOnlinePlayers().size() + "/" + server.getMaxPlayers());
-        sender.sendMessage("§7Server Port: §f" + server.getPort());
-        sender.sendMessage("§7Spielmodus: §f" + server.getDefaultGameMode());
-        sender.sendMessage("§7Schwierigkeit: §f" + server.getWorlds().getFirst().getDifficulty());
+        response.header(Message.SERVERINFO_HEADER)
+                .field(Message.SERVERINFO_VERSION, server.getVersion())
+                .field(Message.SERVERINFO_BUKKIT_VERSION, server.getBukkitVersion())
+                .field(Message.SERVERINFO_ONLINE_PLAYERS, server.getOnlinePlayers().size() + "/" + server.getMaxPlayers())
+                .field(Message.SERVERINFO_PORT, server.getPort())
+                .field(Message.SERVERINFO_GAME_MODE, server.getDefaultGameMode())
+                .field(Message.SERVERINFO_DIFFICULTY, server.getWorlds().getFirst().getDifficulty());
 
         double tps = server.getServerTickManager().getTickRate();
-        sender.sendMessage("§7TPS: §f" + String.format("%.2f", tps));
+        response.field(Message.SERVERINFO_TPS, String.format("%.2f", tps));
     }
 
     @Command(
@@ -46,22 +71,75 @@ public class ServerInfoCommand {
             permission = "serverutils.serverinfo.performance"
     )
     public void onServerInfoPerformance(
-            CommandSender sender,
+            CommandResponse response,
             @StringListArg(name = "detail", description = "Detail Level (basic/full)", required = false, allowedValues = {"basic", "full"}) String detail
     ) {
-        sender.sendMessage("§6=== Performance Test ===");
-        sender.sendMessage("§7Detail Level: §f" + (detail != null ? detail : "basic"));
-        sender.sendMessage("§7Test Parameter wurde übergeben: §f" + (detail != null));
+        response.header(Message.PERFORMANCE_HEADER)
+                .field(Message.PERFORMANCE_DETAIL, detail != null ? detail : "basic")
+                .field(Message.PERFORMANCE_PARAMETER, detail != null);
+    }
+
+    @Command(
+            name = "history",
+            parent = {"serverinfo"},
+            description = "Zeigt den Verlauf von TPS und MSPT an",
+            permission = "serverutils.serverinfo.history",
+            cacheTtl = 5
+    )
+    public void onServerInfoHistory(
+            CommandResponse response,
+            @StringArg(name = "range", description = "Zeitraum, z.B. 10m, 6h oder 7d", required = false) String range
+    ) {
+        long seconds = range != null ? Durations.parseMillis(range) / 1000L : DEFAULT_HISTORY_SECONDS;
+        if (seconds <= 0) {
+            response.error(Message.HISTORY_INVALID_RANGE, range);
+            return;
+        }
+        seconds = Math.min(seconds, MAX_HISTORY_SECONDS);
+
+        PerformanceHistory.Summary summary = history.summarize(seconds);
+        response.header(Message.HISTORY_HEADER, range != null ? range : "1h");
+        if (summary.samples() == 0) {
+            response.line(Message.HISTORY_NONE);
+            return;
+        }
+
+        PerformanceHistory.Summary[] columns = history.columns(seconds, SPARKLINE_WIDTH);
+        StringBuilder tps = new StringBuilder(SPARKLINE_WIDTH * 3);
+        StringBuilder mspt = new StringBuilder(SPARKLINE_WIDTH * 3);
+        for (PerformanceHistory.Summary column : columns) {
+            if (column.samples() == 0) {
+                tps.append("§8").append(SPARKS[0]);
+                mspt.append("§8").append(SPARKS[0]);
+                continue;
+            }
+            // TPS nach Durchschnitt, MSPT nach Maximum, eingefärbt nach dem schlechtesten Wert der Spalte
+            tps.append(column.tpsMin() >= 18 ? "§a" : column.tpsMin() >= 12 ? "§e" : "§c")
+                    .append(spark(column.tpsAvg() / SPARKLINE_MAX_TPS));
+            mspt.append(column.msptMax() <= 50 ? "§a" : column.msptMax() <= 80 ? "§e" : "§c")
+                    .append(spark(column.msptMax() / SPARKLINE_MAX_MSPT));
+        }
+
+        response.line(Message.HISTORY_TPS, summary.tpsAvg(), summary.tpsMin(), summary.tpsMax())
+                .line(tps.toString())
+                .line(Message.HISTORY_MSPT, summary.msptAvg(), summary.msptMin(), summary.msptMax())
+                .line(mspt.toString());
+    }
+
+    private static char spark(double fraction) {
+        int level = (int) Math.round(Math.max(0.0, Math.min(1.0, fraction)) * (SPARKS.length - 1));
+        return SPARKS[level];
     }
 
     @Command(
             name = "player",
             parent = {"serverinfo"},
             description = "Zeigt Spieler-Informationen an",
-            permission = "serverutils.serverinfo.player"
+            permission = "serverutils.serverinfo.player",
+            globalRegion = true
     )
     public void onServerInfoPlayer(
-            CommandSender sender,
+            CommandResponse response,
             @PlayerArg(name = "target", description = "Zielspieler") Player target,
             @StringArg(
                     name = "infoType",
@@ -70,10 +148,74 @@ public class ServerInfoCommand {
                     maxLength = 10
             ) String infoType
     ) {
-        sender.sendMessage("§6=== Spieler Information ===");
-        sender.sendMessage("§7Spieler: §f" + target.getName());
-        sender.sendMessage("§7Info Typ: §f" + infoType);
-        sender.sendMessage("§7Test Parameter wurden übergeben!");
+        if (infoType.equalsIgnoreCase("ping")) {
+            showPlayerPing(response, target);
+            return;
+        }
+        response.header(Message.PLAYER_HEADER)
+                .field(Message.PLAYER_NAME, target.getName())
+                .field(Message.PLAYER_INFO_TYPE, infoType)
+                .line(Message.PLAYER_PARAMETERS);
+    }
+
+    private void showPlayerPing(CommandResponse response, Player target) {
+        response.header(Message.PING_PLAYER_HEADER, target.getName())
+                .field(Message.PING_CURRENT, response.translate(Message.UNIT_MILLIS, target.getPing()));
+
+        LatencyTracker.Summary summary = latency.getPlayer(target.getUniqueId());
+        if (summary == null) {
+            response.line(Message.PING_NONE);
+            return;
+        }
+        response.field(Message.PING_SAMPLES, summary.samples())
+                .line(Message.PING_PERCENTILES, summary.p50(), summary.p95(), summary.p99(), summary.max());
+    }
+
+    @Command(
+            name = "seen",
+            parent = {"serverinfo"},
+            description = "Zeigt an, wann ein Spieler zuletzt online war",
+            permission = "serverutils.serverinfo.seen",
+            globalRegion = true
+    )
+    public void onServerInfoSeen(
+            CommandResponse response,
+            @OfflinePlayerArg(name = "target", description = "Zielspieler, auch offline") OfflinePlayer target
+    ) {
+        response.header(Message.SEEN_HEADER, target.getName() != null ? target.getName() : target.getUniqueId())
+                .field(Message.SEEN_UUID, target.getUniqueId());
+        if (target.isOnline()) {
+            response.field(Message.SEEN_LAST_PLAYED, response.translate(Message.SEEN_ONLINE));
+        } else if (target.getLastPlayed() > 0) {
+            response.field(Message.SEEN_LAST_PLAYED, SEEN_FORMAT.format(Instant.ofEpochMilli(target.getLastPlayed())));
+        } else {
+            // Nur im Index bekannt, z.B. aus der usercache.json eines anderen Servers
+            response.field(Message.SEEN_LAST_PLAYED, response.translate(Message.SEEN_NEVER));
+        }
+    }
+
+    @Command(
+            name = "ping",
+            parent = {"serverinfo"},
+            description = "Zeigt die Latenz aller Spieler an",
+            permission = "serverutils.serverinfo.ping",
+            globalRegion = true
+    )
+    public void onServerInfoPing(CommandResponse response) {
+        LatencyTracker.Summary summary = latency.getGlobal();
+        response.header(Message.PING_GLOBAL_HEADER, latency.getWindowSeconds() / 60);
+        if (summary.samples() == 0) {
+            response.line(Message.PING_NONE);
+            return;
+        }
+        response.field(Message.PING_SAMPLES, summary.samples())
+                .line(Message.PING_PERCENTILES, summary.p50(), summary.p95(), summary.p99(), summary.max());
+
+        for (Map.Entry<String, LatencyTracker.Summary> group : latency.getGroups().entrySet()) {
+            LatencyTracker.Summary groupSummary = group.getValue();
+            response.detail(Message.PING_GROUP, group.getKey(), groupSummary.p50(), groupSummary.p95(),
+                    groupSummary.p99(), groupSummary.samples());
+        }
     }
 
     // Beispiel für einen Sub-Subcommand
@@ -84,10 +226,10 @@ public class ServerInfoCommand {
             permission = "serverutils.serverinfo.player.inventory"
     )
     public void onServerInfoPlayerInventory(
-            CommandSender sender,
+            CommandResponse response,
             @PlayerArg(name = "target", description = "Zielspieler") Player target
     ) {
-        sender.sendMessage("§6=== Spieler Inventar ===");
-        sender.sendMessage("§7Spieler: §f" + target.getName());
+        response.header(Message.INVENTORY_HEADER)
+                .field(Message.PLAYER_NAME, target.getName());
     }
 }
\ No newline at end of file
@@ -1,23 +1,23 @@
 package dev.mkpwnz.serverUtils.commands;
 
+import dev.mkpwnz.api.arguments.NumberArg;
 import dev.mkpwnz.api.commands.Command;
-import dev.mkpwnz.api.commands.CommandData;
 import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.commands.Paginated;
+import dev.mkpwnz.serverUtils.Message;
 import org.bukkit.command.CommandSender;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.TreeMap;
 
 // This Class is just to test the CommandAPI
 
 public class ServerUtilsCommand {
+    private static final int COMMANDS_PER_PAGE = 8;
 
-    private final CommandManager commandManager;
+    private final HelpIndex helpIndex;
 
     public ServerUtilsCommand(CommandManager commandManager) {
-        this.commandManager = commandManager;
+        this.helpIndex = new HelpIndex(commandManager);
     }
 
     @Command(
@@ -25,44 +25,24 @@ public class ServerUtilsCommand {
             description = "Zeigt alle verfügbaren ServerUtils Commands",
             permission = "serverutils.help"
     )
-    public void onServerUtils(CommandSender sender) {
-        Map<String, CommandData> commands = commandManager.getRegisteredCommands();
-
-        sender.sendMessage("§6=== ServerUtils Commands ===");
-
-        // Gruppiere Commands nach ihren Basis-Commands
-        Map<String, List<CommandData>> groupedCommands = new TreeMap<>();
-
-        for (Map.Entry<String, CommandData> entry : commands.entrySet()) {
-            String[] parts = entry.getKey().split("\\.");
-            String baseCommand = parts[0];
-
-            groupedCommands.computeIfAbsent(baseCommand, k -> new ArrayList<>())
-                    .add(entry.getValue());
-        }
-
-        // Ausgabe der gruppierten Commands
-        for (Map.Entry<String, List<CommandData>> group : groupedCommands.entrySet()) {
-            sender.sendMessage("");
-            sender.sendMessage("§e/" + group.getKey() + "§7:");
-
-            for (CommandData cmd : group.getValue()) {
-                // Erstelle den vollen Command-Pfad
-                String fullCommand = cmd.fullName().replace(".", " ");
-
-                // Füge Parameter hinzu
-                String parameters = cmd.getParametersAsString();
-                String fullUsage = parameters.isEmpty() ? fullCommand : fullCommand + " " + parameters;
-
-                // Zeige Command mit Beschreibung
-                sender.sendMessage("  §7/" + fullUsage);
-                if (!cmd.description().isEmpty()) {
-                    sender.sendMessage("    §8➜ " + cmd.description());
-                }
-                if (!cmd.permission().isEmpty()) {
-                    sender.sendMessage("    §8⚡ " + cmd.permission());
-                }
-            }
-        }
+    public Paginated<HelpIndex.Entry> onServerUtils(
+            CommandSender sender,
+            @NumberArg(name = "page", description = "Seite", required = false, min = 1) Number page
+    ) {
+        List<HelpIndex.Entry> entries = helpIndex.viewFor(sender);
+        return Paginated.of(entries, (response, items, offset) -> {
+                    // Ausgabe der Commands der aktuellen Seite, gruppiert nach ihren Basis-Commands
+                    String group = null;
+                    for (HelpIndex.Entry entry : items) {
+                        if (!entry.group().equals(group)) {
+                            group = entry.group();
+                            response.blank().line("§e/" + group + "§7:");
+                        }
+                        entry.lines().forEach(response::line);
+                    }
+                })
+                .header(Message.HELP_HEADER)
+                .pageSize(COMMANDS_PER_PAGE)
+                .page(page != null ? page.intValue() : 1);
     }
 }
@@ -0,0 +1,48 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.api.commands.Paginated;
+import dev.mkpwnz.serverUtils.Message;
+import dev.mkpwnz.serverUtils.watchdog.SpikeReport;
+import dev.mkpwnz.serverUtils.watchdog.TickWatchdog;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class SpikesCommand {
+    private static final int SPIKES_PER_PAGE = 3;
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("dd.MM. HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private final TickWatchdog watchdog;
+
+    public SpikesCommand(TickWatchdog watchdog) {
+        this.watchdog = watchdog;
+    }
+
+    @Command(
+            name = "spikes",
+            parent = {"serverutils"},
+            description = "Zeigt die letzten Lag-Spikes an",
+            permission = "serverutils.spikes"
+    )
+    public Paginated<SpikeReport> onSpikes() {
+        return Paginated.of(watchdog.getRecentSpikes(), this::renderSpikes)
+                .header(Message.SPIKES_HEADER)
+                .empty(Message.SPIKES_NONE, watchdog.getThresholdMillis())
+                .pageSize(SPIKES_PER_PAGE);
+    }
+
+    private void renderSpikes(CommandResponse response, List<SpikeReport> spikes, int offset) {
+        for (SpikeReport spike : spikes) {
+            response.line(Message.SPIKES_ENTRY, TIME_FORMAT.format(Instant.ofEpochMilli(spike.startedAt())),
+                    spike.durationMillis(), spike.sampleCount());
+            for (String frame : spike.topFrames(3)) {
+                response.detail(frame);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package dev.mkpwnz.serverUtils.commands;
+
+import dev.mkpwnz.api.arguments.NumberArg;
+import dev.mkpwnz.api.commands.Command;
+import dev.mkpwnz.api.commands.CommandResponse;
+import dev.mkpwnz.api.scheduler.ServerThreads;
+import dev.mkpwnz.serverUtils.Message;
+import dev.mkpwnz.serverUtils.io.AsyncFileWriter;
+import dev.mkpwnz.serverUtils.timings.EventTimingStats;
+import dev.mkpwnz.serverUtils.timings.EventTimings;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+public class TimingsCommand {
+    private static final int DEFAULT_DURATION_SECONDS = 30;
+    private static final int CHAT_LIMIT = 10;
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final JavaPlugin plugin;
+    private final EventTimings eventTimings;
+
+    public TimingsCommand(JavaPlugin plugin, EventTimings eventTimings) {
+        this.plugin = plugin;
+        this.eventTimings = eventTimings;
+    }
+
+    @Command(
+            name = "events",
+            parent = {"serverutils", "timings"},
+            description = "Misst die Laufzeit der Event-Listener aller Plugins",
+            permission = "serverutils.timings"
+    )
+    public void onTimingsEvents(
+            CommandResponse response,
+            @NumberArg(name = "duration", description = "Dauer in Sekunden", required = false, min = 1, max = 600) Number duration
+    ) {
+        int seconds = duration != null ? duration.intValue() : DEFAULT_DURATION_SECONDS;
+
+        if (!eventTimings.start()) {
+            response.error(Message.TIMINGS_ALREADY_RUNNING);
+            return;
+        }
+
+        response.line(Message.TIMINGS_STARTED, seconds);
+        ServerThreads.of(plugin).runGlobalLater(() -> report(response, seconds), seconds * 20L);
+    }
+
+    private void report(CommandResponse response, int seconds) {
+        List<EventTimingStats.Snapshot> snapshots = eventTimings.stop();
+        if (snapshots == null) {
+            return;
+        }
+
+        response.header(Message.TIMINGS_HEADER, seconds);
+        if (snapshots.isEmpty()) {
+            response.line(Message.TIMINGS_NO_EVENTS);
+        }
+        for (int i = 0; i < Math.min(CHAT_LIMIT, snapshots.size()); i++) {
+            EventTimingStats.Snapshot stat = snapshots.get(i);
+            response.line(Message.TIMINGS_ENTRY, i + 1, stat.pluginName(), stat.eventName());
+            response.detail(Message.TIMINGS_ENTRY_DETAIL, stat.totalNanos() / 1_000_000.0, stat.calls(),
+                    stat.averageMicros(), stat.maxNanos() / 1_000_000.0);
+        }
+
+        Path file = plugin.getDataFolder().toPath().resolve("timings")
+                .resolve("events-" + LocalDateTime.now().format(FILE_FORMAT) + ".txt");
+        response.flush();
+        AsyncFileWriter.write(file, format(snapshots, seconds)).whenComplete((path, error) -> {
+            if (error != null) {
+                response.error(Message.TIMINGS_SAVE_FAILED, error.getMessage());
+            } else {
+                response.field(Message.TIMINGS_SAVED, plugin.getDataFolder().toPath().relativize(path));
+            }
+            response.flush();
+        });
+    }
+
+    private String format(List<EventTimingStats.Snapshot> snapshots, int seconds) {
+        StringBuilder report = new StringBuilder(snapshots.size() * 96 + 128);
+        report.append("Event-Timings über ").append(seconds).append(" s\n\n");
+        report.append(String.format("%-24s %-40s %10s %12s %12s %12s%n",
+                "Plugin", "Event", "Aufrufe", "Gesamt (ms)", "Ø (µs)", "Max (ms)"));
+        for (EventTimingStats.Snapshot stat : snapshots) {
+            report.append(String.format("%-24s %-40s %10d %12.2f %12.1f %12.2f%n",
+                    stat.pluginName(), stat.eventName(), stat.calls(), stat.totalNanos() / 1_000_000.0,
+                    stat.averageMicros(), stat.maxNanos() / 1_000_000.0));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,181 @@
+package dev.mkpwnz.serverUtils.history;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * One round-robin tier of the {@link PerformanceHistory}: a fixed number of slots, each
+ * aggregating the TPS and MSPT samples of one interval as minimum, average and maximum.
+ * <p>
+ * The slot of an interval is its index modulo the number of slots; each slot stores the index
+ * of the interval it currently holds, so outdated slots are recognized and overwritten lazily.
+ * Because a slot is updated with every sample, the current interval is always up to date and
+ * nothing has to be carried over when the interval ends.
+ */
+final class HistoryTier {
+    /**
+     * The aggregated values of a range of slots.
+     *
+     * @param samples The number of samples, {@code 0} if the range holds no data.
+     * @param tpsMin  The lowest TPS.
+     * @param tpsAvg  The average TPS.
+     * @param tpsMax  The highest TPS.
+     * @param msptMin The lowest MSPT.
+     * @param msptAvg The average MSPT.
+     * @param msptMax The highest MSPT.
+     */
+    record Summary(int samples, float tpsMin, float tpsAvg, float tpsMax, float msptMin, float msptAvg, float msptMax) {
+        static final Summary EMPTY = new Summary(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    private final int slots;
+    private final int resolutionSeconds;
+    private final long[] intervals;
+    private final int[] counts;
+    private final float[] tpsMin;
+    private final float[] tpsAvg;
+    private final float[] tpsMax;
+    private final float[] msptMin;
+    private final float[] msptAvg;
+    private final float[] msptMax;
+
+    HistoryTier(int slots, int resolutionSeconds) {
+        this.slots = slots;
+        this.resolutionSeconds = resolutionSeconds;
+        this.intervals = new long[slots];
+        this.counts = new int[slots];
+        this.tpsMin = new float[slots];
+        this.tpsAvg = new float[slots];
+        this.tpsMax = new float[slots];
+        this.msptMin = new float[slots];
+        this.msptAvg = new float[slots];
+        this.msptMax = new float[slots];
+        Arrays.fill(intervals, -1L);
+    }
+
+    /**
+     * Computes the number of bytes the tier occupies in the history file.
+     *
+     * @param slots The number of slots.
+     *
+     * @return The size in bytes.
+     */
+    static int bytes(int slots) {
+        return slots * (Long.BYTES + Integer.BYTES + 6 * Float.BYTES);
+    }
+
+    int resolutionSeconds() {
+        return resolutionSeconds;
+    }
+
+    /**
+     * Retrieves the time span covered by the tier.
+     *
+     * @return The span in seconds.
+     */
+    long spanSeconds() {
+        return (long) slots * resolutionSeconds;
+    }
+
+    /**
+     * Adds a sample to the slot of its interval.
+     *
+     * @param epochSecond The time of the sample.
+     * @param tps         The ticks per second.
+     * @param mspt        The average tick length in milliseconds.
+     */
+    void add(long epochSecond, float tps, float mspt) {
+        long interval = epochSecond / resolutionSeconds;
+        int slot = (int) (interval % slots);
+        if (intervals[slot] != interval) {
+            intervals[slot] = interval;
+            counts[slot] = 0;
+            tpsMin[slot] = tpsMax[slot] = tpsAvg[slot] = tps;
+            msptMin[slot] = msptMax[slot] = msptAvg[slot] = mspt;
+        }
+        int count = ++counts[slot];
+        tpsMin[slot] = Math.min(tpsMin[slot], tps);
+        tpsMax[slot] = Math.max(tpsMax[slot], tps);
+        tpsAvg[slot] += (tps - tpsAvg[slot]) / count;
+        msptMin[slot] = Math.min(msptMin[slot], mspt);
+        msptMax[slot] = Math.max(msptMax[slot], mspt);
+        msptAvg[slot] += (mspt - msptAvg[slot]) / count;
+    }
+
+    /**
+     * Aggregates all slots whose intervals lie within the given time range.
+     *
+     * @param fromSecond The start of the range (inclusive).
+     * @param toSecond   The end of the range (exclusive).
+     *
+     * @return The aggregated values, {@link Summary#EMPTY} if the range holds no data.
+     */
+    Summary summarize(long fromSecond, long toSecond) {
+        long first = Math.floorDiv(fromSecond, resolutionSeconds);
+        long last = Math.floorDiv(toSecond - 1, resolutionSeconds);
+        first = Math.max(first, last - slots + 1);
+
+        int samples = 0;
+        float minTps = Float.MAX_VALUE, maxTps = -Float.MAX_VALUE, minMspt = Float.MAX_VALUE, maxMspt = -Float.MAX_VALUE;
+        double sumTps = 0, sumMspt = 0;
+        for (long interval = first; interval <= last; interval++) {
+            int slot = (int) Math.floorMod(interval, (long) slots);
+            if (intervals[slot] != interval || counts[slot] == 0) {
+                continue;
+            }
+            int count = counts[slot];
+            samples += count;
+            minTps = Math.min(minTps, tpsMin[slot]);
+            maxTps = Math.max(maxTps, tpsMax[slot]);
+            minMspt = Math.min(minMspt, msptMin[slot]);
+            maxMspt = Math.max(maxMspt, msptMax[slot]);
+            sumTps += (double) tpsAvg[slot] * count;
+            sumMspt += (double) msptAvg[slot] * count;
+        }
+        if (samples == 0) {
+            return Summary.EMPTY;
+        }
+        return new Summary(samples, minTps, (float) (sumTps / samples), maxTps,
+                minMspt, (float) (sumMspt / samples), maxMspt);
+    }
+
+    /**
+     * Writes all slots to the buffer at the given offset.
+     *
+     * @param buffer The buffer of the history file.
+     * @param offset The offset of the tier.
+     */
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.position(offset);
+        buffer.asLongBuffer().put(intervals);
+        buffer.position(offset + slots * Long.BYTES);
+        buffer.asIntBuffer().put(counts);
+        int position = offset + slots * (Long.BYTES + Integer.BYTES);
+        for (float[] values : new float[][]{tpsMin, tpsAvg, tpsMax, msptMin, msptAvg, msptMax}) {
+            buffer.position(position);
+            buffer.asFloatBuffer().put(values);
+            position += slots * Float.BYTES;
+        }
+        buffer.position(0);
+    }
+
+    /**
+     * Reads all slots from the buffer at the given offset.
+     *
+     * @param buffer The buffer of the history file.
+     * @param offset The offset of the tier.
+     */
+    void readFrom(ByteBuffer buffer, int offset) {
+        buffer.position(offset);
+        buffer.asLongBuffer().get(intervals);
+        buffer.position(offset + slots * Long.BYTES);
+        buffer.asIntBuffer().get(counts);
+        int position = offset + slots * (Long.BYTES + Integer.BYTES);
+        for (float[] values : new float[][]{tpsMin, tpsAvg, tpsMax, msptMin, msptAvg, msptMax}) {
+            buffer.position(position);
+            buffer.asFloatBuffer().get(values);
+            position += slots * Float.BYTES;
+        }
+        buffer.position(0);
+    }
+}
@@ -0,0 +1,230 @@
+package dev.mkpwnz.serverUtils.history;
+
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A long-term history of TPS and MSPT, stored round-robin-database style.
+ * <p>
+ * A background thread samples the {@link TickMonitor} once per second, independent of the
+ * main thread, so frozen ticks show up as seconds with 0 TPS. MSPT is the busy time of a tick
+ * ({@link TickMonitor#getAverageBusyMillis()}), not the interval between ticks. Every sample is added to three
+ * {@link HistoryTier tiers}: one hour of seconds, one day of minutes and thirty days of hours,
+ * each aggregating minimum, average and maximum. All tiers have a fixed size and live in
+ * primitive arrays; every few seconds they are copied into a single memory-mapped file, so a
+ * crash loses at most the samples since the last flush and the history survives restarts.
+ */
+public class PerformanceHistory {
+    private static final String FILE_NAME = "history.rrd";
+    private static final int MAGIC = 0x53555248;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final int FLUSH_INTERVAL_SECONDS = 5;
+    private static final double MAX_TPS = 20.0;
+
+    private final JavaPlugin plugin;
+    private final TickMonitor tickMonitor;
+    private final Path file;
+    private final HistoryTier seconds = new HistoryTier(3600, 1);
+    private final HistoryTier minutes = new HistoryTier(1440, 60);
+    private final HistoryTier hours = new HistoryTier(720, 3600);
+    private final HistoryTier[] tiers = {seconds, minutes, hours};
+
+    private ScheduledExecutorService sampler;
+    private MappedByteBuffer buffer;
+    private long lastTickCount;
+    private long lastSampleNanos;
+    private int samplesSinceFlush;
+
+    /**
+     * The aggregated TPS and MSPT of a time range.
+     *
+     * @param samples The number of one-second samples in the range, {@code 0} if there is no data.
+     * @param tpsMin  The lowest TPS.
+     * @param tpsAvg  The average TPS.
+     * @param tpsMax  The highest TPS.
+     * @param msptMin The lowest MSPT.
+     * @param msptAvg The average MSPT.
+     * @param msptMax The highest MSPT.
+     */
+    public record Summary(int samples, double tpsMin, double tpsAvg, double tpsMax,
+                          double msptMin, double msptAvg, double msptMax) {
+    }
+
+    /**
+     * Creates a new history stored in the data folder of the given plugin.
+     *
+     * @param plugin      The plugin owning the history file.
+     * @param tickMonitor The monitor providing tick counts and the busy time of ticks.
+     */
+    public PerformanceHistory(JavaPlugin plugin, TickMonitor tickMonitor) {
+        this.plugin = plugin;
+        this.tickMonitor = tickMonitor;
+        this.file = plugin.getDataFolder().toPath().resolve(FILE_NAME);
+    }
+
+    /**
+     * Maps the history file, loading the persisted history if it is compatible, and starts
+     * sampling.
+     */
+    public void start() {
+        if (sampler != null) {
+            return;
+        }
+        try {
+            map();
+        } catch (IOException e) {
+            plugin.getLogger().warning("Performance-Historie konnte nicht geladen werden: " + e.getMessage());
+        }
+
+        lastTickCount = tickMonitor.getTickCount();
+        lastSampleNanos = System.nanoTime();
+        sampler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("ServerUtils-History").daemon(true).factory());
+        sampler.scheduleAtFixedRate(this::sample, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stops sampling and flushes the history to disk.
+     */
+    public void stop() {
+        if (sampler == null) {
+            return;
+        }
+        sampler.shutdownNow();
+        try {
+            sampler.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        sampler = null;
+        synchronized (this) {
+            flush();
+            if (buffer != null) {
+                buffer.force();
+            }
+        }
+    }
+
+    /**
+     * Aggregates the history of a time range ending now. The coarsest data needed is used:
+     * seconds for up to an hour, minutes for up to a day and hours beyond that.
+     *
+     * @param rangeSeconds The length of the range.
+     *
+     * @return The aggregated values.
+     */
+    public Summary summarize(long rangeSeconds) {
+        long now = System.currentTimeMillis() / 1000L;
+        return convert(summarize(tierFor(rangeSeconds), now - rangeSeconds, now));
+    }
+
+    /**
+     * Splits a time range ending now into columns of equal length and aggregates each of them,
+     * e.g. to draw a sparkline. Columns are computed from the tier matching the range, never
+     * from the raw samples of a longer range.
+     *
+     * @param rangeSeconds The length of the range.
+     * @param columns      The number of columns.
+     *
+     * @return The aggregated values per column, oldest first.
+     */
+    public Summary[] columns(long rangeSeconds, int columns) {
+        HistoryTier tier = tierFor(rangeSeconds);
+        long now = System.currentTimeMillis() / 1000L;
+        long start = now - rangeSeconds;
+        Summary[] result = new Summary[columns];
+        for (int column = 0; column < columns; column++) {
+            long from = start + rangeSeconds * column / columns;
+            long to = start + rangeSeconds * (column + 1) / columns;
+            result[column] = convert(summarize(tier, from, Math.max(to, from + tier.resolutionSeconds())));
+        }
+        return result;
+    }
+
+    private HistoryTier tierFor(long rangeSeconds) {
+        for (HistoryTier tier : tiers) {
+            if (rangeSeconds <= tier.spanSeconds()) {
+                return tier;
+            }
+        }
+        return hours;
+    }
+
+    private synchronized HistoryTier.Summary summarize(HistoryTier tier, long fromSecond, long toSecond) {
+        return tier.summarize(fromSecond, toSecond);
+    }
+
+    private static Summary convert(HistoryTier.Summary summary) {
+        return new Summary(summary.samples(), summary.tpsMin(), summary.tpsAvg(), summary.tpsMax(),
+                summary.msptMin(), summary.msptAvg(), summary.msptMax());
+    }
+
+    private void sample() {
+        long nowNanos = System.nanoTime();
+        long tickCount = tickMonitor.getTickCount();
+        double elapsedSeconds = (nowNanos - lastSampleNanos) / 1_000_000_000.0;
+        float tps = (float) Math.min(MAX_TPS, (tickCount - lastTickCount) / elapsedSeconds);
+        float mspt = (float) tickMonitor.getAverageBusyMillis();
+        lastTickCount = tickCount;
+        lastSampleNanos = nowNanos;
+
+        long epochSecond = System.currentTimeMillis() / 1000L;
+        synchronized (this) {
+            for (HistoryTier tier : tiers) {
+                tier.add(epochSecond, tps, mspt);
+            }
+            if (++samplesSinceFlush >= FLUSH_INTERVAL_SECONDS) {
+                flush();
+            }
+        }
+    }
+
+    private void map() throws IOException {
+        int size = HEADER_BYTES;
+        for (HistoryTier tier : tiers) {
+            size += HistoryTier.bytes((int) (tier.spanSeconds() / tier.resolutionSeconds()));
+        }
+
+        Files.createDirectories(file.getParent());
+        boolean compatible = Files.exists(file) && Files.size(file) == size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        synchronized (this) {
+            if (compatible && buffer.getInt(0) == MAGIC && buffer.getInt(Integer.BYTES) == VERSION) {
+                int offset = HEADER_BYTES;
+                for (HistoryTier tier : tiers) {
+                    tier.readFrom(buffer, offset);
+                    offset += HistoryTier.bytes((int) (tier.spanSeconds() / tier.resolutionSeconds()));
+                }
+            } else {
+                buffer.putInt(0, MAGIC).putInt(Integer.BYTES, VERSION);
+                flush();
+            }
+        }
+    }
+
+    private void flush() {
+        samplesSinceFlush = 0;
+        if (buffer == null) {
+            return;
+        }
+        int offset = HEADER_BYTES;
+        for (HistoryTier tier : tiers) {
+            tier.writeTo(buffer, offset);
+            offset += HistoryTier.bytes((int) (tier.spanSeconds() / tier.resolutionSeconds()));
+        }
+    }
+}
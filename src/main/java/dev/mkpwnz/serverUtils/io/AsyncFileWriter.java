@@ -0,0 +1,74 @@
+package dev.mkpwnz.serverUtils.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes text files through an {@link AsynchronousFileChannel}, so callers never block
+ * on disk I/O. Partial writes are continued until the whole content has been written.
+ */
+public final class AsyncFileWriter {
+
+    private AsyncFileWriter() {
+    }
+
+    /**
+     * Writes the given content to the file, replacing any existing content. Missing parent
+     * directories are created.
+     *
+     * @param file    The target file.
+     * @param content The text to write, encoded as UTF-8.
+     *
+     * @return A future that completes with the written path, or exceptionally if the file
+     * could not be written.
+     */
+    public static CompletableFuture<Path> write(Path file, CharSequence content) {
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        AsynchronousFileChannel channel;
+        try {
+            Files.createDirectories(file.getParent());
+            channel = AsynchronousFileChannel.open(file,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(content.toString());
+        channel.write(buffer, 0L, 0L, new CompletionHandler<>() {
+            @Override
+            public void completed(Integer written, Long position) {
+                long next = position + written;
+                if (buffer.hasRemaining()) {
+                    channel.write(buffer, next, next, this);
+                    return;
+                }
+                close();
+                future.complete(file);
+            }
+
+            @Override
+            public void failed(Throwable exc, Long position) {
+                close();
+                future.completeExceptionally(exc);
+            }
+
+            private void close() {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+        });
+        return future;
+    }
+}
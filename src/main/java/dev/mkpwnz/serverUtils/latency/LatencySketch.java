@@ -0,0 +1,119 @@
+package dev.mkpwnz.serverUtils.latency;
+
+import java.util.Arrays;
+
+/**
+ * A streaming quantile sketch for latencies in milliseconds, following the DDSketch scheme:
+ * values are counted in logarithmically sized buckets, so every quantile is answered with a
+ * relative error of at most {@link #RELATIVE_ACCURACY}, regardless of how many values were
+ * added.
+ * <p>
+ * The bucket range is fixed (1 ms up to about 65 seconds, larger values are counted in the
+ * last bucket), so a sketch always occupies the same small amount of memory and two sketches
+ * can be merged by adding their counters. The sketch is not thread-safe.
+ */
+public final class LatencySketch {
+    /**
+     * The maximum relative error of the values returned by {@link #quantile(double)}.
+     */
+    public static final double RELATIVE_ACCURACY = 0.02;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final int MAX_MILLIS = 65_535;
+    private static final int BUCKETS = index(MAX_MILLIS) + 1;
+
+    // Bucket i zählt die Werte in (GAMMA^(i-1), GAMMA^i], Werte <= 0 werden separat gezählt
+    private final int[] buckets = new int[BUCKETS];
+    private int zeroCount;
+    private long count;
+    private int max;
+
+    /**
+     * Adds a latency to the sketch.
+     *
+     * @param millis The latency in milliseconds. Negative values are counted as zero.
+     */
+    public void add(int millis) {
+        if (millis <= 0) {
+            zeroCount++;
+        } else {
+            buckets[index(Math.min(millis, MAX_MILLIS))]++;
+            max = Math.max(max, millis);
+        }
+        count++;
+    }
+
+    /**
+     * Adds all values counted by another sketch to this sketch.
+     *
+     * @param other The sketch to merge into this one.
+     */
+    public void merge(LatencySketch other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] += other.buckets[i];
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Removes all values from the sketch.
+     */
+    public void clear() {
+        Arrays.fill(buckets, 0);
+        zeroCount = 0;
+        count = 0;
+        max = 0;
+    }
+
+    /**
+     * Retrieves the number of values added to the sketch.
+     *
+     * @return The number of values.
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Retrieves the largest value added to the sketch.
+     *
+     * @return The largest value in milliseconds, or 0 if the sketch is empty.
+     */
+    public int max() {
+        return max;
+    }
+
+    /**
+     * Estimates a quantile of the values added to the sketch.
+     *
+     * @param q The quantile, between 0 and 1 (e.g. 0.95 for the 95th percentile).
+     *
+     * @return The estimated value in milliseconds, or 0 if the sketch is empty.
+     */
+    public double quantile(double q) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) (Math.max(0.0, Math.min(1.0, q)) * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+
+        long seen = zeroCount;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen > rank) {
+                // Mittelwert der Bucket-Grenzen, damit der relative Fehler in beide Richtungen gleich ist
+                return Math.min(max, 2 * Math.pow(GAMMA, i) / (GAMMA + 1));
+            }
+        }
+        return max;
+    }
+
+    private static int index(int millis) {
+        return (int) Math.ceil(Math.log(millis) / LOG_GAMMA);
+    }
+}
@@ -0,0 +1,291 @@
+package dev.mkpwnz.serverUtils.latency;
+
+import dev.mkpwnz.api.scheduler.ServerThreads;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.net.Inet4Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the ping of every online player at a fixed interval into {@link LatencySketch}es,
+ * so staff can tell a player's connection problems apart from server lag.
+ * <p>
+ * Every player has a sketch covering the current session, which is dropped when the player
+ * quits, or in the next sampling round if a concurrent round recreated it. In addition, all samples are counted in a global sketch and, depending on the
+ * configured {@link GroupBy}, in one sketch per connection group. These aggregates only cover
+ * the last one or two windows, so old samples do not hide a current problem.
+ * <p>
+ * All methods must be called on the main thread, or on Folia on the global region thread,
+ * which also samples. The per-player maps are concurrent, since Folia fires the login and quit
+ * events on other threads.
+ */
+public class LatencyTracker implements Listener {
+    private static final int MAX_GROUPS = 64;
+    private static final String OTHER_GROUP = "other";
+
+    private final JavaPlugin plugin;
+    private final long intervalTicks;
+    private final int samplesPerWindow;
+    private final GroupBy groupBy;
+
+    private final Map<UUID, LatencySketch> players = new ConcurrentHashMap<>();
+    private final Map<UUID, String> playerGroups = new ConcurrentHashMap<>();
+    private final Window global = new Window();
+    private final Map<String, Window> groups = new HashMap<>();
+    private int samplesInWindow;
+    private ServerThreads.Task task;
+
+    /**
+     * How the aggregate sketches are grouped in addition to the global one.
+     */
+    public enum GroupBy {
+        /**
+         * Only the global aggregate is kept.
+         */
+        NONE,
+        /**
+         * One aggregate per hostname the players connected with, e.g. regional proxy addresses.
+         */
+        HOST,
+        /**
+         * One aggregate per network of the players' addresses (/24 for IPv4, /48 for IPv6).
+         */
+        NETWORK
+    }
+
+    /**
+     * The percentiles of a sketch at the time it was queried.
+     *
+     * @param samples The number of samples the percentiles are based on.
+     * @param p50     The median ping in milliseconds.
+     * @param p95     The 95th percentile in milliseconds.
+     * @param p99     The 99th percentile in milliseconds.
+     * @param max     The highest ping in milliseconds.
+     */
+    public record Summary(long samples, double p50, double p95, double p99, int max) {
+        private static Summary of(LatencySketch sketch) {
+            return new Summary(sketch.count(), sketch.quantile(0.5), sketch.quantile(0.95),
+                    sketch.quantile(0.99), sketch.max());
+        }
+    }
+
+    /**
+     * Creates a new tracker.
+     *
+     * @param plugin          The plugin to register the listener and the sampling task for.
+     * @param intervalSeconds The interval between two samples of every player.
+     * @param windowMinutes   The length of a window of the aggregate sketches.
+     * @param groupBy         How the aggregate sketches are grouped.
+     */
+    public LatencyTracker(JavaPlugin plugin, int intervalSeconds, int windowMinutes, GroupBy groupBy) {
+        this.plugin = plugin;
+        this.intervalTicks = Math.max(1, intervalSeconds) * 20L;
+        this.samplesPerWindow = (int) Math.max(1, Math.max(1, windowMinutes) * 60L / Math.max(1, intervalSeconds));
+        this.groupBy = groupBy;
+    }
+
+    /**
+     * Registers the quit listener and starts sampling.
+     */
+    public void start() {
+        if (task != null) {
+            return;
+        }
+        plugin.getServer().getPluginManager().registerEvents(this, plugin);
+        task = ServerThreads.of(plugin).runGlobalTimer(this::sample, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Stops sampling and drops all sketches.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        HandlerList.unregisterAll(this);
+        players.clear();
+        playerGroups.clear();
+        groups.clear();
+        global.clear();
+    }
+
+    /**
+     * Retrieves the percentiles of a player's ping during the current session.
+     *
+     * @param uniqueId The UUID of the player.
+     *
+     * @return The percentiles, or {@code null} if the player was not sampled yet.
+     */
+    public Summary getPlayer(UUID uniqueId) {
+        LatencySketch sketch = players.get(uniqueId);
+        return sketch != null ? Summary.of(sketch) : null;
+    }
+
+    /**
+     * Retrieves the percentiles of the ping of all players during the last windows.
+     *
+     * @return The percentiles.
+     */
+    public Summary getGlobal() {
+        return Summary.of(global.merged());
+    }
+
+    /**
+     * Retrieves the percentiles per connection group during the last windows.
+     *
+     * @return The percentiles by group name, sorted by name. Empty if grouping is disabled.
+     */
+    public Map<String, Summary> getGroups() {
+        Map<String, Summary> result = new TreeMap<>();
+        groups.forEach((name, window) -> result.put(name, Summary.of(window.merged())));
+        return result;
+    }
+
+    /**
+     * Retrieves how the aggregate sketches are grouped.
+     *
+     * @return The grouping.
+     */
+    public GroupBy getGroupBy() {
+        return groupBy;
+    }
+
+    /**
+     * Retrieves the length of the period the aggregate sketches cover at most.
+     *
+     * @return The length in seconds.
+     */
+    public long getWindowSeconds() {
+        return 2L * samplesPerWindow * intervalTicks / 20L;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        if (groupBy == GroupBy.HOST && event.getHostname() != null) {
+            String host = event.getHostname();
+            int port = host.lastIndexOf(':');
+            playerGroups.put(event.getPlayer().getUniqueId(),
+                    (port > 0 ? host.substring(0, port) : host).toLowerCase(Locale.ROOT));
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        players.remove(event.getPlayer().getUniqueId());
+        playerGroups.remove(event.getPlayer().getUniqueId());
+    }
+
+    private void sample() {
+        Set<UUID> sampled = new HashSet<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            sampled.add(player.getUniqueId());
+            int ping = player.getPing();
+            // Direkt nach dem Login ist noch kein Ping gemessen
+            if (ping < 0) {
+                continue;
+            }
+            players.computeIfAbsent(player.getUniqueId(), id -> new LatencySketch()).add(ping);
+            global.add(ping);
+
+            String group = groupOf(player);
+            if (group != null) {
+                Window window = groups.get(group);
+                if (window == null) {
+                    group = groups.size() < MAX_GROUPS ? group : OTHER_GROUP;
+                    window = groups.computeIfAbsent(group, name -> new Window());
+                }
+                window.add(ping);
+            }
+        }
+
+        if (++samplesInWindow >= samplesPerWindow) {
+            samplesInWindow = 0;
+            global.rotate();
+            groups.values().removeIf(Window::rotate);
+        }
+
+        // Auf Folia kann ein Spieler während der Runde gehen; seine Einträge entstehen dann
+        // nach dem Quit neu und werden spätestens in der nächsten Runde entfernt
+        players.keySet().retainAll(sampled);
+        if (groupBy == GroupBy.NETWORK) {
+            playerGroups.keySet().retainAll(sampled);
+        }
+    }
+
+    private String groupOf(Player player) {
+        return switch (groupBy) {
+            case NONE -> null;
+            case HOST -> playerGroups.get(player.getUniqueId());
+            case NETWORK -> playerGroups.computeIfAbsent(player.getUniqueId(), id -> network(player.getAddress()));
+        };
+    }
+
+    private static String network(InetSocketAddress socketAddress) {
+        if (socketAddress == null || socketAddress.getAddress() == null) {
+            return null;
+        }
+        InetAddress address = socketAddress.getAddress();
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            return (bytes[0] & 0xFF) + "." + (bytes[1] & 0xFF) + "." + (bytes[2] & 0xFF) + ".0/24";
+        }
+        return String.format("%x:%x:%x::/48", ((bytes[0] & 0xFF) << 8) | (bytes[1] & 0xFF),
+                ((bytes[2] & 0xFF) << 8) | (bytes[3] & 0xFF), ((bytes[4] & 0xFF) << 8) | (bytes[5] & 0xFF));
+    }
+
+    /**
+     * An aggregate over the current and the previous window, so it always covers between one
+     * and two window lengths.
+     */
+    private static final class Window {
+        private LatencySketch current = new LatencySketch();
+        private LatencySketch previous = new LatencySketch();
+
+        void add(int millis) {
+            current.add(millis);
+        }
+
+        LatencySketch merged() {
+            LatencySketch merged = new LatencySketch();
+            merged.merge(previous);
+            merged.merge(current);
+            return merged;
+        }
+
+        /**
+         * Starts a new window.
+         *
+         * @return Whether the aggregate is empty now, i.e. nothing was added in the last window.
+         */
+        boolean rotate() {
+            LatencySketch oldest = previous;
+            previous = current;
+            current = oldest;
+            current.clear();
+            return previous.count() == 0;
+        }
+
+        void clear() {
+            current.clear();
+            previous.clear();
+        }
+    }
+}
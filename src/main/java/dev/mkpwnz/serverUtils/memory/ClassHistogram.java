@@ -0,0 +1,218 @@
+package dev.mkpwnz.serverUtils.memory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A class histogram of the heap as printed by {@code GC.class_histogram}, stored as parallel
+ * primitive arrays ordered by the number of bytes, largest first.
+ * <p>
+ * A histogram of a large server has tens of thousands of rows; keeping them in arrays instead
+ * of one object per row keeps the previous snapshot cheap enough to hold on to for diffs.
+ */
+public final class ClassHistogram {
+    private final long timestamp;
+    private final String[] classNames;
+    private final long[] instances;
+    private final long[] bytes;
+    private final long totalInstances;
+    private final long totalBytes;
+    private Map<String, Integer> index;
+
+    /**
+     * The change of every class between two histograms, ordered by the growth in bytes,
+     * largest first. Classes that no longer exist are not included.
+     *
+     * @param classNames    The names of the classes.
+     * @param instanceDelta The change of the number of instances per class.
+     * @param byteDelta     The change of the number of bytes per class.
+     * @param totalBytes    The change of the total number of bytes.
+     * @param elapsedMillis The time between both histograms.
+     */
+    public record Delta(String[] classNames, long[] instanceDelta, long[] byteDelta, long totalBytes,
+                        long elapsedMillis) {
+        /**
+         * Retrieves the number of classes in the delta.
+         *
+         * @return The number of classes.
+         */
+        public int size() {
+            return classNames.length;
+        }
+    }
+
+    private ClassHistogram(long timestamp, String[] classNames, long[] instances, long[] bytes,
+                           long totalInstances, long totalBytes) {
+        this.timestamp = timestamp;
+        this.classNames = classNames;
+        this.instances = instances;
+        this.bytes = bytes;
+        this.totalInstances = totalInstances;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Parses the output of the {@code gcClassHistogram} diagnostic command, e.g.
+     * <pre>
+     *  num     #instances         #bytes  class name (module)
+     * -------------------------------------------------------
+     *    1:        104536       12873016  [B (java.base@21)
+     * Total        923451       61734880
+     * </pre>
+     *
+     * @param text      The output of the diagnostic command.
+     * @param timestamp The time the histogram was taken.
+     *
+     * @return The parsed histogram.
+     */
+    public static ClassHistogram parse(String text, long timestamp) {
+        int capacity = 256;
+        String[] names = new String[capacity];
+        long[] counts = new long[capacity];
+        long[] sizes = new long[capacity];
+        int size = 0;
+        long totalInstances = 0;
+        long totalBytes = 0;
+
+        for (String line : text.split("\n")) {
+            String[] tokens = line.trim().split("\\s+");
+            if (tokens.length >= 4 && tokens[0].endsWith(":")) {
+                if (size == capacity) {
+                    capacity *= 2;
+                    names = Arrays.copyOf(names, capacity);
+                    counts = Arrays.copyOf(counts, capacity);
+                    sizes = Arrays.copyOf(sizes, capacity);
+                }
+                try {
+                    counts[size] = Long.parseLong(tokens[1]);
+                    sizes[size] = Long.parseLong(tokens[2]);
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                names[size++] = tokens[3];
+            } else if (tokens.length == 3 && tokens[0].equals("Total")) {
+                totalInstances = Long.parseLong(tokens[1]);
+                totalBytes = Long.parseLong(tokens[2]);
+            }
+        }
+
+        return new ClassHistogram(timestamp, Arrays.copyOf(names, size), Arrays.copyOf(counts, size),
+                Arrays.copyOf(sizes, size), totalInstances, totalBytes);
+    }
+
+    /**
+     * Computes the change of every class since an earlier histogram.
+     *
+     * @param previous The earlier histogram.
+     *
+     * @return The delta, ordered by the growth in bytes.
+     */
+    public Delta diff(ClassHistogram previous) {
+        int size = classNames.length;
+        long[] instanceDelta = new long[size];
+        long[] byteDelta = new long[size];
+        for (int i = 0; i < size; i++) {
+            int before = previous.indexOf(classNames[i]);
+            instanceDelta[i] = instances[i] - (before >= 0 ? previous.instances[before] : 0);
+            byteDelta[i] = bytes[i] - (before >= 0 ? previous.bytes[before] : 0);
+        }
+
+        // Indizes nach Wachstum sortieren und die Arrays in dieser Reihenfolge umkopieren
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(byteDelta[b], byteDelta[a]));
+
+        String[] sortedNames = new String[size];
+        long[] sortedInstances = new long[size];
+        long[] sortedBytes = new long[size];
+        for (int i = 0; i < size; i++) {
+            sortedNames[i] = classNames[order[i]];
+            sortedInstances[i] = instanceDelta[order[i]];
+            sortedBytes[i] = byteDelta[order[i]];
+        }
+        return new Delta(sortedNames, sortedInstances, sortedBytes, totalBytes - previous.totalBytes,
+                timestamp - previous.timestamp);
+    }
+
+    private synchronized int indexOf(String className) {
+        if (index == null) {
+            index = new HashMap<>(classNames.length * 2);
+            for (int i = 0; i < classNames.length; i++) {
+                index.putIfAbsent(classNames[i], i);
+            }
+        }
+        return index.getOrDefault(className, -1);
+    }
+
+    /**
+     * Retrieves the time the histogram was taken.
+     *
+     * @return The timestamp in epoch milliseconds.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Retrieves the number of classes in the histogram.
+     *
+     * @return The number of rows.
+     */
+    public int size() {
+        return classNames.length;
+    }
+
+    /**
+     * Retrieves the name of the class in the given row.
+     *
+     * @param row The row, {@code 0} being the class with the most bytes.
+     *
+     * @return The class name as printed by the JVM, e.g. {@code [B} or {@code java.lang.String}.
+     */
+    public String getClassName(int row) {
+        return classNames[row];
+    }
+
+    /**
+     * Retrieves the number of instances of the class in the given row.
+     *
+     * @param row The row.
+     *
+     * @return The number of live instances.
+     */
+    public long getInstances(int row) {
+        return instances[row];
+    }
+
+    /**
+     * Retrieves the number of bytes occupied by the class in the given row.
+     *
+     * @param row The row.
+     *
+     * @return The shallow size of all instances in bytes.
+     */
+    public long getBytes(int row) {
+        return bytes[row];
+    }
+
+    /**
+     * Retrieves the total number of live instances.
+     *
+     * @return The number of instances of all classes.
+     */
+    public long getTotalInstances() {
+        return totalInstances;
+    }
+
+    /**
+     * Retrieves the total number of bytes occupied by live objects.
+     *
+     * @return The shallow size of all instances in bytes.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,151 @@
+package dev.mkpwnz.serverUtils.memory;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Takes class histograms of the heap through the {@code DiagnosticCommand} MBean and keeps
+ * the latest two, so the growth between them can be shown per class.
+ * <p>
+ * A histogram of live objects requires a full garbage collection and can take a second or
+ * more on large heaps; it must therefore never be taken on the main thread. Only one
+ * histogram is taken at a time.
+ * <p>
+ * Classes are attributed to the plugin whose class loader defined them. Histograms only
+ * contain class names, so each name is looked up once through a plugin class loader (which
+ * sees the classes of all plugins) and the result is cached.
+ */
+public class HeapInspector {
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+    private static final String NO_OWNER = "";
+
+    private final JavaPlugin plugin;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, String> owners = new ConcurrentHashMap<>();
+
+    private volatile ClassHistogram latest;
+    private volatile ClassHistogram previous;
+
+    /**
+     * Creates a new inspector.
+     *
+     * @param plugin The plugin whose class loader is used to resolve class names.
+     */
+    public HeapInspector(JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Takes a new histogram of live objects. The previous latest histogram becomes the base
+     * of the next {@link #getDelta()}. Must not be called on the main thread.
+     *
+     * @return The new histogram, or {@code null} if another histogram is being taken.
+     *
+     * @throws JMException If the diagnostic command is not available or fails.
+     */
+    public ClassHistogram takeHistogram() throws JMException {
+        if (!running.compareAndSet(false, true)) {
+            return null;
+        }
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            String text = (String) server.invoke(new ObjectName(DIAGNOSTIC_COMMAND), "gcClassHistogram",
+                    new Object[]{new String[0]}, new String[]{String[].class.getName()});
+            ClassHistogram histogram = ClassHistogram.parse(text, System.currentTimeMillis());
+            previous = latest;
+            latest = histogram;
+            return histogram;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Retrieves the latest histogram.
+     *
+     * @return The latest histogram, or {@code null} if none was taken yet.
+     */
+    public ClassHistogram getLatest() {
+        return latest;
+    }
+
+    /**
+     * Computes the growth between the latest two histograms.
+     *
+     * @return The delta, or {@code null} if fewer than two histograms were taken.
+     */
+    public ClassHistogram.Delta getDelta() {
+        ClassHistogram current = latest;
+        ClassHistogram before = previous;
+        return current != null && before != null ? current.diff(before) : null;
+    }
+
+    /**
+     * Creates a snapshot of the class loaders of all enabled plugins, to be passed to
+     * {@link #ownerOf(String, Map)}.
+     *
+     * @return A map from class loader to plugin name.
+     */
+    public Map<ClassLoader, String> pluginLoaders() {
+        Map<ClassLoader, String> loaders = new IdentityHashMap<>();
+        for (Plugin other : plugin.getServer().getPluginManager().getPlugins()) {
+            loaders.put(other.getClass().getClassLoader(), other.getName());
+        }
+        return loaders;
+    }
+
+    /**
+     * Determines the plugin that owns a class of the histogram. Array classes are attributed
+     * to their element class, lambdas and other hidden classes to their host class.
+     *
+     * @param className The class name as printed in the histogram.
+     * @param loaders   The class loaders of the plugins, see {@link #pluginLoaders()}.
+     *
+     * @return The name of the plugin, or {@code null} if the class belongs to the JDK or the
+     * server.
+     */
+    public String ownerOf(String className, Map<ClassLoader, String> loaders) {
+        String name = className;
+        int dimensions = 0;
+        while (dimensions < name.length() && name.charAt(dimensions) == '[') {
+            dimensions++;
+        }
+        if (dimensions > 0) {
+            // Primitive Arrays wie [B gehören der JVM, Objekt-Arrays haben die Form [Lname;
+            if (name.charAt(dimensions) != 'L' || !name.endsWith(";")) {
+                return null;
+            }
+            name = name.substring(dimensions + 1, name.length() - 1);
+        }
+        int hidden = name.indexOf("$$");
+        if (hidden < 0) {
+            hidden = name.indexOf('/');
+        }
+        if (hidden > 0) {
+            name = name.substring(0, hidden);
+        }
+        if (name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.")
+                || name.startsWith("sun.") || name.startsWith("com.sun.")) {
+            return null;
+        }
+
+        String owner = owners.computeIfAbsent(name, key -> {
+            try {
+                Class<?> type = Class.forName(key, false, plugin.getClass().getClassLoader());
+                return loaders.getOrDefault(type.getClassLoader(), NO_OWNER);
+            } catch (ClassNotFoundException | LinkageError e) {
+                return NO_OWNER;
+            }
+        });
+        return owner.isEmpty() ? null : owner;
+    }
+}
@@ -0,0 +1,224 @@
+package dev.mkpwnz.serverUtils.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import dev.mkpwnz.api.commands.CommandMetrics;
+import dev.mkpwnz.api.commands.CommandResult;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Serves metrics in the Prometheus text exposition format at {@code /metrics} on a localhost
+ * port.
+ * <p>
+ * Server state comes from the latest {@link MetricsSampler.Sample} and command statistics
+ * from {@link CommandMetrics}; JVM memory, GC and thread counts are read from the management
+ * beans. A scrape therefore never touches the Bukkit API and never waits for the main thread.
+ * Each request is handled on its own virtual thread.
+ */
+public class MetricsExporter {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final MetricsSampler sampler;
+    private final CommandMetrics commandMetrics;
+    private final int port;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a new exporter.
+     *
+     * @param sampler        The sampler providing the server state.
+     * @param commandMetrics The command statistics to export.
+     * @param port           The localhost port to listen on.
+     */
+    public MetricsExporter(MetricsSampler sampler, CommandMetrics commandMetrics, int port) {
+        this.sampler = sampler;
+        this.commandMetrics = commandMetrics;
+        this.port = port;
+    }
+
+    /**
+     * Starts listening for scrapes.
+     *
+     * @throws IOException If the port cannot be bound.
+     */
+    public void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/metrics", this::handle);
+        server.start();
+    }
+
+    /**
+     * Stops listening and waits briefly for running scrapes.
+     */
+    public void stop() {
+        if (server != null) {
+            server.stop(1);
+            server = null;
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    /**
+     * Renders all metrics in the Prometheus text format.
+     *
+     * @return The metrics text.
+     */
+    String render() {
+        StringBuilder text = new StringBuilder(4096);
+        renderServer(text);
+        renderCommands(text);
+        renderJvm(text);
+        return text.toString();
+    }
+
+    private void renderServer(StringBuilder text) {
+        MetricsSampler.Sample sample = sampler.getLatest();
+        if (sample == null) {
+            return;
+        }
+        header(text, "minecraft_tps", "gauge", "Estimated ticks per second");
+        text.append("minecraft_tps ").append(number(sample.tps())).append('\n');
+        header(text, "minecraft_mspt", "gauge", "Average busy time of a tick in milliseconds");
+        text.append("minecraft_mspt ").append(number(sample.mspt())).append('\n');
+        header(text, "minecraft_players_online", "gauge", "Online players");
+        text.append("minecraft_players_online ").append(sample.onlinePlayers()).append('\n');
+
+        if (!sample.worlds().isEmpty() && sample.worlds().getFirst().chunks() >= 0) {
+            header(text, "minecraft_world_chunks_loaded", "gauge", "Loaded chunks per world");
+            for (MetricsSampler.WorldSample world : sample.worlds()) {
+                text.append("minecraft_world_chunks_loaded{world=\"").append(escape(world.name())).append("\"} ")
+                        .append(world.chunks()).append('\n');
+            }
+            header(text, "minecraft_world_entities", "gauge", "Loaded entities per world");
+            for (MetricsSampler.WorldSample world : sample.worlds()) {
+                text.append("minecraft_world_entities{world=\"").append(escape(world.name())).append("\"} ")
+                        .append(world.entities()).append('\n');
+            }
+        }
+        header(text, "minecraft_world_players", "gauge", "Players per world");
+        for (MetricsSampler.WorldSample world : sample.worlds()) {
+            text.append("minecraft_world_players{world=\"").append(escape(world.name())).append("\"} ")
+                    .append(world.players()).append('\n');
+        }
+        header(text, "minecraft_sample_timestamp_seconds", "gauge", "Time of the latest server sample");
+        text.append("minecraft_sample_timestamp_seconds ").append(number(sample.timestampMillis() / 1000.0)).append('\n');
+    }
+
+    private void renderCommands(StringBuilder text) {
+        Map<String, CommandMetrics.Snapshot> snapshot = commandMetrics.snapshot();
+        CommandResult[] results = CommandResult.values();
+
+        header(text, "serverutils_command_dispatches_total", "counter", "Command dispatches by result");
+        snapshot.forEach((command, stats) -> {
+            for (CommandResult result : results) {
+                long count = stats.results()[result.ordinal()];
+                if (count > 0) {
+                    text.append("serverutils_command_dispatches_total{command=\"").append(escape(command))
+                            .append("\",result=\"").append(result.name().toLowerCase(Locale.ROOT)).append("\"} ")
+                            .append(count).append('\n');
+                }
+            }
+        });
+
+        header(text, "serverutils_command_duration_seconds", "histogram", "Command dispatch latency");
+        snapshot.forEach((command, stats) -> {
+            String label = escape(command);
+            for (int i = 0; i < CommandMetrics.BUCKET_BOUNDS_SECONDS.length; i++) {
+                text.append("serverutils_command_duration_seconds_bucket{command=\"").append(label)
+                        .append("\",le=\"").append(number(CommandMetrics.BUCKET_BOUNDS_SECONDS[i])).append("\"} ")
+                        .append(stats.buckets()[i]).append('\n');
+            }
+            text.append("serverutils_command_duration_seconds_bucket{command=\"").append(label)
+                    .append("\",le=\"+Inf\"} ").append(stats.count()).append('\n');
+            text.append("serverutils_command_duration_seconds_sum{command=\"").append(label).append("\"} ")
+                    .append(number(stats.sumSeconds())).append('\n');
+            text.append("serverutils_command_duration_seconds_count{command=\"").append(label).append("\"} ")
+                    .append(stats.count()).append('\n');
+        });
+    }
+
+    private void renderJvm(StringBuilder text) {
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        MemoryUsage nonHeap = ManagementFactory.getMemoryMXBean().getNonHeapMemoryUsage();
+        header(text, "jvm_memory_used_bytes", "gauge", "Used memory by area");
+        text.append("jvm_memory_used_bytes{area=\"heap\"} ").append(heap.getUsed()).append('\n');
+        text.append("jvm_memory_used_bytes{area=\"nonheap\"} ").append(nonHeap.getUsed()).append('\n');
+        header(text, "jvm_memory_committed_bytes", "gauge", "Committed memory by area");
+        text.append("jvm_memory_committed_bytes{area=\"heap\"} ").append(heap.getCommitted()).append('\n');
+        text.append("jvm_memory_committed_bytes{area=\"nonheap\"} ").append(nonHeap.getCommitted()).append('\n');
+        header(text, "jvm_memory_max_bytes", "gauge", "Maximum memory by area");
+        text.append("jvm_memory_max_bytes{area=\"heap\"} ").append(heap.getMax()).append('\n');
+
+        header(text, "jvm_memory_pool_used_bytes", "gauge", "Used memory by pool");
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            text.append("jvm_memory_pool_used_bytes{pool=\"").append(escape(pool.getName())).append("\"} ")
+                    .append(pool.getUsage().getUsed()).append('\n');
+        }
+
+        header(text, "jvm_gc_collections_total", "counter", "Garbage collections by collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            text.append("jvm_gc_collections_total{gc=\"").append(escape(gc.getName())).append("\"} ")
+                    .append(Math.max(0, gc.getCollectionCount())).append('\n');
+        }
+        header(text, "jvm_gc_collection_seconds_total", "counter", "Time spent in garbage collection by collector");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            text.append("jvm_gc_collection_seconds_total{gc=\"").append(escape(gc.getName())).append("\"} ")
+                    .append(number(Math.max(0, gc.getCollectionTime()) / 1000.0)).append('\n');
+        }
+
+        header(text, "jvm_threads_live", "gauge", "Live threads");
+        text.append("jvm_threads_live ").append(ManagementFactory.getThreadMXBean().getThreadCount()).append('\n');
+    }
+
+    private static void header(StringBuilder text, String name, String type, String help) {
+        text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String number(double value) {
+        return Double.toString(value);
+    }
+
+    // Label-Werte dürfen Backslash, Anführungszeichen und Zeilenumbrüche nur escaped enthalten
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,124 @@
+package dev.mkpwnz.serverUtils.metrics;
+
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import dev.mkpwnz.api.scheduler.ServerThreads;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Samples server state that may only be read on the main thread (players, chunks, entities)
+ * at a fixed interval and publishes it as an immutable {@link Sample}.
+ * <p>
+ * On Folia, sampling runs on the global region thread, which may not read the chunks and
+ * entities of the regions; their counts are reported as unknown there.
+ * <p>
+ * Readers on other threads, such as the {@link MetricsExporter}, only ever see the latest
+ * published sample and therefore never touch the Bukkit API themselves.
+ */
+public class MetricsSampler {
+    private final JavaPlugin plugin;
+    private final TickMonitor tickMonitor;
+    private final long intervalTicks;
+
+    private volatile Sample latest;
+    private ServerThreads.Task task;
+
+    /**
+     * The state of one world at the time of a sample.
+     *
+     * @param name     The name of the world.
+     * @param chunks   The number of loaded chunks, or {@code -1} if unknown.
+     * @param entities The number of loaded entities, or {@code -1} if unknown.
+     * @param players  The number of players in the world.
+     */
+    public record WorldSample(String name, int chunks, int entities, int players) {
+    }
+
+    /**
+     * The state of the server at the time of a sample.
+     *
+     * @param timestampMillis The time the sample was taken.
+     * @param tps             The estimated ticks per second, at most 20.
+     * @param mspt            The average busy time of a tick in milliseconds.
+     * @param onlinePlayers   The number of online players.
+     * @param worlds          The state of every loaded world.
+     */
+    public record Sample(long timestampMillis, double tps, double mspt, int onlinePlayers, List<WorldSample> worlds) {
+    }
+
+    /**
+     * Creates a new sampler.
+     *
+     * @param plugin          The plugin to schedule the sampling task for.
+     * @param tickMonitor     The monitor providing the tick length.
+     * @param intervalSeconds The interval between two samples.
+     */
+    public MetricsSampler(JavaPlugin plugin, TickMonitor tickMonitor, int intervalSeconds) {
+        this.plugin = plugin;
+        this.tickMonitor = tickMonitor;
+        this.intervalTicks = Math.max(1, intervalSeconds) * 20L;
+    }
+
+    /**
+     * Takes a first sample and starts sampling at the configured interval. Must be called on
+     * the main thread, or on Folia during startup.
+     */
+    public void start() {
+        if (task != null) {
+            return;
+        }
+        sample();
+        task = ServerThreads.of(plugin).runGlobalTimer(this::sample, intervalTicks, intervalTicks);
+    }
+
+    /**
+     * Stops sampling. The latest sample stays available.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Retrieves the latest sample. Safe to call from any thread.
+     *
+     * @return The latest sample, or {@code null} if the sampler was never started.
+     */
+    public Sample getLatest() {
+        return latest;
+    }
+
+    private void sample() {
+        List<World> worlds = Bukkit.getWorlds();
+        List<WorldSample> worldSamples = new ArrayList<>(worlds.size());
+        if (ServerThreads.isRegionized()) {
+            Map<World, Integer> players = new HashMap<>();
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                players.merge(player.getWorld(), 1, Integer::sum);
+            }
+            for (World world : worlds) {
+                worldSamples.add(new WorldSample(world.getName(), -1, -1, players.getOrDefault(world, 0)));
+            }
+        } else {
+            for (World world : worlds) {
+                worldSamples.add(new WorldSample(world.getName(), world.getLoadedChunks().length,
+                        world.getEntities().size(), world.getPlayers().size()));
+            }
+        }
+
+        double tickMillis = tickMonitor.getAverageTickMillis();
+        double tps = tickMillis > 0 ? Math.min(20.0, 1000.0 / tickMillis) : 20.0;
+        double mspt = tickMonitor.getAverageBusyMillis();
+        latest = new Sample(System.currentTimeMillis(), tps, mspt, Bukkit.getOnlinePlayers().size(),
+                List.copyOf(worldSamples));
+    }
+}
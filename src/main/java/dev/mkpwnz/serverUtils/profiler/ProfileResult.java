@@ -0,0 +1,48 @@
+package dev.mkpwnz.serverUtils.profiler;
+
+import java.nio.file.Path;
+
+/**
+ * Summarizes a finished profiling session.
+ *
+ * @param file               The file containing the collapsed stacks.
+ * @param samples            The number of sampling rounds taken.
+ * @param durationNanos      The wall-clock duration of the session in nanoseconds.
+ * @param nodes              The number of call-tree nodes that were aggregated.
+ * @param overheadNanos      The total time the sampler thread spent capturing and aggregating stacks.
+ * @param ticks              The number of ticks completed during the session.
+ * @param baselineTickMillis The average busy time of a tick right before the session.
+ * @param sessionTickMillis  The average busy time of a tick during the session.
+ */
+public record ProfileResult(Path file, long samples, long durationNanos, int nodes, long overheadNanos,
+                            long ticks, double baselineTickMillis, double sessionTickMillis) {
+
+    /**
+     * Retrieves the average cost of one sampling round.
+     *
+     * @return The average sampling cost in microseconds.
+     */
+    public double overheadPerSampleMicros() {
+        return samples == 0 ? 0.0 : overheadNanos / 1000.0 / samples;
+    }
+
+    /**
+     * Retrieves an upper bound of the time the main thread was paused per tick to capture
+     * stacks. A thread can only be held at a safepoint while a sampling round is in progress,
+     * so the pause never exceeds the time the sampler spent in the rounds of a tick.
+     *
+     * @return The maximum pause per tick in milliseconds.
+     */
+    public double maxPausePerTickMillis() {
+        return ticks == 0 ? 0.0 : overheadNanos / 1_000_000.0 / ticks;
+    }
+
+    /**
+     * Retrieves the share of one CPU core that was spent by the sampler thread.
+     *
+     * @return The sampler's CPU share in percent.
+     */
+    public double overheadPercent() {
+        return durationNanos == 0 ? 0.0 : overheadNanos * 100.0 / durationNanos;
+    }
+}
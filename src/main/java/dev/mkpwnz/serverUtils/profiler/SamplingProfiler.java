@@ -0,0 +1,219 @@
+package dev.mkpwnz.serverUtils.profiler;
+
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A sampling profiler that periodically captures thread stacks through the
+ * {@link ThreadMXBean} and writes them as collapsed stacks for flame graph tools.
+ * <p>
+ * Sampling, aggregation and writing all happen on a dedicated daemon thread. The main thread
+ * is only affected by the safepoint required to capture its stack. Instead of assuming a
+ * fixed overhead, every session measures it and reports it in the {@link ProfileResult}:
+ * <ul>
+ *     <li>the time the sampler thread spent per sampling round,</li>
+ *     <li>an upper bound of the time the main thread was paused per tick, since it can only be
+ *     held at a safepoint while a sampling round is in progress,</li>
+ *     <li>the average busy time of a tick before and during the session, as measured by the
+ *     {@link TickMonitor}.</li>
+ * </ul>
+ */
+public class SamplingProfiler {
+    public static final long DEFAULT_INTERVAL_MILLIS = 10L;
+
+    private static final int MAX_NODES = 1_000_000;
+    private static final long THREAD_REFRESH_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final DateTimeFormatter FILE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    private final TickMonitor tickMonitor;
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    private final Path profileFolder;
+
+    private volatile Session session;
+
+    /**
+     * Constructs a new SamplingProfiler.
+     *
+     * @param plugin      The plugin owning the profiler, used for the data folder.
+     * @param tickMonitor The monitor providing the main thread, which is sampled by default.
+     */
+    public SamplingProfiler(JavaPlugin plugin, TickMonitor tickMonitor) {
+        this.tickMonitor = tickMonitor;
+        this.profileFolder = plugin.getDataFolder().toPath().resolve("profiles");
+    }
+
+    /**
+     * Starts a new profiling session.
+     *
+     * @param intervalMillis The delay between two samples in milliseconds.
+     * @param threadFilter   A case-insensitive part of the names of the threads to sample,
+     *                       or {@code null} to sample only the main thread.
+     *
+     * @return {@code true} if the session was started; {@code false} if a session is already running.
+     */
+    public synchronized boolean start(long intervalMillis, String threadFilter) {
+        if (session != null) {
+            return false;
+        }
+        session = new Session(TimeUnit.MILLISECONDS.toNanos(Math.max(1L, intervalMillis)),
+                threadFilter == null ? null : threadFilter.toLowerCase(Locale.ROOT));
+        session.thread.start();
+        return true;
+    }
+
+    /**
+     * Stops the running session. The collected stacks are written on the sampler thread.
+     *
+     * @return A future completing with the result once the file has been written, or
+     * {@code null} if no session is running.
+     */
+    public synchronized CompletableFuture<ProfileResult> stop() {
+        Session current = session;
+        if (current == null) {
+            return null;
+        }
+        session = null;
+        current.running = false;
+        LockSupport.unpark(current.thread);
+        return current.result;
+    }
+
+    /**
+     * Determines whether a profiling session is running.
+     *
+     * @return {@code true} if the profiler is currently sampling.
+     */
+    public boolean isRunning() {
+        return session != null;
+    }
+
+    /**
+     * A single profiling session, owning the sampler thread and its call tree.
+     */
+    private final class Session implements Runnable {
+        private final long intervalNanos;
+        private final String threadFilter;
+        private final Thread thread;
+        private final StackTrie trie = new StackTrie(MAX_NODES);
+        private final CompletableFuture<ProfileResult> result = new CompletableFuture<>();
+
+        private final double baselineTickMillis;
+        private final long startTickCount;
+        private final long startBusyNanos;
+
+        private volatile boolean running = true;
+        private long[] threadIds = new long[0];
+
+        private Session(long intervalNanos, String threadFilter) {
+            this.intervalNanos = intervalNanos;
+            this.threadFilter = threadFilter;
+            this.baselineTickMillis = tickMonitor.getAverageBusyMillis();
+            this.startTickCount = tickMonitor.getTickCount();
+            this.startBusyNanos = tickMonitor.getTotalBusyNanos();
+            this.thread = Thread.ofPlatform()
+                    .name("ServerUtils-Profiler")
+                    .daemon(true)
+                    .unstarted(this);
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            long nextSample = startedAt;
+            long nextRefresh = startedAt;
+            long samples = 0;
+            long overhead = 0;
+
+            try {
+                while (running) {
+                    long now = System.nanoTime();
+                    if (now >= nextRefresh) {
+                        refreshThreads();
+                        nextRefresh = now + THREAD_REFRESH_NANOS;
+                    }
+
+                    ThreadInfo[] infos = threadMXBean.getThreadInfo(threadIds, Integer.MAX_VALUE);
+                    for (ThreadInfo info : infos) {
+                        if (info != null) {
+                            trie.add(info.getThreadName(), info.getStackTrace());
+                        }
+                    }
+                    samples++;
+                    overhead += System.nanoTime() - now;
+
+                    nextSample += intervalNanos;
+                    long delay = nextSample - System.nanoTime();
+                    if (delay > 0) {
+                        LockSupport.parkNanos(this, delay);
+                    } else {
+                        nextSample = System.nanoTime();
+                    }
+                }
+
+                long duration = System.nanoTime() - startedAt;
+                long ticks = tickMonitor.getTickCount() - startTickCount;
+                double sessionTickMillis = ticks == 0 ? 0.0
+                        : (tickMonitor.getTotalBusyNanos() - startBusyNanos) / 1_000_000.0 / ticks;
+                Path file = write();
+                result.complete(new ProfileResult(file, samples, duration, trie.size(), overhead,
+                        ticks, baselineTickMillis, sessionTickMillis));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        /**
+         * Re-resolves the sampled threads, so threads started during the session are included.
+         */
+        private void refreshThreads() {
+            if (threadFilter == null) {
+                Thread mainThread = tickMonitor.getMainThread();
+                threadIds = mainThread == null ? new long[0] : new long[]{mainThread.threadId()};
+                return;
+            }
+
+            long self = Thread.currentThread().threadId();
+            long[] allIds = threadMXBean.getAllThreadIds();
+            ThreadInfo[] infos = threadMXBean.getThreadInfo(allIds, 0);
+            long[] matching = new long[allIds.length];
+            int count = 0;
+            for (ThreadInfo info : infos) {
+                if (info != null && info.getThreadId() != self &&
+                        info.getThreadName().toLowerCase(Locale.ROOT).contains(threadFilter)) {
+                    matching[count++] = info.getThreadId();
+                }
+            }
+            threadIds = Arrays.copyOf(matching, count);
+        }
+
+        private Path write() throws IOException {
+            Files.createDirectories(profileFolder);
+            Path file = profileFolder.resolve("profile-" + LocalDateTime.now().format(FILE_FORMAT) + ".collapsed");
+            try (FileChannel channel = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 BufferedWriter writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 64 * 1024)) {
+                trie.writeCollapsed(writer);
+            }
+            return file;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package dev.mkpwnz.serverUtils.profiler;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregates sampled stacks into a call tree whose nodes reference interned frame labels.
+ * <p>
+ * Every distinct frame ({@code class.method}) is stored once, and every distinct call path
+ * is stored once as a node holding only primitive values. Memory therefore grows with the
+ * number of distinct call paths, not with the number of samples, and is additionally capped
+ * by {@code maxNodes}: once the cap is reached, samples are attributed to the deepest path
+ * that already exists, and no further labels are interned. The cache of frames (which differ
+ * by line number as well) holds at most {@code maxNodes} entries.
+ * <p>
+ * Instances are not thread-safe and are only accessed by the sampler thread.
+ */
+final class StackTrie {
+    private static final int ROOT = 0;
+    private static final long EMPTY = -1L;
+    private static final int NO_LABEL = -1;
+
+    private final int maxNodes;
+
+    private final Map<StackTraceElement, Integer> elementLabels = new HashMap<>();
+    private final Map<String, Integer> labelIds = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+
+    private int[] nodeLabel = new int[1024];
+    private int[] nodeParent = new int[1024];
+    private long[] nodeSamples = new long[1024];
+    private int nodeCount = 1;
+
+    private long[] childKeys;
+    private int[] childNodes;
+    private int childCount;
+
+    StackTrie(int maxNodes) {
+        this.maxNodes = maxNodes;
+        this.childKeys = new long[2048];
+        this.childNodes = new int[2048];
+        Arrays.fill(childKeys, EMPTY);
+        nodeParent[ROOT] = -1;
+    }
+
+    /**
+     * Adds one sample of the given thread's stack.
+     *
+     * @param threadName The name of the sampled thread, used as the outermost frame.
+     * @param frames     The sampled frames, innermost frame first.
+     */
+    void add(String threadName, StackTraceElement[] frames) {
+        int node = child(ROOT, label(threadName));
+        if (node < 0) {
+            return;
+        }
+        for (int i = frames.length - 1; i >= 0; i--) {
+            int next = child(node, label(frames[i]));
+            if (next < 0) {
+                break;
+            }
+            node = next;
+        }
+        nodeSamples[node]++;
+    }
+
+    /**
+     * Retrieves the number of call-tree nodes currently in use.
+     *
+     * @return The node count, including the root node.
+     */
+    int size() {
+        return nodeCount;
+    }
+
+    /**
+     * Writes the call tree in the collapsed-stack format understood by flame graph tools:
+     * one line per call path, frames separated by {@code ;}, followed by the sample count.
+     *
+     * @param out The writer receiving the collapsed stacks.
+     *
+     * @throws IOException If writing fails.
+     */
+    void writeCollapsed(Writer out) throws IOException {
+        int[] path = new int[64];
+        StringBuilder line = new StringBuilder(256);
+
+        for (int node = 1; node < nodeCount; node++) {
+            if (nodeSamples[node] == 0) {
+                continue;
+            }
+
+            int depth = 0;
+            for (int current = node; current != ROOT; current = nodeParent[current]) {
+                if (depth == path.length) {
+                    path = Arrays.copyOf(path, depth * 2);
+                }
+                path[depth++] = nodeLabel[current];
+            }
+
+            line.setLength(0);
+            for (int i = depth - 1; i >= 0; i--) {
+                line.append(labels.get(path[i]));
+                if (i > 0) {
+                    line.append(';');
+                }
+            }
+            line.append(' ').append(nodeSamples[node]).append('\n');
+            out.append(line);
+        }
+    }
+
+    private int label(StackTraceElement element) {
+        Integer id = elementLabels.get(element);
+        if (id != null) {
+            return id;
+        }
+        int label = label(element.getClassName() + "." + element.getMethodName());
+        if (label != NO_LABEL && elementLabels.size() < maxNodes) {
+            elementLabels.put(element, label);
+        }
+        return label;
+    }
+
+    /**
+     * Interns a frame label.
+     *
+     * @return The label ID, or {@link #NO_LABEL} if the label is new and the node limit has been
+     * reached, since no node could reference it.
+     */
+    private int label(String name) {
+        Integer id = labelIds.get(name);
+        if (id == null) {
+            if (nodeCount >= maxNodes) {
+                return NO_LABEL;
+            }
+            id = labels.size();
+            labels.add(name);
+            labelIds.put(name, id);
+        }
+        return id;
+    }
+
+    /**
+     * Finds or creates the child of {@code parent} for the given frame label.
+     *
+     * @return The child node, or {@code -1} if the node limit has been reached.
+     */
+    private int child(int parent, int label) {
+        if (label == NO_LABEL) {
+            return -1;
+        }
+        long key = ((long) parent << 32) | (label & 0xFFFFFFFFL);
+        int mask = childKeys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+
+        while (childKeys[slot] != EMPTY) {
+            if (childKeys[slot] == key) {
+                return childNodes[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (nodeCount >= maxNodes) {
+            return -1;
+        }
+
+        int node = nodeCount++;
+        if (node == nodeLabel.length) {
+            int capacity = node * 2;
+            nodeLabel = Arrays.copyOf(nodeLabel, capacity);
+            nodeParent = Arrays.copyOf(nodeParent, capacity);
+            nodeSamples = Arrays.copyOf(nodeSamples, capacity);
+        }
+        nodeLabel[node] = label;
+        nodeParent[node] = parent;
+
+        childKeys[slot] = key;
+        childNodes[slot] = node;
+        if (++childCount * 2 > childKeys.length) {
+            rehash();
+        }
+        return node;
+    }
+
+    private void rehash() {
+        long[] oldKeys = childKeys;
+        int[] oldNodes = childNodes;
+        childKeys = new long[oldKeys.length * 2];
+        childNodes = new int[oldKeys.length * 2];
+        Arrays.fill(childKeys, EMPTY);
+
+        int mask = childKeys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY) {
+                continue;
+            }
+            int slot = Long.hashCode(oldKeys[i] * 0x9E3779B97F4A7C15L) & mask;
+            while (childKeys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            childKeys[slot] = oldKeys[i];
+            childNodes[slot] = oldNodes[i];
+        }
+    }
+}
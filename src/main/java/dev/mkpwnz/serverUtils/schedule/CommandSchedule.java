@@ -0,0 +1,311 @@
+package dev.mkpwnz.serverUtils.schedule;
+
+import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.scheduler.CronExpression;
+import dev.mkpwnz.api.scheduler.ServerThreads;
+import dev.mkpwnz.api.scheduler.TimingWheel;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs console commands on cron schedules read from the {@code schedule} section of the
+ * configuration.
+ * <p>
+ * All entries share one {@link TimingWheel} with a resolution of one second, advanced by a
+ * single repeating task, instead of one Bukkit task per entry. After each run the next fire
+ * time is computed from the previous one. Commands registered with the {@link CommandManager}
+ * are dispatched through it as the console; all other commands go through Bukkit.
+ * <p>
+ * A run that fires more than the configured grace period late (e.g. after a lag spike or a
+ * server freeze) counts as missed and is handled according to its {@link CatchUp} policy.
+ */
+public class CommandSchedule {
+    private static final long TICK_MILLIS = 1000L;
+    private static final int MAX_CATCH_UP_RUNS = 100;
+
+    private final JavaPlugin plugin;
+    private final CommandManager commandManager;
+    private final Map<String, ScheduledEntry> entries = new LinkedHashMap<>();
+
+    private TimingWheel<ScheduledEntry> wheel;
+    private ServerThreads.Task task;
+    private ZoneId zone = ZoneId.systemDefault();
+    private long graceMillis;
+
+    /**
+     * How to handle runs that were missed because the server was lagging or frozen.
+     */
+    public enum CatchUp {
+        /**
+         * Missed runs are dropped; the entry continues with its next regular run.
+         */
+        SKIP,
+        /**
+         * All missed runs are coalesced into a single run.
+         */
+        ONCE,
+        /**
+         * Every missed run is executed, up to a limit of 100
+         * in a row.
+         */
+        ALL
+    }
+
+    /**
+     * The state of a schedule entry.
+     *
+     * @param name        The name of the entry in the configuration.
+     * @param cron        The schedule of the entry.
+     * @param command     The command line, without a leading slash.
+     * @param catchUp     The policy for missed runs.
+     * @param nextRun     The next planned run in epoch milliseconds, or {@code -1} if there is none.
+     * @param lastRun     The last run in epoch milliseconds, or {@code -1} if it never ran.
+     * @param runs        The number of runs since the schedule was loaded.
+     * @param missedRuns  The number of runs that were skipped because they were missed.
+     */
+    public record Status(String name, CronExpression cron, String command, CatchUp catchUp, long nextRun,
+                         long lastRun, int runs, int missedRuns) {
+    }
+
+    private static final class ScheduledEntry {
+        private final String name;
+        private final CronExpression cron;
+        private final String command;
+        private final CatchUp catchUp;
+        private TimingWheel.Timeout<ScheduledEntry> timeout;
+        private long nextRun = -1;
+        private long lastRun = -1;
+        private int runs;
+        private int missedRuns;
+        private int catchUpRuns;
+
+        private ScheduledEntry(String name, CronExpression cron, String command, CatchUp catchUp) {
+            this.name = name;
+            this.cron = cron;
+            this.command = command;
+            this.catchUp = catchUp;
+        }
+    }
+
+    /**
+     * Creates a new, empty schedule.
+     *
+     * @param plugin         The plugin used to schedule the repeating task.
+     * @param commandManager The manager dispatching commands registered with it.
+     */
+    public CommandSchedule(JavaPlugin plugin, CommandManager commandManager) {
+        this.plugin = plugin;
+        this.commandManager = commandManager;
+    }
+
+    /**
+     * Replaces all entries with the ones of the given configuration section and plans their
+     * next runs. Invalid entries are logged and skipped. Must be called on the main thread.
+     *
+     * @param section The {@code schedule} section of the configuration, or {@code null}.
+     *
+     * @return The number of loaded entries.
+     */
+    public int load(ConfigurationSection section) {
+        for (ScheduledEntry entry : entries.values()) {
+            if (entry.timeout != null) {
+                entry.timeout.cancel();
+            }
+        }
+        entries.clear();
+        if (section == null) {
+            return 0;
+        }
+
+        String timezone = section.getString("timezone", "");
+        try {
+            zone = timezone.isEmpty() ? ZoneId.systemDefault() : ZoneId.of(timezone);
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Ungültige Zeitzone für geplante Commands: " + timezone);
+            zone = ZoneId.systemDefault();
+        }
+        graceMillis = section.getLong("grace-seconds", 30L) * 1000L;
+        CatchUp defaultCatchUp = parseCatchUp(section.getString("catch-up", "once"), CatchUp.ONCE);
+
+        ConfigurationSection entrySection = section.getConfigurationSection("entries");
+        if (entrySection != null) {
+            for (String name : entrySection.getKeys(false)) {
+                ConfigurationSection config = entrySection.getConfigurationSection(name);
+                if (config == null || config.getString("cron") == null || config.getString("command") == null) {
+                    plugin.getLogger().warning("Geplanter Command '" + name + "' benötigt 'cron' und 'command'");
+                    continue;
+                }
+                try {
+                    String command = config.getString("command").trim();
+                    entries.put(name.toLowerCase(Locale.ROOT), new ScheduledEntry(name,
+                            CronExpression.parse(config.getString("cron")),
+                            command.startsWith("/") ? command.substring(1) : command,
+                            parseCatchUp(config.getString("catch-up"), defaultCatchUp)));
+                } catch (IllegalArgumentException e) {
+                    plugin.getLogger().warning("Geplanter Command '" + name + "' ist ungültig: " + e.getMessage());
+                }
+            }
+        }
+
+        if (wheel != null) {
+            long now = System.currentTimeMillis();
+            entries.values().forEach(entry -> plan(entry, now));
+        }
+        return entries.size();
+    }
+
+    private CatchUp parseCatchUp(String value, CatchUp fallback) {
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return CatchUp.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Ungültige Catch-up-Strategie '" + value + "', verwende " + fallback);
+            return fallback;
+        }
+    }
+
+    /**
+     * Plans the next runs of all entries and starts the repeating task.
+     */
+    public void start() {
+        if (task != null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        wheel = new TimingWheel<>(TICK_MILLIS, now);
+        entries.values().forEach(entry -> plan(entry, now));
+        task = ServerThreads.of(plugin).runGlobalTimer(this::tick, 20L, 20L);
+    }
+
+    /**
+     * Stops the repeating task. Planned runs are discarded.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        wheel = null;
+    }
+
+    /**
+     * Runs an entry immediately, independent of its schedule.
+     *
+     * @param name The name of the entry.
+     *
+     * @return {@code true} if the entry exists.
+     */
+    public boolean runNow(String name) {
+        ScheduledEntry entry = entries.get(name.toLowerCase(Locale.ROOT));
+        if (entry == null) {
+            return false;
+        }
+        execute(entry, System.currentTimeMillis());
+        return true;
+    }
+
+    /**
+     * Retrieves the state of all entries.
+     *
+     * @return The entries in configuration order.
+     */
+    public List<Status> getEntries() {
+        List<Status> status = new ArrayList<>(entries.size());
+        for (ScheduledEntry entry : entries.values()) {
+            status.add(new Status(entry.name, entry.cron, entry.command, entry.catchUp, entry.nextRun,
+                    entry.lastRun, entry.runs, entry.missedRuns));
+        }
+        return status;
+    }
+
+    /**
+     * Retrieves the time zone the cron expressions are evaluated in.
+     *
+     * @return The time zone.
+     */
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    private void tick() {
+        wheel.advance(System.currentTimeMillis(), this::fire);
+    }
+
+    private void fire(ScheduledEntry entry) {
+        long now = System.currentTimeMillis();
+        boolean missed = now - entry.nextRun > graceMillis;
+
+        if (!missed) {
+            entry.catchUpRuns = 0;
+            execute(entry, now);
+            schedule(entry, entry.cron.nextMillis(entry.nextRun, zone));
+            return;
+        }
+
+        switch (entry.catchUp) {
+            case SKIP -> {
+                entry.missedRuns++;
+                plan(entry, now);
+            }
+            case ONCE -> {
+                execute(entry, now);
+                plan(entry, now);
+            }
+            case ALL -> {
+                execute(entry, now);
+                // Verpasste Läufe der Reihe nach nachholen, aber nicht unbegrenzt
+                if (++entry.catchUpRuns < MAX_CATCH_UP_RUNS) {
+                    schedule(entry, entry.cron.nextMillis(entry.nextRun, zone));
+                } else {
+                    entry.catchUpRuns = 0;
+                    plan(entry, now);
+                }
+            }
+        }
+    }
+
+    private void plan(ScheduledEntry entry, long now) {
+        schedule(entry, entry.cron.nextMillis(now, zone));
+    }
+
+    private void schedule(ScheduledEntry entry, long nextRun) {
+        entry.nextRun = nextRun;
+        entry.timeout = nextRun >= 0 ? wheel.schedule(nextRun, entry) : null;
+    }
+
+    private void execute(ScheduledEntry entry, long now) {
+        entry.lastRun = now;
+        entry.runs++;
+
+        ConsoleCommandSender console = plugin.getServer().getConsoleSender();
+        try {
+            if (isManaged(entry.command)) {
+                commandManager.dispatch(console, entry.command);
+            } else {
+                plugin.getServer().dispatchCommand(console, entry.command);
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().warning("Geplanter Command '" + entry.name + "' ist fehlgeschlagen: " + e.getMessage());
+        }
+    }
+
+    private boolean isManaged(String command) {
+        String root = command.split("\\s+", 2)[0].toLowerCase(Locale.ROOT);
+        for (String registered : commandManager.getRegisteredCommands().keySet()) {
+            if (registered.equals(root) || registered.startsWith(root + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
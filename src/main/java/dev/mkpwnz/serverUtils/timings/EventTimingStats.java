@@ -0,0 +1,59 @@
+package dev.mkpwnz.serverUtils.timings;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects call statistics for the listeners of one plugin for one event type.
+ * <p>
+ * All counters are striped ({@link LongAdder}, {@link LongAccumulator}), so events fired
+ * concurrently from asynchronous threads do not contend on a single memory location.
+ */
+public class EventTimingStats {
+    private final String pluginName;
+    private final String eventName;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+
+    EventTimingStats(String pluginName, String eventName) {
+        this.pluginName = pluginName;
+        this.eventName = eventName;
+    }
+
+    void record(long nanos) {
+        calls.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+    }
+
+    /**
+     * Creates an immutable snapshot of the current counter values.
+     *
+     * @return The snapshot of this statistic.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(pluginName, eventName, calls.sum(), totalNanos.sum(), maxNanos.get());
+    }
+
+    /**
+     * An immutable view of the statistics of one plugin and event type.
+     *
+     * @param pluginName The name of the plugin owning the listeners.
+     * @param eventName  The simple name of the event class.
+     * @param calls      The number of listener invocations.
+     * @param totalNanos The cumulative time spent in the listeners.
+     * @param maxNanos   The longest single listener invocation.
+     */
+    public record Snapshot(String pluginName, String eventName, long calls, long totalNanos, long maxNanos) {
+
+        /**
+         * Retrieves the average duration of one listener invocation.
+         *
+         * @return The average duration in microseconds.
+         */
+        public double averageMicros() {
+            return calls == 0 ? 0.0 : totalNanos / 1000.0 / calls;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package dev.mkpwnz.serverUtils.timings;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures how much time every plugin spends in its event listeners.
+ * <p>
+ * While a capture is active, every {@link RegisteredListener} of every {@link HandlerList} is
+ * replaced by an {@link InstrumentedListener}. Stopping the capture puts the original listeners
+ * back in their original order. Both operations must run on the main thread and may be
+ * repeated any number of times.
+ */
+public class EventTimings {
+    private final Map<String, EventTimingStats> stats = new ConcurrentHashMap<>();
+    private boolean active;
+
+    /**
+     * Starts a new capture, discarding the statistics of the previous one.
+     *
+     * @return {@code true} if the capture was started; {@code false} if one is already active.
+     */
+    public boolean start() {
+        if (active) {
+            return false;
+        }
+        active = true;
+        stats.clear();
+
+        for (HandlerList handlerList : new ArrayList<>(HandlerList.getHandlerLists())) {
+            replaceListeners(handlerList, true);
+        }
+        return true;
+    }
+
+    /**
+     * Stops the active capture and restores all original listeners.
+     *
+     * @return The collected statistics ranked by cumulative time, or {@code null} if no capture was active.
+     */
+    public List<EventTimingStats.Snapshot> stop() {
+        if (!active) {
+            return null;
+        }
+        active = false;
+
+        for (HandlerList handlerList : new ArrayList<>(HandlerList.getHandlerLists())) {
+            replaceListeners(handlerList, false);
+        }
+
+        List<EventTimingStats.Snapshot> snapshots = new ArrayList<>(stats.size());
+        for (EventTimingStats stat : stats.values()) {
+            snapshots.add(stat.snapshot());
+        }
+        snapshots.sort(Comparator.comparingLong(EventTimingStats.Snapshot::totalNanos).reversed());
+        return snapshots;
+    }
+
+    /**
+     * Determines whether a capture is currently active.
+     *
+     * @return {@code true} if the listeners are currently instrumented.
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Re-registers all listeners of the given handler list, either wrapped or unwrapped.
+     * The listeners are removed first and re-added in their baked order, which keeps the
+     * relative order within each priority intact.
+     */
+    private void replaceListeners(HandlerList handlerList, boolean instrument) {
+        synchronized (handlerList) {
+            RegisteredListener[] listeners = handlerList.getRegisteredListeners();
+            for (RegisteredListener listener : listeners) {
+                handlerList.unregister(listener);
+            }
+
+            for (RegisteredListener listener : listeners) {
+                if (instrument) {
+                    handlerList.register(listener instanceof InstrumentedListener ? listener :
+                            new InstrumentedListener(listener, this::resolveStats));
+                } else {
+                    handlerList.register(listener instanceof InstrumentedListener instrumented ?
+                            instrumented.getDelegate() : listener);
+                }
+            }
+        }
+    }
+
+    private EventTimingStats resolveStats(RegisteredListener listener, Class<? extends Event> eventClass) {
+        String pluginName = listener.getPlugin().getName();
+        String eventName = eventClass.getSimpleName();
+        return stats.computeIfAbsent(pluginName + '\0' + eventName,
+                k -> new EventTimingStats(pluginName, eventName));
+    }
+}
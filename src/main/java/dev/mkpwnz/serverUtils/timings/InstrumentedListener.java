@@ -0,0 +1,50 @@
+package dev.mkpwnz.serverUtils.timings;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventException;
+import org.bukkit.plugin.RegisteredListener;
+
+import java.util.function.BiFunction;
+
+/**
+ * A {@link RegisteredListener} decorator that measures the time spent in the wrapped listener.
+ * It reports the same listener, priority and plugin as the original, so it can replace the
+ * original in a {@link org.bukkit.event.HandlerList} and be swapped back later.
+ * <p>
+ * Subclasses of an event share the {@link org.bukkit.event.HandlerList} of their parent
+ * (e.g. {@code EntityDamageByEntityEvent} and {@code EntityDamageEvent}), so the statistics
+ * are looked up per call by the class of the event, through a {@link ClassValue}.
+ */
+final class InstrumentedListener extends RegisteredListener {
+    private final RegisteredListener delegate;
+    private final ClassValue<EventTimingStats> stats;
+
+    InstrumentedListener(RegisteredListener delegate,
+                         BiFunction<RegisteredListener, Class<? extends Event>, EventTimingStats> statsResolver) {
+        super(delegate.getListener(), (listener, event) -> {
+        }, delegate.getPriority(), delegate.getPlugin(), delegate.isIgnoringCancelled());
+        this.delegate = delegate;
+        this.stats = new ClassValue<>() {
+            @Override
+            protected EventTimingStats computeValue(Class<?> type) {
+                return statsResolver.apply(delegate, type.asSubclass(Event.class));
+            }
+        };
+    }
+
+    @Override
+    public void callEvent(Event event) throws EventException {
+        long start = System.nanoTime();
+        try {
+            delegate.callEvent(event);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            // Unterklassen teilen sich die HandlerList, daher pro Aufruf nach Event-Klasse auflösen
+            stats.get(event.getClass()).record(elapsed);
+        }
+    }
+
+    RegisteredListener getDelegate() {
+        return delegate;
+    }
+}
@@ -0,0 +1,92 @@
+package dev.mkpwnz.serverUtils.watchdog;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a single lag spike captured by the {@link TickWatchdog}. All samples taken
+ * during the spike are deduplicated, so identical main-thread stacks are stored only once
+ * together with the number of times they were observed.
+ *
+ * @param startedAt     The wall-clock time (epoch millis) at which the affected tick started.
+ * @param durationNanos The total duration of the affected tick in nanoseconds.
+ * @param sampleCount   The total number of stack samples taken during the spike.
+ * @param stacks        The distinct stacks, ordered by how often they were sampled (descending).
+ */
+public record SpikeReport(long startedAt, long durationNanos, int sampleCount, List<StackSample> stacks) {
+    static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    private static final int MAX_REPORT_DEPTH = 64;
+
+    /**
+     * A distinct main-thread stack together with the number of samples that matched it.
+     *
+     * @param count  How often this exact stack was sampled.
+     * @param frames The sampled stack frames, innermost frame first.
+     */
+    public record StackSample(int count, StackTraceElement[] frames) {
+    }
+
+    /**
+     * Retrieves the duration of the spike in milliseconds.
+     *
+     * @return The duration of the affected tick in milliseconds.
+     */
+    public long durationMillis() {
+        return durationNanos / 1_000_000L;
+    }
+
+    /**
+     * Retrieves the innermost frames of the most frequently sampled stacks. Each stack
+     * contributes at most one frame, so the result shows where the main thread spent
+     * most of the spike.
+     *
+     * @param limit The maximum number of frames to return.
+     *
+     * @return A list of formatted frames, most frequent first.
+     */
+    public List<String> topFrames(int limit) {
+        List<String> frames = new ArrayList<>();
+        for (StackSample sample : stacks) {
+            if (frames.size() >= limit) {
+                break;
+            }
+            if (sample.frames().length > 0) {
+                frames.add(sample.frames()[0] + " (" + sample.count() + "x)");
+            }
+        }
+        return frames;
+    }
+
+    /**
+     * Formats the spike as a compact, human-readable text report.
+     *
+     * @return The report text written to the data folder.
+     */
+    public String format() {
+        StringBuilder report = new StringBuilder(1024);
+        report.append("Lag-Spike am ").append(TIME_FORMAT.format(Instant.ofEpochMilli(startedAt))).append('\n');
+        report.append("Dauer: ").append(durationMillis()).append(" ms, Samples: ").append(sampleCount)
+                .append(", eindeutige Stacks: ").append(stacks.size()).append('\n');
+
+        for (StackSample sample : stacks) {
+            report.append('\n').append('[').append(sample.count()).append(" Samples, ")
+                    .append(String.format("%.1f", sample.count() * 100.0 / Math.max(1, sampleCount)))
+                    .append("%]\n");
+
+            StackTraceElement[] frames = sample.frames();
+            int depth = Math.min(frames.length, MAX_REPORT_DEPTH);
+            for (int i = 0; i < depth; i++) {
+                report.append("    at ").append(frames[i]).append('\n');
+            }
+            if (frames.length > depth) {
+                report.append("    ... ").append(frames.length - depth).append(" weitere\n");
+            }
+        }
+        return report.toString();
+    }
+}
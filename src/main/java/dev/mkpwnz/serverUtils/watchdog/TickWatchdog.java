@@ -0,0 +1,203 @@
+package dev.mkpwnz.serverUtils.watchdog;
+
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import dev.mkpwnz.serverUtils.io.AsyncFileWriter;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A daemon thread that detects lag spikes on the main thread and records what the main
+ * thread was doing while the spike lasted.
+ * <p>
+ * While ticks are healthy the watchdog only parks until the moment the current tick would
+ * exceed the threshold and then re-checks the heartbeat of the {@link TickMonitor}; no stack
+ * is ever sampled. Once a tick runs past the threshold, the main thread's stack is sampled
+ * repeatedly until the tick ends. The deduplicated samples are kept in memory for
+ * {@code /serverutils spikes} and written to the {@code spikes} folder of the plugin.
+ */
+public class TickWatchdog implements Runnable {
+    private static final DateTimeFormatter FILE_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneId.systemDefault());
+
+    private final JavaPlugin plugin;
+    private final TickMonitor tickMonitor;
+    private final long thresholdNanos;
+    private final long sampleIntervalNanos;
+    private final int maxSamples;
+    private final int historySize;
+    private final Path spikeFolder;
+
+    private final Deque<SpikeReport> recentSpikes = new ArrayDeque<>();
+    private volatile Thread thread;
+
+    /**
+     * Constructs a new TickWatchdog.
+     *
+     * @param plugin               The plugin owning the watchdog, used for logging and the data folder.
+     * @param tickMonitor          The monitor providing the main-thread heartbeat.
+     * @param thresholdMillis      The tick duration in milliseconds after which a tick counts as a spike.
+     * @param sampleIntervalMillis The delay between two stack samples during a spike.
+     * @param maxSamples           The maximum number of samples taken per spike.
+     * @param historySize          The number of recent spikes kept in memory.
+     */
+    public TickWatchdog(JavaPlugin plugin, TickMonitor tickMonitor, long thresholdMillis,
+                        long sampleIntervalMillis, int maxSamples, int historySize) {
+        this.plugin = plugin;
+        this.tickMonitor = tickMonitor;
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+        this.sampleIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, sampleIntervalMillis));
+        this.maxSamples = maxSamples;
+        this.historySize = historySize;
+        this.spikeFolder = plugin.getDataFolder().toPath().resolve("spikes");
+    }
+
+    /**
+     * Starts the watchdog thread. The {@link TickMonitor} must already be running.
+     */
+    public void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = Thread.ofPlatform()
+                .name("ServerUtils-Watchdog")
+                .daemon(true)
+                .start(this);
+    }
+
+    /**
+     * Stops the watchdog thread. A spike that is currently being sampled is discarded.
+     */
+    public void stop() {
+        Thread current = thread;
+        thread = null;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (thread == Thread.currentThread()) {
+            long tick = tickMonitor.getTickCount();
+            long tickStart = tickMonitor.getLastTickNanos();
+            long remaining = tickStart + thresholdNanos - System.nanoTime();
+
+            if (remaining > 0) {
+                LockSupport.parkNanos(this, remaining);
+                continue;
+            }
+
+            if (tickMonitor.getTickCount() == tick) {
+                SpikeReport report = sampleSpike(tick, tickStart);
+                if (report != null) {
+                    record(report);
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples the main thread until the given tick has ended.
+     *
+     * @param tick      The tick count at which the spike was detected.
+     * @param tickStart The heartbeat timestamp of the affected tick.
+     *
+     * @return The deduplicated spike report, or {@code null} if the watchdog was stopped
+     * while sampling.
+     */
+    private SpikeReport sampleSpike(long tick, long tickStart) {
+        Thread mainThread = tickMonitor.getMainThread();
+        long startedAt = System.currentTimeMillis() - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - tickStart);
+        Map<StackKey, int[]> samples = new HashMap<>();
+        int sampleCount = 0;
+
+        while (tickMonitor.getTickCount() == tick) {
+            if (thread != Thread.currentThread()) {
+                return null;
+            }
+            if (sampleCount < maxSamples) {
+                StackTraceElement[] frames = mainThread.getStackTrace();
+                samples.computeIfAbsent(new StackKey(frames), k -> new int[1])[0]++;
+                sampleCount++;
+            }
+            LockSupport.parkNanos(this, sampleIntervalNanos);
+        }
+
+        long durationNanos = tickMonitor.getLastTickNanos() - tickStart;
+        List<SpikeReport.StackSample> stacks = new ArrayList<>(samples.size());
+        for (Map.Entry<StackKey, int[]> entry : samples.entrySet()) {
+            stacks.add(new SpikeReport.StackSample(entry.getValue()[0], entry.getKey().frames));
+        }
+        stacks.sort(Comparator.comparingInt(SpikeReport.StackSample::count).reversed());
+
+        return new SpikeReport(startedAt, durationNanos, sampleCount, List.copyOf(stacks));
+    }
+
+    private void record(SpikeReport report) {
+        synchronized (recentSpikes) {
+            recentSpikes.addFirst(report);
+            while (recentSpikes.size() > historySize) {
+                recentSpikes.removeLast();
+            }
+        }
+
+        plugin.getLogger().warning("Lag-Spike erkannt: " + report.durationMillis() + " ms (" +
+                report.sampleCount() + " Samples)");
+
+        Path file = spikeFolder.resolve("spike-" + FILE_FORMAT.format(Instant.ofEpochMilli(report.startedAt())) + ".txt");
+        AsyncFileWriter.write(file, report.format()).exceptionally(e -> {
+            plugin.getLogger().warning("Spike-Report konnte nicht gespeichert werden: " + e.getMessage());
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves the most recently recorded spikes.
+     *
+     * @return An immutable list of spike reports, newest first.
+     */
+    public List<SpikeReport> getRecentSpikes() {
+        synchronized (recentSpikes) {
+            return List.copyOf(recentSpikes);
+        }
+    }
+
+    /**
+     * Retrieves the configured spike threshold.
+     *
+     * @return The threshold in milliseconds.
+     */
+    public long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    /**
+     * Wraps a sampled stack so identical stacks can be deduplicated in a hash map.
+     */
+    private static final class StackKey {
+        private final StackTraceElement[] frames;
+        private final int hash;
+
+        private StackKey(StackTraceElement[] frames) {
+            this.frames = frames;
+            this.hash = Arrays.hashCode(frames);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof StackKey other && hash == other.hash && Arrays.equals(frames, other.frames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package dev.mkpwnz.tools.admin;
+
+import dev.mkpwnz.api.commands.CommandResult;
+import dev.mkpwnz.serverUtils.admin.AdminProtocol;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A minimal client for the admin socket. It sends all command lines as one pipelined batch
+ * and prints the responses with their status and timing.
+ * <p>
+ * Usage: {@code admin <socket-path|port> [command...]}; without commands, the lines are read
+ * from standard input. The token is read from the environment variable
+ * {@value #TOKEN_VARIABLE}, so it does not show up in the process list.
+ */
+public final class AdminClient {
+    private static final String TOKEN_VARIABLE = "SERVERUTILS_ADMIN_TOKEN";
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: admin <socket-path|port> [command...]");
+            System.exit(1);
+        }
+        String token = System.getenv(TOKEN_VARIABLE);
+        if (token == null || token.isBlank()) {
+            System.err.println(TOKEN_VARIABLE + " is not set");
+            System.exit(1);
+        }
+
+        List<String> commands = new ArrayList<>();
+        if (args.length > 1) {
+            commands.addAll(List.of(args).subList(1, args.length));
+        } else {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    commands.add(line.trim());
+                }
+            }
+        }
+
+        try (SocketChannel channel = open(args[0])) {
+            long start = System.nanoTime();
+
+            // Antworten parallel lesen, damit der Server beim Senden nicht blockiert
+            Thread reader = Thread.ofPlatform().start(() -> {
+                try {
+                    readResponses(channel, commands);
+                } catch (IOException e) {
+                    System.err.println(e.getMessage());
+                }
+            });
+
+            byte[] tokenBytes = token.getBytes(StandardCharsets.UTF_8);
+            ByteBuffer authentication = ByteBuffer.allocate(AdminProtocol.LENGTH_BYTES + tokenBytes.length);
+            authentication.putInt(tokenBytes.length).put(tokenBytes).flip();
+            while (authentication.hasRemaining()) {
+                channel.write(authentication);
+            }
+
+            for (int id = 0; id < commands.size(); id++) {
+                byte[] line = commands.get(id).getBytes(StandardCharsets.UTF_8);
+                ByteBuffer frame = ByteBuffer.allocate(AdminProtocol.LENGTH_BYTES + 4 + line.length);
+                frame.putInt(4 + line.length).putInt(id).put(line).flip();
+                while (frame.hasRemaining()) {
+                    channel.write(frame);
+                }
+            }
+            // Der Server beantwortet alle gesendeten Commands, bevor er die Verbindung schließt
+            channel.shutdownOutput();
+
+            reader.join();
+            System.out.printf("%d Commands in %.1f ms%n", commands.size(), (System.nanoTime() - start) / 1_000_000.0);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void readResponses(SocketChannel channel, List<String> commands) throws IOException {
+        CommandResult[] results = CommandResult.values();
+        // Die erste Antwort bestätigt das Token; bei einem falschen schließt der Server die Verbindung
+        ByteBuffer acknowledgement = readFully(channel, readFully(channel, AdminProtocol.LENGTH_BYTES).getInt());
+        if (acknowledgement.getInt() != AdminProtocol.AUTHENTICATION_ID) {
+            throw new IOException("Unerwartete Antwort auf die Authentifizierung");
+        }
+        for (int i = 0; i < commands.size(); i++) {
+            ByteBuffer payload = readFully(channel, readFully(channel, AdminProtocol.LENGTH_BYTES).getInt());
+            int id = payload.getInt();
+            CommandResult result = results[payload.get()];
+            long durationNanos = payload.getLong();
+            String output = StandardCharsets.UTF_8.decode(payload).toString();
+
+            System.out.printf("[%d] /%s -> %s (%.3f ms)%n", id, commands.get(id), result, durationNanos / 1_000_000.0);
+            if (!output.isEmpty()) {
+                System.out.println(output.replaceAll("§.", ""));
+            }
+        }
+    }
+
+    private static SocketChannel open(String target) throws IOException {
+        SocketAddress address;
+        SocketChannel channel;
+        if (target.chars().allMatch(Character::isDigit)) {
+            address = new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(target));
+            channel = SocketChannel.open();
+        } else {
+            address = UnixDomainSocketAddress.of(target);
+            channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        }
+        channel.connect(address);
+        return channel;
+    }
+
+    private static ByteBuffer readFully(SocketChannel channel, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Verbindung vom Server geschlossen");
+            }
+        }
+        return buffer.flip();
+    }
+}
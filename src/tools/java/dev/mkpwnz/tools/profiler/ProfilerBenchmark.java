@@ -0,0 +1,168 @@
+package dev.mkpwnz.tools.profiler;
+
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import dev.mkpwnz.serverUtils.profiler.ProfileResult;
+import dev.mkpwnz.serverUtils.profiler.SamplingProfiler;
+import dev.mkpwnz.tools.replay.ReplayPlugin;
+import dev.mkpwnz.tools.replay.StubServer;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures the overhead of the {@link SamplingProfiler} on the thread it samples.
+ * <p>
+ * A simulated main thread runs ticks of a fixed, deeply nested workload back to back. The
+ * average busy time of a tick is measured without the profiler first and then while the
+ * profiler samples the thread at the given interval. The difference is the cost the sampled
+ * thread actually pays (mostly the safepoints of the stack captures); it is printed next to
+ * the overhead the profiler reports about itself, so the estimate in
+ * {@link ProfileResult#maxPausePerTickMillis()} can be checked against a real measurement.
+ * <p>
+ * Usage: {@code profiler-bench [--seconds N] [--interval ms] [--depth D]}
+ */
+public final class ProfilerBenchmark {
+    private static final long WARMUP_SECONDS = 5;
+    private static final int CALLS_PER_TICK = 500;
+
+    private ProfilerBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        long seconds = 10;
+        long intervalMillis = SamplingProfiler.DEFAULT_INTERVAL_MILLIS;
+        int depth = 64;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--seconds" -> seconds = Long.parseLong(args[i + 1]);
+                case "--interval" -> intervalMillis = Long.parseLong(args[i + 1]);
+                case "--depth" -> depth = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+            }
+        }
+
+        Logger logger = Logger.getLogger("ProfilerBenchmark");
+        logger.setLevel(Level.WARNING);
+        ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        Server server = StubServer.create(logger, asyncExecutor);
+        Bukkit.setServer(server);
+
+        File dataFolder = Files.createTempDirectory("serverutils-profiler-bench").toFile();
+        JavaPlugin plugin = new ReplayPlugin(server, dataFolder);
+        TickLoop loop = new TickLoop(plugin, depth);
+        SamplingProfiler profiler = new SamplingProfiler(plugin, loop);
+        loop.thread.start();
+
+        System.out.printf("Aufwärmen (%d s)...%n", WARMUP_SECONDS);
+        loop.measure(WARMUP_SECONDS);
+
+        double baselineMillis = loop.measure(seconds);
+        System.out.printf("Ohne Profiler: %.4f ms/Tick%n", baselineMillis);
+
+        profiler.start(intervalMillis, null);
+        double sessionMillis = loop.measure(seconds);
+        ProfileResult result = profiler.stop().get();
+        loop.thread.interrupt();
+        asyncExecutor.shutdown();
+
+        System.out.printf("Mit Profiler (%d ms): %.4f ms/Tick%n", intervalMillis, sessionMillis);
+        System.out.printf("Gemessene Mehrkosten: %.4f ms/Tick (%.2f %%)%n",
+                sessionMillis - baselineMillis, (sessionMillis - baselineMillis) * 100.0 / baselineMillis);
+        System.out.printf("Vom Profiler gemeldet: %d Samples, %d Knoten, %.1f µs/Sample, %.2f %% CPU, max. %.4f ms Pause/Tick%n",
+                result.samples(), result.nodes(), result.overheadPerSampleMicros(), result.overheadPercent(),
+                result.maxPausePerTickMillis());
+    }
+
+    /**
+     * A simulated main thread that runs ticks of a fixed workload without pausing in between.
+     * It stands in for the {@link TickMonitor}, so the profiler samples it and reads its tick
+     * statistics.
+     */
+    private static final class TickLoop extends TickMonitor {
+        private final int depth;
+        private final Thread thread;
+
+        private volatile long tickCount;
+        private volatile long totalBusyNanos;
+        private volatile double averageBusyMillis;
+        private long sink;
+
+        private TickLoop(JavaPlugin plugin, int depth) {
+            super(plugin);
+            this.depth = depth;
+            this.thread = Thread.ofPlatform().name("Server thread").daemon(true).unstarted(this::run);
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                long start = System.nanoTime();
+                for (int i = 0; i < CALLS_PER_TICK; i++) {
+                    sink += descend(depth, tickCount * CALLS_PER_TICK + i);
+                }
+                long busy = System.nanoTime() - start;
+                totalBusyNanos += busy;
+                averageBusyMillis = averageBusyMillis * 0.9 + busy / 1_000_000.0 * 0.1;
+                tickCount++;
+            }
+        }
+
+        /**
+         * Recurses through two alternating methods, so the sampled stacks have the given
+         * depth and branch like the call tree of a real tick.
+         */
+        private long descend(int remaining, long seed) {
+            if (remaining == 0) {
+                long value = seed;
+                for (int i = 0; i < 20_000; i++) {
+                    value = value * 6364136223846793005L + 1442695040888963407L;
+                }
+                return value;
+            }
+            return (seed & 1) == 0 ? descend(remaining - 1, seed >>> 1) : branch(remaining - 1, seed >>> 1);
+        }
+
+        private long branch(int remaining, long seed) {
+            return descend(remaining, seed + 1) ^ remaining;
+        }
+
+        /**
+         * Waits for the given time and returns the average busy time of the ticks completed
+         * meanwhile.
+         */
+        private double measure(long seconds) throws InterruptedException {
+            long ticks = tickCount;
+            long busy = totalBusyNanos;
+            TimeUnit.SECONDS.sleep(seconds);
+            long completed = tickCount - ticks;
+            return completed == 0 ? 0.0 : (totalBusyNanos - busy) / 1_000_000.0 / completed;
+        }
+
+        @Override
+        public Thread getMainThread() {
+            return thread;
+        }
+
+        @Override
+        public long getTickCount() {
+            return tickCount;
+        }
+
+        @Override
+        public double getAverageBusyMillis() {
+            return averageBusyMillis;
+        }
+
+        @Override
+        public long getTotalBusyNanos() {
+            return totalBusyNanos;
+        }
+    }
+}
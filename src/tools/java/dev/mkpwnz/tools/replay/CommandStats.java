@@ -0,0 +1,64 @@
+package dev.mkpwnz.tools.replay;
+
+import dev.mkpwnz.api.commands.CommandResult;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Latency, allocation and result statistics of one command. Every replay thread keeps its own
+ * instances, which are merged after the replay, so recording needs no synchronization.
+ */
+final class CommandStats {
+    private long[] latencies = new long[256];
+    private int count;
+    private long allocatedBytes;
+    private final Map<CommandResult, Integer> results = new EnumMap<>(CommandResult.class);
+
+    void add(long latencyNanos, long allocated, CommandResult result) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = latencyNanos;
+        allocatedBytes += allocated;
+        results.merge(result, 1, Integer::sum);
+    }
+
+    void merge(CommandStats other) {
+        if (count + other.count > latencies.length) {
+            latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+        }
+        System.arraycopy(other.latencies, 0, latencies, count, other.count);
+        count += other.count;
+        allocatedBytes += other.allocatedBytes;
+        other.results.forEach((result, n) -> results.merge(result, n, Integer::sum));
+    }
+
+    /**
+     * Sorts the recorded latencies. Must be called once before {@link #percentileNanos(double)}.
+     */
+    void seal() {
+        Arrays.sort(latencies, 0, count);
+    }
+
+    long percentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return latencies[Math.max(0, Math.min(count - 1, index))];
+    }
+
+    int count() {
+        return count;
+    }
+
+    long allocatedBytesPerCall() {
+        return count == 0 ? 0 : allocatedBytes / count;
+    }
+
+    Map<CommandResult, Integer> results() {
+        return results;
+    }
+}
@@ -0,0 +1,20 @@
+package dev.mkpwnz.tools.replay;
+
+import dev.mkpwnz.api.commands.CommandManager;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * A {@link CommandManager} that does not bind root commands to Bukkit, since the replay
+ * dispatches command lines directly.
+ */
+final class ReplayCommandManager extends CommandManager {
+
+    ReplayCommandManager(JavaPlugin plugin) {
+        super(plugin);
+    }
+
+    @Override
+    protected void bindRootCommand(String name) {
+        // Ohne Server gibt es keine plugin.yml-Commands, an die gebunden werden könnte
+    }
+}
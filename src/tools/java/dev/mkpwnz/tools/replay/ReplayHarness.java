@@ -0,0 +1,252 @@
+package dev.mkpwnz.tools.replay;
+
+import dev.mkpwnz.api.commands.CommandManager;
+import dev.mkpwnz.api.commands.CommandResult;
+import dev.mkpwnz.api.messages.MessageCatalog;
+import dev.mkpwnz.api.monitoring.TickMonitor;
+import dev.mkpwnz.api.players.PlayerNameIndex;
+import dev.mkpwnz.api.recording.CommandTrace;
+import dev.mkpwnz.api.recording.TraceEntry;
+import dev.mkpwnz.serverUtils.Message;
+import dev.mkpwnz.serverUtils.history.PerformanceHistory;
+import dev.mkpwnz.serverUtils.latency.LatencyTracker;
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.command.CommandSender;
+import org.bukkit.plugin.java.JavaPlugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Replays a command trace recorded with {@code /serverutils record} against the command
+ * framework without a server, to load-test new versions of the command API with real traffic.
+ * <p>
+ * Usage: {@code replay <trace> [--threads N] [--speed max|recorded|<factor>] [--commands <class,...>]}
+ * <p>
+ * The command classes are instantiated with the replay plugin, the command manager and the
+ * services of the plugin where their constructors ask for them. The services are created but
+ * never started, so they answer queries with empty data and do not schedule tasks or write
+ * files. Classes with other dependencies cannot be replayed. For commands marked as
+ * {@code async}, only the synchronous part of the dispatch is measured.
+ */
+public final class ReplayHarness {
+    private static final List<String> DEFAULT_COMMANDS = List.of(
+            "dev.mkpwnz.serverUtils.commands.ServerUtilsCommand",
+            "dev.mkpwnz.serverUtils.commands.ServerInfoCommand"
+    );
+
+    private final CommandManager commandManager;
+    private final StubSenders senders;
+    private final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private ReplayHarness(CommandManager commandManager, StubSenders senders) {
+        this.commandManager = commandManager;
+        this.senders = senders;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 0) {
+            System.err.println("Usage: replay <trace> [--threads N] [--speed max|recorded|<factor>] [--commands <class,...>]");
+            System.exit(1);
+        }
+
+        Path tracePath = Path.of(args[0]);
+        int threads = 1;
+        double speed = 0;
+        List<String> commandClasses = DEFAULT_COMMANDS;
+        for (int i = 1; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--threads" -> threads = Integer.parseInt(args[i + 1]);
+                case "--speed" -> speed = switch (args[i + 1]) {
+                    case "max" -> 0;
+                    case "recorded" -> 1;
+                    default -> Double.parseDouble(args[i + 1]);
+                };
+                case "--commands" -> commandClasses = List.of(args[i + 1].split(","));
+                default -> throw new IllegalArgumentException("Unbekannte Option: " + args[i]);
+            }
+        }
+
+        CommandTrace trace = CommandTrace.read(tracePath);
+        List<TraceEntry> entries = trace.getEntries();
+        System.out.printf("Trace: %s (%d Commands)%n", tracePath, entries.size());
+
+        Logger logger = Logger.getLogger("Replay");
+        logger.setLevel(Level.WARNING);
+        ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        Server server = StubServer.create(logger, asyncExecutor);
+        Bukkit.setServer(server);
+
+        File dataFolder = Files.createTempDirectory("serverutils-replay").toFile();
+        JavaPlugin plugin = new ReplayPlugin(server, dataFolder);
+
+        // Wie in ServerUtils.onEnable, sonst würden die Antworten nur Message-Keys enthalten
+        MessageCatalog messages = MessageCatalog.getInstance();
+        messages.loadBundle(ReplayHarness.class.getClassLoader(), "lang/messages", "de", "en");
+        messages.requireKeys(Message.values());
+        messages.setDefaultLanguage(plugin.getConfig().getString("language", "de"));
+
+        CommandManager commandManager = new ReplayCommandManager(plugin);
+        List<Object> dependencies = dependencies(plugin, commandManager);
+        for (String className : commandClasses) {
+            Object command = instantiate(Class.forName(className.trim()), dependencies);
+            if (command == null) {
+                System.out.printf("Übersprungen: %s (Konstruktor nicht unterstützt)%n", className);
+                continue;
+            }
+            commandManager.registerCommand(command);
+        }
+
+        ReplayHarness harness = new ReplayHarness(commandManager, new StubSenders(server));
+        harness.replay(entries, threads, speed);
+        asyncExecutor.shutdown();
+        asyncExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void replay(List<TraceEntry> entries, int threads, double speed) throws InterruptedException {
+        // Ein Sender pro Kombination aus Sender-Art und Permission-Profil
+        Map<Object, CommandSender> senderCache = new HashMap<>();
+        CommandSender[] entrySenders = new CommandSender[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            TraceEntry entry = entries.get(i);
+            entrySenders[i] = senderCache.computeIfAbsent(List.of(entry.kind(), entry.permissions()),
+                    key -> senders.create(entry.kind(), entry.permissions(), senderCache.size()));
+        }
+
+        Set<String> registered = commandManager.getRegisteredCommands().keySet();
+        AtomicInteger cursor = new AtomicInteger();
+        List<Map<String, CommandStats>> perThread = new ArrayList<>();
+        List<Thread> workers = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (int t = 0; t < threads; t++) {
+            Map<String, CommandStats> stats = new HashMap<>();
+            perThread.add(stats);
+            workers.add(Thread.ofPlatform().name("Replay-" + t).start(() -> {
+                int i;
+                while ((i = cursor.getAndIncrement()) < entries.size()) {
+                    TraceEntry entry = entries.get(i);
+                    if (speed > 0) {
+                        long due = start + (long) (entry.offsetMicros() * 1000L / speed);
+                        long wait;
+                        while ((wait = due - System.nanoTime()) > 0) {
+                            LockSupport.parkNanos(wait);
+                        }
+                    }
+
+                    long allocatedBefore = threadBean.getCurrentThreadAllocatedBytes();
+                    long dispatchStart = System.nanoTime();
+                    CommandResult result;
+                    try {
+                        result = commandManager.dispatch(entrySenders[i], entry.commandLine());
+                    } catch (RuntimeException e) {
+                        result = CommandResult.FAILED;
+                    }
+                    long latency = System.nanoTime() - dispatchStart;
+                    long allocated = threadBean.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+                    stats.computeIfAbsent(resolve(registered, entry.commandLine()), key -> new CommandStats())
+                            .add(latency, allocated, result);
+                }
+            }));
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, CommandStats> merged = new TreeMap<>();
+        for (Map<String, CommandStats> stats : perThread) {
+            stats.forEach((command, s) -> merged.computeIfAbsent(command, key -> new CommandStats()).merge(s));
+        }
+        report(merged, entries.size(), elapsed, threads);
+    }
+
+    private void report(Map<String, CommandStats> stats, int total, long elapsedNanos, int threads) {
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        System.out.printf("%nThreads: %d, Dauer: %.2f s, Durchsatz: %.0f Commands/s, Nachrichten: %d%n%n",
+                threads, seconds, total / seconds, senders.getMessageCount());
+        System.out.printf("%-32s %8s %10s %10s %10s %10s %12s  %s%n",
+                "Command", "Anzahl", "p50 µs", "p90 µs", "p99 µs", "max µs", "Bytes/Call", "Ergebnisse");
+        stats.forEach((command, s) -> {
+            s.seal();
+            System.out.printf("%-32s %8d %10.1f %10.1f %10.1f %10.1f %12d  %s%n",
+                    command, s.count(),
+                    s.percentileNanos(50) / 1000.0, s.percentileNanos(90) / 1000.0,
+                    s.percentileNanos(99) / 1000.0, s.percentileNanos(100) / 1000.0,
+                    s.allocatedBytesPerCall(), s.results());
+        });
+    }
+
+    /**
+     * Resolves the registered command a command line is dispatched to, using the same longest
+     * prefix match as the {@link CommandManager}.
+     */
+    private static String resolve(Set<String> registered, String commandLine) {
+        String[] tokens = commandLine.toLowerCase().split("\\s+");
+        for (int i = tokens.length; i > 0; i--) {
+            String candidate = String.join(".", Arrays.copyOfRange(tokens, 0, i));
+            if (registered.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return "<unbekannt> " + tokens[0];
+    }
+
+    /**
+     * Creates the objects command constructors may ask for. The services of the plugin are not
+     * started; their queries answer with empty data.
+     */
+    private static List<Object> dependencies(JavaPlugin plugin, CommandManager commandManager) {
+        TickMonitor tickMonitor = new TickMonitor(plugin);
+        new PlayerNameIndex(plugin).registerValidator();
+        return List.of(plugin, commandManager, tickMonitor,
+                new PerformanceHistory(plugin, tickMonitor),
+                new LatencyTracker(plugin, 5, 10, LatencyTracker.GroupBy.NONE));
+    }
+
+    private static Object instantiate(Class<?> type, List<Object> dependencies) throws ReflectiveOperationException {
+        for (Constructor<?> constructor : type.getConstructors()) {
+            Class<?>[] parameterTypes = constructor.getParameterTypes();
+            Object[] arguments = new Object[parameterTypes.length];
+            boolean supported = true;
+            for (int i = 0; i < parameterTypes.length && supported; i++) {
+                arguments[i] = find(parameterTypes[i], dependencies);
+                supported = arguments[i] != null;
+            }
+            if (supported) {
+                return constructor.newInstance(arguments);
+            }
+        }
+        return null;
+    }
+
+    private static Object find(Class<?> type, List<Object> dependencies) {
+        for (Object dependency : dependencies) {
+            if (type.isInstance(dependency)) {
+                return dependency;
+            }
+        }
+        return null;
+    }
+}
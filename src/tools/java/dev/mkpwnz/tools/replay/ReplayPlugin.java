@@ -0,0 +1,24 @@
+package dev.mkpwnz.tools.replay;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginDescriptionFile;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.plugin.java.JavaPluginLoader;
+
+import java.io.File;
+
+/**
+ * A plugin instance created outside of a server, using the initialization constructor Bukkit
+ * provides for tests. It is never enabled; it only serves as the owner of the command
+ * framework during a replay and of the services measured by the other tools.
+ */
+public final class ReplayPlugin extends JavaPlugin {
+
+    @SuppressWarnings("deprecation")
+    public ReplayPlugin(Server server, File dataFolder) {
+        super(new JavaPluginLoader(server),
+                new PluginDescriptionFile("ServerUtils", "replay", ReplayPlugin.class.getName()),
+                dataFolder,
+                new File(dataFolder, "ServerUtils-replay.jar"));
+    }
+}
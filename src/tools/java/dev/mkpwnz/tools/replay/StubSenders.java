@@ -0,0 +1,86 @@
+package dev.mkpwnz.tools.replay;
+
+import dev.mkpwnz.api.recording.SenderKind;
+import net.md_5.bungee.api.chat.BaseComponent;
+import org.bukkit.Server;
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.permissions.Permission;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creates stub {@link CommandSender}s matching the sender kind and permission profile of
+ * recorded dispatches. Messages sent to the stubs are only counted.
+ */
+final class StubSenders {
+    private final Server server;
+    private final LongAdder messages = new LongAdder();
+
+    StubSenders(Server server) {
+        this.server = server;
+    }
+
+    /**
+     * Creates a sender of the given kind holding exactly the given permissions.
+     *
+     * @param kind        The kind of sender to create.
+     * @param permissions The permissions the sender holds.
+     * @param id          A number distinguishing the sender from others of the same kind.
+     *
+     * @return The stub sender.
+     */
+    CommandSender create(SenderKind kind, Set<String> permissions, int id) {
+        String name = kind.name().toLowerCase() + "-" + id;
+        UUID uniqueId = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        Class<? extends CommandSender> type = switch (kind) {
+            case PLAYER -> Player.class;
+            case CONSOLE -> ConsoleCommandSender.class;
+            case BLOCK -> BlockCommandSender.class;
+            case OTHER -> CommandSender.class;
+        };
+
+        Player.Spigot playerSpigot = new Player.Spigot() {
+            @Override
+            public void sendMessage(BaseComponent... components) {
+                messages.increment();
+            }
+        };
+        CommandSender.Spigot senderSpigot = new CommandSender.Spigot() {
+            @Override
+            public void sendMessage(BaseComponent... components) {
+                messages.increment();
+            }
+        };
+
+        return StubServer.proxy(type, (method, args) -> switch (method.getName()) {
+            case "hasPermission", "isPermissionSet" -> args[0] instanceof Permission permission ?
+                    permissions.contains(permission.getName()) : permissions.contains((String) args[0]);
+            case "getName", "getDisplayName" -> name;
+            case "getUniqueId" -> uniqueId;
+            case "getServer" -> server;
+            case "getLocale" -> "en_us";
+            case "isOnline" -> true;
+            case "spigot" -> method.getReturnType() == Player.Spigot.class ? playerSpigot : senderSpigot;
+            case "sendMessage", "sendRawMessage" -> {
+                messages.increment();
+                yield null;
+            }
+            default -> StubServer.defaultValue(method.getReturnType());
+        });
+    }
+
+    /**
+     * Retrieves the number of messages sent to all stub senders.
+     *
+     * @return The number of messages.
+     */
+    long getMessageCount() {
+        return messages.sum();
+    }
+}
@@ -0,0 +1,122 @@
+package dev.mkpwnz.tools.replay;
+
+import org.bukkit.Server;
+import org.bukkit.plugin.PluginManager;
+import org.bukkit.scheduler.BukkitScheduler;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.logging.Logger;
+
+/**
+ * Creates headless stand-ins for the Bukkit {@link Server} and its services.
+ * <p>
+ * Every replay thread is treated as the main thread, so synchronous tasks run inline on the
+ * calling thread. Asynchronous tasks run on the given executor; delayed and repeating tasks
+ * are ignored, since a replay has no ticks.
+ */
+public final class StubServer {
+    private StubServer() {
+    }
+
+    /**
+     * Creates a stub server.
+     *
+     * @param logger        The logger returned by {@link Server#getLogger()}.
+     * @param asyncExecutor The executor running asynchronous tasks.
+     *
+     * @return The stub server.
+     */
+    public static Server create(Logger logger, ExecutorService asyncExecutor) {
+        BukkitScheduler scheduler = proxy(BukkitScheduler.class, (method, args) -> {
+            switch (method.getName()) {
+                case "runTask" -> run(args);
+                case "runTaskAsynchronously" -> asyncExecutor.execute(() -> run(args));
+                default -> {
+                    // Verzögerte und wiederholte Tasks haben ohne Ticks keine Bedeutung
+                }
+            }
+            return defaultValue(method.getReturnType());
+        });
+        PluginManager pluginManager = proxy(PluginManager.class, (method, args) -> defaultValue(method.getReturnType()));
+
+        return proxy(Server.class, (method, args) -> switch (method.getName()) {
+            case "getLogger" -> logger;
+            case "getScheduler" -> scheduler;
+            case "getPluginManager" -> pluginManager;
+            case "isPrimaryThread" -> true;
+            case "getName", "getVersion", "getBukkitVersion" -> "Replay";
+            default -> defaultValue(method.getReturnType());
+        });
+    }
+
+    /**
+     * Creates a proxy implementing the given interface. {@code equals}, {@code hashCode} and
+     * {@code toString} are answered by identity; every other call is passed to the handler.
+     *
+     * @param type    The interface to implement.
+     * @param handler The handler answering all other calls.
+     * @param <T>     The type of the interface.
+     *
+     * @return The proxy.
+     */
+    static <T> T proxy(Class<T> type, Handler handler) {
+        Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            Object[] arguments = args != null ? args : new Object[0];
+            return switch (method.getName()) {
+                case "equals" -> arguments.length == 1 && self == arguments[0];
+                case "hashCode" -> System.identityHashCode(self);
+                case "toString" -> type.getSimpleName() + "Stub@" + Integer.toHexString(System.identityHashCode(self));
+                default -> handler.handle(method, arguments);
+            };
+        });
+        return type.cast(proxy);
+    }
+
+    /**
+     * Determines a neutral return value for methods the stubs do not implement.
+     *
+     * @param type The return type of the method.
+     *
+     * @return {@code false}, zero, an empty string, an empty collection or {@code null}.
+     */
+    static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == short.class) return (short) 0;
+        if (type == byte.class) return (byte) 0;
+        if (type == char.class) return '\0';
+        if (type == String.class) return "";
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        if (type == Optional.class) return Optional.empty();
+        return null;
+    }
+
+    private static void run(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Runnable runnable) {
+                runnable.run();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Answers calls to a stubbed interface.
+     */
+    @FunctionalInterface
+    interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+}